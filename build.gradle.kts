@@ -15,6 +15,7 @@ plugins {
   id("org.springframework.boot") version "3.5.0" apply false
   id("io.spring.dependency-management") version "1.1.7" apply false
   id("de.europace.docker-publish") version "2.0.15" apply false
+  id("me.champeau.jmh") version "0.7.3" apply false
 }
 
 subprojects {
@@ -1,5 +1,6 @@
 dependencies {
   implementation("org.springframework.boot:spring-boot-starter-web")
+  implementation("io.micrometer:micrometer-core")
   implementation("org.apache.commons:commons-text:${libs.versions.commonsText.get()}")
   implementation("org.projectlombok:lombok:${libs.versions.lombok.get()}")
 
@@ -5,6 +5,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 @PropertySource(value = "classpath:application.yml")
 @ConfigurationProperties(prefix = "metal-release-butler")
@@ -16,5 +18,6 @@ public class ButlerConfig {
   private String unpaginatedReleasesUrl;
   private String importUrl;
   private String retryCoverDownloadUrl;
+  private Duration releaseIndexTtl;
 
 }
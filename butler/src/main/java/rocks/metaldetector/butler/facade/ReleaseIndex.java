@@ -0,0 +1,188 @@
+package rocks.metaldetector.butler.facade;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import rocks.metaldetector.butler.config.ButlerConfig;
+import rocks.metaldetector.butler.facade.dto.ReleaseDto;
+import rocks.metaldetector.support.TimeRange;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Local index of butler releases keyed by normalized artist name.
+ * Every artist entry remembers the date window it was loaded for and expires individually,
+ * so only cold or stale artists are fetched from the butler again.
+ * Only queries for all releases of a window use the index, paged queries go to the butler.
+ */
+@Component
+public class ReleaseIndex {
+
+  static final Duration DEFAULT_TTL = Duration.ofMinutes(30);
+  static final String LOOKUP_METRIC_NAME = "butler.release.index.lookups";
+  static final String SIZE_METRIC_NAME = "butler.release.index.artists";
+
+  private final Map<String, IndexEntry> entries = new ConcurrentHashMap<>();
+  private final Duration ttl;
+  private final Clock clock;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+
+  public ReleaseIndex(ButlerConfig butlerConfig, MeterRegistry meterRegistry) {
+    this(butlerConfig.getReleaseIndexTtl() != null ? butlerConfig.getReleaseIndexTtl() : DEFAULT_TTL, meterRegistry, Clock.systemDefaultZone());
+  }
+
+  ReleaseIndex(Duration ttl, MeterRegistry meterRegistry, Clock clock) {
+    this.ttl = ttl;
+    this.clock = clock;
+    this.hitCounter = Counter.builder(LOOKUP_METRIC_NAME).tag("result", "hit").register(meterRegistry);
+    this.missCounter = Counter.builder(LOOKUP_METRIC_NAME).tag("result", "miss").register(meterRegistry);
+    Gauge.builder(SIZE_METRIC_NAME, entries, Map::size).register(meterRegistry);
+  }
+
+  /**
+   * Returns all releases of the given artists within the time range. Artists that are not indexed
+   * for the whole time range are loaded with a single call of the given loader.
+   */
+  public List<ReleaseDto> findReleases(Iterable<String> artists, TimeRange timeRange,
+                                       BiFunction<List<String>, TimeRange, List<ReleaseDto>> loader) {
+    Instant now = clock.instant();
+    Map<String, ReleaseDto> releasesById = new LinkedHashMap<>();
+    Map<String, String> coldArtists = new LinkedHashMap<>();
+
+    for (String artist : artists) {
+      String key = normalize(artist);
+      IndexEntry entry = entries.get(key);
+      if (entry != null && entry.covers(timeRange, now)) {
+        hitCounter.increment();
+        entry.releasesWithin(timeRange).forEach(release -> releasesById.putIfAbsent(releaseKey(release), release));
+      }
+      else if (!coldArtists.containsKey(key)) {
+        missCounter.increment();
+        coldArtists.put(key, artist);
+      }
+    }
+
+    if (!coldArtists.isEmpty()) {
+      List<ReleaseDto> loadedReleases = loader.apply(new ArrayList<>(coldArtists.values()), timeRange);
+      index(coldArtists.keySet(), timeRange, loadedReleases, now);
+      loadedReleases.forEach(release -> releasesById.putIfAbsent(releaseKey(release), release));
+    }
+
+    return new ArrayList<>(releasesById.values());
+  }
+
+  public void invalidateRelease(long releaseId) {
+    entries.values().removeIf(entry -> entry.contains(releaseId));
+  }
+
+  @Scheduled(fixedDelay = 600000L)
+  public void evictExpiredEntries() {
+    Instant now = clock.instant();
+    entries.values().removeIf(entry -> entry.isExpired(now));
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  private void index(Set<String> artistKeys, TimeRange timeRange, List<ReleaseDto> releases, Instant now) {
+    Map<String, List<ReleaseDto>> releasesPerArtist = new HashMap<>();
+    artistKeys.forEach(key -> releasesPerArtist.put(key, new ArrayList<>()));
+
+    for (ReleaseDto release : releases) {
+      addIfRequested(releasesPerArtist, release.getArtist(), release);
+      if (release.getAdditionalArtists() != null) {
+        release.getAdditionalArtists().forEach(artist -> addIfRequested(releasesPerArtist, artist, release));
+      }
+    }
+
+    Instant expiresAt = now.plus(ttl);
+    releasesPerArtist.forEach((key, artistReleases) ->
+        entries.merge(key, new IndexEntry(timeRange.getDateFrom(), timeRange.getDateTo(), List.copyOf(artistReleases), expiresAt),
+                      (existing, loaded) -> existing.mergeWith(loaded, now)));
+  }
+
+  private void addIfRequested(Map<String, List<ReleaseDto>> releasesPerArtist, String artist, ReleaseDto release) {
+    if (artist != null) {
+      List<ReleaseDto> artistReleases = releasesPerArtist.get(normalize(artist));
+      if (artistReleases != null && !artistReleases.contains(release)) {
+        artistReleases.add(release);
+      }
+    }
+  }
+
+  private String releaseKey(ReleaseDto release) {
+    return release.getId() != 0 ? String.valueOf(release.getId()) : release.getArtist() + "|" + release.getAlbumTitle() + "|" + release.getReleaseDate();
+  }
+
+  static String normalize(String artistName) {
+    return artistName.trim().toLowerCase(Locale.ROOT);
+  }
+
+  @AllArgsConstructor
+  private static class IndexEntry {
+
+    private final LocalDate dateFrom;
+    private final LocalDate dateTo;
+    private final List<ReleaseDto> releases;
+    private final Instant expiresAt;
+
+    boolean isExpired(Instant now) {
+      return !now.isBefore(expiresAt);
+    }
+
+    boolean covers(TimeRange timeRange, Instant now) {
+      return !isExpired(now) && !dateFrom.isAfter(timeRange.getDateFrom()) && !dateTo.isBefore(timeRange.getDateTo());
+    }
+
+    boolean contains(long releaseId) {
+      return releases.stream().anyMatch(release -> release.getId() == releaseId);
+    }
+
+    /**
+     * Releases without release date are returned for every time range like the butler does.
+     */
+    List<ReleaseDto> releasesWithin(TimeRange timeRange) {
+      return releases.stream()
+          .filter(release -> release.getReleaseDate() == null || isWithin(release.getReleaseDate(), timeRange))
+          .toList();
+    }
+
+    private static boolean isWithin(LocalDate date, TimeRange timeRange) {
+      return !date.isBefore(timeRange.getDateFrom()) && !date.isAfter(timeRange.getDateTo());
+    }
+
+    IndexEntry mergeWith(IndexEntry loaded, Instant now) {
+      boolean adjacent = !loaded.dateFrom.isAfter(dateTo.plusDays(1)) && !loaded.dateTo.isBefore(dateFrom.minusDays(1));
+      if (isExpired(now) || !adjacent) {
+        return loaded;
+      }
+
+      List<ReleaseDto> mergedReleases = new ArrayList<>(loaded.releases);
+      releases.stream()
+          .filter(release -> release.getReleaseDate() != null)
+          .filter(release -> release.getReleaseDate().isBefore(loaded.dateFrom) || release.getReleaseDate().isAfter(loaded.dateTo))
+          .forEach(mergedReleases::add);
+      LocalDate mergedFrom = dateFrom.isBefore(loaded.dateFrom) ? dateFrom : loaded.dateFrom;
+      LocalDate mergedTo = dateTo.isAfter(loaded.dateTo) ? dateTo : loaded.dateTo;
+      Instant mergedExpiry = expiresAt.isBefore(loaded.expiresAt) ? expiresAt : loaded.expiresAt;
+      return new IndexEntry(mergedFrom, mergedTo, List.copyOf(mergedReleases), mergedExpiry);
+    }
+  }
+}
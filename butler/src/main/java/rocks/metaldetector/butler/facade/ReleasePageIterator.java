@@ -0,0 +1,72 @@
+package rocks.metaldetector.butler.facade;
+
+import rocks.metaldetector.butler.facade.dto.ReleaseDto;
+import rocks.metaldetector.support.DetectorSort;
+import rocks.metaldetector.support.Page;
+import rocks.metaldetector.support.PageRequest;
+import rocks.metaldetector.support.TimeRange;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the releases of a paginated butler query. The next page is only fetched when the releases
+ * of the current page are consumed, so a caller that needs the first n releases of a sorted query stops
+ * after the pages that contain them.
+ */
+public class ReleasePageIterator implements Iterator<ReleaseDto> {
+
+  private final ReleaseService releaseService;
+  private final Iterable<String> artists;
+  private final TimeRange timeRange;
+  private final String query;
+  private final int pageSize;
+  private final DetectorSort sort;
+
+  private Iterator<ReleaseDto> currentItems = Collections.emptyIterator();
+  private int nextPage = 1;
+  private boolean lastPageFetched;
+
+  public ReleasePageIterator(ReleaseService releaseService, Iterable<String> artists, TimeRange timeRange, String query, int pageSize, DetectorSort sort) {
+    this.releaseService = releaseService;
+    this.artists = artists;
+    this.timeRange = timeRange;
+    this.query = query;
+    this.pageSize = pageSize;
+    this.sort = sort;
+  }
+
+  public static Stream<ReleaseDto> stream(ReleaseService releaseService, Iterable<String> artists, TimeRange timeRange, int pageSize, DetectorSort sort) {
+    ReleasePageIterator iterator = new ReleasePageIterator(releaseService, artists, timeRange, null, pageSize, sort);
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (!currentItems.hasNext() && !lastPageFetched) {
+      fetchNextPage();
+    }
+    return currentItems.hasNext();
+  }
+
+  @Override
+  public ReleaseDto next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return currentItems.next();
+  }
+
+  private void fetchNextPage() {
+    PageRequest pageRequest = new PageRequest(nextPage, pageSize, sort);
+    Page<ReleaseDto> releasePage = releaseService.findReleases(artists, timeRange, query, pageRequest);
+    currentItems = releasePage.getItems().iterator();
+    lastPageFetched = nextPage >= releasePage.getPagination().getTotalPages();
+    nextPage++;
+  }
+}
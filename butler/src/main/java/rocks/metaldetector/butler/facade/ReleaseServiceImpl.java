@@ -23,12 +23,19 @@ public class ReleaseServiceImpl implements ReleaseService {
   private final ButlerReleaseRequestTransformer queryRequestTransformer;
   private final ButlerSortTransformer sortTransformer;
   private final ButlerReleaseResponseTransformer queryResponseTransformer;
+  private final ReleaseIndex releaseIndex;
 
+  /**
+   * Returns every release of the artists within the time range. Bounded queries of whole windows for given artists,
+   * like the ones of the notifications, are answered from the {@link ReleaseIndex}, so that the releases of artists
+   * that many users follow are fetched from the butler only once.
+   */
   @Override
   public List<ReleaseDto> findAllReleases(Iterable<String> artists, TimeRange timeRange) {
-    ButlerReleasesRequest request = queryRequestTransformer.transform(artists, timeRange, null, null);
-    ButlerReleasesResponse response = butlerClient.queryAllReleases(request);
-    return queryResponseTransformer.transformToList(response);
+    if (isIndexable(artists, timeRange)) {
+      return releaseIndex.findReleases(artists, timeRange, this::queryAllReleases);
+    }
+    return queryAllReleases(artists, timeRange);
   }
 
   @Override
@@ -42,5 +49,17 @@ public class ReleaseServiceImpl implements ReleaseService {
   @Override
   public void updateReleaseState(long releaseId, String state) {
     butlerClient.updateReleaseState(releaseId, state);
+    releaseIndex.invalidateRelease(releaseId);
+  }
+
+  private List<ReleaseDto> queryAllReleases(Iterable<String> artists, TimeRange timeRange) {
+    ButlerReleasesRequest request = queryRequestTransformer.transform(artists, timeRange, null, null);
+    ButlerReleasesResponse response = butlerClient.queryAllReleases(request);
+    return queryResponseTransformer.transformToList(response);
+  }
+
+  private boolean isIndexable(Iterable<String> artists, TimeRange timeRange) {
+    return artists != null && artists.iterator().hasNext()
+           && timeRange != null && timeRange.getDateFrom() != null && timeRange.getDateTo() != null;
   }
 }
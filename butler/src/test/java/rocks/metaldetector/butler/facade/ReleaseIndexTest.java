@@ -0,0 +1,226 @@
+package rocks.metaldetector.butler.facade;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rocks.metaldetector.butler.facade.dto.ReleaseDto;
+import rocks.metaldetector.support.TimeRange;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static rocks.metaldetector.butler.facade.ReleaseIndex.LOOKUP_METRIC_NAME;
+
+class ReleaseIndexTest implements WithAssertions {
+
+  private static final LocalDate NOW = LocalDate.of(2020, 6, 1);
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2020-06-01T07:00:00Z"));
+  private final List<List<String>> loadedArtists = new ArrayList<>();
+  private SimpleMeterRegistry meterRegistry;
+  private ReleaseIndex underTest;
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    underTest = new ReleaseIndex(Duration.ofMinutes(30), meterRegistry, clock);
+    loadedArtists.clear();
+  }
+
+  @Test
+  @DisplayName("Should load cold artists with a single loader call")
+  void should_load_cold_artists() {
+    // given
+    var timeRange = new TimeRange(NOW, NOW.plusMonths(1));
+
+    // when
+    var result = underTest.findReleases(List.of("A", "B"), timeRange, loader(release(1, "A", NOW.plusDays(1)), release(2, "B", NOW.plusDays(2))));
+
+    // then
+    assertThat(loadedArtists).containsExactly(List.of("A", "B"));
+    assertThat(result).extracting(ReleaseDto::getId).containsExactly(1L, 2L);
+    assertThat(meterRegistry.counter(LOOKUP_METRIC_NAME, "result", "miss").count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should answer covered time ranges from memory")
+  void should_answer_from_memory() {
+    // given
+    underTest.findReleases(List.of("A"), new TimeRange(NOW, NOW.plusMonths(6)), loader(release(1, "A", NOW.plusDays(1)), release(2, "A", NOW.plusMonths(2))));
+    loadedArtists.clear();
+
+    // when
+    var result = underTest.findReleases(List.of("a "), new TimeRange(NOW, NOW.plusMonths(1)), loader());
+
+    // then
+    assertThat(loadedArtists).isEmpty();
+    assertThat(result).extracting(ReleaseDto::getId).containsExactly(1L);
+    assertThat(meterRegistry.counter(LOOKUP_METRIC_NAME, "result", "hit").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should only load artists that are not indexed yet")
+  void should_only_load_missing_artists() {
+    // given
+    var timeRange = new TimeRange(NOW, NOW.plusMonths(1));
+    underTest.findReleases(List.of("A"), timeRange, loader(release(1, "A", NOW.plusDays(1))));
+    loadedArtists.clear();
+
+    // when
+    var result = underTest.findReleases(List.of("A", "B"), timeRange, loader(release(2, "B", NOW.plusDays(2))));
+
+    // then
+    assertThat(loadedArtists).containsExactly(List.of("B"));
+    assertThat(result).extracting(ReleaseDto::getId).containsExactly(1L, 2L);
+  }
+
+  @Test
+  @DisplayName("Should reload artists whose time range is not covered")
+  void should_reload_uncovered_time_range() {
+    // given
+    underTest.findReleases(List.of("A"), new TimeRange(NOW, NOW.plusMonths(1)), loader());
+    loadedArtists.clear();
+
+    // when
+    underTest.findReleases(List.of("A"), new TimeRange(NOW.minusMonths(1), NOW), loader());
+
+    // then
+    assertThat(loadedArtists).containsExactly(List.of("A"));
+  }
+
+  @Test
+  @DisplayName("Should extend the indexed time range of adjacent windows")
+  void should_extend_adjacent_time_range() {
+    // given
+    underTest.findReleases(List.of("A"), new TimeRange(NOW, NOW.plusMonths(1)), loader(release(1, "A", NOW.plusDays(1))));
+    underTest.findReleases(List.of("A"), new TimeRange(NOW.minusMonths(1), NOW.minusDays(1)), loader(release(2, "A", NOW.minusDays(3))));
+    loadedArtists.clear();
+
+    // when
+    var result = underTest.findReleases(List.of("A"), new TimeRange(NOW.minusMonths(1), NOW.plusMonths(1)), loader());
+
+    // then
+    assertThat(loadedArtists).isEmpty();
+    assertThat(result).extracting(ReleaseDto::getId).containsExactlyInAnyOrder(1L, 2L);
+  }
+
+  @Test
+  @DisplayName("Should reload artists after the entry expired")
+  void should_reload_expired_artists() {
+    // given
+    var timeRange = new TimeRange(NOW, NOW.plusMonths(1));
+    underTest.findReleases(List.of("A"), timeRange, loader());
+    loadedArtists.clear();
+    clock.advance(Duration.ofMinutes(31));
+
+    // when
+    underTest.findReleases(List.of("A"), timeRange, loader());
+
+    // then
+    assertThat(loadedArtists).containsExactly(List.of("A"));
+  }
+
+  @Test
+  @DisplayName("Should evict expired entries")
+  void should_evict_expired_entries() {
+    // given
+    underTest.findReleases(List.of("A"), new TimeRange(NOW, NOW.plusMonths(1)), loader());
+    clock.advance(Duration.ofMinutes(31));
+
+    // when
+    underTest.evictExpiredEntries();
+
+    // then
+    assertThat(underTest.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should remove entries containing an updated release")
+  void should_invalidate_release() {
+    // given
+    var timeRange = new TimeRange(NOW, NOW.plusMonths(1));
+    underTest.findReleases(List.of("A", "B"), timeRange, loader(release(1, "A", NOW.plusDays(1)), release(2, "B", NOW.plusDays(1))));
+
+    // when
+    underTest.invalidateRelease(1L);
+
+    // then
+    assertThat(underTest.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should index releases for additional artists as well")
+  void should_index_additional_artists() {
+    // given
+    var timeRange = new TimeRange(NOW, NOW.plusMonths(1));
+    ReleaseDto split = release(1, "A", NOW.plusDays(1));
+    split.setAdditionalArtists(List.of("B"));
+    underTest.findReleases(List.of("A", "B"), timeRange, loader(split));
+
+    // when
+    var result = underTest.findReleases(List.of("B"), timeRange, loader());
+
+    // then
+    assertThat(result).containsExactly(split);
+  }
+
+  @Test
+  @DisplayName("Should return releases without release date from memory like the butler does")
+  void should_return_releases_without_release_date() {
+    // given
+    underTest.findReleases(List.of("A"), new TimeRange(NOW, NOW.plusMonths(6)), loader(release(1, "A", NOW.plusDays(1)), release(2, "A", null)));
+
+    // when
+    var result = underTest.findReleases(List.of("A"), new TimeRange(NOW, NOW.plusMonths(1)), loader());
+
+    // then
+    assertThat(result).extracting(ReleaseDto::getId).containsExactly(1L, 2L);
+  }
+
+  private BiFunction<List<String>, TimeRange, List<ReleaseDto>> loader(ReleaseDto... releases) {
+    return (artists, timeRange) -> {
+      loadedArtists.add(artists);
+      return List.of(releases);
+    };
+  }
+
+  private ReleaseDto release(long id, String artist, LocalDate releaseDate) {
+    return ReleaseDto.builder().id(id).artist(artist).albumTitle("Album " + id).releaseDate(releaseDate).build();
+  }
+
+  private static class MutableClock extends Clock {
+
+    private Instant instant;
+
+    MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    void advance(Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneId.of("UTC");
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
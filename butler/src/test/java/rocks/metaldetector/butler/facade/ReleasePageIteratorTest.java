@@ -0,0 +1,116 @@
+package rocks.metaldetector.butler.facade;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import rocks.metaldetector.butler.ButlerDtoFactory.ReleaseDtoFactory;
+import rocks.metaldetector.support.DetectorSort;
+import rocks.metaldetector.support.Page;
+import rocks.metaldetector.support.PageRequest;
+import rocks.metaldetector.support.Pagination;
+import rocks.metaldetector.support.TimeRange;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static rocks.metaldetector.support.DetectorSort.Direction.ASC;
+
+@ExtendWith(MockitoExtension.class)
+class ReleasePageIteratorTest implements WithAssertions {
+
+  private static final List<String> ARTISTS = List.of("A");
+  private static final TimeRange TIME_RANGE = new TimeRange();
+  private static final DetectorSort SORT = new DetectorSort("releaseDate", ASC);
+
+  @Mock
+  private ReleaseService releaseService;
+
+  @AfterEach
+  void tearDown() {
+    reset(releaseService);
+  }
+
+  @Test
+  @DisplayName("no page is fetched before the first release is requested")
+  void test_lazy() {
+    // when
+    ReleasePageIterator.stream(releaseService, ARTISTS, TIME_RANGE, 2, SORT);
+
+    // then
+    verifyNoInteractions(releaseService);
+  }
+
+  @Test
+  @DisplayName("releases of all pages are returned in order")
+  void test_all_pages() {
+    // given
+    var release1 = ReleaseDtoFactory.createDefault();
+    var release2 = ReleaseDtoFactory.createDefault();
+    var release3 = ReleaseDtoFactory.createDefault();
+    doReturn(new Page<>(List.of(release1, release2), new Pagination(2, 1, 2))).when(releaseService).findReleases(ARTISTS, TIME_RANGE, null, new PageRequest(1, 2, SORT));
+    doReturn(new Page<>(List.of(release3), new Pagination(2, 2, 2))).when(releaseService).findReleases(ARTISTS, TIME_RANGE, null, new PageRequest(2, 2, SORT));
+
+    // when
+    var result = ReleasePageIterator.stream(releaseService, ARTISTS, TIME_RANGE, 2, SORT).toList();
+
+    // then
+    assertThat(result).containsExactly(release1, release2, release3);
+  }
+
+  @Test
+  @DisplayName("next page is only fetched if more releases are requested")
+  void test_next_page_on_demand() {
+    // given
+    var releases = List.of(ReleaseDtoFactory.createDefault(), ReleaseDtoFactory.createDefault());
+    doReturn(new Page<>(releases, new Pagination(10, 1, 2))).when(releaseService).findReleases(any(), any(), any(), any());
+
+    // when
+    var result = ReleasePageIterator.stream(releaseService, ARTISTS, TIME_RANGE, 2, SORT).limit(2).toList();
+
+    // then
+    assertThat(result).isEqualTo(releases);
+    verify(releaseService).findReleases(ARTISTS, TIME_RANGE, null, new PageRequest(1, 2, SORT));
+    verifyNoMoreInteractions(releaseService);
+  }
+
+  @Test
+  @DisplayName("empty pages are skipped")
+  void test_empty_page_skipped() {
+    // given
+    var release = ReleaseDtoFactory.createDefault();
+    doReturn(new Page<>(Collections.emptyList(), new Pagination(2, 1, 2))).when(releaseService).findReleases(any(), any(), any(), eq(new PageRequest(1, 2, SORT)));
+    doReturn(new Page<>(List.of(release), new Pagination(2, 2, 2))).when(releaseService).findReleases(any(), any(), any(), eq(new PageRequest(2, 2, SORT)));
+
+    // when
+    var result = ReleasePageIterator.stream(releaseService, ARTISTS, TIME_RANGE, 2, SORT).toList();
+
+    // then
+    assertThat(result).containsExactly(release);
+  }
+
+  @Test
+  @DisplayName("NoSuchElementException is thrown if there are no more releases")
+  void test_no_more_releases() {
+    // given
+    doReturn(Page.empty()).when(releaseService).findReleases(any(), any(), any(), any());
+    var underTest = new ReleasePageIterator(releaseService, ARTISTS, TIME_RANGE, null, 2, SORT);
+
+    // when
+    var throwable = catchThrowable(underTest::next);
+
+    // then
+    assertThat(throwable).isInstanceOf(NoSuchElementException.class);
+  }
+}
@@ -31,8 +31,10 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static rocks.metaldetector.support.DetectorSort.Direction.ASC;
 
@@ -51,16 +53,19 @@ class ReleaseServiceImplTest implements WithAssertions {
   @Mock
   private ButlerReleaseResponseTransformer releaseResponseTransformer;
 
+  @Mock
+  private ReleaseIndex releaseIndex;
+
   private ReleaseServiceImpl underTest;
 
   @BeforeEach
   void setup() {
-    underTest = new ReleaseServiceImpl(butlerClient, releaseRequestTransformer, sortTransformer, releaseResponseTransformer);
+    underTest = new ReleaseServiceImpl(butlerClient, releaseRequestTransformer, sortTransformer, releaseResponseTransformer, releaseIndex);
   }
 
   @AfterEach
   void tearDown() {
-    reset(butlerClient, releaseRequestTransformer, sortTransformer, releaseResponseTransformer);
+    reset(butlerClient, releaseRequestTransformer, sortTransformer, releaseResponseTransformer, releaseIndex);
   }
 
   @DisplayName("Test of findAllReleases()")
@@ -73,7 +78,7 @@ class ReleaseServiceImplTest implements WithAssertions {
     void should_transform_request_arguments() {
       // given
       Iterable<String> artists = List.of("A", "B", "C");
-      TimeRange timeRange = new TimeRange(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31));
+      TimeRange timeRange = new TimeRange(LocalDate.of(2020, 1, 1), null);
 
       // when
       underTest.findAllReleases(artists, timeRange);
@@ -195,6 +200,76 @@ class ReleaseServiceImplTest implements WithAssertions {
     }
   }
 
+  @DisplayName("Test of findAllReleases() via release index")
+  @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+  @Nested
+  class FindIndexedReleasesTest {
+
+    private final List<String> artists = List.of("A", "B");
+    private final TimeRange timeRange = new TimeRange(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 6, 30));
+
+    @Test
+    @DisplayName("Should answer artist and time range queries from the release index")
+    void should_use_release_index() {
+      // given
+      List<ReleaseDto> indexedReleases = List.of(ReleaseDtoFactory.createDefault());
+      when(releaseIndex.findReleases(eq(artists), eq(timeRange), any())).thenReturn(indexedReleases);
+
+      // when
+      List<ReleaseDto> result = underTest.findAllReleases(artists, timeRange);
+
+      // then
+      assertThat(result).isEqualTo(indexedReleases);
+      verifyNoInteractions(butlerClient);
+    }
+
+    @Test
+    @DisplayName("Should bypass release index for open time ranges")
+    void should_bypass_release_index_for_open_time_range() {
+      // when
+      underTest.findAllReleases(artists, new TimeRange(LocalDate.of(2020, 1, 1), null));
+
+      // then
+      verify(releaseIndex, never()).findReleases(any(), any(), any());
+      verify(butlerClient).queryAllReleases(any());
+    }
+
+    @Test
+    @DisplayName("Should bypass release index without artists")
+    void should_bypass_release_index_without_artists() {
+      // when
+      underTest.findAllReleases(List.of(), timeRange);
+
+      // then
+      verify(releaseIndex, never()).findReleases(any(), any(), any());
+      verify(butlerClient).queryAllReleases(any());
+    }
+
+    @Test
+    @DisplayName("Should not use release index for paged queries")
+    void should_not_use_release_index_for_paged_queries() {
+      // when
+      underTest.findReleases(artists, timeRange, null, new PageRequest(1, 10, new DetectorSort("releaseDate", ASC)));
+
+      // then
+      verifyNoInteractions(releaseIndex);
+      verify(butlerClient).queryReleases(any(), any());
+    }
+  }
+
+  @Test
+  @DisplayName("Updating a release should invalidate the release in the release index")
+  void update_release_should_invalidate_index() {
+    // given
+    var releaseId = 1L;
+
+    // when
+    underTest.updateReleaseState(releaseId, "state");
+
+    // then
+    verify(releaseIndex).invalidateRelease(releaseId);
+  }
+
   @Test
   @DisplayName("Updating a release should call butler client")
   void update_release_should_call_butler_client() {
@@ -66,6 +66,9 @@ public class ArtistEntity extends BaseEntity implements MultipleSizeImages {
   @Column(name = "image_l")
   private String imageL;
 
+  @Column(name = "follower", nullable = false, updatable = false) // maintained via ArtistRepository
+  private int follower;
+
   public List<String> getGenresAsList() {
     return genres == null || genres.isBlank() ?
             Collections.emptyList() :
@@ -1,11 +1,15 @@
 package rocks.metaldetector.persistence.domain.artist;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
 
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,21 +20,38 @@ public interface ArtistRepository extends JpaRepository<ArtistEntity, Long> {
 
   List<ArtistEntity> findAllByExternalIdIn(Collection<String> externalIds);
 
+  @Query("select a.id as id, a.externalId as externalId from artists a where a.source = :source and a.externalId in (:externalIds)")
+  List<ArtistIdentity> findIdentities(@Param("externalIds") Collection<String> externalIds, @Param("source") ArtistSource source);
+
   boolean existsByExternalIdAndSource(String externalId, ArtistSource source);
 
-  @Query(value = "select a.artist_name as artistName, a.external_id as externalId, a.source as source," +
-                 "a.image_xs as imageXs, a.image_s as imageS, a.image_m as imageM, a.image_l as imageL, " +
-                 "count(a.external_id) as follower " +
-                 "from follow_actions as fa left join artists as a on a.id = fa.artist_id " +
-                 "group by a.artist_name, a.external_id, a.source, a.image_xs, a.image_s, a.image_m, a.image_l " +
-                 "having count(a.id) >= :minFollower " +
-                 "order by count(a.id) desc",
-         nativeQuery = true)
-  List<TopArtist> findTopArtists(@Param("minFollower") int minFollower);
+  @Query("select a.externalId from artists a where a.source = :source " +
+         "and (a.lastModifiedDateTime is null or a.lastModifiedDateTime < :modifiedBefore) " +
+         "order by a.lastModifiedDateTime, a.id")
+  List<String> findStaleExternalIds(@Param("source") ArtistSource source, @Param("modifiedBefore") Date modifiedBefore, Pageable pageable);
+
+  @Query("select a from artists a where a.follower >= :minFollower order by a.follower desc, a.id")
+  List<TopArtist> findTopArtists(@Param("minFollower") int minFollower, Pageable pageable);
+
+  @Modifying(flushAutomatically = true)
+  @Query("update artists a set a.follower = a.follower + :delta where a.id in (:artistIds)")
+  void changeFollower(@Param("artistIds") Collection<Long> artistIds, @Param("delta") int delta);
+
+  @Modifying(flushAutomatically = true)
+  @Query("update artists a set a.follower = a.follower - 1 " +
+         "where a.id in (select fa.artist.id from followActions fa where fa.user = :user)")
+  void decrementFollowerOfArtistsFollowedBy(@Param("user") AbstractUserEntity user);
 
   @Query(value = "select count(a.external_id) " +
                  "from follow_actions fa left join artists a on a.id = fa.artist_id " +
                  "where a.external_id = :externalId",
          nativeQuery = true)
   int countArtistFollower(@Param("externalId") String externalId);
+
+  @Query(value = "select a.external_id as externalId, count(fa.id) as follower " +
+                 "from follow_actions fa join artists a on a.id = fa.artist_id " +
+                 "where a.external_id in (:externalIds) " +
+                 "group by a.external_id",
+         nativeQuery = true)
+  List<ArtistFollower> countArtistFollowers(@Param("externalIds") Collection<String> externalIds);
 }
@@ -1,9 +1,13 @@
 package rocks.metaldetector.persistence.domain.artist;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,10 +15,56 @@ public interface FollowActionRepository extends JpaRepository<FollowActionEntity
 
   List<FollowActionEntity> findAllByUser(AbstractUserEntity user);
 
-  void deleteByUserAndArtist(AbstractUserEntity user, ArtistEntity artistEntity);
+  @Query("select a.externalId as externalId, a.artistName as artistName, a.source as source, " +
+         "a.imageXs as imageXs, a.imageS as imageS, a.imageM as imageM, a.imageL as imageL, fa.createdDateTime as followedSince " +
+         "from followActions fa join fa.artist a where fa.user = :user")
+  List<FollowedArtist> findFollowedArtistsByUser(@Param("user") AbstractUserEntity user);
+
+  @Query("select a.externalId as externalId, a.artistName as artistName, a.source as source, " +
+         "a.imageXs as imageXs, a.imageS as imageS, a.imageM as imageM, a.imageL as imageL, fa.createdDateTime as followedSince " +
+         "from followActions fa join fa.artist a where fa.user = :user order by fa.createdDateTime desc, fa.id desc")
+  List<FollowedArtist> findRecentlyFollowedArtistsByUser(@Param("user") AbstractUserEntity user, Pageable pageable);
+
+  @Query("select a.artistName from followActions fa join fa.artist a where fa.user = :user")
+  List<String> findFollowedArtistNamesByUser(@Param("user") AbstractUserEntity user);
+
+  @Query("select fa.user.id as userId, a.artistName as artistName " +
+         "from followActions fa join fa.artist a where fa.user.id in (:userIds)")
+  List<FollowedArtistName> findFollowedArtistNamesByUserIds(@Param("userIds") Collection<Long> userIds);
+
+  @Query("select fa.user.id as userId, fa.artist.id as artistId from followActions fa")
+  List<FollowEdge> findAllFollowEdges();
+
+  long countByUser(AbstractUserEntity user);
+
+  @Query("select fa from followActions fa join fetch fa.artist a " +
+         "where fa.user = :user order by a.artistName, a.id")
+  List<FollowActionEntity> findPageByUser(@Param("user") AbstractUserEntity user, Pageable pageable);
+
+  @Query("select fa from followActions fa join fetch fa.artist a " +
+         "where fa.user = :user and (a.artistName > :artistName or (a.artistName = :artistName and a.id > :artistId)) " +
+         "order by a.artistName, a.id")
+  List<FollowActionEntity> findPageByUserAfter(@Param("user") AbstractUserEntity user,
+                                               @Param("artistName") String artistName,
+                                               @Param("artistId") long artistId,
+                                               Pageable pageable);
+
+  @Query("select count(fa) from followActions fa join fa.artist a " +
+         "where fa.user = :user and (a.artistName < :artistName or (a.artistName = :artistName and a.id <= :artistId))")
+  long countByUserUpTo(@Param("user") AbstractUserEntity user,
+                       @Param("artistName") String artistName,
+                       @Param("artistId") long artistId);
+
+  long deleteByUserAndArtist(AbstractUserEntity user, ArtistEntity artistEntity);
 
   void deleteAllByUser(AbstractUserEntity user);
 
   boolean existsByUserAndArtist(AbstractUserEntity user, ArtistEntity artistEntity);
 
+  @Query("select fa.artist.externalId from followActions fa " +
+         "where fa.user = :user and fa.artist.source = :source and fa.artist.externalId in (:externalIds)")
+  List<String> findFollowedExternalIds(@Param("user") AbstractUserEntity user,
+                                       @Param("source") ArtistSource source,
+                                       @Param("externalIds") Collection<String> externalIds);
+
 }
@@ -0,0 +1,11 @@
+package rocks.metaldetector.persistence.domain.artist;
+
+import java.util.Date;
+
+public interface FollowedArtist extends MultipleSizeImages {
+
+  String getExternalId();
+  String getArtistName();
+  ArtistSource getSource();
+  Date getFollowedSince();
+}
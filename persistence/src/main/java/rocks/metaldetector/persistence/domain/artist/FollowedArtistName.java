@@ -0,0 +1,7 @@
+package rocks.metaldetector.persistence.domain.artist;
+
+public interface FollowedArtistName {
+
+  Long getUserId();
+  String getArtistName();
+}
@@ -0,0 +1,54 @@
+package rocks.metaldetector.persistence.domain.spotify;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToOne;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import rocks.metaldetector.persistence.domain.BaseEntity;
+import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Remembers how far the Spotify library of a user has been synchronized: the time the newest liked album was added
+ * and the ids of all artists of the liked albums seen so far.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // for hibernate and model mapper
+@AllArgsConstructor(access = AccessLevel.PRIVATE) // for lombok builder
+@EqualsAndHashCode(callSuper = true)
+@Builder
+@Entity(name = "spotifySyncCursors")
+public class SpotifySyncCursorEntity extends BaseEntity {
+
+  @OneToOne(targetEntity = AbstractUserEntity.class)
+  @JoinColumn(nullable = false, name = "users_id", unique = true)
+  private AbstractUserEntity user;
+
+  @Column(name = "last_album_added_at")
+  @Setter
+  private LocalDateTime lastAlbumAddedAt;
+
+  @ElementCollection(fetch = FetchType.EAGER)
+  @CollectionTable(name = "spotify_sync_cursors_seen_artist_ids", joinColumns = @JoinColumn(name = "spotify_sync_cursors_id"))
+  @Column(name = "artist_id", nullable = false)
+  @Builder.Default
+  private Set<String> seenArtistIds = new HashSet<>();
+
+  public void addSeenArtistIds(Collection<String> artistIds) {
+    seenArtistIds.addAll(artistIds);
+  }
+}
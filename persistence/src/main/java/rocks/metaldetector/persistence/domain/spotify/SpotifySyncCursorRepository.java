@@ -0,0 +1,22 @@
+package rocks.metaldetector.persistence.domain.spotify;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SpotifySyncCursorRepository extends JpaRepository<SpotifySyncCursorEntity, Long> {
+
+  Optional<SpotifySyncCursorEntity> findByUser(AbstractUserEntity user);
+
+  void deleteByUser(AbstractUserEntity user);
+
+  @Query("select c.user.id from spotifySyncCursors c where c.lastAlbumAddedAt is not null and c.user.id > :afterUserId order by c.user.id")
+  List<Long> findSynchronizedUserIds(@Param("afterUserId") long afterUserId, Pageable pageable);
+}
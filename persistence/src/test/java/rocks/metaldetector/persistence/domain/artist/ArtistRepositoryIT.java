@@ -1,5 +1,6 @@
 package rocks.metaldetector.persistence.domain.artist;
 
+import jakarta.persistence.EntityManager;
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,13 +10,17 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import rocks.metaldetector.persistence.BaseDataJpaTest;
 import rocks.metaldetector.persistence.domain.user.UserEntity;
 import rocks.metaldetector.persistence.domain.user.UserFactory;
 import rocks.metaldetector.persistence.domain.user.UserRepository;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -34,6 +39,9 @@ class ArtistRepositoryIT extends BaseDataJpaTest implements WithAssertions {
   @Autowired
   private FollowActionRepository followActionRepository;
 
+  @Autowired
+  private EntityManager entityManager;
+
   private final ArtistEntity artist1 = ArtistEntityFactory.createArtistEntity("1", "1", SPOTIFY);
   private final ArtistEntity artist2 = ArtistEntityFactory.createArtistEntity("2", "2", SPOTIFY);
   private final ArtistEntity artist3 = ArtistEntityFactory.createArtistEntity("3", "3", DISCOGS);
@@ -124,6 +132,18 @@ class ArtistRepositoryIT extends BaseDataJpaTest implements WithAssertions {
     }
   }
 
+  @Test
+  @DisplayName("findIdentities() should return id and external id of the existing artists of the given source")
+  void find_identities_should_respect_source() {
+    // when
+    List<ArtistIdentity> identities = underTest.findIdentities(List.of("0", "1", "3"), SPOTIFY);
+
+    // then
+    assertThat(identities).hasSize(1);
+    assertThat(identities.get(0).getExternalId()).isEqualTo("1");
+    assertThat(identities.get(0).getId()).isEqualTo(underTest.findByExternalIdAndSource("1", SPOTIFY).orElseThrow().getId());
+  }
+
   @ParameterizedTest(name = "[{index}] => ExternalIds <{0}>")
   @MethodSource("inputProviderExternalIds")
   @DisplayName("findAllByArtistExternalIds() should return correct entities if they exist")
@@ -155,7 +175,7 @@ class ArtistRepositoryIT extends BaseDataJpaTest implements WithAssertions {
     follow(userC, artist3);
 
     // when
-    var result = underTest.findTopArtists(minFollower);
+    var result = underTest.findTopArtists(minFollower, PageRequest.of(0, 10));
 
     // then
     assertThat(result).hasSize(expectedSize);
@@ -178,6 +198,83 @@ class ArtistRepositoryIT extends BaseDataJpaTest implements WithAssertions {
     assertThat(result.get(1).getSource().getDisplayName()).isEqualTo(artist2.getSource().getDisplayName());
   }
 
+  @Test
+  @DisplayName("findTopArtists() returns not more artists than requested")
+  void test_find_top_artists_limited() {
+    // given
+    follow(userA, artist1);
+    follow(userA, artist2);
+    follow(userB, artist2);
+
+    // when
+    var result = underTest.findTopArtists(1, PageRequest.of(0, 1));
+
+    // then
+    assertThat(result).hasSize(1);
+    assertThat(result.get(0).getExternalId()).isEqualTo(artist2.getExternalId());
+  }
+
+  @Test
+  @DisplayName("findStaleExternalIds() finds the artists of the given source that were modified before the given date")
+  void test_find_stale_external_ids() {
+    // given
+    var modifiedBefore = Date.from(Instant.now().plus(1, ChronoUnit.DAYS));
+
+    // when
+    var result = underTest.findStaleExternalIds(SPOTIFY, modifiedBefore, PageRequest.of(0, 10));
+
+    // then
+    assertThat(result).containsExactlyInAnyOrder(artist1.getExternalId(), artist2.getExternalId(),
+                                                 artist4.getExternalId(), artist5.getExternalId());
+  }
+
+  @Test
+  @DisplayName("findStaleExternalIds() returns not more artists than requested")
+  void test_find_stale_external_ids_limited() {
+    // given
+    var modifiedBefore = Date.from(Instant.now().plus(1, ChronoUnit.DAYS));
+
+    // when
+    var result = underTest.findStaleExternalIds(SPOTIFY, modifiedBefore, PageRequest.of(0, 2));
+
+    // then
+    assertThat(result).hasSize(2);
+  }
+
+  @Test
+  @DisplayName("changeFollower() changes the follower counter of the given artists")
+  void test_change_follower() {
+    // given
+    underTest.changeFollower(List.of(artist1.getId(), artist2.getId()), 2);
+
+    // when
+    underTest.changeFollower(List.of(artist1.getId()), -1);
+
+    // then
+    entityManager.clear();
+    assertThat(underTest.findById(artist1.getId()).orElseThrow().getFollower()).isEqualTo(1);
+    assertThat(underTest.findById(artist2.getId()).orElseThrow().getFollower()).isEqualTo(2);
+    assertThat(underTest.findById(artist3.getId()).orElseThrow().getFollower()).isZero();
+  }
+
+  @Test
+  @DisplayName("decrementFollowerOfArtistsFollowedBy() decrements the follower counter of all artists the user follows")
+  void test_decrement_follower_of_artists_followed_by() {
+    // given
+    follow(userA, artist1);
+    follow(userA, artist2);
+    follow(userB, artist2);
+
+    // when
+    underTest.decrementFollowerOfArtistsFollowedBy(userA);
+
+    // then
+    entityManager.clear();
+    assertThat(underTest.findById(artist1.getId()).orElseThrow().getFollower()).isZero();
+    assertThat(underTest.findById(artist2.getId()).orElseThrow().getFollower()).isEqualTo(1);
+    assertThat(underTest.findById(artist3.getId()).orElseThrow().getFollower()).isZero();
+  }
+
   @Test
   @DisplayName("countArtistFollower() count the users that follow the given artist")
   void test_count_artist_follower() {
@@ -193,6 +290,23 @@ class ArtistRepositoryIT extends BaseDataJpaTest implements WithAssertions {
     assertThat(result).isEqualTo(3);
   }
 
+  @Test
+  @DisplayName("countArtistFollowers() counts the users that follow each of the given artists")
+  void test_count_artist_followers() {
+    // given
+    follow(userA, artist1);
+    follow(userA, artist3);
+    follow(userB, artist3);
+    follow(userC, artist3);
+
+    // when
+    var result = underTest.countArtistFollowers(List.of(artist1.getExternalId(), artist2.getExternalId(), artist3.getExternalId()));
+
+    // then
+    assertThat(result).extracting(ArtistFollower::getExternalId, ArtistFollower::getFollower)
+        .containsExactlyInAnyOrder(tuple(artist1.getExternalId(), 1), tuple(artist3.getExternalId(), 3));
+  }
+
   private static Stream<Arguments> artistDetailsProvider() {
     return Stream.of(
             Arguments.of("1", SPOTIFY),
@@ -211,5 +325,6 @@ class ArtistRepositoryIT extends BaseDataJpaTest implements WithAssertions {
 
   private void follow(UserEntity user, ArtistEntity artist) {
     followActionRepository.save(FollowActionEntity.builder().user(user).artist(artist).build());
+    underTest.changeFollower(List.of(artist.getId()), 1);
   }
 }
@@ -0,0 +1,86 @@
+package rocks.metaldetector.persistence.domain.artist;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.WithAssertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import rocks.metaldetector.persistence.BaseDataJpaTest;
+import rocks.metaldetector.persistence.domain.user.UserEntity;
+import rocks.metaldetector.persistence.domain.user.UserFactory;
+import rocks.metaldetector.persistence.domain.user.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static rocks.metaldetector.persistence.domain.artist.ArtistSource.SPOTIFY;
+
+/**
+ * Ensures that enriching a page of artist search results with follower counts and follow state
+ * needs the same number of database round trips regardless of the page size.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ArtistSearchQueryCountIT extends BaseDataJpaTest implements WithAssertions {
+
+  private static final long EXPECTED_STATEMENTS_PER_PAGE = 2;
+
+  @Autowired
+  private ArtistRepository artistRepository;
+
+  @Autowired
+  private FollowActionRepository followActionRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private final UserEntity user = UserFactory.createUser("A", "a@test.com");
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    userRepository.save(user);
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @AfterEach
+  void tearDown() {
+    followActionRepository.deleteAll();
+    artistRepository.deleteAll();
+    userRepository.deleteAll();
+  }
+
+  @ParameterizedTest(name = "page size {0}")
+  @ValueSource(ints = {1, 10, 40})
+  @DisplayName("follower counts and follow state of a search result page are fetched with a constant number of statements")
+  void test_constant_number_of_statements(int pageSize) {
+    // given
+    List<String> externalIds = new ArrayList<>();
+    for (int i = 0; i < pageSize; i++) {
+      ArtistEntity artist = artistRepository.save(ArtistEntityFactory.createArtistEntity("id" + i, "artist" + i, SPOTIFY));
+      externalIds.add(artist.getExternalId());
+      if (i % 2 == 0) {
+        followActionRepository.save(FollowActionEntity.builder().user(user).artist(artist).build());
+      }
+    }
+    followActionRepository.flush();
+    statistics.clear();
+
+    // when
+    var follower = artistRepository.countArtistFollowers(externalIds);
+    var followedExternalIds = followActionRepository.findFollowedExternalIds(user, SPOTIFY, externalIds);
+
+    // then
+    assertThat(follower).hasSize((pageSize + 1) / 2);
+    assertThat(followedExternalIds).hasSize((pageSize + 1) / 2);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(EXPECTED_STATEMENTS_PER_PAGE);
+  }
+}
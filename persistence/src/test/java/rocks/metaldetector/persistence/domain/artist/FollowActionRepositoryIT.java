@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import rocks.metaldetector.persistence.BaseDataJpaTest;
 import rocks.metaldetector.persistence.WithIntegrationTestConfig;
 import rocks.metaldetector.persistence.domain.user.UserEntity;
@@ -63,6 +64,84 @@ class FollowActionRepositoryIT extends BaseDataJpaTest implements WithAssertions
     assertThat(followActions).containsExactly(userAFollowsArtist1, userAFollowsArtist2, userAFollowsArtist3);
   }
 
+  @Test
+  @DisplayName("Should return the names of the artists a given user follows")
+  void should_return_followed_artist_names() {
+    // when
+    List<String> result = underTest.findFollowedArtistNamesByUser(userB);
+
+    // then
+    assertThat(result).containsExactlyInAnyOrder(artist1.getArtistName(), artist2.getArtistName());
+  }
+
+  @Test
+  @DisplayName("Should return the names of the followed artists of all given users")
+  void should_return_followed_artist_names_of_users() {
+    // when
+    List<FollowedArtistName> result = underTest.findFollowedArtistNamesByUserIds(List.of(userA.getId(), userB.getId()));
+
+    // then
+    assertThat(result)
+        .extracting(FollowedArtistName::getUserId, FollowedArtistName::getArtistName)
+        .containsExactlyInAnyOrder(tuple(userA.getId(), artist1.getArtistName()), tuple(userA.getId(), artist2.getArtistName()),
+                                   tuple(userA.getId(), artist3.getArtistName()), tuple(userB.getId(), artist1.getArtistName()),
+                                   tuple(userB.getId(), artist2.getArtistName()));
+  }
+
+  @Test
+  @DisplayName("Should return the user and artist ids of all FollowActions")
+  void should_return_all_follow_edges() {
+    // when
+    List<FollowEdge> result = underTest.findAllFollowEdges();
+
+    // then
+    assertThat(result)
+        .extracting(FollowEdge::getUserId, FollowEdge::getArtistId)
+        .containsExactlyInAnyOrder(tuple(userA.getId(), artist1.getId()), tuple(userA.getId(), artist2.getId()),
+                                   tuple(userA.getId(), artist3.getId()), tuple(userB.getId(), artist1.getId()),
+                                   tuple(userB.getId(), artist2.getId()));
+  }
+
+  @Test
+  @DisplayName("Should count the FollowActions of a given user")
+  void should_count_follow_actions_of_user() {
+    // when
+    long result = underTest.countByUser(userA);
+
+    // then
+    assertThat(result).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Should return a page of FollowActions of a given user ordered by artist name")
+  void should_return_page_of_follow_actions() {
+    // when
+    List<FollowActionEntity> result = underTest.findPageByUser(userA, PageRequest.of(1, 2));
+
+    // then
+    assertThat(result).containsExactly(userAFollowsArtist3);
+  }
+
+  @Test
+  @DisplayName("Should return the FollowActions of a given user after the given artist name and artist id")
+  void should_return_follow_actions_after_cursor() {
+    // when
+    List<FollowActionEntity> result = underTest.findPageByUserAfter(userA, artist1.getArtistName(), artist1.getId(), PageRequest.ofSize(1));
+
+    // then
+    assertThat(result).containsExactly(userAFollowsArtist2);
+  }
+
+  @Test
+  @DisplayName("Should count the FollowActions of a given user up to the given artist name and artist id")
+  void should_count_follow_actions_up_to_cursor() {
+    // when
+    long result = underTest.countByUserUpTo(userA, artist2.getArtistName(), artist2.getId());
+
+    // then
+    assertThat(result).isEqualTo(2);
+  }
+
   @Test
   @DisplayName("Should delete a FollowAction by a given user and artist")
   void should_delete_a_follow_action_by_a_given_user_and_artist() {
@@ -104,4 +183,24 @@ class FollowActionRepositoryIT extends BaseDataJpaTest implements WithAssertions
     // then
     assertThat(result).isFalse();
   }
+
+  @Test
+  @DisplayName("Should return the external ids of the given artists that a user follows")
+  void should_return_followed_external_ids() {
+    // when
+    List<String> result = underTest.findFollowedExternalIds(userB, SPOTIFY, List.of(artist1.getExternalId(), artist2.getExternalId(), artist3.getExternalId()));
+
+    // then
+    assertThat(result).containsExactlyInAnyOrder(artist1.getExternalId(), artist2.getExternalId());
+  }
+
+  @Test
+  @DisplayName("Should only return followed external ids of the given source")
+  void should_return_followed_external_ids_of_source() {
+    // when
+    List<String> result = underTest.findFollowedExternalIds(userA, DISCOGS, List.of(artist1.getExternalId(), artist3.getExternalId()));
+
+    // then
+    assertThat(result).containsExactly(artist3.getExternalId());
+  }
 }
@@ -0,0 +1,102 @@
+package rocks.metaldetector.persistence.domain.artist;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.WithAssertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import rocks.metaldetector.persistence.BaseDataJpaTest;
+import rocks.metaldetector.persistence.domain.user.UserEntity;
+import rocks.metaldetector.persistence.domain.user.UserFactory;
+import rocks.metaldetector.persistence.domain.user.UserRepository;
+
+import static rocks.metaldetector.persistence.domain.artist.ArtistSource.SPOTIFY;
+
+/**
+ * Ensures that the followed artists of a user are fetched with one statement, also if the artists
+ * are not yet in the persistence context.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class FollowedArtistQueryCountIT extends BaseDataJpaTest implements WithAssertions {
+
+  @Autowired
+  private ArtistRepository artistRepository;
+
+  @Autowired
+  private FollowActionRepository followActionRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private final UserEntity user = UserFactory.createUser("A", "a@test.com");
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    userRepository.save(user);
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @AfterEach
+  void tearDown() {
+    followActionRepository.deleteAll();
+    artistRepository.deleteAll();
+    userRepository.deleteAll();
+  }
+
+  @ParameterizedTest(name = "{0} followed artists")
+  @ValueSource(ints = {1, 10, 40})
+  @DisplayName("followed artists of a user are fetched with one statement")
+  void test_followed_artists_one_statement(int artistCount) {
+    // given
+    followArtists(artistCount);
+
+    // when
+    var result = followActionRepository.findFollowedArtistsByUser(user);
+    result.forEach(FollowedArtist::getArtistName);
+
+    // then
+    assertThat(result).hasSize(artistCount);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @ParameterizedTest(name = "{0} followed artists")
+  @ValueSource(ints = {1, 10, 40})
+  @DisplayName("recently followed artists of a user are fetched with one statement")
+  void test_recently_followed_artists_one_statement(int artistCount) {
+    // given
+    followArtists(artistCount);
+
+    // when
+    var result = followActionRepository.findRecentlyFollowedArtistsByUser(user, PageRequest.of(0, 10));
+    result.forEach(FollowedArtist::getArtistName);
+
+    // then
+    assertThat(result).hasSize(Math.min(artistCount, 10));
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  private void followArtists(int artistCount) {
+    for (int i = 0; i < artistCount; i++) {
+      ArtistEntity artist = artistRepository.save(ArtistEntityFactory.createArtistEntity("id" + i, "artist" + i, SPOTIFY));
+      followActionRepository.save(FollowActionEntity.builder().user(user).artist(artist).build());
+    }
+    followActionRepository.flush();
+    entityManager.clear();
+    statistics.clear();
+  }
+}
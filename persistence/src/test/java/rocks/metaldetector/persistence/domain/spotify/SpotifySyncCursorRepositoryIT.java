@@ -0,0 +1,103 @@
+package rocks.metaldetector.persistence.domain.spotify;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import rocks.metaldetector.persistence.BaseDataJpaTest;
+import rocks.metaldetector.persistence.domain.user.UserEntity;
+import rocks.metaldetector.persistence.domain.user.UserFactory;
+import rocks.metaldetector.persistence.domain.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class SpotifySyncCursorRepositoryIT extends BaseDataJpaTest implements WithAssertions {
+
+  private UserEntity user1;
+  private UserEntity user2;
+  private UserEntity user3;
+  private SpotifySyncCursorEntity cursor;
+
+  @Autowired
+  private SpotifySyncCursorRepository underTest;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @BeforeEach
+  void setup() {
+    user1 = UserFactory.createUser("user1", "user1@example.com");
+    user2 = UserFactory.createUser("user2", "user2@example.com");
+    user3 = UserFactory.createUser("user3", "user3@example.com");
+    userRepository.save(user1);
+    userRepository.save(user2);
+    userRepository.save(user3);
+    cursor = SpotifySyncCursorEntity.builder().user(user1).lastAlbumAddedAt(LocalDateTime.of(2026, 10, 1, 12, 0)).build();
+    cursor.addSeenArtistIds(List.of("a", "b"));
+    underTest.save(cursor);
+    underTest.save(SpotifySyncCursorEntity.builder().user(user3).build());
+  }
+
+  @AfterEach
+  void tearDown() {
+    underTest.deleteAll();
+    userRepository.deleteAll(List.of(user1, user2, user3));
+  }
+
+  @Test
+  @DisplayName("findByUser finds the cursor of the given user with its seen artist ids")
+  void test_find_by_user() {
+    // when
+    var resultOptional = underTest.findByUser(user1);
+
+    // then
+    assertThat(resultOptional).isPresent();
+    assertThat(resultOptional.get()).isEqualTo(cursor);
+    assertThat(resultOptional.get().getLastAlbumAddedAt()).isEqualTo(LocalDateTime.of(2026, 10, 1, 12, 0));
+    assertThat(resultOptional.get().getSeenArtistIds()).containsExactlyInAnyOrder("a", "b");
+  }
+
+  @Test
+  @DisplayName("findByUser returns empty optional if the user has not been synchronized yet")
+  void test_find_by_user_returns_empty_optional() {
+    // when
+    var resultOptional = underTest.findByUser(user2);
+
+    // then
+    assertThat(resultOptional).isEmpty();
+  }
+
+  @Test
+  @DisplayName("findSynchronizedUserIds finds the ids of the users whose liked albums were fetched")
+  void test_find_synchronized_user_ids() {
+    // when
+    var result = underTest.findSynchronizedUserIds(0, PageRequest.of(0, 10));
+
+    // then
+    assertThat(result).containsExactly(user1.getId());
+  }
+
+  @Test
+  @DisplayName("findSynchronizedUserIds finds only the ids after the given id")
+  void test_find_synchronized_user_ids_after() {
+    // when
+    var result = underTest.findSynchronizedUserIds(user1.getId(), PageRequest.of(0, 10));
+
+    // then
+    assertThat(result).isEmpty();
+  }
+
+  @Test
+  @DisplayName("deleteByUser deletes the cursor of the given user")
+  void test_delete_by_user() {
+    // when
+    underTest.deleteByUser(user1);
+
+    // then
+    assertThat(underTest.findByUser(user1)).isEmpty();
+  }
+}
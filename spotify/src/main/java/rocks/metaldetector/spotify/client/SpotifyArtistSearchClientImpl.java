@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 
 @Slf4j
 @Service
@@ -59,6 +60,10 @@ public class SpotifyArtistSearchClientImpl implements SpotifyArtistSearchClient
     );
 
     SpotifyArtistSearchResultContainer resultContainer = responseEntity.getBody();
+    if (responseEntity.getStatusCode().isSameCodeAs(TOO_MANY_REQUESTS)) {
+      throw SpotifyRateLimitException.fromHeaders("Rate limit of Spotify exceeded", responseEntity.getHeaders());
+    }
+
     var shouldNotHappen = resultContainer == null || !responseEntity.getStatusCode().is2xxSuccessful();
     if (shouldNotHappen) {
       throw new ExternalServiceException("Could not get search results for query '" + artistQueryString + "' (Response code: " + responseEntity.getStatusCode() + ")");
@@ -83,6 +88,10 @@ public class SpotifyArtistSearchClientImpl implements SpotifyArtistSearchClient
     );
 
     SpotifyArtist spotifyArtist = responseEntity.getBody();
+    if (responseEntity.getStatusCode().isSameCodeAs(TOO_MANY_REQUESTS)) {
+      throw SpotifyRateLimitException.fromHeaders("Rate limit of Spotify exceeded", responseEntity.getHeaders());
+    }
+
     var shouldNotHappen = spotifyArtist == null || !responseEntity.getStatusCode().is2xxSuccessful();
     if (shouldNotHappen) {
       throw new ExternalServiceException("Could not get artist with id '" + artistId + "' from Spotify (Response code: " + responseEntity.getStatusCode() + ")");
@@ -108,6 +117,10 @@ public class SpotifyArtistSearchClientImpl implements SpotifyArtistSearchClient
     );
 
     SpotifyArtistsContainer spotifyArtistsContainer = responseEntity.getBody();
+    if (responseEntity.getStatusCode().isSameCodeAs(TOO_MANY_REQUESTS)) {
+      throw SpotifyRateLimitException.fromHeaders("Rate limit of Spotify exceeded", responseEntity.getHeaders());
+    }
+
     var shouldNotHappen = spotifyArtistsContainer == null || !responseEntity.getStatusCode().is2xxSuccessful();
     if (shouldNotHappen) {
       throw new ExternalServiceException("Could not get artists from Spotify (Response code: " + responseEntity.getStatusCode() + ")");
@@ -0,0 +1,30 @@
+package rocks.metaldetector.spotify.client;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import rocks.metaldetector.support.exceptions.ExternalServiceException;
+
+import java.time.Duration;
+
+@Getter
+public class SpotifyRateLimitException extends ExternalServiceException {
+
+  private static final long serialVersionUID = 1L;
+
+  static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+  private final Duration retryAfter;
+
+  public SpotifyRateLimitException(String detailMessage, Duration retryAfter) {
+    super(detailMessage);
+    this.retryAfter = retryAfter;
+  }
+
+  static SpotifyRateLimitException fromHeaders(String detailMessage, HttpHeaders headers) {
+    String retryAfterHeader = headers.getFirst(HttpHeaders.RETRY_AFTER);
+    if (retryAfterHeader != null && retryAfterHeader.matches("\\d+")) {
+      return new SpotifyRateLimitException(detailMessage, Duration.ofSeconds(Long.parseLong(retryAfterHeader)));
+    }
+    return new SpotifyRateLimitException(detailMessage, DEFAULT_RETRY_AFTER);
+  }
+}
@@ -16,6 +16,7 @@ import rocks.metaldetector.support.exceptions.ExternalServiceException;
 import java.util.Map;
 
 import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 
 @Slf4j
 @Service
@@ -51,6 +52,10 @@ public class SpotifyUserLibraryClientImpl implements SpotifyUserLibraryClient {
     );
 
     SpotifySavedAlbumsPage result = responseEntity.getBody();
+    if (responseEntity.getStatusCode().isSameCodeAs(TOO_MANY_REQUESTS)) {
+      throw SpotifyRateLimitException.fromHeaders("Rate limit of Spotify exceeded", responseEntity.getHeaders());
+    }
+
     var shouldNotHappen = result == null || !responseEntity.getStatusCode().is2xxSuccessful();
     if (shouldNotHappen) {
       throw new ExternalServiceException("Could not get albums from Spotify (Response code: " + responseEntity.getStatusCode() + ")");
@@ -71,6 +76,10 @@ public class SpotifyUserLibraryClientImpl implements SpotifyUserLibraryClient {
     );
 
     SpotifyFollowedArtistsPageContainer result = responseEntity.getBody();
+    if (responseEntity.getStatusCode().isSameCodeAs(TOO_MANY_REQUESTS)) {
+      throw SpotifyRateLimitException.fromHeaders("Rate limit of Spotify exceeded", responseEntity.getHeaders());
+    }
+
     var shouldNotHappen = result == null || !responseEntity.getStatusCode().is2xxSuccessful();
     if (shouldNotHappen) {
       throw new ExternalServiceException("Could not get artists from Spotify (Response code: " + responseEntity.getStatusCode() + ")");
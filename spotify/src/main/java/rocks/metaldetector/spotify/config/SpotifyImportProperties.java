@@ -0,0 +1,20 @@
+package rocks.metaldetector.spotify.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@PropertySource(value = "classpath:application.yml")
+@ConfigurationProperties(prefix = "spotify.import")
+@Data
+public class SpotifyImportProperties {
+
+  private int threads = 4;
+  private int maxAttempts = 3;
+  private Duration maxRetryAfter = Duration.ofSeconds(30);
+
+}
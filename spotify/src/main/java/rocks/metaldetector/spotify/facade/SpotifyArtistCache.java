@@ -0,0 +1,44 @@
+package rocks.metaldetector.spotify.facade;
+
+import lombok.AllArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import rocks.metaldetector.spotify.facade.dto.SpotifyArtistDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cache for the artist metadata of Spotify that is shared by the artist search, following artists and the import of
+ * the user library, so that an artist that was found once is not requested again for some time.
+ * The cache configuration evicts the entries after a fixed time and the least recently used ones if the cache is full.
+ */
+@Component
+@AllArgsConstructor
+public class SpotifyArtistCache {
+
+  public static final String SPOTIFY_ARTISTS_CACHE = "spotifyArtists";
+
+  private final CacheManager cacheManager;
+
+  public Optional<SpotifyArtistDto> get(String artistId) {
+    Cache cache = cacheManager.getCache(SPOTIFY_ARTISTS_CACHE);
+    if (cache == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(cache.get(artistId, SpotifyArtistDto.class));
+  }
+
+  public void put(SpotifyArtistDto artist) {
+    putAll(List.of(artist));
+  }
+
+  public void putAll(Collection<SpotifyArtistDto> artists) {
+    Cache cache = cacheManager.getCache(SPOTIFY_ARTISTS_CACHE);
+    if (cache != null) {
+      artists.forEach(artist -> cache.put(artist.getId(), artist));
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package rocks.metaldetector.spotify.facade;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import rocks.metaldetector.spotify.client.SpotifyRateLimitException;
+import rocks.metaldetector.spotify.config.SpotifyImportProperties;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Sends requests to Spotify concurrently. The requests run with the security context and the request attributes of
+ * the calling request, so that the user library is fetched with the access token of the current user.
+ * A request that is answered with 429 is repeated after the time given in the Retry-After header. Until then, no other
+ * request is sent, because the rate limit applies to the whole application.
+ */
+@Slf4j
+@Component
+public class SpotifyRequestExecutor {
+
+  private final SpotifyImportProperties properties;
+  private final Executor executor;
+  private volatile long notBefore;
+
+  @Autowired
+  public SpotifyRequestExecutor(SpotifyImportProperties properties) {
+    this(properties, Executors.newFixedThreadPool(properties.getThreads(), new CustomizableThreadFactory("spotify-import-")));
+  }
+
+  SpotifyRequestExecutor(SpotifyImportProperties properties, Executor executor) {
+    this.properties = properties;
+    this.executor = executor;
+    this.notBefore = System.nanoTime();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (executor instanceof ExecutorService executorService) {
+      executorService.shutdown();
+    }
+  }
+
+  /**
+   * Sends the request in the calling thread.
+   */
+  public <T> T execute(Supplier<T> request) {
+    for (int attempt = 1; ; attempt++) {
+      awaitRateLimit();
+      try {
+        return request.get();
+      }
+      catch (SpotifyRateLimitException e) {
+        Duration retryAfter = e.getRetryAfter();
+        if (attempt >= properties.getMaxAttempts() || retryAfter.compareTo(properties.getMaxRetryAfter()) > 0) {
+          throw e;
+        }
+        log.warn("Rate limit of Spotify exceeded, retrying in {} (attempt {} of {})", retryAfter, attempt, properties.getMaxAttempts());
+        long retryAt = System.nanoTime() + retryAfter.toNanos();
+        synchronized (this) {
+          if (retryAt - notBefore > 0) {
+            notBefore = retryAt;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Sends the request in one of the import threads.
+   */
+  public <T> CompletableFuture<T> submit(Supplier<T> request) {
+    return supplyAsync(() -> execute(request));
+  }
+
+  /**
+   * Runs a task that sends its requests itself in one of the import threads.
+   */
+  public <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+    Executor contextExecutor = new DelegatingSecurityContextExecutor(withRequestAttributes(executor), SecurityContextHolder.getContext());
+    return CompletableFuture.supplyAsync(task, contextExecutor);
+  }
+
+  /**
+   * Waits for the future and rethrows its exception as it was thrown by the request.
+   */
+  public <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    }
+    catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+  }
+
+  private void awaitRateLimit() {
+    long waitTime = notBefore - System.nanoTime();
+    if (waitTime > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(waitTime);
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for the rate limit of Spotify", e);
+      }
+    }
+  }
+
+  private Executor withRequestAttributes(Executor executor) {
+    RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+    return command -> executor.execute(() -> {
+      RequestContextHolder.setRequestAttributes(requestAttributes);
+      try {
+        command.run();
+      }
+      finally {
+        RequestContextHolder.resetRequestAttributes();
+      }
+    });
+  }
+}
@@ -3,7 +3,9 @@ package rocks.metaldetector.spotify.facade;
 import rocks.metaldetector.spotify.facade.dto.SpotifyAlbumDto;
 import rocks.metaldetector.spotify.facade.dto.SpotifyArtistDto;
 import rocks.metaldetector.spotify.facade.dto.SpotifyArtistSearchResultDto;
+import rocks.metaldetector.spotify.facade.dto.SpotifyLikedAlbumsChangesDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface SpotifyService {
@@ -14,7 +16,11 @@ public interface SpotifyService {
 
   List<SpotifyArtistDto> searchArtistsByIds(List<String> artistIds);
 
+  List<SpotifyArtistDto> refreshArtists(List<String> artistIds);
+
   List<SpotifyAlbumDto> fetchLikedAlbums();
 
   List<SpotifyArtistDto> fetchFollowedArtists();
+
+  SpotifyLikedAlbumsChangesDto fetchLikedAlbumsAddedSince(LocalDateTime addedSince);
 }
@@ -16,10 +16,15 @@ import rocks.metaldetector.spotify.client.transformer.SpotifyArtistTransformer;
 import rocks.metaldetector.spotify.facade.dto.SpotifyAlbumDto;
 import rocks.metaldetector.spotify.facade.dto.SpotifyArtistDto;
 import rocks.metaldetector.spotify.facade.dto.SpotifyArtistSearchResultDto;
+import rocks.metaldetector.spotify.facade.dto.SpotifyLikedAlbumsChangesDto;
 import rocks.metaldetector.support.SlicingService;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,44 +41,77 @@ public class SpotifyServiceImpl implements SpotifyService {
   private final SpotifyArtistTransformer artistTransformer;
   private final SpotifyAlbumTransformer albumTransformer;
   private final SlicingService slicingService;
+  private final SpotifyRequestExecutor requestExecutor;
+  private final SpotifyArtistCache artistCache;
 
   @Override
   public SpotifyArtistSearchResultDto searchArtistByName(String artistQueryString, int pageNumber, int pageSize) {
     SpotifyArtistSearchResultContainer searchResult = artistSearchClient.searchByName(artistQueryString, pageNumber, pageSize);
-    return searchResultTransformer.transform(searchResult);
+    SpotifyArtistSearchResultDto searchResultDto = searchResultTransformer.transform(searchResult);
+    artistCache.putAll(searchResultDto.getSearchResults());
+    return searchResultDto;
   }
 
   @Override
   public SpotifyArtistDto searchArtistById(String artistId) {
-    SpotifyArtist spotifyArtist = artistSearchClient.searchById(artistId);
-    return artistTransformer.transform(spotifyArtist);
+    return artistCache.get(artistId).orElseGet(() -> {
+      SpotifyArtistDto artist = artistTransformer.transform(artistSearchClient.searchById(artistId));
+      artistCache.put(artist);
+      return artist;
+    });
   }
 
+  /*
+   * Only the artists that are not in the cache are requested from Spotify.
+   */
   @Override
   public List<SpotifyArtistDto> searchArtistsByIds(List<String> artistIds) {
-    List<SpotifyArtist> spotifyArtists = new ArrayList<>();
+    List<SpotifyArtistDto> artists = new ArrayList<>();
+    List<String> uncachedArtistIds = new ArrayList<>();
+    artistIds.forEach(artistId -> artistCache.get(artistId).ifPresentOrElse(artists::add, () -> uncachedArtistIds.add(artistId)));
+
+    List<CompletableFuture<SpotifyArtistsContainer>> pages = new ArrayList<>();
+    int totalPages = (int) Math.ceil((double) uncachedArtistIds.size() / (double) PAGE_SIZE);
+    for (int i = 1; i <= totalPages; i++) {
+      List<String> idsPerPage = slicingService.slice(uncachedArtistIds, i, PAGE_SIZE);
+      pages.add(requestExecutor.submit(() -> artistSearchClient.searchByIds(idsPerPage)));
+    }
+    List<SpotifyArtistDto> fetchedArtists = pages.stream()
+        .map(requestExecutor::await)
+        .flatMap(spotifyArtistsContainer -> spotifyArtistsContainer.getArtists().stream())
+        .filter(Objects::nonNull)
+        .map(artistTransformer::transform)
+        .toList();
+    artistCache.putAll(fetchedArtists);
+    artists.addAll(fetchedArtists);
+    return artists;
+  }
+
+  /*
+   * The artists are requested in the calling thread one batch after another, so that a background job can refresh
+   * the artists without holding back the requests of the users. Artists that were removed from Spotify are returned
+   * as null and left out.
+   */
+  @Override
+  public List<SpotifyArtistDto> refreshArtists(List<String> artistIds) {
+    List<SpotifyArtistDto> artists = new ArrayList<>();
     int totalPages = (int) Math.ceil((double) artistIds.size() / (double) PAGE_SIZE);
     for (int i = 1; i <= totalPages; i++) {
       List<String> idsPerPage = slicingService.slice(artistIds, i, PAGE_SIZE);
-      SpotifyArtistsContainer spotifyArtistsContainer = artistSearchClient.searchByIds(idsPerPage);
-      spotifyArtists.addAll(spotifyArtistsContainer.getArtists());
+      requestExecutor.execute(() -> artistSearchClient.searchByIds(idsPerPage)).getArtists().stream()
+          .filter(Objects::nonNull)
+          .map(artistTransformer::transform)
+          .forEach(artists::add);
     }
-    return spotifyArtists.stream()
-        .map(artistTransformer::transform)
-        .collect(Collectors.toList());
+    artistCache.putAll(artists);
+    return artists;
   }
 
   @Override
   public List<SpotifyAlbumDto> fetchLikedAlbums() {
-    int offset = 0;
-    List<SpotifySavedAlbumsPageItem> resultItems = new ArrayList<>();
-    SpotifySavedAlbumsPage importResult;
-    do {
-      importResult = importClient.fetchLikedAlbums(offset);
-      resultItems.addAll(importResult.getItems());
-      offset += importResult.getLimit();
-    }
-    while (offset < importResult.getTotal());
+    SpotifySavedAlbumsPage firstPage = requestExecutor.execute(() -> importClient.fetchLikedAlbums(0));
+    List<SpotifySavedAlbumsPageItem> resultItems = new ArrayList<>(firstPage.getItems());
+    fetchRemainingLikedAlbumPages(firstPage).forEach(page -> resultItems.addAll(requestExecutor.await(page).getItems()));
 
     return resultItems.stream()
         .map(SpotifySavedAlbumsPageItem::getAlbum)
@@ -87,14 +125,69 @@ public class SpotifyServiceImpl implements SpotifyService {
     List<SpotifyArtist> resultItems = new ArrayList<>();
     SpotifyFollowedArtistsPage importResult;
     do {
-      importResult = importClient.fetchFollowedArtists(nextPage);
+      String currentPage = nextPage;
+      importResult = requestExecutor.execute(() -> importClient.fetchFollowedArtists(currentPage));
       resultItems.addAll(importResult.getItems());
       nextPage = importResult.getNext();
     }
     while (nextPage != null);
 
-    return resultItems.stream()
+    List<SpotifyArtistDto> artists = resultItems.stream()
         .map(artistTransformer::transform)
         .collect(Collectors.toList());
+    artistCache.putAll(artists);
+    return artists;
+  }
+
+  /*
+   * Spotify returns the liked albums newest first, so the pages are fetched one after another until an album shows up
+   * that was added before the given time. Without a time, all pages are fetched. The returned time is the one of the
+   * newest album and can be passed again at the next call.
+   */
+  @Override
+  public SpotifyLikedAlbumsChangesDto fetchLikedAlbumsAddedSince(LocalDateTime addedSince) {
+    List<SpotifySavedAlbumsPageItem> resultItems = new ArrayList<>();
+    SpotifySavedAlbumsPage page = requestExecutor.execute(() -> importClient.fetchLikedAlbums(0));
+    if (addedSince == null) {
+      resultItems.addAll(page.getItems());
+      fetchRemainingLikedAlbumPages(page).forEach(remainingPage -> resultItems.addAll(requestExecutor.await(remainingPage).getItems()));
+    }
+    else {
+      int offset = 0;
+      while (true) {
+        List<SpotifySavedAlbumsPageItem> newItems = page.getItems().stream()
+            .filter(item -> item.getAddedAt() == null || !item.getAddedAt().isBefore(addedSince))
+            .toList();
+        resultItems.addAll(newItems);
+        offset += page.getLimit();
+        if (newItems.size() < page.getItems().size() || page.getLimit() <= 0 || offset >= page.getTotal()) {
+          break;
+        }
+        int pageOffset = offset;
+        page = requestExecutor.execute(() -> importClient.fetchLikedAlbums(pageOffset));
+      }
+    }
+
+    List<String> artistIds = resultItems.stream()
+        .flatMap(item -> item.getAlbum().getArtists().stream())
+        .map(SpotifyArtist::getId)
+        .distinct()
+        .toList();
+    LocalDateTime lastAddedAt = resultItems.stream()
+        .map(SpotifySavedAlbumsPageItem::getAddedAt)
+        .filter(Objects::nonNull)
+        .max(Comparator.naturalOrder())
+        .orElse(addedSince);
+    return new SpotifyLikedAlbumsChangesDto(artistIds, lastAddedAt);
+  }
+
+  private List<CompletableFuture<SpotifySavedAlbumsPage>> fetchRemainingLikedAlbumPages(SpotifySavedAlbumsPage firstPage) {
+    List<CompletableFuture<SpotifySavedAlbumsPage>> pages = new ArrayList<>();
+    int limit = firstPage.getLimit();
+    for (int offset = limit; limit > 0 && offset < firstPage.getTotal(); offset += limit) {
+      int pageOffset = offset;
+      pages.add(requestExecutor.submit(() -> importClient.fetchLikedAlbums(pageOffset)));
+    }
+    return pages;
   }
 }
@@ -0,0 +1,17 @@
+package rocks.metaldetector.spotify.facade.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class SpotifyLikedAlbumsChangesDto {
+
+  private List<String> artistIds;
+  private LocalDateTime lastAddedAt;
+}
@@ -17,6 +17,7 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestOperations;
@@ -26,6 +27,7 @@ import rocks.metaldetector.spotify.api.search.SpotifyArtistsContainer;
 import rocks.metaldetector.spotify.config.SpotifyProperties;
 import rocks.metaldetector.support.exceptions.ExternalServiceException;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -482,6 +484,21 @@ class SpotifyArtistSearchClientImplTest implements WithAssertions {
       assertThat(throwable).isInstanceOf(ExternalServiceException.class);
     }
 
+    @Test
+    @DisplayName("If the status is 429, a SpotifyRateLimitException with the retry-after of the response header is thrown")
+    void test_rate_limit_exception() {
+      // given
+      doReturn(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "5").build()).when(restTemplate)
+          .exchange(any(), any(), any(), spotifyArtistContainerClass(), anyMap());
+
+      // when
+      Throwable throwable = catchThrowable(() -> underTest.searchByIds(List.of("666")));
+
+      // then
+      assertThat(throwable).isInstanceOf(SpotifyRateLimitException.class);
+      assertThat(((SpotifyRateLimitException) throwable).getRetryAfter()).isEqualTo(Duration.ofSeconds(5));
+    }
+
     private Class<SpotifyArtistsContainer> spotifyArtistContainerClass() {
       return ArgumentMatchers.any();
     }
@@ -17,6 +17,7 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestOperations;
@@ -27,6 +28,7 @@ import rocks.metaldetector.spotify.api.search.SpotifyArtistSearchResultContainer
 import rocks.metaldetector.spotify.config.SpotifyProperties;
 import rocks.metaldetector.support.exceptions.ExternalServiceException;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -37,6 +39,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.springframework.http.HttpMethod.GET;
+import static rocks.metaldetector.spotify.client.SpotifyRateLimitException.DEFAULT_RETRY_AFTER;
 import static rocks.metaldetector.spotify.client.SpotifyUserLibraryClientImpl.FOLLOWED_ARTISTS_FIRST_PAGE_ENDPOINT;
 import static rocks.metaldetector.spotify.client.SpotifyUserLibraryClientImpl.LIMIT;
 import static rocks.metaldetector.spotify.client.SpotifyUserLibraryClientImpl.LIMIT_PARAMETER_NAME;
@@ -172,6 +175,35 @@ class SpotifyUserLibraryClientImplTest implements WithAssertions {
       assertThat(throwable).isInstanceOf(ExternalServiceException.class);
     }
 
+    @Test
+    @DisplayName("If the status is 429, a SpotifyRateLimitException with the retry-after of the response header is thrown")
+    void test_rate_limit_exception() {
+      // given
+      doReturn(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "3").build()).when(restTemplate)
+          .exchange(any(), any(), any(), ArgumentMatchers.<Class<SpotifySavedAlbumsPage>>any(), anyMap());
+
+      // when
+      Throwable throwable = catchThrowable(() -> underTest.fetchLikedAlbums(666));
+
+      // then
+      assertThat(throwable).isInstanceOf(SpotifyRateLimitException.class);
+      assertThat(((SpotifyRateLimitException) throwable).getRetryAfter()).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    @DisplayName("If the status is 429 without retry-after, the default retry-after is used")
+    void test_rate_limit_exception_default_retry_after() {
+      // given
+      doReturn(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build()).when(restTemplate)
+          .exchange(any(), any(), any(), ArgumentMatchers.<Class<SpotifySavedAlbumsPage>>any(), anyMap());
+
+      // when
+      Throwable throwable = catchThrowable(() -> underTest.fetchLikedAlbums(666));
+
+      // then
+      assertThat(((SpotifyRateLimitException) throwable).getRetryAfter()).isEqualTo(DEFAULT_RETRY_AFTER);
+    }
+
     @Test
     @DisplayName("result is returned")
     void test_result_returned() {
@@ -0,0 +1,105 @@
+package rocks.metaldetector.spotify.facade;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import rocks.metaldetector.spotify.facade.dto.SpotifyArtistDto;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static rocks.metaldetector.spotify.client.SpotifyDtoFactory.SpotifyArtistDtoFactory;
+import static rocks.metaldetector.spotify.facade.SpotifyArtistCache.SPOTIFY_ARTISTS_CACHE;
+
+@ExtendWith(MockitoExtension.class)
+class SpotifyArtistCacheTest implements WithAssertions {
+
+  @Mock
+  private CacheManager cacheManager;
+
+  @Mock
+  private Cache cache;
+
+  @InjectMocks
+  private SpotifyArtistCache underTest;
+
+  @AfterEach
+  void tearDown() {
+    reset(cacheManager, cache);
+  }
+
+  @Test
+  @DisplayName("cached artist is returned")
+  void test_cached_artist_returned() {
+    // given
+    var artist = SpotifyArtistDtoFactory.withArtistName("Slayer");
+    doReturn(cache).when(cacheManager).getCache(any());
+    doReturn(artist).when(cache).get("id", artist.getClass());
+
+    // when
+    var result = underTest.get("id");
+
+    // then
+    verify(cacheManager).getCache(SPOTIFY_ARTISTS_CACHE);
+    assertThat(result).contains(artist);
+  }
+
+  @Test
+  @DisplayName("nothing is returned for an artist that is not cached")
+  void test_uncached_artist() {
+    // given
+    doReturn(cache).when(cacheManager).getCache(any());
+
+    // when
+    var result = underTest.get("id");
+
+    // then
+    assertThat(result).isEmpty();
+  }
+
+  @Test
+  @DisplayName("nothing is returned without a cache")
+  void test_no_cache() {
+    // when
+    var result = underTest.get("id");
+
+    // then
+    assertThat(result).isEmpty();
+  }
+
+  @Test
+  @DisplayName("artists are cached by their id")
+  void test_artists_cached_by_id() {
+    // given
+    var artist1 = SpotifyArtistDto.builder().id("1").name("Slayer").build();
+    var artist2 = SpotifyArtistDto.builder().id("2").name("Darkthrone").build();
+    doReturn(cache).when(cacheManager).getCache(any());
+
+    // when
+    underTest.putAll(List.of(artist1, artist2));
+
+    // then
+    verify(cache).put("1", artist1);
+    verify(cache).put("2", artist2);
+  }
+
+  @Test
+  @DisplayName("artists are not cached without a cache")
+  void test_not_cached_without_cache() {
+    // when
+    var throwable = catchThrowable(() -> underTest.put(SpotifyArtistDtoFactory.withArtistName("Slayer")));
+
+    // then
+    assertThat(throwable).isNull();
+  }
+}
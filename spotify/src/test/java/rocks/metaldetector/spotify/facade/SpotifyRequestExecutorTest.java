@@ -0,0 +1,139 @@
+package rocks.metaldetector.spotify.facade;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import rocks.metaldetector.spotify.client.SpotifyRateLimitException;
+import rocks.metaldetector.spotify.config.SpotifyImportProperties;
+import rocks.metaldetector.support.exceptions.ExternalServiceException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SpotifyRequestExecutorTest implements WithAssertions {
+
+  private SpotifyImportProperties properties;
+  private SpotifyRequestExecutor underTest;
+
+  @BeforeEach
+  void setup() {
+    properties = new SpotifyImportProperties();
+    underTest = new SpotifyRequestExecutor(properties, Runnable::run);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  @DisplayName("a rate limited request is sent again")
+  void test_rate_limited_request_retried() {
+    // given
+    var attempts = new AtomicInteger();
+
+    // when
+    var result = underTest.execute(() -> {
+      if (attempts.incrementAndGet() == 1) {
+        throw new SpotifyRateLimitException("rate limit", Duration.ZERO);
+      }
+      return "result";
+    });
+
+    // then
+    assertThat(result).isEqualTo("result");
+    assertThat(attempts).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("the rate limit exception is thrown after the last attempt")
+  void test_rate_limit_exception_after_max_attempts() {
+    // given
+    var attempts = new AtomicInteger();
+
+    // when
+    var throwable = catchThrowable(() -> underTest.execute(() -> {
+      attempts.incrementAndGet();
+      throw new SpotifyRateLimitException("rate limit", Duration.ZERO);
+    }));
+
+    // then
+    assertThat(throwable).isInstanceOf(SpotifyRateLimitException.class);
+    assertThat(attempts).hasValue(properties.getMaxAttempts());
+  }
+
+  @Test
+  @DisplayName("the rate limit exception is thrown at once if Spotify asks to wait too long")
+  void test_rate_limit_exception_for_long_retry_after() {
+    // given
+    var attempts = new AtomicInteger();
+
+    // when
+    var throwable = catchThrowable(() -> underTest.execute(() -> {
+      attempts.incrementAndGet();
+      throw new SpotifyRateLimitException("rate limit", properties.getMaxRetryAfter().plusSeconds(1));
+    }));
+
+    // then
+    assertThat(throwable).isInstanceOf(SpotifyRateLimitException.class);
+    assertThat(attempts).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("other exceptions are not retried")
+  void test_other_exceptions_not_retried() {
+    // given
+    var attempts = new AtomicInteger();
+
+    // when
+    var throwable = catchThrowable(() -> underTest.execute(() -> {
+      attempts.incrementAndGet();
+      throw new ExternalServiceException("error");
+    }));
+
+    // then
+    assertThat(throwable).isInstanceOf(ExternalServiceException.class);
+    assertThat(attempts).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("submitted requests run with the security context of the caller")
+  void test_security_context_propagated() {
+    // given
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+    underTest = new SpotifyRequestExecutor(properties, executorService);
+    var authentication = new TestingAuthenticationToken("user", "password");
+    SecurityContextHolder.getContext().setAuthentication(authentication);
+
+    try {
+      // when
+      var result = underTest.await(underTest.submit(() -> SecurityContextHolder.getContext().getAuthentication()));
+
+      // then
+      assertThat(result).isEqualTo(authentication);
+    }
+    finally {
+      underTest.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("await rethrows the exception of the request")
+  void test_await_rethrows_exception() {
+    // given
+    var exception = new ExternalServiceException("error");
+
+    // when
+    var throwable = catchThrowable(() -> underTest.await(CompletableFuture.failedFuture(exception)));
+
+    // then
+    assertThat(throwable).isEqualTo(exception);
+  }
+}
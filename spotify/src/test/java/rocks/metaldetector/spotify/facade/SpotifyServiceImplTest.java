@@ -8,7 +8,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import rocks.metaldetector.spotify.api.SpotifyArtist;
+import rocks.metaldetector.spotify.api.imports.SpotifyAlbum;
 import rocks.metaldetector.spotify.api.imports.SpotifyFollowedArtistsPage;
 import rocks.metaldetector.spotify.api.imports.SpotifySavedAlbumsPage;
 import rocks.metaldetector.spotify.api.imports.SpotifySavedAlbumsPageItem;
@@ -16,17 +19,22 @@ import rocks.metaldetector.spotify.api.search.SpotifyArtistSearchResultContainer
 import rocks.metaldetector.spotify.api.search.SpotifyArtistsContainer;
 import rocks.metaldetector.spotify.client.SpotifyArtistSearchClient;
 import rocks.metaldetector.spotify.client.SpotifyDtoFactory.SpotifyAlbumFactory;
+import rocks.metaldetector.spotify.client.SpotifyRateLimitException;
 import rocks.metaldetector.spotify.client.SpotifyUserLibraryClient;
 import rocks.metaldetector.spotify.client.transformer.SpotifyAlbumTransformer;
 import rocks.metaldetector.spotify.client.transformer.SpotifyArtistSearchResultTransformer;
 import rocks.metaldetector.spotify.client.transformer.SpotifyArtistTransformer;
+import rocks.metaldetector.spotify.config.SpotifyImportProperties;
 import rocks.metaldetector.spotify.facade.dto.SpotifyAlbumDto;
 import rocks.metaldetector.spotify.facade.dto.SpotifyArtistDto;
 import rocks.metaldetector.spotify.facade.dto.SpotifyArtistSearchResultDto;
 import rocks.metaldetector.support.SlicingService;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -34,9 +42,12 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static rocks.metaldetector.spotify.client.SpotifyDtoFactory.SpotfiyArtistFactory;
 import static rocks.metaldetector.spotify.client.SpotifyDtoFactory.SpotifyArtistDtoFactory;
 import static rocks.metaldetector.spotify.client.SpotifyDtoFactory.SpotifyArtistSearchResultContainerFactory;
@@ -64,12 +75,18 @@ class SpotifyServiceImplTest implements WithAssertions {
   @Mock
   private SlicingService slicingService;
 
+  @Mock
+  private SpotifyArtistCache artistCache;
+
+  @Spy
+  private SpotifyRequestExecutor requestExecutor = new SpotifyRequestExecutor(new SpotifyImportProperties(), Runnable::run);
+
   @InjectMocks
   private SpotifyServiceImpl underTest;
 
   @AfterEach
   void tearDown() {
-    reset(searchClient, resultTransformer, artistTransformer, importClient, albumTransformer, slicingService);
+    reset(searchClient, resultTransformer, artistTransformer, importClient, albumTransformer, slicingService, artistCache);
   }
 
   @Nested
@@ -81,6 +98,7 @@ class SpotifyServiceImplTest implements WithAssertions {
     void test_search_client_query() {
       // given
       var query = "query";
+      doReturn(SpotifyArtistSearchResultDtoFactory.createDefault()).when(resultTransformer).transform(any());
 
       // when
       underTest.searchArtistByName(query, 1, 10);
@@ -94,6 +112,7 @@ class SpotifyServiceImplTest implements WithAssertions {
     void test_search_client_page_number() {
       // given
       var pageNumber = 1;
+      doReturn(SpotifyArtistSearchResultDtoFactory.createDefault()).when(resultTransformer).transform(any());
 
       // when
       underTest.searchArtistByName("query", pageNumber, 10);
@@ -107,6 +126,7 @@ class SpotifyServiceImplTest implements WithAssertions {
     void test_search_client_page_size() {
       // given
       var pageSize = 10;
+      doReturn(SpotifyArtistSearchResultDtoFactory.createDefault()).when(resultTransformer).transform(any());
 
       // when
       underTest.searchArtistByName("query", 1, pageSize);
@@ -121,6 +141,7 @@ class SpotifyServiceImplTest implements WithAssertions {
       // given
       SpotifyArtistSearchResultContainer resultContainer = SpotifyArtistSearchResultContainerFactory.createDefault();
       doReturn(resultContainer).when(searchClient).searchByName(any(), anyInt(), anyInt());
+      doReturn(SpotifyArtistSearchResultDtoFactory.createDefault()).when(resultTransformer).transform(any());
 
       // when
       underTest.searchArtistByName("query", 1, 10);
@@ -142,6 +163,20 @@ class SpotifyServiceImplTest implements WithAssertions {
       // then
       assertThat(result).isEqualTo(resultMock);
     }
+
+    @Test
+    @DisplayName("found artists are put into the artist cache")
+    void test_found_artists_cached() {
+      // given
+      SpotifyArtistSearchResultDto resultMock = SpotifyArtistSearchResultDtoFactory.createDefault();
+      doReturn(resultMock).when(resultTransformer).transform(any());
+
+      // when
+      underTest.searchArtistByName("query", 1, 10);
+
+      // then
+      verify(artistCache).putAll(resultMock.getSearchResults());
+    }
   }
 
   @Nested
@@ -190,6 +225,36 @@ class SpotifyServiceImplTest implements WithAssertions {
       // then
       assertThat(response).isEqualTo(transformedSearchResult);
     }
+
+    @Test
+    @DisplayName("the transformed artist is put into the artist cache")
+    void test_artist_cached() {
+      // given
+      var transformedSearchResult = SpotifyArtistDtoFactory.withArtistName("Slayer");
+      doReturn(transformedSearchResult).when(artistTransformer).transform(any());
+
+      // when
+      underTest.searchArtistById("666");
+
+      // then
+      verify(artistCache).put(transformedSearchResult);
+    }
+
+    @Test
+    @DisplayName("a cached artist is returned without calling the search client")
+    void test_cached_artist_returned() {
+      // given
+      var cachedArtist = SpotifyArtistDtoFactory.withArtistName("Slayer");
+      doReturn(Optional.of(cachedArtist)).when(artistCache).get(any());
+
+      // when
+      var response = underTest.searchArtistById("666");
+
+      // then
+      assertThat(response).isEqualTo(cachedArtist);
+      verify(artistCache).get("666");
+      verifyNoInteractions(searchClient);
+    }
   }
 
   @Nested
@@ -258,6 +323,120 @@ class SpotifyServiceImplTest implements WithAssertions {
       // then
       assertThat(response).isEqualTo(List.of(transformedSearchResult));
     }
+
+    @Test
+    @DisplayName("only artists that are not cached are requested from the search client")
+    void test_only_uncached_artists_requested() {
+      // given
+      var cachedArtist = SpotifyArtistDtoFactory.withArtistName("Slayer");
+      doReturn(Optional.of(cachedArtist)).when(artistCache).get("1");
+      doReturn(Optional.empty()).when(artistCache).get("2");
+      doReturn(List.of("2")).when(slicingService).slice(any(), anyInt(), anyInt());
+      doReturn(SpotifyArtistsContainer.builder().artists(Collections.emptyList()).build()).when(searchClient).searchByIds(any());
+
+      // when
+      underTest.searchArtistsByIds(List.of("1", "2"));
+
+      // then
+      verify(slicingService).slice(List.of("2"), 1, PAGE_SIZE);
+      verify(searchClient).searchByIds(List.of("2"));
+    }
+
+    @Test
+    @DisplayName("cached and requested artists are returned")
+    void test_cached_and_requested_artists_returned() {
+      // given
+      var cachedArtist = SpotifyArtistDtoFactory.withArtistName("Slayer");
+      var transformedArtist = SpotifyArtistDtoFactory.withArtistName("Darkthrone");
+      doReturn(Optional.of(cachedArtist)).when(artistCache).get("1");
+      doReturn(Optional.empty()).when(artistCache).get("2");
+      doReturn(SpotifyArtistsContainer.builder().artists(List.of(SpotfiyArtistFactory.withArtistName("Darkthrone"))).build()).when(searchClient).searchByIds(any());
+      doReturn(transformedArtist).when(artistTransformer).transform(any());
+
+      // when
+      var response = underTest.searchArtistsByIds(List.of("1", "2"));
+
+      // then
+      assertThat(response).containsExactly(cachedArtist, transformedArtist);
+      verify(artistCache).putAll(List.of(transformedArtist));
+    }
+
+    @Test
+    @DisplayName("the search client is not called if all artists are cached")
+    void test_all_artists_cached() {
+      // given
+      doReturn(Optional.of(SpotifyArtistDtoFactory.withArtistName("Slayer"))).when(artistCache).get(any());
+
+      // when
+      underTest.searchArtistsByIds(List.of("1"));
+
+      // then
+      verifyNoInteractions(searchClient);
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for method refreshArtists()")
+  class RefreshArtistsTest {
+
+    @Test
+    @DisplayName("artists are requested in batches of the page size")
+    void test_artists_requested_in_batches() {
+      // given
+      var artistIds = IntStream.rangeClosed(1, 51).mapToObj(String::valueOf).collect(Collectors.toList());
+      doReturn(SpotifyArtistsContainer.builder().artists(Collections.emptyList()).build()).when(searchClient).searchByIds(any());
+
+      // when
+      underTest.refreshArtists(artistIds);
+
+      // then
+      verify(slicingService).slice(artistIds, 1, PAGE_SIZE);
+      verify(slicingService).slice(artistIds, 2, PAGE_SIZE);
+      verify(searchClient, times(2)).searchByIds(any());
+    }
+
+    @Test
+    @DisplayName("the cache is not read")
+    void test_cache_not_read() {
+      // given
+      doReturn(SpotifyArtistsContainer.builder().artists(Collections.emptyList()).build()).when(searchClient).searchByIds(any());
+
+      // when
+      underTest.refreshArtists(List.of("1"));
+
+      // then
+      verify(artistCache, never()).get(any());
+    }
+
+    @Test
+    @DisplayName("the refreshed artists are returned and put into the artist cache")
+    void test_refreshed_artists_cached() {
+      // given
+      var transformedArtist = SpotifyArtistDtoFactory.withArtistName("Slayer");
+      doReturn(SpotifyArtistsContainer.builder().artists(List.of(SpotfiyArtistFactory.withArtistName("Slayer"))).build()).when(searchClient).searchByIds(any());
+      doReturn(transformedArtist).when(artistTransformer).transform(any());
+
+      // when
+      var response = underTest.refreshArtists(List.of("1"));
+
+      // then
+      assertThat(response).containsExactly(transformedArtist);
+      verify(artistCache).putAll(List.of(transformedArtist));
+    }
+
+    @Test
+    @DisplayName("artists that were removed from Spotify are left out")
+    void test_removed_artists_left_out() {
+      // given
+      doReturn(SpotifyArtistsContainer.builder().artists(Collections.singletonList(null)).build()).when(searchClient).searchByIds(any());
+
+      // when
+      var response = underTest.refreshArtists(List.of("1"));
+
+      // then
+      assertThat(response).isEmpty();
+      verifyNoInteractions(artistTransformer);
+    }
   }
 
   @Nested
@@ -318,6 +497,122 @@ class SpotifyServiceImplTest implements WithAssertions {
     }
   }
 
+  @Nested
+  @DisplayName("Tests for method fetchLikedAlbumsAddedSince()")
+  class FetchLikedAlbumsAddedSinceTest {
+
+    private final LocalDateTime addedSince = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    @Test
+    @DisplayName("all pages are fetched without a time")
+    void test_all_pages_fetched() {
+      // given
+      doReturn(albumPage(30, 10, item("a", addedSince))).when(importClient).fetchLikedAlbums(anyInt());
+
+      // when
+      underTest.fetchLikedAlbumsAddedSince(null);
+
+      // then
+      verify(importClient).fetchLikedAlbums(0);
+      verify(importClient).fetchLikedAlbums(10);
+      verify(importClient).fetchLikedAlbums(20);
+    }
+
+    @Test
+    @DisplayName("pages are fetched until an album appears that was added before the given time")
+    void test_pages_fetched_until_older_album() {
+      // given
+      doReturn(albumPage(30, 2, item("a", addedSince.plusDays(2)), item("b", addedSince.plusDays(1)))).when(importClient).fetchLikedAlbums(0);
+      doReturn(albumPage(30, 2, item("c", addedSince), item("d", addedSince.minusDays(1)))).when(importClient).fetchLikedAlbums(2);
+
+      // when
+      var result = underTest.fetchLikedAlbumsAddedSince(addedSince);
+
+      // then
+      verify(importClient, never()).fetchLikedAlbums(4);
+      assertThat(result.getArtistIds()).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    @DisplayName("pages are fetched until all albums are fetched")
+    void test_pages_fetched_until_total() {
+      // given
+      doReturn(albumPage(2, 1, item("a", addedSince.plusDays(1)))).when(importClient).fetchLikedAlbums(anyInt());
+
+      // when
+      underTest.fetchLikedAlbumsAddedSince(addedSince);
+
+      // then
+      verify(importClient).fetchLikedAlbums(0);
+      verify(importClient).fetchLikedAlbums(1);
+      verify(importClient, never()).fetchLikedAlbums(2);
+    }
+
+    @Test
+    @DisplayName("artist ids are returned without duplicates")
+    void test_distinct_artist_ids() {
+      // given
+      doReturn(albumPage(2, 10, item("a", addedSince), item("a", addedSince))).when(importClient).fetchLikedAlbums(0);
+
+      // when
+      var result = underTest.fetchLikedAlbumsAddedSince(null);
+
+      // then
+      assertThat(result.getArtistIds()).containsExactly("a");
+    }
+
+    @Test
+    @DisplayName("the time the newest album was added is returned")
+    void test_last_added_at_returned() {
+      // given
+      doReturn(albumPage(2, 10, item("a", addedSince.plusDays(1)), item("b", addedSince.plusDays(2)))).when(importClient).fetchLikedAlbums(0);
+
+      // when
+      var result = underTest.fetchLikedAlbumsAddedSince(addedSince);
+
+      // then
+      assertThat(result.getLastAddedAt()).isEqualTo(addedSince.plusDays(2));
+    }
+
+    @Test
+    @DisplayName("the given time is returned if no album was added since")
+    void test_given_time_returned() {
+      // given
+      doReturn(albumPage(1, 10, item("a", addedSince.minusDays(1)))).when(importClient).fetchLikedAlbums(0);
+
+      // when
+      var result = underTest.fetchLikedAlbumsAddedSince(addedSince);
+
+      // then
+      assertThat(result.getArtistIds()).isEmpty();
+      assertThat(result.getLastAddedAt()).isEqualTo(addedSince);
+    }
+
+    @Test
+    @DisplayName("a rate limited page is fetched again")
+    void test_rate_limited_page_retried() {
+      // given
+      doThrow(new SpotifyRateLimitException("rate limit", Duration.ZERO))
+          .doReturn(albumPage(0, 10))
+          .when(importClient).fetchLikedAlbums(0);
+
+      // when
+      underTest.fetchLikedAlbumsAddedSince(addedSince);
+
+      // then
+      verify(importClient, times(2)).fetchLikedAlbums(0);
+    }
+
+    private SpotifySavedAlbumsPageItem item(String artistId, LocalDateTime addedAt) {
+      var album = SpotifyAlbum.builder().artists(List.of(SpotifyArtist.builder().id(artistId).build())).build();
+      return SpotifySavedAlbumsPageItem.builder().album(album).addedAt(addedAt).build();
+    }
+
+    private SpotifySavedAlbumsPage albumPage(int total, int limit, SpotifySavedAlbumsPageItem... items) {
+      return SpotifySavedAlbumsPage.builder().items(List.of(items)).total(total).limit(limit).build();
+    }
+  }
+
   @Nested
   @DisplayName("Tests for method fetchFollowedArtists()")
   class FetchFollowedArtistsTest {
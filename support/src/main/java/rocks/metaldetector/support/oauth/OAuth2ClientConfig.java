@@ -38,6 +38,7 @@ public class OAuth2ClientConfig {
                                                                          ClientRegistrationRepository clientRegistrationRepository) {
     OAuth2AuthorizedClientProvider authorizedClientProvider = OAuth2AuthorizedClientProviderBuilder.builder()
         .clientCredentials()
+        .refreshToken()
         .build();
     var manager = new AuthorizedClientServiceOAuth2AuthorizedClientManager(clientRegistrationRepository, authorizedClientService);
     manager.setAuthorizedClientProvider(authorizedClientProvider);
@@ -13,6 +13,7 @@ public class OAuth2ClientManagerProvider {
   private final OAuth2AuthorizedClientManager authorizedClientManager;
   private final OAuth2AuthorizedClientManager schedulingAuthorizedClientManager;
   private final TaskSchedulingProperties taskSchedulingProperties;
+  private final ThreadLocal<Boolean> schedulingManagerRequested = ThreadLocal.withInitial(() -> false);
 
   public OAuth2ClientManagerProvider(@Qualifier("authorizedClientManager") OAuth2AuthorizedClientManager authorizedClientManager,
                                      @Qualifier("schedulingAuthorizedClientManager") OAuth2AuthorizedClientManager schedulingAuthorizedClientManager,
@@ -23,9 +24,28 @@ public class OAuth2ClientManagerProvider {
   }
 
   public OAuth2AuthorizedClientManager provide() {
-    if (currentThread().getName().startsWith(taskSchedulingProperties.getThreadNamePrefix())) {
+    if (schedulingManagerRequested.get() || currentThread().getName().startsWith(taskSchedulingProperties.getThreadNamePrefix())) {
       return schedulingAuthorizedClientManager;
     }
     return authorizedClientManager;
   }
+
+  /**
+   * Runs the task with the schedulingAuthorizedClientManager. This is meant for background tasks outside of the
+   * scheduling threads, that have no request of a user to authorize the client with.
+   */
+  public void runWithSchedulingManager(Runnable task) {
+    if (schedulingManagerRequested.get()) {
+      task.run();
+      return;
+    }
+
+    schedulingManagerRequested.set(true);
+    try {
+      task.run();
+    }
+    finally {
+      schedulingManagerRequested.remove();
+    }
+  }
 }
@@ -12,6 +12,9 @@ import org.springframework.boot.autoconfigure.task.TaskSchedulingProperties;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.reset;
 
@@ -66,4 +69,30 @@ class OAuth2ClientManagerProviderTest implements WithAssertions {
       assertThat(result).isEqualTo(authorizedClientManager);
     });
   }
+
+  @Test
+  @DisplayName("Within runWithSchedulingManager the schedulingAuthorizedClientManager is returned")
+  void test_scheduling_manager_returned_on_request() {
+    // given
+    List<OAuth2AuthorizedClientManager> results = new ArrayList<>();
+
+    // when
+    underTest.runWithSchedulingManager(() -> results.add(underTest.provide()));
+
+    // then
+    assertThat(results).containsExactly(schedulingAuthorizedClientManager);
+  }
+
+  @Test
+  @DisplayName("After runWithSchedulingManager the default authorizedClientManager is returned again")
+  void test_default_manager_returned_afterwards() {
+    // given
+    underTest.runWithSchedulingManager(() -> underTest.runWithSchedulingManager(underTest::provide));
+
+    // when
+    var result = underTest.provide();
+
+    // then
+    assertThat(result).isEqualTo(authorizedClientManager);
+  }
 }
@@ -19,4 +19,7 @@ public class TelegramMessage {
   @JsonProperty("description")
   private String description;
 
+  @JsonProperty("parameters")
+  private TelegramResponseParameters parameters;
+
 }
@@ -2,6 +2,7 @@ package rocks.metaldetector.telegram.client;
 
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestOperations;
@@ -10,11 +11,16 @@ import rocks.metaldetector.telegram.api.TelegramMessage;
 import rocks.metaldetector.telegram.api.TelegramSendMessageRequest;
 import rocks.metaldetector.telegram.config.TelegramProperties;
 
+import java.time.Duration;
+
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
 @Component
 @Profile({"default", "preview", "prod"})
 public class TelegramClientImpl implements TelegramClient {
 
   static final String METHOD_ENDPOINT_NAME = "/bot{botId}/sendMessage";
+  static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
 
   private final RestOperations telegramRestOperations;
   private final TelegramProperties telegramProperties;
@@ -35,6 +41,10 @@ public class TelegramClientImpl implements TelegramClient {
     );
 
     TelegramMessage message = responseEntity.getBody();
+    if (responseEntity.getStatusCode().isSameCodeAs(TOO_MANY_REQUESTS)) {
+      throw new TelegramRateLimitException("Rate limit exceeded for chat '" + request.getChatId() + "'", getRetryAfter(responseEntity));
+    }
+
     var shouldNotHappen = message == null || !responseEntity.getStatusCode().is2xxSuccessful();
     if (shouldNotHappen) {
       throw new ExternalServiceException("Could not send message to chat '" + request.getChatId() + "' (Response code: " + responseEntity.getStatusCode() + ")");
@@ -42,4 +52,17 @@ public class TelegramClientImpl implements TelegramClient {
 
     return message;
   }
+
+  private Duration getRetryAfter(ResponseEntity<TelegramMessage> responseEntity) {
+    TelegramMessage message = responseEntity.getBody();
+    if (message != null && message.getParameters() != null && message.getParameters().getRetryAfter() != null) {
+      return Duration.ofSeconds(message.getParameters().getRetryAfter());
+    }
+
+    String retryAfterHeader = responseEntity.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+    if (retryAfterHeader != null && retryAfterHeader.matches("\\d+")) {
+      return Duration.ofSeconds(Long.parseLong(retryAfterHeader));
+    }
+    return DEFAULT_RETRY_AFTER;
+  }
 }
@@ -0,0 +1,19 @@
+package rocks.metaldetector.telegram.client;
+
+import lombok.Getter;
+import rocks.metaldetector.support.exceptions.ExternalServiceException;
+
+import java.time.Duration;
+
+@Getter
+public class TelegramRateLimitException extends ExternalServiceException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Duration retryAfter;
+
+  public TelegramRateLimitException(String detailMessage, Duration retryAfter) {
+    super(detailMessage);
+    this.retryAfter = retryAfter;
+  }
+}
@@ -0,0 +1,24 @@
+package rocks.metaldetector.telegram.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@PropertySource(value = "classpath:application.yml")
+@ConfigurationProperties(prefix = "telegram.outbound")
+@Data
+public class TelegramOutboundProperties {
+
+  private double globalMessagesPerSecond = 25;
+  private double chatMessagesPerSecond = 1;
+  private Duration coalescingWindow = Duration.ofSeconds(2);
+  private int maxMessageLength = 4096;
+  private int maxAttempts = 3;
+  private int senderThreads = 4;
+  private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+}
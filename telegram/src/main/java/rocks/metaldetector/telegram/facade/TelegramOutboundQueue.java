@@ -0,0 +1,236 @@
+package rocks.metaldetector.telegram.facade;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import rocks.metaldetector.telegram.api.TelegramSendMessageRequest;
+import rocks.metaldetector.telegram.client.TelegramClient;
+import rocks.metaldetector.telegram.client.TelegramRateLimitException;
+import rocks.metaldetector.telegram.config.TelegramOutboundProperties;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Outbound queue for Telegram messages. Messages are sent asynchronously with respect to a global and a per chat
+ * token bucket. Messages to the same chat that arrive within the coalescing window are sent as one message.
+ * If Telegram answers with 429, sending is paused for the given retry-after period and the message is sent again.
+ * Every message that leaves the queue is counted with its outcome, coalesced messages are counted once.
+ */
+@Slf4j
+@Component
+public class TelegramOutboundQueue {
+
+  static final String MESSAGE_SEPARATOR = "\n\n";
+  static final long TICK_MILLIS = 50;
+  static final String MESSAGES_METRIC_NAME = "telegram.outbound.messages";
+  private static final long RETRY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final TelegramClient telegramClient;
+  private final TelegramOutboundProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final LongSupplier nanoClock;
+  private final Executor senderExecutor;
+  private final TokenBucket globalBucket;
+  private final Map<Integer, ChatQueue> chatQueues = new LinkedHashMap<>();
+  private ScheduledExecutorService ticker;
+  private long globalNotBefore;
+
+  public TelegramOutboundQueue(TelegramClient telegramClient, TelegramOutboundProperties properties, MeterRegistry meterRegistry) {
+    this(telegramClient, properties, meterRegistry, System::nanoTime,
+         Executors.newFixedThreadPool(properties.getSenderThreads(), new CustomizableThreadFactory("telegram-sender-")));
+  }
+
+  TelegramOutboundQueue(TelegramClient telegramClient, TelegramOutboundProperties properties, MeterRegistry meterRegistry,
+                        LongSupplier nanoClock, Executor senderExecutor) {
+    this.telegramClient = telegramClient;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.nanoClock = nanoClock;
+    this.senderExecutor = senderExecutor;
+    this.globalBucket = new TokenBucket(Math.max(1, properties.getGlobalMessagesPerSecond()), properties.getGlobalMessagesPerSecond(), nanoClock);
+    this.globalNotBefore = nanoClock.getAsLong();
+  }
+
+  @PostConstruct
+  public void start() {
+    ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("telegram-outbound-"));
+    ticker.scheduleWithFixedDelay(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    if (ticker != null) {
+      ticker.shutdownNow();
+    }
+
+    long deadline = nanoClock.getAsLong() + properties.getShutdownTimeout().toNanos();
+    while (size() > 0 && nanoClock.getAsLong() < deadline) {
+      drain(true);
+      Thread.sleep(TICK_MILLIS);
+    }
+    int remaining = size();
+    if (remaining > 0) {
+      log.warn("{} Telegram messages could not be sent before shutdown", remaining);
+      meterRegistry.counter(MESSAGES_METRIC_NAME, "outcome", "dropped").increment(remaining);
+    }
+    if (senderExecutor instanceof ExecutorService executorService) {
+      executorService.shutdown();
+    }
+  }
+
+  public void enqueue(int chatId, String text) {
+    long now = nanoClock.getAsLong();
+    synchronized (this) {
+      ChatQueue chatQueue = chatQueues.computeIfAbsent(chatId, id -> new ChatQueue(new TokenBucket(1, properties.getChatMessagesPerSecond(), nanoClock)));
+      PendingMessage lastMessage = chatQueue.messages.peekLast();
+      if (lastMessage != null && canCoalesce(lastMessage, text, now)) {
+        lastMessage.text = lastMessage.text + MESSAGE_SEPARATOR + text;
+      }
+      else {
+        chatQueue.messages.addLast(new PendingMessage(text, now, 0));
+      }
+    }
+  }
+
+  synchronized int size() {
+    return chatQueues.values().stream()
+        .mapToInt(chatQueue -> chatQueue.messages.size() + (chatQueue.inFlight ? 1 : 0))
+        .sum();
+  }
+
+  void drain(boolean ignoreCoalescingWindow) {
+    List<Runnable> sendTasks = new ArrayList<>();
+    synchronized (this) {
+      long now = nanoClock.getAsLong();
+      if (now - globalNotBefore < 0) {
+        return;
+      }
+
+      Iterator<Map.Entry<Integer, ChatQueue>> iterator = chatQueues.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<Integer, ChatQueue> entry = iterator.next();
+        ChatQueue chatQueue = entry.getValue();
+        if (chatQueue.isIdle(now)) {
+          iterator.remove();
+          continue;
+        }
+
+        PendingMessage message = chatQueue.messages.peekFirst();
+        if (message == null || chatQueue.inFlight || now - chatQueue.notBefore < 0
+            || (!ignoreCoalescingWindow && now - message.enqueuedAt < properties.getCoalescingWindow().toNanos())
+            || !chatQueue.bucket.hasToken()) {
+          continue;
+        }
+        if (!globalBucket.tryConsume()) {
+          break;
+        }
+
+        chatQueue.bucket.tryConsume();
+        chatQueue.messages.pollFirst();
+        chatQueue.inFlight = true;
+        chatQueue.lastSent = now;
+        int chatId = entry.getKey();
+        sendTasks.add(() -> send(chatId, chatQueue, message));
+      }
+    }
+    sendTasks.forEach(senderExecutor::execute);
+  }
+
+  private void tick() {
+    try {
+      drain(false);
+    }
+    catch (Exception e) {
+      log.error("Could not drain Telegram outbound queue", e);
+    }
+  }
+
+  private void send(int chatId, ChatQueue chatQueue, PendingMessage message) {
+    try {
+      telegramClient.sendMessage(new TelegramSendMessageRequest(chatId, message.text));
+      countMessage("success");
+    }
+    catch (TelegramRateLimitException e) {
+      log.warn("Telegram rate limit hit for chat '{}', retrying after {}", chatId, e.getRetryAfter());
+      synchronized (this) {
+        long retryAt = nanoClock.getAsLong() + e.getRetryAfter().toNanos();
+        globalNotBefore = retryAt - globalNotBefore > 0 ? retryAt : globalNotBefore;
+        chatQueue.notBefore = retryAt;
+        chatQueue.messages.addFirst(message);
+      }
+    }
+    catch (Exception e) {
+      int attempts = message.attempts + 1;
+      if (attempts < properties.getMaxAttempts()) {
+        log.warn("Could not send Telegram message to chat '{}' (attempt {}), retrying", chatId, attempts, e);
+        synchronized (this) {
+          chatQueue.notBefore = nanoClock.getAsLong() + attempts * RETRY_BACKOFF_NANOS;
+          chatQueue.messages.addFirst(new PendingMessage(message.text, message.enqueuedAt, attempts));
+        }
+      }
+      else {
+        log.error("Could not send Telegram message to chat '{}' after {} attempts", chatId, attempts, e);
+        countMessage("error");
+      }
+    }
+    finally {
+      synchronized (this) {
+        chatQueue.inFlight = false;
+      }
+    }
+  }
+
+  private void countMessage(String outcome) {
+    meterRegistry.counter(MESSAGES_METRIC_NAME, "outcome", outcome).increment();
+  }
+
+  private boolean canCoalesce(PendingMessage message, String text, long now) {
+    return message.attempts == 0
+           && now - message.enqueuedAt < properties.getCoalescingWindow().toNanos()
+           && message.text.length() + MESSAGE_SEPARATOR.length() + text.length() <= properties.getMaxMessageLength();
+  }
+
+  @AllArgsConstructor
+  private static class PendingMessage {
+
+    private String text;
+    private final long enqueuedAt;
+    private final int attempts;
+  }
+
+  private class ChatQueue {
+
+    private final Deque<PendingMessage> messages = new ArrayDeque<>();
+    private final TokenBucket bucket;
+    private boolean inFlight;
+    private long notBefore;
+    private long lastSent;
+
+    ChatQueue(TokenBucket bucket) {
+      this.bucket = bucket;
+      this.notBefore = nanoClock.getAsLong();
+      this.lastSent = notBefore - TimeUnit.SECONDS.toNanos(1) * 60;
+    }
+
+    boolean isIdle(long now) {
+      long refillNanos = (long) (TimeUnit.SECONDS.toNanos(1) / properties.getChatMessagesPerSecond());
+      return messages.isEmpty() && !inFlight && now - lastSent > refillNanos && now - notBefore >= 0;
+    }
+  }
+}
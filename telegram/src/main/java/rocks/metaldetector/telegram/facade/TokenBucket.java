@@ -0,0 +1,45 @@
+package rocks.metaldetector.telegram.facade;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Classic token bucket: holds up to {@code capacity} tokens and refills continuously with {@code tokensPerSecond}.
+ */
+class TokenBucket {
+
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+  private final double capacity;
+  private final double tokensPerNano;
+  private final LongSupplier nanoClock;
+  private double tokens;
+  private long lastRefill;
+
+  TokenBucket(double capacity, double tokensPerSecond, LongSupplier nanoClock) {
+    this.capacity = capacity;
+    this.tokensPerNano = tokensPerSecond / NANOS_PER_SECOND;
+    this.nanoClock = nanoClock;
+    this.tokens = capacity;
+    this.lastRefill = nanoClock.getAsLong();
+  }
+
+  synchronized boolean tryConsume() {
+    refill();
+    if (tokens >= 1) {
+      tokens -= 1;
+      return true;
+    }
+    return false;
+  }
+
+  synchronized boolean hasToken() {
+    refill();
+    return tokens >= 1;
+  }
+
+  private void refill() {
+    long now = nanoClock.getAsLong();
+    tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+    lastRefill = now;
+  }
+}
@@ -11,14 +11,17 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestOperations;
 import rocks.metaldetector.support.exceptions.ExternalServiceException;
 import rocks.metaldetector.telegram.api.TelegramMessage;
+import rocks.metaldetector.telegram.api.TelegramResponseParameters;
 import rocks.metaldetector.telegram.api.TelegramSendMessageRequest;
 import rocks.metaldetector.telegram.config.TelegramProperties;
 
+import java.time.Duration;
 import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -27,6 +30,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
+import static rocks.metaldetector.telegram.client.TelegramClientImpl.DEFAULT_RETRY_AFTER;
 import static rocks.metaldetector.telegram.client.TelegramClientImpl.METHOD_ENDPOINT_NAME;
 
 @ExtendWith(MockitoExtension.class)
@@ -144,6 +148,55 @@ class TelegramClientImplTest implements WithAssertions {
     assertThat(throwable).isInstanceOf(ExternalServiceException.class);
   }
 
+  @Test
+  @DisplayName("If the status is 429, a TelegramRateLimitException with the retry-after of the response body is thrown")
+  void test_rate_limit_exception_with_body_retry_after() {
+    // given
+    var responseMessage = new TelegramMessage();
+    responseMessage.setParameters(new TelegramResponseParameters(7));
+    doReturn("botId").when(properties).getBotId();
+    doReturn(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(responseMessage)).when(restOperations)
+        .postForEntity(anyString(), any(), any(), anyString());
+
+    // when
+    Throwable throwable = catchThrowable(() -> underTest.sendMessage(new TelegramSendMessageRequest()));
+
+    // then
+    assertThat(throwable).isInstanceOf(TelegramRateLimitException.class);
+    assertThat(((TelegramRateLimitException) throwable).getRetryAfter()).isEqualTo(Duration.ofSeconds(7));
+  }
+
+  @Test
+  @DisplayName("If the status is 429, a TelegramRateLimitException with the retry-after of the response header is thrown")
+  void test_rate_limit_exception_with_header_retry_after() {
+    // given
+    doReturn("botId").when(properties).getBotId();
+    doReturn(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "3").build()).when(restOperations)
+        .postForEntity(anyString(), any(), any(), anyString());
+
+    // when
+    Throwable throwable = catchThrowable(() -> underTest.sendMessage(new TelegramSendMessageRequest()));
+
+    // then
+    assertThat(throwable).isInstanceOf(TelegramRateLimitException.class);
+    assertThat(((TelegramRateLimitException) throwable).getRetryAfter()).isEqualTo(Duration.ofSeconds(3));
+  }
+
+  @Test
+  @DisplayName("If the status is 429 without retry-after, the default retry-after is used")
+  void test_rate_limit_exception_with_default_retry_after() {
+    // given
+    doReturn("botId").when(properties).getBotId();
+    doReturn(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build()).when(restOperations)
+        .postForEntity(anyString(), any(), any(), anyString());
+
+    // when
+    Throwable throwable = catchThrowable(() -> underTest.sendMessage(new TelegramSendMessageRequest()));
+
+    // then
+    assertThat(((TelegramRateLimitException) throwable).getRetryAfter()).isEqualTo(DEFAULT_RETRY_AFTER);
+  }
+
   private static Stream<Arguments> httpStatusCodeProvider() {
     return Stream.of(HttpStatus.values()).filter(status -> !status.is2xxSuccessful()).map(Arguments::of);
   }
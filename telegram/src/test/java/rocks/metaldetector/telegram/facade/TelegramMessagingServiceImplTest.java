@@ -8,8 +8,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import rocks.metaldetector.telegram.api.TelegramSendMessageRequest;
-import rocks.metaldetector.telegram.client.TelegramClient;
 
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
@@ -18,28 +16,27 @@ import static org.mockito.Mockito.verify;
 class TelegramMessagingServiceImplTest implements WithAssertions {
 
   @Mock
-  private TelegramClient telegramClient;
+  private TelegramOutboundQueue telegramOutboundQueue;
 
   @InjectMocks
   private TelegramMessagingServiceImpl underTest;
 
   @AfterEach
   void tearDown() {
-    reset(telegramClient);
+    reset(telegramOutboundQueue);
   }
 
   @Test
-  @DisplayName("telegramClient is called with expected request")
-  void test_client_called() {
+  @DisplayName("message is enqueued in the outbound queue")
+  void test_message_enqueued() {
     // given
     var chatId = 12345;
     var message = "message";
-    var request = new TelegramSendMessageRequest(chatId, message);
 
     // when
     underTest.sendMessage(chatId, message);
 
     // then
-    verify(telegramClient).sendMessage(request);
+    verify(telegramOutboundQueue).enqueue(chatId, message);
   }
 }
@@ -0,0 +1,236 @@
+package rocks.metaldetector.telegram.facade;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import rocks.metaldetector.support.exceptions.ExternalServiceException;
+import rocks.metaldetector.telegram.api.TelegramSendMessageRequest;
+import rocks.metaldetector.telegram.client.TelegramClient;
+import rocks.metaldetector.telegram.client.TelegramRateLimitException;
+import rocks.metaldetector.telegram.config.TelegramOutboundProperties;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static rocks.metaldetector.telegram.facade.TelegramOutboundQueue.MESSAGES_METRIC_NAME;
+import static rocks.metaldetector.telegram.facade.TelegramOutboundQueue.MESSAGE_SEPARATOR;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramOutboundQueueTest implements WithAssertions {
+
+  private final AtomicLong nanoClock = new AtomicLong();
+
+  @Mock
+  private TelegramClient telegramClient;
+
+  private TelegramOutboundProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private TelegramOutboundQueue underTest;
+
+  @BeforeEach
+  void setup() {
+    properties = new TelegramOutboundProperties();
+    properties.setGlobalMessagesPerSecond(2);
+    properties.setChatMessagesPerSecond(1);
+    properties.setCoalescingWindow(Duration.ofSeconds(2));
+    properties.setMaxAttempts(2);
+    meterRegistry = new SimpleMeterRegistry();
+    underTest = new TelegramOutboundQueue(telegramClient, properties, meterRegistry, nanoClock::get, Runnable::run);
+  }
+
+  @AfterEach
+  void tearDown() {
+    reset(telegramClient);
+  }
+
+  @Test
+  @DisplayName("message is not sent before the coalescing window is over")
+  void test_message_waits_for_coalescing_window() {
+    // given
+    underTest.enqueue(1, "message");
+
+    // when
+    underTest.drain(false);
+
+    // then
+    verifyNoInteractions(telegramClient);
+    assertThat(underTest.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("messages to the same chat within the coalescing window are sent as one message")
+  void test_messages_coalesced() {
+    // given
+    underTest.enqueue(1, "first");
+    advance(Duration.ofSeconds(1));
+    underTest.enqueue(1, "second");
+    advance(Duration.ofSeconds(1));
+
+    // when
+    underTest.drain(false);
+
+    // then
+    verify(telegramClient).sendMessage(new TelegramSendMessageRequest(1, "first" + MESSAGE_SEPARATOR + "second"));
+    assertThat(underTest.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("messages are not coalesced if the result would be too long")
+  void test_messages_not_coalesced_if_too_long() {
+    // given
+    properties.setMaxMessageLength(10);
+    underTest.enqueue(1, "first");
+    underTest.enqueue(1, "second");
+
+    // when
+    advance(Duration.ofSeconds(2));
+    underTest.drain(false);
+
+    // then
+    verify(telegramClient).sendMessage(new TelegramSendMessageRequest(1, "first"));
+    assertThat(underTest.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("only one message per second is sent to the same chat")
+  void test_chat_rate_limit() {
+    // given
+    underTest.enqueue(1, "first");
+    advance(Duration.ofSeconds(3));
+    underTest.enqueue(1, "second");
+    advance(Duration.ofSeconds(2));
+    underTest.drain(false);
+
+    // when
+    underTest.drain(false);
+
+    // then
+    verify(telegramClient, times(1)).sendMessage(any());
+    advance(Duration.ofSeconds(1));
+    underTest.drain(false);
+    verify(telegramClient, times(2)).sendMessage(any());
+  }
+
+  @Test
+  @DisplayName("global rate limit is respected across chats")
+  void test_global_rate_limit() {
+    // given
+    underTest.enqueue(1, "message");
+    underTest.enqueue(2, "message");
+    underTest.enqueue(3, "message");
+    advance(Duration.ofSeconds(2));
+
+    // when
+    underTest.drain(false);
+
+    // then
+    verify(telegramClient, times(2)).sendMessage(any());
+    assertThat(underTest.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("sending is paused for the retry-after period if the rate limit is hit")
+  void test_retry_after() {
+    // given
+    var request = new TelegramSendMessageRequest(1, "message");
+    doThrow(new TelegramRateLimitException("rate limit", Duration.ofSeconds(5))).doReturn(null)
+        .when(telegramClient).sendMessage(request);
+    underTest.enqueue(1, "message");
+    advance(Duration.ofSeconds(2));
+    underTest.drain(false);
+
+    // when
+    advance(Duration.ofSeconds(4));
+    underTest.drain(false);
+
+    // then
+    verify(telegramClient, times(1)).sendMessage(request);
+    advance(Duration.ofSeconds(1));
+    underTest.drain(false);
+    verify(telegramClient, times(2)).sendMessage(request);
+    assertThat(underTest.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("message is dropped after the max attempts")
+  void test_max_attempts() {
+    // given
+    doThrow(new ExternalServiceException("boom")).when(telegramClient).sendMessage(any());
+    underTest.enqueue(1, "message");
+    advance(Duration.ofSeconds(2));
+    underTest.drain(false);
+
+    // when
+    advance(Duration.ofSeconds(1));
+    underTest.drain(false);
+
+    // then
+    verify(telegramClient, times(2)).sendMessage(any());
+    assertThat(underTest.size()).isZero();
+    assertThat(meterRegistry.counter(MESSAGES_METRIC_NAME, "outcome", "error").count()).isEqualTo(1);
+    assertThat(meterRegistry.counter(MESSAGES_METRIC_NAME, "outcome", "success").count()).isZero();
+  }
+
+  @Test
+  @DisplayName("sent message is counted once after coalescing")
+  void test_sent_message_counted() {
+    // given
+    doReturn(null).when(telegramClient).sendMessage(any());
+    underTest.enqueue(1, "first");
+    underTest.enqueue(1, "second");
+    advance(Duration.ofSeconds(2));
+
+    // when
+    underTest.drain(false);
+
+    // then
+    assertThat(meterRegistry.counter(MESSAGES_METRIC_NAME, "outcome", "success").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("messages that are not sent before shutdown are counted as dropped")
+  void test_dropped_on_shutdown() throws InterruptedException {
+    // given
+    properties.setShutdownTimeout(Duration.ZERO);
+    underTest.enqueue(1, "first");
+    underTest.enqueue(2, "second");
+
+    // when
+    underTest.shutdown();
+
+    // then
+    verifyNoInteractions(telegramClient);
+    assertThat(meterRegistry.counter(MESSAGES_METRIC_NAME, "outcome", "dropped").count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("coalescing window is ignored on flush")
+  void test_flush_ignores_coalescing_window() {
+    // given
+    doReturn(null).when(telegramClient).sendMessage(any());
+    underTest.enqueue(1, "message");
+
+    // when
+    underTest.drain(true);
+
+    // then
+    verify(telegramClient).sendMessage(new TelegramSendMessageRequest(1, "message"));
+  }
+
+  private void advance(Duration duration) {
+    nanoClock.addAndGet(duration.toNanos());
+  }
+}
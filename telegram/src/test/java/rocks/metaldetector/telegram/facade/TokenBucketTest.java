@@ -0,0 +1,72 @@
+package rocks.metaldetector.telegram.facade;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class TokenBucketTest implements WithAssertions {
+
+  private final AtomicLong nanoClock = new AtomicLong();
+
+  @Test
+  @DisplayName("bucket is full initially")
+  void test_full_initially() {
+    // given
+    var underTest = new TokenBucket(3, 1, nanoClock::get);
+
+    // when
+    var results = new boolean[] {underTest.tryConsume(), underTest.tryConsume(), underTest.tryConsume(), underTest.tryConsume()};
+
+    // then
+    assertThat(results).containsExactly(true, true, true, false);
+  }
+
+  @Test
+  @DisplayName("bucket is refilled continuously")
+  void test_refill() {
+    // given
+    var underTest = new TokenBucket(1, 2, nanoClock::get);
+    underTest.tryConsume();
+
+    // when
+    nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+    var resultBeforeRefill = underTest.hasToken();
+    nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+    var resultAfterRefill = underTest.hasToken();
+
+    // then
+    assertThat(resultBeforeRefill).isFalse();
+    assertThat(resultAfterRefill).isTrue();
+  }
+
+  @Test
+  @DisplayName("bucket is not filled beyond its capacity")
+  void test_capacity() {
+    // given
+    var underTest = new TokenBucket(2, 1, nanoClock::get);
+
+    // when
+    nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+    // then
+    assertThat(underTest.tryConsume()).isTrue();
+    assertThat(underTest.tryConsume()).isTrue();
+    assertThat(underTest.tryConsume()).isFalse();
+  }
+
+  @Test
+  @DisplayName("checking for a token does not consume it")
+  void test_has_token() {
+    // given
+    var underTest = new TokenBucket(1, 1, nanoClock::get);
+
+    // when
+    underTest.hasToken();
+
+    // then
+    assertThat(underTest.tryConsume()).isTrue();
+  }
+}
@@ -5,6 +5,7 @@ plugins {
   id("org.springframework.boot")
   id("org.siouan.frontend-jdk17")
   id("de.europace.docker-publish")
+  id("me.champeau.jmh")
 }
 
 dockerPublish {
@@ -12,6 +13,13 @@ dockerPublish {
   imageName.set(rootProject.name)
 }
 
+jmh {
+  jmhVersion.set(libs.versions.jmh.get())
+  fork.set(1)
+  warmupIterations.set(3)
+  iterations.set(5)
+}
+
 springBoot {
   mainClass.set("rocks.metaldetector.MetalDetectorApplication")
   buildInfo().apply {
@@ -102,6 +110,8 @@ dependencies {
   testImplementation("io.rest-assured:xml-path:${libs.versions.restAssured.get()}")
   testImplementation("io.rest-assured:spring-mock-mvc:${libs.versions.restAssured.get()}")
   testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+  jmh("com.h2database:h2")
 }
 
 description = "webapp"
@@ -0,0 +1,140 @@
+package rocks.metaldetector.service.artist;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import rocks.metaldetector.persistence.config.PersistenceModuleConfiguration;
+import rocks.metaldetector.persistence.domain.artist.ArtistEntity;
+import rocks.metaldetector.persistence.domain.artist.ArtistRepository;
+import rocks.metaldetector.persistence.domain.artist.FollowActionEntity;
+import rocks.metaldetector.persistence.domain.artist.FollowActionRepository;
+import rocks.metaldetector.persistence.domain.user.UserEntity;
+import rocks.metaldetector.persistence.domain.user.UserRepository;
+import rocks.metaldetector.persistence.domain.user.UserRole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static rocks.metaldetector.persistence.domain.artist.ArtistSource.SPOTIFY;
+
+/**
+ * Compares the lookups of the in-memory follow graph with the corresponding JPA queries on an in-memory H2 database.
+ * The footprint of the loaded graph is logged after the setup. Run with {@code ./gradlew :webapp:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FollowGraphBenchmark {
+
+  @Param({"1000"})
+  private int userCount;
+
+  @Param({"5000"})
+  private int artistCount;
+
+  @Param({"50"})
+  private int artistsPerUser;
+
+  private ConfigurableApplicationContext context;
+  private ArtistRepository artistRepository;
+  private FollowActionRepository followActionRepository;
+  private FollowGraph followGraph;
+  private List<UserEntity> users;
+  private List<ArtistEntity> artists;
+  private int index;
+
+  @Setup
+  public void setup() {
+    context = new SpringApplicationBuilder(BenchmarkConfiguration.class)
+        .web(WebApplicationType.NONE)
+        .run("--spring.datasource.url=jdbc:h2:mem:follow-graph;DB_CLOSE_DELAY=-1",
+             "--spring.datasource.driver-class-name=org.h2.Driver",
+             "--spring.datasource.username=sa",
+             "--spring.datasource.password=",
+             "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+             "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+             "--spring.jpa.hibernate.ddl-auto=create-drop");
+    artistRepository = context.getBean(ArtistRepository.class);
+    followActionRepository = context.getBean(FollowActionRepository.class);
+    UserRepository userRepository = context.getBean(UserRepository.class);
+
+    users = new ArrayList<>();
+    for (int i = 0; i < userCount; i++) {
+      users.add(UserEntity.builder()
+                    .username("user" + i)
+                    .email("user" + i + "@example.com")
+                    .password("$2a$10$2IevDskxEeSmy7Sy41Xl7.u22hTcw3saxQghS.bWaIx3NQrzKTvxK")
+                    .userRoles(UserRole.createUserRole())
+                    .enabled(true)
+                    .build());
+    }
+    users = userRepository.saveAll(users);
+
+    artists = new ArrayList<>();
+    for (int i = 0; i < artistCount; i++) {
+      artists.add(ArtistEntity.builder()
+                      .externalId("id" + i)
+                      .artistName("Artist " + i)
+                      .source(SPOTIFY)
+                      .build());
+    }
+    artists = artistRepository.saveAll(artists);
+
+    var random = new Random(42);
+    List<FollowActionEntity> followActions = new ArrayList<>();
+    for (UserEntity user : users) {
+      random.ints(0, artistCount).distinct().limit(artistsPerUser)
+          .forEach(i -> followActions.add(FollowActionEntity.builder().user(user).artist(artists.get(i)).build()));
+    }
+    followActionRepository.saveAll(followActions);
+
+    followGraph = new FollowGraph(followActionRepository, new SimpleMeterRegistry());
+    followGraph.load();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public boolean followsGraph() {
+    int i = next();
+    return followGraph.follows(users.get(i % userCount).getId(), artists.get(i % artistCount).getId());
+  }
+
+  @Benchmark
+  public boolean followsJpa() {
+    int i = next();
+    return followActionRepository.existsByUserAndArtist(users.get(i % userCount), artists.get(i % artistCount));
+  }
+
+  private int next() {
+    index = (index + 1) & Integer.MAX_VALUE;
+    return index;
+  }
+
+  @Configuration
+  @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class})
+  @Import(PersistenceModuleConfiguration.class)
+  static class BenchmarkConfiguration {
+  }
+}
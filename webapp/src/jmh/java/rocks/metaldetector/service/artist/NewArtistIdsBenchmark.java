@@ -0,0 +1,94 @@
+package rocks.metaldetector.service.artist;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import rocks.metaldetector.persistence.domain.artist.ArtistEntity;
+import rocks.metaldetector.persistence.domain.artist.ArtistRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static rocks.metaldetector.persistence.domain.artist.ArtistSource.DISCOGS;
+import static rocks.metaldetector.persistence.domain.artist.ArtistSource.SPOTIFY;
+
+/**
+ * Compares the detection of new artists by loading the existing artist entities and searching their external ids in
+ * a list with the projection on the ids and external ids of one source and a hash map, for a Spotify import of 10k
+ * artists of which half already exist. Run with {@code ./gradlew :webapp:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NewArtistIdsBenchmark {
+
+  @Param({"10000"})
+  private int artistCount;
+
+  private ConfigurableApplicationContext context;
+  private ArtistRepository artistRepository;
+  private ArtistServiceImpl artistService;
+  private List<String> artistIds;
+
+  @Setup
+  public void setup() {
+    context = new SpringApplicationBuilder(FollowGraphBenchmark.BenchmarkConfiguration.class)
+        .web(WebApplicationType.NONE)
+        .run("--spring.datasource.url=jdbc:h2:mem:new-artist-ids;DB_CLOSE_DELAY=-1",
+             "--spring.datasource.driver-class-name=org.h2.Driver",
+             "--spring.datasource.username=sa",
+             "--spring.datasource.password=",
+             "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+             "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+             "--spring.jpa.hibernate.ddl-auto=create-drop");
+    artistRepository = context.getBean(ArtistRepository.class);
+    artistService = new ArtistServiceImpl(artistRepository, null, null, null);
+
+    // every second artist exists, the Discogs artists with the same ids must not count as existing
+    List<ArtistEntity> artists = new ArrayList<>();
+    for (int i = 0; i < artistCount; i += 2) {
+      artists.add(ArtistEntity.builder().externalId("id" + i).artistName("Artist " + i).source(SPOTIFY).build());
+      artists.add(ArtistEntity.builder().externalId("id" + (i + 1)).artistName("Artist " + (i + 1)).source(DISCOGS).build());
+    }
+    artistRepository.saveAll(artists);
+
+    artistIds = IntStream.range(0, artistCount).mapToObj(i -> "id" + i).toList();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<String> entitiesAndList() {
+    List<String> existingArtistIds = artistRepository.findAllByExternalIdIn(artistIds).stream()
+        .filter(artist -> artist.getSource() == SPOTIFY)
+        .map(ArtistEntity::getExternalId)
+        .collect(Collectors.toList());
+    return artistIds.stream()
+        .filter(id -> !existingArtistIds.contains(id))
+        .collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public List<String> projectionAndMap() {
+    Map<String, Long> existingArtistIds = artistService.findArtistIds(artistIds, SPOTIFY);
+    return artistIds.stream()
+        .filter(id -> !existingArtistIds.containsKey(id))
+        .collect(Collectors.toList());
+  }
+}
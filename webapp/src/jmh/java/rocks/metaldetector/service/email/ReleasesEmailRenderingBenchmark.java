@@ -0,0 +1,114 @@
+package rocks.metaldetector.service.email;
+
+import nz.net.ultraq.thymeleaf.layoutdialect.LayoutDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import rocks.metaldetector.butler.facade.dto.ReleaseDto;
+import rocks.metaldetector.config.misc.EmailRenderingProperties;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static rocks.metaldetector.config.constants.ViewNames.EmailTemplates.NEW_RELEASES;
+import static rocks.metaldetector.service.email.ReleaseFragmentRenderer.RELEASE_FRAGMENTS_CACHE;
+
+/**
+ * Compares rendering the weekly release emails of many users completely with assembling them from cached release rows.
+ * The full rendering uses the release email template as it was before the release rows were moved into a fragment,
+ * so that it shows the cost of rendering every row inline. Run with {@code ./gradlew :webapp:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReleasesEmailRenderingBenchmark {
+
+  private static final int RELEASES_PER_USER = 30;
+  private static final String INLINE_RELEASES_TEMPLATE = "benchmark/releases-email-inline";
+
+  @Param({"1000"})
+  private int releaseCount;
+
+  @Param({"100"})
+  private int userCount;
+
+  private SpringTemplateEngine templateEngine;
+  private ReleaseFragmentRenderer fragmentRenderer;
+  private List<Map<String, Object>> viewModels;
+
+  @Setup
+  public void setup() {
+    var templateResolver = new ClassLoaderTemplateResolver();
+    templateResolver.setPrefix("templates/");
+    templateResolver.setSuffix(".html");
+    templateResolver.setTemplateMode(TemplateMode.HTML);
+    templateResolver.setCacheable(true);
+    templateEngine = new SpringTemplateEngine();
+    templateEngine.setTemplateResolver(templateResolver);
+    templateEngine.addDialect(new LayoutDialect());
+
+    fragmentRenderer = new ReleaseFragmentRenderer(templateEngine, new ConcurrentMapCacheManager(RELEASE_FRAGMENTS_CACHE), new EmailRenderingProperties());
+
+    List<ReleaseDto> releases = new ArrayList<>();
+    for (int i = 0; i < releaseCount; i++) {
+      releases.add(ReleaseDto.builder()
+                       .id(i)
+                       .artist("Artist " + i)
+                       .albumTitle("Album " + i)
+                       .releaseDate(LocalDate.of(2024, 1, 1).plusDays(i % 60))
+                       .coverUrl("https://example.com/covers/" + i + ".jpg")
+                       .state("OK")
+                       .build());
+    }
+
+    var random = new Random(42);
+    viewModels = new ArrayList<>();
+    for (int i = 0; i < userCount; i++) {
+      List<ReleaseDto> upcomingReleases = new ArrayList<>();
+      List<ReleaseDto> recentReleases = new ArrayList<>();
+      for (int j = 0; j < RELEASES_PER_USER; j++) {
+        ReleaseDto release = releases.get(random.nextInt(releaseCount));
+        (j % 2 == 0 ? upcomingReleases : recentReleases).add(release);
+      }
+      var email = new ReleasesEmail("user" + i + "@example.com", "user" + i, upcomingReleases, recentReleases);
+      viewModels.add(email.getEnhancedViewModel("https://metal-detector.rocks"));
+    }
+  }
+
+  @Benchmark
+  public long fullRender() {
+    long length = 0;
+    for (Map<String, Object> viewModel : viewModels) {
+      Context context = new Context();
+      context.setVariables(viewModel);
+      length += templateEngine.process(INLINE_RELEASES_TEMPLATE, context).length();
+    }
+    return length;
+  }
+
+  @Benchmark
+  public long fragmentAssembly() {
+    long length = 0;
+    for (Map<String, Object> viewModel : viewModels) {
+      Context context = new Context();
+      context.setVariables(viewModel);
+      fragmentRenderer.addTo(context);
+      length += templateEngine.process(NEW_RELEASES, context).length();
+    }
+    return length;
+  }
+}
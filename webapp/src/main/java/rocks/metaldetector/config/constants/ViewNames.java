@@ -56,5 +56,6 @@ public class ViewNames {
     public static final String TODAYS_RELEASES           = "email/todays-releases-email";
     public static final String TODAYS_ANNOUNCEMENTS      = "email/todays-announcements-email";
     public static final String ACCOUNT_DELETED           = "email/account-deleted-email";
+    public static final String RELEASE_ROW               = "email/fragments/release-row";
   }
 }
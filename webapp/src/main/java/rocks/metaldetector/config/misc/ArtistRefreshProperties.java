@@ -0,0 +1,20 @@
+package rocks.metaldetector.config.misc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@PropertySource(value = "classpath:application.yml")
+@ConfigurationProperties(prefix = "artist-refresh")
+@Data
+public class ArtistRefreshProperties {
+
+  private String cron = "0 30 3 * * *";
+  private Duration maxAge = Duration.ofDays(7);
+  private int maxArtists = 5000;
+
+}
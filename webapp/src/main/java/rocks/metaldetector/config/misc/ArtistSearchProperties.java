@@ -0,0 +1,20 @@
+package rocks.metaldetector.config.misc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@PropertySource(value = "classpath:application.yml")
+@ConfigurationProperties(prefix = "artist-search")
+@Data
+public class ArtistSearchProperties {
+
+  private Duration resultsFreshFor = Duration.ofMinutes(30);
+  private int reloadThreads = 2;
+  private int reloadQueueCapacity = 100;
+
+}
@@ -0,0 +1,20 @@
+package rocks.metaldetector.config.misc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@PropertySource(value = "classpath:application.yml")
+@ConfigurationProperties(prefix = "dashboard")
+@Data
+public class DashboardProperties {
+
+  private int threads = 16;
+  private Duration sectionTimeout = Duration.ofSeconds(3);
+  private Duration communityRefreshInterval = Duration.ofMinutes(4);
+
+}
@@ -0,0 +1,16 @@
+package rocks.metaldetector.config.misc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+@Component
+@PropertySource(value = "classpath:application.yml")
+@ConfigurationProperties(prefix = "email-rendering")
+@Data
+public class EmailRenderingProperties {
+
+  private boolean fragmentCacheEnabled = true;
+
+}
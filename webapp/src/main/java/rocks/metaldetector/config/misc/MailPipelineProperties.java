@@ -0,0 +1,23 @@
+package rocks.metaldetector.config.misc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@PropertySource(value = "classpath:application.yml")
+@ConfigurationProperties(prefix = "mail-pipeline")
+@Data
+public class MailPipelineProperties {
+
+  private int connections = 3;
+  private int batchSize = 50;
+  private int queueCapacity = 5000;
+  private Duration enqueueTimeout = Duration.ofSeconds(30);
+  private Duration idleTimeout = Duration.ofSeconds(30);
+  private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+}
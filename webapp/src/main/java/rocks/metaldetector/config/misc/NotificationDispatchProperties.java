@@ -0,0 +1,19 @@
+package rocks.metaldetector.config.misc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+@Component
+@PropertySource(value = "classpath:application.yml")
+@ConfigurationProperties(prefix = "notification-dispatch")
+@Data
+public class NotificationDispatchProperties {
+
+  private int threads = 16;
+  private int queueCapacity = 200;
+  private int emailConcurrency = 4;
+  private int telegramConcurrency = 8;
+
+}
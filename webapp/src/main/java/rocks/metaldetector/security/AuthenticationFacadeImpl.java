@@ -1,19 +1,35 @@
 package rocks.metaldetector.security;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
 import rocks.metaldetector.persistence.domain.user.UserEntity;
 import rocks.metaldetector.persistence.domain.user.UserRepository;
 
+import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
+
+/**
+ * The current user is loaded at most once per HTTP request and kept in the request attributes. A new authentication
+ * within the same request, e.g. after a login, leads to a reload. Outside a request the user is loaded on every call.
+ */
 @Component
 @AllArgsConstructor
 public class AuthenticationFacadeImpl implements AuthenticationFacade {
 
+  static final String CURRENT_USER_ATTRIBUTE = AuthenticationFacadeImpl.class.getName() + ".CURRENT_USER";
+  static final String LOOKUPS_METRIC_NAME = "current.user.lookups";
+  static final String QUERIES_METRIC_NAME = "current.user.queries";
+
   private final UserRepository userRepository;
+  private final MeterRegistry meterRegistry;
 
   @Override
   public boolean isAuthenticated() {
@@ -23,7 +39,15 @@ public class AuthenticationFacadeImpl implements AuthenticationFacade {
 
   @Override
   public AbstractUserEntity getCurrentUser() {
-    Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    CurrentUser currentUser = currentUserOfRequest();
+    if (currentUser == null) {
+      return loadUser(authentication.getPrincipal());
+    }
+    return currentUser.get(authentication);
+  }
+
+  private AbstractUserEntity loadUser(Object principal) {
     if (principal instanceof UserEntity) {
       return userRepository.findByPublicId(((UserEntity) principal).getPublicId()).orElseThrow(
           () -> new RuntimeException("should not happen: No user found in the database, although the Principal is a UserEntity")
@@ -39,4 +63,61 @@ public class AuthenticationFacadeImpl implements AuthenticationFacade {
 
     return null;
   }
+
+  private CurrentUser currentUserOfRequest() {
+    RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+    if (requestAttributes == null) {
+      return null;
+    }
+
+    try {
+      // the request attributes may be shared with worker threads of the same request
+      synchronized (requestAttributes) {
+        CurrentUser currentUser = (CurrentUser) requestAttributes.getAttribute(CURRENT_USER_ATTRIBUTE, SCOPE_REQUEST);
+        if (currentUser == null) {
+          currentUser = new CurrentUser();
+          requestAttributes.setAttribute(CURRENT_USER_ATTRIBUTE, currentUser, SCOPE_REQUEST);
+          requestAttributes.registerDestructionCallback(CURRENT_USER_ATTRIBUTE, currentUser::recordMetrics, SCOPE_REQUEST);
+        }
+        return currentUser;
+      }
+    }
+    catch (IllegalStateException e) {
+      // the request is already completed, e.g. for a worker thread that outlived it
+      return null;
+    }
+  }
+
+  private class CurrentUser {
+
+    private Authentication authentication;
+    private AbstractUserEntity user;
+    private boolean loaded;
+    private int lookups;
+    private int queries;
+
+    synchronized AbstractUserEntity get(Authentication currentAuthentication) {
+      lookups++;
+      if (!loaded || authentication != currentAuthentication) {
+        user = loadUser(currentAuthentication.getPrincipal());
+        authentication = currentAuthentication;
+        loaded = true;
+        if (user != null) {
+          queries++;
+        }
+      }
+      return user;
+    }
+
+    synchronized void recordMetrics() {
+      DistributionSummary.builder(LOOKUPS_METRIC_NAME)
+          .description("Lookups of the current user per request")
+          .register(meterRegistry)
+          .record(lookups);
+      DistributionSummary.builder(QUERIES_METRIC_NAME)
+          .description("Database queries for the current user per request")
+          .register(meterRegistry)
+          .record(queries);
+    }
+  }
 }
@@ -0,0 +1,74 @@
+package rocks.metaldetector.service.artist;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import rocks.metaldetector.config.misc.ArtistRefreshProperties;
+import rocks.metaldetector.persistence.domain.artist.ArtistEntity;
+import rocks.metaldetector.persistence.domain.artist.ArtistRepository;
+import rocks.metaldetector.service.artist.transformer.ArtistEntityTransformer;
+import rocks.metaldetector.spotify.facade.SpotifyService;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static rocks.metaldetector.persistence.domain.artist.ArtistSource.SPOTIFY;
+
+/**
+ * Refreshes the images, genres, popularity and followers of the Spotify artists that were not updated for some time.
+ * The job runs at night, so that the profiles stay up to date without requests to Spotify while users are active.
+ * The stalest artists are refreshed first, up to a maximum number of artists per run. Every batch is written as soon
+ * as it is fetched, and artists that Spotify does not return anymore are marked as refreshed as well, so that they
+ * do not block the following runs.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class ArtistMetadataRefresher {
+
+  static final int BATCH_SIZE = 50; // the maximum number of ids per request to Spotify
+
+  private final ArtistRepository artistRepository;
+  private final ArtistUpsertService artistUpsertService;
+  private final ArtistEntityTransformer artistEntityTransformer;
+  private final SpotifyService spotifyService;
+  private final ArtistRefreshProperties artistRefreshProperties;
+
+  @Scheduled(cron = "${artist-refresh.cron}")
+  public void refreshSpotifyArtists() {
+    Date modifiedBefore = Date.from(Instant.now().minus(artistRefreshProperties.getMaxAge()));
+    List<String> staleArtistIds = artistRepository.findStaleExternalIds(SPOTIFY, modifiedBefore, PageRequest.of(0, artistRefreshProperties.getMaxArtists()));
+
+    int refreshedArtists = 0;
+    for (int from = 0; from < staleArtistIds.size(); from += BATCH_SIZE) {
+      List<String> batch = staleArtistIds.subList(from, Math.min(from + BATCH_SIZE, staleArtistIds.size()));
+      try {
+        refreshedArtists += refreshBatch(batch);
+      }
+      catch (Exception e) {
+        log.warn("Could not refresh the Spotify artists {}", batch, e);
+      }
+    }
+
+    if (!staleArtistIds.isEmpty()) {
+      log.info("Refreshed {} of {} stale Spotify artists", refreshedArtists, staleArtistIds.size());
+    }
+  }
+
+  private int refreshBatch(List<String> artistIds) {
+    List<ArtistEntity> artists = spotifyService.refreshArtists(artistIds).stream()
+        .map(artistEntityTransformer::transformSpotifyArtistDto)
+        .toList();
+    artistUpsertService.refresh(artists);
+
+    Set<String> refreshedArtistIds = artists.stream().map(ArtistEntity::getExternalId).collect(Collectors.toSet());
+    List<String> missingArtistIds = artistIds.stream().filter(artistId -> !refreshedArtistIds.contains(artistId)).toList();
+    artistUpsertService.touch(SPOTIFY, missingArtistIds);
+    return artists.size();
+  }
+}
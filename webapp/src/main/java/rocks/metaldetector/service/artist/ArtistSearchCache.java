@@ -0,0 +1,133 @@
+package rocks.metaldetector.service.artist;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import rocks.metaldetector.config.misc.ArtistSearchProperties;
+import rocks.metaldetector.persistence.domain.artist.ArtistSource;
+import rocks.metaldetector.support.oauth.OAuth2ClientManagerProvider;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache for the results of the artist name search of Spotify and Discogs per source, query and page.
+ * Queries that differ only in case and whitespace share the same entry. The results are the same for all users,
+ * so the artists the user follows have to be marked after the cache.
+ * Results that are older than the configured time are still returned, but reloaded in the background, so that
+ * popular queries are always answered from the cache. The reloads run in an own small pool with a bounded queue,
+ * so they never block the scheduled jobs. They fetch the client token with the client manager of the scheduled jobs,
+ * because the request of the user may be finished before.
+ * If the queue is full, the reload is skipped and tried again with the next request for the stale result.
+ */
+@Slf4j
+@Component
+public class ArtistSearchCache {
+
+  public static final String ARTIST_SEARCH_CACHE = "artistSearch";
+
+  private final CacheManager cacheManager;
+  private final ArtistSearchProperties artistSearchProperties;
+  private final ExecutorService reloadExecutorService;
+  private final OAuth2ClientManagerProvider clientManagerProvider;
+  private final Set<String> reloadingKeys = ConcurrentHashMap.newKeySet();
+
+  @Autowired
+  public ArtistSearchCache(CacheManager cacheManager, ArtistSearchProperties artistSearchProperties, OAuth2ClientManagerProvider clientManagerProvider) {
+    this(cacheManager, artistSearchProperties,
+         new ThreadPoolExecutor(artistSearchProperties.getReloadThreads(), artistSearchProperties.getReloadThreads(), 60L, TimeUnit.SECONDS,
+                                new ArrayBlockingQueue<>(artistSearchProperties.getReloadQueueCapacity()),
+                                new CustomizableThreadFactory("artist-search-")),
+         clientManagerProvider);
+  }
+
+  ArtistSearchCache(CacheManager cacheManager, ArtistSearchProperties artistSearchProperties, ExecutorService reloadExecutorService,
+                    OAuth2ClientManagerProvider clientManagerProvider) {
+    this.cacheManager = cacheManager;
+    this.artistSearchProperties = artistSearchProperties;
+    this.reloadExecutorService = reloadExecutorService;
+    this.clientManagerProvider = clientManagerProvider;
+  }
+
+  /**
+   * Calls the loader with the normalized query if the result is not cached.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(ArtistSource source, String query, Pageable pageable, Function<String, T> loader) {
+    String normalizedQuery = normalize(query);
+    Cache cache = cacheManager.getCache(ARTIST_SEARCH_CACHE);
+    if (cache == null) {
+      return loader.apply(normalizedQuery);
+    }
+
+    String key = createCacheKey(source, normalizedQuery, pageable);
+    Entry entry;
+    try {
+      entry = cache.get(key, () -> new Entry(loader.apply(normalizedQuery), Instant.now()));
+    }
+    catch (Cache.ValueRetrievalException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+
+    if (entry.isStale(artistSearchProperties.getResultsFreshFor()) && reloadingKeys.add(key)) {
+      try {
+        reloadExecutorService.execute(() -> clientManagerProvider.runWithSchedulingManager(() -> reload(cache, key, () -> loader.apply(normalizedQuery))));
+      }
+      catch (RejectedExecutionException e) {
+        reloadingKeys.remove(key);
+        log.warn("Could not schedule the reload of artist search result '{}'", key);
+      }
+    }
+    return (T) entry.value();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    reloadExecutorService.shutdown();
+  }
+
+  static String normalize(String query) {
+    return query.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+
+  static String createCacheKey(ArtistSource source, String normalizedQuery, Pageable pageable) {
+    return source + "-" + pageable.getPageNumber() + "-" + pageable.getPageSize() + "-" + normalizedQuery;
+  }
+
+  private void reload(Cache cache, String key, Supplier<?> loader) {
+    try {
+      cache.put(key, new Entry(loader.get(), Instant.now()));
+    }
+    catch (Exception e) {
+      log.warn("Could not reload artist search result '{}'", key, e);
+    }
+    finally {
+      reloadingKeys.remove(key);
+    }
+  }
+
+  record Entry(Object value, Instant loadedAt) {
+
+    boolean isStale(Duration freshFor) {
+      return !loadedAt.plus(freshFor).isAfter(Instant.now());
+    }
+  }
+}
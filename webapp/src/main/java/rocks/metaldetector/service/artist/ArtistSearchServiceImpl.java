@@ -10,8 +10,12 @@ import rocks.metaldetector.persistence.domain.artist.ArtistSource;
 import rocks.metaldetector.spotify.facade.SpotifyService;
 import rocks.metaldetector.spotify.facade.dto.SpotifyArtistSearchResultDto;
 import rocks.metaldetector.web.api.response.ArtistSearchResponse;
+import rocks.metaldetector.web.api.response.ArtistSearchResponseEntryDto;
 import rocks.metaldetector.web.transformer.ArtistSearchResponseTransformer;
 
+import java.util.List;
+import java.util.Set;
+
 @Service
 @AllArgsConstructor
 public class ArtistSearchServiceImpl implements ArtistSearchService {
@@ -20,26 +24,34 @@ public class ArtistSearchServiceImpl implements ArtistSearchService {
     private final DiscogsService discogsService;
     private final SpotifyService spotifyService;
     private final ArtistSearchResponseTransformer responseTransformer;
+    private final ArtistSearchCache artistSearchCache;
 
     @Override
     @Transactional
     public ArtistSearchResponse searchDiscogsByName(String artistQueryString, Pageable pageable) {
-        DiscogsArtistSearchResultDto result = discogsService.searchArtistByName(artistQueryString, pageable.getPageNumber(), pageable.getPageSize());
+        DiscogsArtistSearchResultDto result = artistSearchCache.get(ArtistSource.DISCOGS, artistQueryString, pageable,
+            query -> discogsService.searchArtistByName(query, pageable.getPageNumber(), pageable.getPageSize()));
         ArtistSearchResponse searchResponse = responseTransformer.transformDiscogs(artistQueryString, result);
-        searchResponse.getSearchResults().forEach(artist -> artist.setFollowed(
-                followArtistService.isCurrentUserFollowing(artist.getId(), ArtistSource.DISCOGS))
-        );
+        markFollowedArtists(searchResponse, ArtistSource.DISCOGS);
         return searchResponse;
     }
 
     @Override
     @Transactional
     public ArtistSearchResponse searchSpotifyByName(String artistQueryString, Pageable pageable) {
-        SpotifyArtistSearchResultDto result = spotifyService.searchArtistByName(artistQueryString, pageable.getPageNumber(), pageable.getPageSize());
+        SpotifyArtistSearchResultDto result = artistSearchCache.get(ArtistSource.SPOTIFY, artistQueryString, pageable,
+            query -> spotifyService.searchArtistByName(query, pageable.getPageNumber(), pageable.getPageSize()));
         ArtistSearchResponse searchResponse = responseTransformer.transformSpotify(artistQueryString, result);
-        searchResponse.getSearchResults().forEach(artist -> artist.setFollowed(
-                followArtistService.isCurrentUserFollowing(artist.getId(), ArtistSource.SPOTIFY))
-        );
+        markFollowedArtists(searchResponse, ArtistSource.SPOTIFY);
         return searchResponse;
     }
+
+    /*
+     * The search results are cached for all users, so the followed artists are marked on the transformed response.
+     */
+    private void markFollowedArtists(ArtistSearchResponse searchResponse, ArtistSource source) {
+        List<String> artistIds = searchResponse.getSearchResults().stream().map(ArtistSearchResponseEntryDto::getId).toList();
+        Set<String> followedArtistIds = followArtistService.getFollowedArtistIdsOfCurrentUser(artistIds, source);
+        searchResponse.getSearchResults().forEach(artist -> artist.setFollowed(followedArtistIds.contains(artist.getId())));
+    }
 }
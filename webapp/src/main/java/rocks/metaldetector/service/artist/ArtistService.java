@@ -4,6 +4,7 @@ import rocks.metaldetector.persistence.domain.artist.ArtistSource;
 import rocks.metaldetector.spotify.facade.dto.SpotifyArtistDto;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ArtistService {
@@ -14,8 +15,8 @@ public interface ArtistService {
 
   boolean existsArtistByExternalId(String externalId, ArtistSource source);
 
-  void persistSpotifyArtists(List<SpotifyArtistDto> spotifyArtistDtos);
+  Map<String, Long> persistSpotifyArtists(List<SpotifyArtistDto> spotifyArtistDtos);
 
-  List<String> findNewArtistIds(List<String> artistIds);
+  Map<String, Long> findArtistIds(List<String> externalIds, ArtistSource source);
 
 }
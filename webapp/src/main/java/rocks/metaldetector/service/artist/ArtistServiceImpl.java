@@ -3,13 +3,17 @@ package rocks.metaldetector.service.artist;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import rocks.metaldetector.persistence.domain.artist.ArtistEntity;
+import rocks.metaldetector.persistence.domain.artist.ArtistIdentity;
 import rocks.metaldetector.persistence.domain.artist.ArtistRepository;
 import rocks.metaldetector.persistence.domain.artist.ArtistSource;
 import rocks.metaldetector.service.artist.transformer.ArtistDtoTransformer;
 import rocks.metaldetector.service.artist.transformer.ArtistEntityTransformer;
 import rocks.metaldetector.spotify.facade.dto.SpotifyArtistDto;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -20,6 +24,7 @@ public class ArtistServiceImpl implements ArtistService {
   private final ArtistRepository artistRepository;
   private final ArtistEntityTransformer artistEntityTransformer;
   private final ArtistDtoTransformer artistDtoTransformer;
+  private final ArtistUpsertService artistUpsertService;
 
   @Override
   public Optional<ArtistDto> findArtistByExternalId(String externalId, ArtistSource source) {
@@ -41,20 +46,31 @@ public class ArtistServiceImpl implements ArtistService {
   }
 
   @Override
-  public void persistSpotifyArtists(List<SpotifyArtistDto> spotifyArtistDtos) {
+  public Map<String, Long> persistSpotifyArtists(List<SpotifyArtistDto> spotifyArtistDtos) {
+    if (spotifyArtistDtos.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
     List<ArtistEntity> artistEntities = spotifyArtistDtos.stream()
         .map(artistEntityTransformer::transformSpotifyArtistDto)
         .collect(Collectors.toList());
-    artistRepository.saveAll(artistEntities);
+    return artistUpsertService.upsert(artistEntities);
   }
 
+  /**
+   * Returns the ids of the existing artists of the given source by external id. Artists that do not exist yet are
+   * left out.
+   */
   @Override
-  public List<String> findNewArtistIds(List<String> artistIds) {
-    List<String> existingArtistIds = artistRepository.findAllByExternalIdIn(artistIds).stream()
-        .map(ArtistEntity::getExternalId)
-        .collect(Collectors.toList());
-    return artistIds.stream()
-        .filter(id -> !existingArtistIds.contains(id))
-        .collect(Collectors.toList());
+  public Map<String, Long> findArtistIds(List<String> externalIds, ArtistSource source) {
+    if (externalIds.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    Map<String, Long> artistIds = new HashMap<>();
+    for (ArtistIdentity artist : artistRepository.findIdentities(externalIds, source)) {
+      artistIds.put(artist.getExternalId(), artist.getId());
+    }
+    return artistIds;
   }
 }
@@ -0,0 +1,153 @@
+package rocks.metaldetector.service.artist;
+
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import rocks.metaldetector.persistence.domain.artist.ArtistEntity;
+import rocks.metaldetector.persistence.domain.artist.ArtistSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Inserts artists that do not exist yet and returns the ids of all given artists, the inserted ones as well as the
+ * already existing ones, with one statement per chunk of artists. Existing artists are matched by external id and
+ * source and are left unchanged, also if they are inserted by a concurrent request at the same time.
+ * The metadata of existing artists is updated separately by {@link #refresh(List)}.
+ */
+@Component
+@AllArgsConstructor
+public class ArtistUpsertService {
+
+  static final int CHUNK_SIZE = 1000;
+
+  private static final String COLUMNS = "external_id, external_url, external_uri, artist_name, genres, source, spotify_popularity, " +
+                                        "spotify_follower, image_xs, image_s, image_m, image_l, " +
+                                        "created_by, created_date, last_modified_by, last_modified_date";
+
+  static final String REFRESH_QUERY = "update artists set external_url = :externalUrl, external_uri = :externalUri, " +
+                                      "artist_name = :artistName, genres = :genres, spotify_popularity = :spotifyPopularity, " +
+                                      "spotify_follower = :spotifyFollower, image_xs = :imageXs, image_s = :imageS, " +
+                                      "image_m = :imageM, image_l = :imageL, last_modified_by = :auditor, last_modified_date = :now " +
+                                      "where source = :source and external_id = :externalId";
+
+  static final String TOUCH_QUERY = "update artists set last_modified_by = :auditor, last_modified_date = :now " +
+                                    "where source = :source and external_id in (:externalIds)";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final AuditorAware<String> auditorAware;
+
+  /**
+   * Returns the artist ids by external id.
+   */
+  public Map<String, Long> upsert(List<ArtistEntity> artists) {
+    Map<String, Long> artistIds = new HashMap<>();
+    Map<ArtistSource, List<ArtistEntity>> artistsBySource = artists.stream()
+        .collect(Collectors.groupingBy(ArtistEntity::getSource, LinkedHashMap::new, Collectors.toList()));
+    artistsBySource.forEach((source, artistsOfSource) -> {
+      List<ArtistEntity> distinctArtists = new ArrayList<>(artistsOfSource.stream()
+          .collect(Collectors.toMap(ArtistEntity::getExternalId, artist -> artist, (first, second) -> first, LinkedHashMap::new))
+          .values());
+      for (int from = 0; from < distinctArtists.size(); from += CHUNK_SIZE) {
+        List<ArtistEntity> chunk = distinctArtists.subList(from, Math.min(from + CHUNK_SIZE, distinctArtists.size()));
+        jdbcTemplate.query(createQuery(chunk.size()), createParameters(source, chunk),
+                           resultSet -> {
+                             artistIds.put(resultSet.getString("external_id"), resultSet.getLong("id"));
+                           });
+      }
+    });
+    return artistIds;
+  }
+
+  /**
+   * Overwrites the metadata of the given existing artists with one batch per chunk of artists. The last modified date
+   * is set even if nothing changed, so that the artists count as fresh.
+   */
+  public void refresh(List<ArtistEntity> artists) {
+    String auditor = auditorAware.getCurrentAuditor().orElse(null);
+    LocalDateTime now = LocalDateTime.now();
+    for (int from = 0; from < artists.size(); from += CHUNK_SIZE) {
+      SqlParameterSource[] parameters = artists.subList(from, Math.min(from + CHUNK_SIZE, artists.size())).stream()
+          .map(artist -> new MapSqlParameterSource()
+              .addValue("source", artist.getSource().name())
+              .addValue("externalId", artist.getExternalId())
+              .addValue("externalUrl", artist.getExternalUrl())
+              .addValue("externalUri", artist.getExternalUri())
+              .addValue("artistName", artist.getArtistName())
+              .addValue("genres", artist.getGenres())
+              .addValue("spotifyPopularity", artist.getSpotifyPopularity())
+              .addValue("spotifyFollower", artist.getSpotifyFollower())
+              .addValue("imageXs", artist.getImageXs())
+              .addValue("imageS", artist.getImageS())
+              .addValue("imageM", artist.getImageM())
+              .addValue("imageL", artist.getImageL())
+              .addValue("auditor", auditor)
+              .addValue("now", now))
+          .toArray(SqlParameterSource[]::new);
+      jdbcTemplate.batchUpdate(REFRESH_QUERY, parameters);
+    }
+  }
+
+  /**
+   * Only sets the last modified date of the given artists, e.g. for artists that could not be refreshed because they
+   * do not exist at their source anymore, so that they do not count as stale again at once.
+   */
+  public void touch(ArtistSource source, List<String> externalIds) {
+    if (externalIds.isEmpty()) {
+      return;
+    }
+    MapSqlParameterSource parameters = new MapSqlParameterSource()
+        .addValue("source", source.name())
+        .addValue("externalIds", externalIds)
+        .addValue("auditor", auditorAware.getCurrentAuditor().orElse(null))
+        .addValue("now", LocalDateTime.now());
+    jdbcTemplate.update(TOUCH_QUERY, parameters);
+  }
+
+  /*
+   * The no-op update of existing artists makes the returning clause return them as well, also if a concurrent
+   * request inserted them after the statement started.
+   */
+  static String createQuery(int rows) {
+    String values = IntStream.range(0, rows)
+        .mapToObj(row -> "(:externalId" + row + ", :externalUrl" + row + ", :externalUri" + row + ", :artistName" + row +
+                         ", :genres" + row + ", :source, :spotifyPopularity" + row + ", :spotifyFollower" + row +
+                         ", :imageXs" + row + ", :imageS" + row + ", :imageM" + row + ", :imageL" + row +
+                         ", :auditor, :now, :auditor, :now)")
+        .collect(Collectors.joining(", "));
+    return "insert into artists (" + COLUMNS + ") values " + values + " " +
+           "on conflict (external_id, source) do update set external_id = excluded.external_id " +
+           "returning id, external_id";
+  }
+
+  private MapSqlParameterSource createParameters(ArtistSource source, List<ArtistEntity> artists) {
+    MapSqlParameterSource parameters = new MapSqlParameterSource()
+        .addValue("source", source.name())
+        .addValue("auditor", auditorAware.getCurrentAuditor().orElse(null))
+        .addValue("now", LocalDateTime.now());
+    for (int row = 0; row < artists.size(); row++) {
+      ArtistEntity artist = artists.get(row);
+      parameters.addValue("externalId" + row, artist.getExternalId())
+          .addValue("externalUrl" + row, artist.getExternalUrl())
+          .addValue("externalUri" + row, artist.getExternalUri())
+          .addValue("artistName" + row, artist.getArtistName())
+          .addValue("genres" + row, artist.getGenres())
+          .addValue("spotifyPopularity" + row, artist.getSpotifyPopularity())
+          .addValue("spotifyFollower" + row, artist.getSpotifyFollower())
+          .addValue("imageXs" + row, artist.getImageXs())
+          .addValue("imageS" + row, artist.getImageS())
+          .addValue("imageM" + row, artist.getImageM())
+          .addValue("imageL" + row, artist.getImageL());
+    }
+    return parameters;
+  }
+}
@@ -0,0 +1,58 @@
+package rocks.metaldetector.service.artist;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import rocks.metaldetector.persistence.domain.artist.ArtistSource;
+import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the follow actions of a user with one set based statement per chunk of artists instead of one insert or
+ * delete per follow action. Follow actions are inserted by artist id, since the caller already knows the ids of the
+ * artists it has just saved. Already existing follow actions are skipped by the unique index on user and artist.
+ * Both methods return the ids of the artists whose follow action was actually inserted or deleted.
+ */
+@Component
+@AllArgsConstructor
+public class FollowActionBulkWriter {
+
+  static final int CHUNK_SIZE = 1000;
+
+  static final String INSERT_QUERY = "insert into follow_actions (user_id, artist_id, created_by, created_date, last_modified_by, last_modified_date) " +
+                                     "select :userId, a.id, :auditor, :now, :auditor, :now from artists a " +
+                                     "where a.id in (:artistIds) " +
+                                     "on conflict (user_id, artist_id) do nothing " +
+                                     "returning artist_id";
+
+  static final String DELETE_QUERY = "delete from follow_actions fa using artists a " +
+                                     "where fa.artist_id = a.id and fa.user_id = :userId " +
+                                     "and a.source = :source and a.external_id in (:externalIds) " +
+                                     "returning fa.artist_id";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public List<Long> follow(AbstractUserEntity user, List<Long> artistIds) {
+    return execute(INSERT_QUERY, user, "artistIds", artistIds, new MapSqlParameterSource());
+  }
+
+  public List<Long> unfollow(AbstractUserEntity user, List<String> externalArtistIds, ArtistSource source) {
+    return execute(DELETE_QUERY, user, "externalIds", externalArtistIds, new MapSqlParameterSource("source", source.name()));
+  }
+
+  private List<Long> execute(String query, AbstractUserEntity user, String chunkParameter, List<?> values, MapSqlParameterSource parameters) {
+    List<Long> artistIds = new ArrayList<>();
+    parameters.addValue("userId", user.getId())
+        .addValue("auditor", user.getUsername())
+        .addValue("now", LocalDateTime.now());
+    for (int from = 0; from < values.size(); from += CHUNK_SIZE) {
+      List<?> chunk = values.subList(from, Math.min(from + CHUNK_SIZE, values.size()));
+      artistIds.addAll(jdbcTemplate.queryForList(query, parameters.addValue(chunkParameter, chunk), Long.class));
+    }
+    return artistIds;
+  }
+}
@@ -3,7 +3,10 @@ package rocks.metaldetector.service.artist;
 import rocks.metaldetector.persistence.domain.artist.ArtistSource;
 import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface FollowArtistService {
 
@@ -11,12 +14,24 @@ public interface FollowArtistService {
 
   int followSpotifyArtists(List<String> spotifyArtistIds);
 
+  int followArtists(List<String> externalArtistIds, ArtistSource source);
+
+  int unfollowArtists(List<String> externalArtistIds, ArtistSource source);
+
   void unfollow(String externalArtistId, ArtistSource source);
 
   boolean isCurrentUserFollowing(String externalArtistId, ArtistSource source);
 
+  Set<String> getFollowedArtistIdsOfCurrentUser(Collection<String> externalArtistIds, ArtistSource source);
+
   List<ArtistDto> getFollowedArtistsOfCurrentUser();
 
+  FollowedArtistsPage getFollowedArtistsOfCurrentUser(int page, int size, String after);
+
   List<ArtistDto> getFollowedArtistsOfUser(AbstractUserEntity user);
 
+  List<String> getFollowedArtistNamesOfCurrentUser();
+
+  Map<Long, List<String>> getFollowedArtistNamesOfUsers(Collection<Long> userIds);
+
 }
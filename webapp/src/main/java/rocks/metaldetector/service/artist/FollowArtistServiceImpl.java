@@ -1,11 +1,14 @@
 package rocks.metaldetector.service.artist;
 
+import jakarta.validation.ValidationException;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import rocks.metaldetector.discogs.facade.DiscogsService;
 import rocks.metaldetector.discogs.facade.dto.DiscogsArtistDto;
 import rocks.metaldetector.persistence.domain.artist.ArtistEntity;
+import rocks.metaldetector.persistence.domain.artist.ArtistIdentity;
 import rocks.metaldetector.persistence.domain.artist.ArtistRepository;
 import rocks.metaldetector.persistence.domain.artist.ArtistSource;
 import rocks.metaldetector.persistence.domain.artist.FollowActionEntity;
@@ -14,61 +17,109 @@ import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
 import rocks.metaldetector.security.AuthenticationFacade;
 import rocks.metaldetector.service.artist.transformer.ArtistDtoTransformer;
 import rocks.metaldetector.service.artist.transformer.ArtistEntityTransformer;
+import rocks.metaldetector.service.dashboard.TopArtistRanking;
 import rocks.metaldetector.spotify.facade.SpotifyService;
 import rocks.metaldetector.spotify.facade.dto.SpotifyArtistDto;
 import rocks.metaldetector.support.exceptions.ResourceNotFoundException;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static rocks.metaldetector.persistence.domain.artist.ArtistSource.SPOTIFY;
+
 @AllArgsConstructor
 @Service
 public class FollowArtistServiceImpl implements FollowArtistService {
 
+  static final int USER_CHUNK_SIZE = 1000;
+
   private final ArtistDtoTransformer artistDtoTransformer;
   private final ArtistEntityTransformer artistEntityTransformer;
   private final ArtistRepository artistRepository;
   private final ArtistService artistService;
   private final AuthenticationFacade authenticationFacade;
   private final DiscogsService discogsService;
+  private final FollowActionBulkWriter followActionBulkWriter;
   private final FollowActionRepository followActionRepository;
+  private final FollowGraph followGraph;
   private final SpotifyService spotifyService;
+  private final TopArtistRanking topArtistRanking;
 
   @Override
   @Transactional
   public void follow(String externalArtistId, ArtistSource source) {
-    ArtistEntity artist = saveAndFetchArtist(externalArtistId, source);
-    FollowActionEntity followAction = FollowActionEntity.builder()
-        .user(authenticationFacade.getCurrentUser())
-        .artist(artist)
-        .build();
-
-    followActionRepository.save(followAction);
+    ArtistEntity artistEntity = saveAndFetchArtist(externalArtistId, source);
+    followExistingArtists(Collections.singletonList(artistEntity.getId()));
   }
 
   @Override
   @Transactional
   public int followSpotifyArtists(List<String> spotifyArtistIds) {
-    saveSpotifyArtists(spotifyArtistIds);
-    List<ArtistEntity> artistEntitiesToFollow = artistRepository.findAllByExternalIdIn(spotifyArtistIds);
-    AbstractUserEntity currentUser = authenticationFacade.getCurrentUser();
-    List<FollowActionEntity> followActionEntities = artistEntitiesToFollow.stream()
-        .map(artistEntity -> FollowActionEntity.builder()
-            .user(currentUser)
-            .artist(artistEntity)
-            .build())
-        .collect(Collectors.toList());
+    return followArtists(spotifyArtistIds, SPOTIFY);
+  }
+
+  /**
+   * Follows all given artists with one insert per chunk of artists. Artists that are not yet known are fetched
+   * from their source first, already followed artists are skipped. Returns the number of newly followed artists.
+   */
+  @Override
+  @Transactional
+  public int followArtists(List<String> externalArtistIds, ArtistSource source) {
+    if (externalArtistIds.isEmpty()) {
+      return 0;
+    }
 
-    return followActionRepository.saveAll(followActionEntities).size();
+    List<Long> artistIds;
+    if (source == SPOTIFY) {
+      artistIds = saveSpotifyArtists(externalArtistIds);
+    }
+    else {
+      artistIds = externalArtistIds.stream()
+          .map(externalArtistId -> saveAndFetchArtist(externalArtistId, source).getId())
+          .toList();
+    }
+    return followExistingArtists(artistIds);
+  }
+
+  /**
+   * Unfollows all given artists with one delete per chunk of artists. Returns the number of unfollowed artists.
+   */
+  @Override
+  @Transactional
+  public int unfollowArtists(List<String> externalArtistIds, ArtistSource source) {
+    if (externalArtistIds.isEmpty()) {
+      return 0;
+    }
+
+    AbstractUserEntity currentUser = authenticationFacade.getCurrentUser();
+    List<Long> artistIds = followActionBulkWriter.unfollow(currentUser, externalArtistIds, source);
+    changeFollower(artistIds, -1);
+    followGraph.unfollowed(currentUser, artistIds);
+    return artistIds.size();
   }
 
   @Override
   @Transactional
   public void unfollow(String externalArtistId, ArtistSource source) {
     ArtistEntity artistEntity = fetchArtistEntity(externalArtistId, source);
-    followActionRepository.deleteByUserAndArtist(authenticationFacade.getCurrentUser(), artistEntity);
+    AbstractUserEntity currentUser = authenticationFacade.getCurrentUser();
+    long deleted = followActionRepository.deleteByUserAndArtist(currentUser, artistEntity);
+    if (deleted > 0) {
+      List<Long> artistIds = Collections.singletonList(artistEntity.getId());
+      changeFollower(artistIds, -1);
+      followGraph.unfollowed(currentUser, artistIds);
+    }
   }
 
   @Override
@@ -80,9 +131,32 @@ public class FollowArtistServiceImpl implements FollowArtistService {
     }
 
     AbstractUserEntity currentUser = authenticationFacade.getCurrentUser();
+    if (followGraph.isLoaded()) {
+      return followGraph.follows(currentUser.getId(), artistOptional.get().getId());
+    }
     return followActionRepository.existsByUserAndArtist(currentUser, artistOptional.get());
   }
 
+  /**
+   * Returns the given external ids that the current user follows. As long as the follow graph is loaded, only the
+   * artist ids are queried and the follow state is read from the graph.
+   */
+  @Override
+  public Set<String> getFollowedArtistIdsOfCurrentUser(Collection<String> externalArtistIds, ArtistSource source) {
+    if (externalArtistIds.isEmpty()) {
+      return Collections.emptySet();
+    }
+
+    AbstractUserEntity currentUser = authenticationFacade.getCurrentUser();
+    if (followGraph.isLoaded()) {
+      return artistRepository.findIdentities(externalArtistIds, source).stream()
+          .filter(artist -> followGraph.follows(currentUser.getId(), artist.getId()))
+          .map(ArtistIdentity::getExternalId)
+          .collect(Collectors.toSet());
+    }
+    return new HashSet<>(followActionRepository.findFollowedExternalIds(currentUser, source, externalArtistIds));
+  }
+
   @Override
   @Transactional
   public List<ArtistDto> getFollowedArtistsOfCurrentUser() {
@@ -95,13 +169,88 @@ public class FollowArtistServiceImpl implements FollowArtistService {
     return getFollowedArtists(user);
   }
 
-  private List<ArtistDto> getFollowedArtists(AbstractUserEntity user) {
-    return followActionRepository.findAllByUser(user).stream()
+  @Override
+  @Transactional(readOnly = true)
+  public List<String> getFollowedArtistNamesOfCurrentUser() {
+    return followActionRepository.findFollowedArtistNamesByUser(authenticationFacade.getCurrentUser());
+  }
+
+  /**
+   * Returns the names of the followed artists of all given users with one query per chunk of users.
+   * Users without followed artists are not contained in the result.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public Map<Long, List<String>> getFollowedArtistNamesOfUsers(Collection<Long> userIds) {
+    if (userIds.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    List<Long> userIdList = new ArrayList<>(userIds);
+    Map<Long, List<String>> followedArtistNames = new HashMap<>();
+    for (int from = 0; from < userIdList.size(); from += USER_CHUNK_SIZE) {
+      List<Long> chunk = userIdList.subList(from, Math.min(from + USER_CHUNK_SIZE, userIdList.size()));
+      followActionRepository.findFollowedArtistNamesByUserIds(chunk).forEach(
+          followedArtistName -> followedArtistNames.computeIfAbsent(followedArtistName.getUserId(), userId -> new ArrayList<>())
+              .add(followedArtistName.getArtistName()));
+    }
+    return followedArtistNames;
+  }
+
+  /**
+   * Returns one page of the followed artists ordered by artist name. If a cursor of the previous page is given,
+   * the page is fetched with a seek on artist name and artist id instead of an offset.
+   * The page size has to be validated by the caller.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public FollowedArtistsPage getFollowedArtistsOfCurrentUser(int page, int size, String after) {
+    AbstractUserEntity currentUser = authenticationFacade.getCurrentUser();
+    long totalArtists = followActionRepository.countByUser(currentUser);
+    int totalPages = (int) Math.ceil((double) totalArtists / (double) size);
+
+    List<FollowActionEntity> followActions;
+    if (after != null) {
+      Cursor cursor = Cursor.decode(after);
+      long artistsBefore = followActionRepository.countByUserUpTo(currentUser, cursor.artistName(), cursor.artistId());
+      page = (int) (artistsBefore / size) + 1;
+      followActions = followActionRepository.findPageByUserAfter(currentUser, cursor.artistName(), cursor.artistId(), PageRequest.ofSize(size));
+    }
+    else {
+      page = Math.min(page, totalPages);
+      followActions = followActionRepository.findPageByUser(currentUser, PageRequest.of(Math.max(page, 1) - 1, size));
+    }
+
+    List<ArtistDto> artists = followActions.stream()
         .map(artistDtoTransformer::transformFollowActionEntity)
+        .toList();
+    boolean hasNextPage = followActions.size() == size && page < totalPages;
+    String nextCursor = hasNextPage ? Cursor.of(followActions.get(followActions.size() - 1)).encode() : null;
+    return new FollowedArtistsPage(artists, totalArtists, page, size, nextCursor);
+  }
+
+  private List<ArtistDto> getFollowedArtists(AbstractUserEntity user) {
+    return followActionRepository.findFollowedArtistsByUser(user).stream()
+        .map(artistDtoTransformer::transformFollowedArtist)
         .sorted(Comparator.comparing(ArtistDto::getArtistName))
         .toList();
   }
 
+  private int followExistingArtists(List<Long> artistIds) {
+    AbstractUserEntity currentUser = authenticationFacade.getCurrentUser();
+    List<Long> followedArtistIds = followActionBulkWriter.follow(currentUser, artistIds);
+    changeFollower(followedArtistIds, 1);
+    followGraph.followed(currentUser, followedArtistIds);
+    return followedArtistIds.size();
+  }
+
+  private void changeFollower(List<Long> artistIds, int delta) {
+    if (!artistIds.isEmpty()) {
+      artistRepository.changeFollower(artistIds, delta);
+      topArtistRanking.invalidate();
+    }
+  }
+
   private ArtistEntity saveAndFetchArtist(String externalId, ArtistSource source) {
     if (artistRepository.existsByExternalIdAndSource(externalId, source)) {
       return fetchArtistEntity(externalId, source);
@@ -124,10 +273,19 @@ public class FollowArtistServiceImpl implements FollowArtistService {
     return artistRepository.save(artistEntity);
   }
 
-  private void saveSpotifyArtists(List<String> spotifyArtistIds) {
-    List<String> newArtistsIds = artistService.findNewArtistIds(spotifyArtistIds);
+  /**
+   * Saves the Spotify artists that are not yet known and returns the ids of all given artists. Artists that
+   * Spotify does not know are missing in the result.
+   */
+  private List<Long> saveSpotifyArtists(List<String> spotifyArtistIds) {
+    Map<String, Long> artistIds = new HashMap<>(artistService.findArtistIds(spotifyArtistIds, SPOTIFY));
+    List<String> newArtistsIds = spotifyArtistIds.stream()
+        .filter(spotifyArtistId -> !artistIds.containsKey(spotifyArtistId))
+        .distinct()
+        .toList();
     List<SpotifyArtistDto> newSpotifyArtistDtos = spotifyService.searchArtistsByIds(newArtistsIds);
-    artistService.persistSpotifyArtists(newSpotifyArtistDtos);
+    artistIds.putAll(artistService.persistSpotifyArtists(newSpotifyArtistDtos));
+    return new ArrayList<>(artistIds.values());
   }
 
   private ArtistEntity fetchArtistEntity(String externalArtistId, ArtistSource source) {
@@ -135,4 +293,28 @@ public class FollowArtistServiceImpl implements FollowArtistService {
         .findByExternalIdAndSource(externalArtistId, source)
         .orElseThrow(() -> new ResourceNotFoundException("Artist with id '" + externalArtistId + "' (" + source + ") not found!"));
   }
+
+  private record Cursor(String artistName, long artistId) {
+
+    private static final String SEPARATOR = ":";
+
+    static Cursor of(FollowActionEntity followAction) {
+      return new Cursor(followAction.getArtist().getArtistName(), followAction.getArtist().getId());
+    }
+
+    static Cursor decode(String value) {
+      try {
+        String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+        int separatorIndex = decoded.indexOf(SEPARATOR);
+        return new Cursor(decoded.substring(separatorIndex + 1), Long.parseLong(decoded.substring(0, separatorIndex)));
+      }
+      catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+        throw new ValidationException("Invalid cursor '" + value + "'");
+      }
+    }
+
+    String encode() {
+      return Base64.getUrlEncoder().withoutPadding().encodeToString((artistId + SEPARATOR + artistName).getBytes(StandardCharsets.UTF_8));
+    }
+  }
 }
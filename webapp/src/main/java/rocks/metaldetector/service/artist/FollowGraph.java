@@ -0,0 +1,168 @@
+package rocks.metaldetector.service.artist;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rocks.metaldetector.persistence.domain.artist.FollowActionRepository;
+import rocks.metaldetector.persistence.domain.artist.FollowEdge;
+import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of all follow actions as sorted primitive arrays of the followed artist ids per user. The graph is
+ * loaded once at startup and afterwards updated by the write paths of the {@link FollowArtistService} and the user
+ * deletion. Reads are lock free, a change replaces only the row of the changed user under a short lock.
+ * Until the graph is loaded, readers have to ask the database.
+ */
+@Slf4j
+@Component
+public class FollowGraph {
+
+  static final String EDGES_METRIC_NAME = "follow.graph.edges";
+  static final String MEMORY_METRIC_NAME = "follow.graph.memory";
+
+  private static final long[] NO_ARTISTS = new long[0];
+  private static final int ARRAY_HEADER_BYTES = 16;
+  private static final int ENTRY_BYTES = 56;
+
+  private final FollowActionRepository followActionRepository;
+  private final Map<Long, long[]> followedArtistsByUser = new ConcurrentHashMap<>();
+  private volatile boolean loaded;
+
+  public FollowGraph(FollowActionRepository followActionRepository, MeterRegistry meterRegistry) {
+    this.followActionRepository = followActionRepository;
+    Gauge.builder(EDGES_METRIC_NAME, this, FollowGraph::getEdgeCount)
+        .description("Follow actions in the in-memory follow graph")
+        .register(meterRegistry);
+    Gauge.builder(MEMORY_METRIC_NAME, this, FollowGraph::getMemoryFootprint)
+        .description("Estimated heap size of the in-memory follow graph")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void load() {
+    List<FollowEdge> edges = followActionRepository.findAllFollowEdges();
+    Map<Long, long[]> rows = edges.stream()
+        .collect(Collectors.groupingBy(FollowEdge::getUserId, Collectors.collectingAndThen(
+            Collectors.toList(), userEdges -> userEdges.stream().mapToLong(FollowEdge::getArtistId).sorted().distinct().toArray())));
+    followedArtistsByUser.keySet().retainAll(rows.keySet());
+    followedArtistsByUser.putAll(rows);
+    loaded = true;
+    log.info("Follow graph loaded: {} follow actions of {} users, approx. {} KiB",
+             getEdgeCount(), followedArtistsByUser.size(), getMemoryFootprint() / 1024);
+  }
+
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  public boolean follows(long userId, long artistId) {
+    return Arrays.binarySearch(followedArtistsByUser.getOrDefault(userId, NO_ARTISTS), artistId) >= 0;
+  }
+
+  public long getEdgeCount() {
+    return followedArtistsByUser.values().stream().mapToLong(artistIds -> artistIds.length).sum();
+  }
+
+  /**
+   * Returns the estimated heap size of the graph in bytes, assuming 16 byte array headers and
+   * compressed references.
+   */
+  public long getMemoryFootprint() {
+    return followedArtistsByUser.values().stream()
+        .mapToLong(artistIds -> ENTRY_BYTES + ARRAY_HEADER_BYTES + (long) Long.BYTES * artistIds.length)
+        .sum();
+  }
+
+  public void followed(AbstractUserEntity user, Collection<Long> artistIds) {
+    if (!artistIds.isEmpty()) {
+      long userId = user.getId();
+      long[] sortedArtistIds = artistIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+      afterCommit(() -> change(userId, followedArtists -> union(followedArtists, sortedArtistIds)));
+    }
+  }
+
+  public void unfollowed(AbstractUserEntity user, Collection<Long> artistIds) {
+    if (!artistIds.isEmpty()) {
+      long userId = user.getId();
+      long[] sortedArtistIds = artistIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+      afterCommit(() -> change(userId, followedArtists -> difference(followedArtists, sortedArtistIds)));
+    }
+  }
+
+  public void userDeleted(AbstractUserEntity user) {
+    long userId = user.getId();
+    afterCommit(() -> change(userId, followedArtists -> NO_ARTISTS));
+  }
+
+  /**
+   * Within a transaction the graph is changed after the commit, so that it never contains follow actions
+   * of a rolled back transaction.
+   */
+  private void afterCommit(Runnable change) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          change.run();
+        }
+      });
+    }
+    else {
+      change.run();
+    }
+  }
+
+  /**
+   * Replaces the row of the given user. The lock is only shared with {@link #load()}, so that no change
+   * gets lost while the graph is loaded.
+   */
+  private synchronized void change(long userId, UnaryOperator<long[]> rowChange) {
+    followedArtistsByUser.compute(userId, (id, followedArtists) -> {
+      long[] changed = rowChange.apply(followedArtists == null ? NO_ARTISTS : followedArtists);
+      return changed.length == 0 ? null : changed;
+    });
+  }
+
+  private static long[] union(long[] sorted, long[] additions) {
+    long[] result = new long[sorted.length + additions.length];
+    int i = 0, j = 0, n = 0;
+    while (i < sorted.length || j < additions.length) {
+      if (j == additions.length || (i < sorted.length && sorted[i] < additions[j])) {
+        result[n++] = sorted[i++];
+      }
+      else if (i == sorted.length || additions[j] < sorted[i]) {
+        result[n++] = additions[j++];
+      }
+      else {
+        result[n++] = sorted[i++];
+        j++;
+      }
+    }
+    return n == result.length ? result : Arrays.copyOf(result, n);
+  }
+
+  private static long[] difference(long[] sorted, long[] removals) {
+    long[] result = new long[sorted.length];
+    int n = 0;
+    for (long value : sorted) {
+      if (Arrays.binarySearch(removals, value) < 0) {
+        result[n++] = value;
+      }
+    }
+    return n == result.length ? result : Arrays.copyOf(result, n);
+  }
+}
@@ -0,0 +1,18 @@
+package rocks.metaldetector.service.artist;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class FollowedArtistsPage {
+
+  private final List<ArtistDto> artists;
+  private final long totalArtists;
+  private final int page;
+  private final int size;
+  private final String nextCursor;
+
+}
@@ -3,12 +3,14 @@ package rocks.metaldetector.service.artist.transformer;
 import org.springframework.stereotype.Component;
 import rocks.metaldetector.persistence.domain.artist.ArtistEntity;
 import rocks.metaldetector.persistence.domain.artist.FollowActionEntity;
+import rocks.metaldetector.persistence.domain.artist.FollowedArtist;
 import rocks.metaldetector.persistence.domain.artist.MultipleSizeImages;
 import rocks.metaldetector.persistence.domain.artist.TopArtist;
 import rocks.metaldetector.service.artist.ArtistDto;
 import rocks.metaldetector.spotify.facade.dto.SpotifyArtistDto;
 import rocks.metaldetector.support.ImageSize;
 
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -50,6 +52,18 @@ public class ArtistDtoTransformer {
             .build();
   }
 
+  public ArtistDto transformFollowedArtist(FollowedArtist followedArtist) {
+    return ArtistDto.builder()
+            .externalId(followedArtist.getExternalId())
+            .artistName(followedArtist.getArtistName())
+            .source(followedArtist.getSource().getDisplayName())
+            .followedSince(followedArtist.getFollowedSince() != null
+                           ? followedArtist.getFollowedSince().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime()
+                           : null)
+            .images(transformImages(followedArtist))
+            .build();
+  }
+
   private Map<ImageSize, String> transformImages(MultipleSizeImages artistImages) {
     Map<ImageSize, String> images = new HashMap<>();
     images.put(XS, artistImages.getImageXs());
@@ -0,0 +1,66 @@
+package rocks.metaldetector.service.dashboard;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache for content that is the same for all users, like the top artists and the most expected releases.
+ * Concurrent misses of the same key are loaded only once. Keys that were requested since the last refresh
+ * are reloaded in the background before they expire, so active keys are always served from the cache.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommunityCache {
+
+  public static final String COMMUNITY_CACHE = "community";
+
+  private final CacheManager cacheManager;
+  private volatile Map<String, Supplier<?>> requestedKeys = new ConcurrentHashMap<>();
+
+  @SuppressWarnings("unchecked")
+  public <T> T get(String key, Supplier<T> loader) {
+    Cache cache = cacheManager.getCache(COMMUNITY_CACHE);
+    if (cache == null) {
+      return loader.get();
+    }
+
+    requestedKeys.putIfAbsent(key, loader);
+    try {
+      return (T) cache.get(key, loader::get);
+    }
+    catch (Cache.ValueRetrievalException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+  }
+
+  @Scheduled(initialDelayString = "${dashboard.community-refresh-interval}", fixedDelayString = "${dashboard.community-refresh-interval}")
+  public void refresh() {
+    Cache cache = cacheManager.getCache(COMMUNITY_CACHE);
+    Map<String, Supplier<?>> keysToRefresh = requestedKeys;
+    requestedKeys = new ConcurrentHashMap<>();
+    if (cache == null) {
+      return;
+    }
+
+    keysToRefresh.forEach((key, loader) -> {
+      try {
+        cache.put(key, loader.get());
+      }
+      catch (Exception e) {
+        log.warn("Could not refresh community cache entry '{}'", key, e);
+      }
+    });
+  }
+}
@@ -0,0 +1,37 @@
+package rocks.metaldetector.service.dashboard;
+
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import rocks.metaldetector.butler.facade.dto.ReleaseDto;
+import rocks.metaldetector.service.artist.ArtistDto;
+import rocks.metaldetector.support.TimeRange;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static rocks.metaldetector.service.dashboard.DashboardServiceImpl.TIME_RANGE_MONTHS;
+
+/**
+ * Provides the content that is the same for all users from the {@link CommunityCache}.
+ */
+@Service
+@AllArgsConstructor
+public class CommunityContentService {
+
+  private final CommunityCache communityCache;
+  private final ArtistCollector artistCollector;
+  private final ReleaseCollector releaseCollector;
+
+  public List<ArtistDto> getTopArtists(int minFollower, int limit) {
+    return communityCache.get("topArtists:" + minFollower + ":" + limit,
+                              () -> artistCollector.collectTopFollowedArtists(minFollower).stream().limit(limit).toList());
+  }
+
+  public List<ReleaseDto> getTopUpcomingReleases(int minFollower, int limit) {
+    LocalDate today = LocalDate.now();
+    return communityCache.get("topUpcomingReleases:" + today + ":" + minFollower + ":" + limit, () -> {
+      List<ArtistDto> topArtists = artistCollector.collectTopFollowedArtists(minFollower);
+      return releaseCollector.collectTopReleases(new TimeRange(today, today.plusMonths(TIME_RANGE_MONTHS)), topArtists, limit);
+    });
+  }
+}
@@ -0,0 +1,19 @@
+package rocks.metaldetector.service.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import rocks.metaldetector.butler.facade.dto.ReleaseDto;
+
+import java.util.Collections;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class DashboardReleases {
+
+  public static final DashboardReleases EMPTY = new DashboardReleases(Collections.emptyList(), Collections.emptyList());
+
+  private final List<ReleaseDto> upcomingReleases;
+  private final List<ReleaseDto> recentReleases;
+
+}
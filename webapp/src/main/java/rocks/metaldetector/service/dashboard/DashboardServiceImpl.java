@@ -1,50 +1,150 @@
 package rocks.metaldetector.service.dashboard;
 
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import rocks.metaldetector.butler.facade.dto.ReleaseDto;
+import rocks.metaldetector.config.misc.DashboardProperties;
+import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
+import rocks.metaldetector.security.AuthenticationFacade;
 import rocks.metaldetector.service.artist.ArtistDto;
 import rocks.metaldetector.service.artist.FollowArtistService;
-import rocks.metaldetector.support.TimeRange;
 import rocks.metaldetector.web.api.response.DashboardResponse;
 
-import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
+/**
+ * Collects all sections of the dashboard concurrently. The upcoming and recent releases are collected with one
+ * walk over the butler as soon as the followed artists are known. The community sections come from the
+ * {@link CommunityContentService}. A section that takes longer than the section timeout is returned empty, so that the
+ * dashboard is still shown with the other sections and the timed out section is interrupted. The current user is
+ * loaded once by the calling request and handed to the sections, which run with its security context.
+ */
+@Slf4j
 @Service
 @Profile({"default", "preview", "prod"})
-@AllArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
 
   public static final int MIN_FOLLOWER = 2;
   public static final int RESULT_LIMIT = 10;
   public static final int TIME_RANGE_MONTHS = 6;
 
+  static final String SECTION_LATENCY_METRIC_NAME = "dashboard.section.latency";
+  static final String SECTION_TIMEOUT_METRIC_NAME = "dashboard.section.timeouts";
+
   private final ReleaseCollector releaseCollector;
   private final ArtistCollector artistCollector;
   private final FollowArtistService followArtistService;
+  private final AuthenticationFacade authenticationFacade;
+  private final CommunityContentService communityContentService;
+  private final DashboardProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final ExecutorService executorService;
+
+  public DashboardServiceImpl(ReleaseCollector releaseCollector, ArtistCollector artistCollector, FollowArtistService followArtistService,
+                              AuthenticationFacade authenticationFacade, CommunityContentService communityContentService,
+                              DashboardProperties properties, MeterRegistry meterRegistry) {
+    this.releaseCollector = releaseCollector;
+    this.artistCollector = artistCollector;
+    this.followArtistService = followArtistService;
+    this.authenticationFacade = authenticationFacade;
+    this.communityContentService = communityContentService;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.executorService = Executors.newFixedThreadPool(properties.getThreads(), new CustomizableThreadFactory("dashboard-"));
+  }
 
   @Override
   public DashboardResponse createDashboardResponse() {
-    List<ArtistDto> currentUsersFollowedArtists = followArtistService.getFollowedArtistsOfCurrentUser();
-    List<ArtistDto> allTopFollowedArtists = artistCollector.collectTopFollowedArtists(MIN_FOLLOWER);
-    List<ArtistDto> homepageTopFollowedArtists = allTopFollowedArtists.stream().limit(RESULT_LIMIT).collect(Collectors.toList());
-    List<ArtistDto> recentlyFollowedArtists = artistCollector.collectRecentlyFollowedArtists(RESULT_LIMIT);
+    ExecutorService executor = new DelegatingSecurityContextExecutorService(executorService, SecurityContextHolder.getContext());
+    AbstractUserEntity currentUser = authenticationFacade.getCurrentUser();
+
+    CompletableFuture<List<ArtistDto>> currentUsersFollowedArtists = section("followedArtists", executor, () -> followArtistService.getFollowedArtistsOfUser(currentUser));
+    CompletableFuture<List<ArtistDto>> topFollowedArtists = section("topFollowedArtists", executor, () -> communityContentService.getTopArtists(MIN_FOLLOWER, RESULT_LIMIT));
+    CompletableFuture<List<ReleaseDto>> mostExpectedReleases = section("mostExpectedReleases", executor, () -> communityContentService.getTopUpcomingReleases(MIN_FOLLOWER, RESULT_LIMIT));
+    CompletableFuture<List<ArtistDto>> recentlyFollowedArtists = section("recentlyFollowedArtists", executor, () -> artistCollector.collectRecentlyFollowedArtists(currentUser, RESULT_LIMIT));
 
-    List<ReleaseDto> upcomingReleases = releaseCollector.collectUpcomingReleases(currentUsersFollowedArtists);
-    List<ReleaseDto> recentReleases = releaseCollector.collectRecentReleases(currentUsersFollowedArtists);
+    CompletableFuture<DashboardReleases> releases = currentUsersFollowedArtists.thenCompose(
+        artists -> section("releases", executor, () -> releaseCollector.collectDashboardReleases(artists), DashboardReleases.EMPTY));
 
-    var now = LocalDate.now();
-    List<ReleaseDto> mostExpectedReleases = releaseCollector.collectTopReleases(new TimeRange(now, now.plusMonths(TIME_RANGE_MONTHS)), allTopFollowedArtists, RESULT_LIMIT);
+    DashboardReleases dashboardReleases = await(releases);
 
     return DashboardResponse.builder()
-        .upcomingReleases(upcomingReleases)
-        .recentReleases(recentReleases)
-        .favoriteCommunityArtists(homepageTopFollowedArtists)
-        .mostExpectedReleases(mostExpectedReleases)
-        .recentlyFollowedArtists(recentlyFollowedArtists)
+        .upcomingReleases(dashboardReleases.getUpcomingReleases())
+        .recentReleases(dashboardReleases.getRecentReleases())
+        .favoriteCommunityArtists(await(topFollowedArtists))
+        .mostExpectedReleases(await(mostExpectedReleases))
+        .recentlyFollowedArtists(await(recentlyFollowedArtists))
         .build();
   }
+
+  @PreDestroy
+  public void shutdown() {
+    executorService.shutdown();
+  }
+
+  private <T> CompletableFuture<List<T>> section(String name, ExecutorService executor, Supplier<List<T>> supplier) {
+    return section(name, executor, supplier, Collections.emptyList());
+  }
+
+  private <T> CompletableFuture<T> section(String name, ExecutorService executor, Supplier<T> supplier, T fallback) {
+    Timer timer = Timer.builder(SECTION_LATENCY_METRIC_NAME)
+        .tag("section", name)
+        .publishPercentiles(0.95)
+        .register(meterRegistry);
+
+    CompletableFuture<T> result = new CompletableFuture<>();
+    Future<?> task = executor.submit(() -> {
+      try {
+        result.complete(timer.record(supplier));
+      }
+      catch (Throwable throwable) {
+        result.completeExceptionally(throwable);
+      }
+    });
+
+    return result
+        .orTimeout(properties.getSectionTimeout().toMillis(), TimeUnit.MILLISECONDS)
+        .exceptionally(throwable -> {
+          if (unwrap(throwable) instanceof TimeoutException) {
+            // orTimeout only completes the future, the section itself has to be interrupted
+            task.cancel(true);
+            log.warn("Dashboard section '{}' timed out after {}, returning it empty", name, properties.getSectionTimeout());
+            meterRegistry.counter(SECTION_TIMEOUT_METRIC_NAME, "section", name).increment();
+            return fallback;
+          }
+          throw throwable instanceof CompletionException completionException ? completionException : new CompletionException(throwable);
+        });
+  }
+
+  private <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    }
+    catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+  }
+
+  private Throwable unwrap(Throwable throwable) {
+    return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+  }
 }
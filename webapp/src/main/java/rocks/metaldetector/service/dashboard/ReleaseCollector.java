@@ -1,22 +1,23 @@
 package rocks.metaldetector.service.dashboard;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import rocks.metaldetector.butler.facade.ReleasePageIterator;
 import rocks.metaldetector.butler.facade.ReleaseService;
 import rocks.metaldetector.butler.facade.dto.ReleaseDto;
 import rocks.metaldetector.service.artist.ArtistDto;
 import rocks.metaldetector.support.DetectorSort;
-import rocks.metaldetector.support.Page;
-import rocks.metaldetector.support.PageRequest;
 import rocks.metaldetector.support.TimeRange;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static rocks.metaldetector.service.dashboard.DashboardServiceImpl.RESULT_LIMIT;
 import static rocks.metaldetector.service.dashboard.DashboardServiceImpl.TIME_RANGE_MONTHS;
@@ -24,61 +25,129 @@ import static rocks.metaldetector.support.DetectorSort.Direction.ASC;
 import static rocks.metaldetector.support.DetectorSort.Direction.DESC;
 
 @Component
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class ReleaseCollector {
 
   static final int PAGE_SIZE = 50;
 
+  private static final Comparator<ReleaseDto> RELEASE_DATE_ORDER = Comparator.comparing(ReleaseDto::getReleaseDate, Comparator.nullsLast(Comparator.naturalOrder()))
+      .thenComparingLong(ReleaseDto::getId);
+
   private final ReleaseService releaseService;
 
-  public List<ReleaseDto> collectUpcomingReleases(List<ArtistDto> artists) {
-    LocalDate tomorrow = LocalDate.now().plusDays(1);
-    TimeRange timeRange = new TimeRange(tomorrow, tomorrow.plusMonths(TIME_RANGE_MONTHS));
-    DetectorSort sort = new DetectorSort("releaseDate", ASC);
-    return collectReleases(artists, timeRange, sort).stream()
-        .limit(RESULT_LIMIT)
-        .collect(Collectors.toList());
+  /**
+   * Returns the releases of the given artists with the most followers, sorted by release date.
+   */
+  public List<ReleaseDto> collectTopReleases(TimeRange timeRange, List<ArtistDto> artists, int maxReleases) {
+    Map<String, Integer> followersPerArtist = followersPerArtist(artists);
+    TopKSelection<ReleaseDto> topReleases = new TopKSelection<>(maxReleases, byFollower(followersPerArtist));
+    collectReleases(artists, timeRange, new DetectorSort("artist", ASC))
+        .filter(release -> followersPerArtist.containsKey(release.getArtist().toLowerCase()))
+        .forEach(topReleases::offer);
+    return List.copyOf(topReleases.toList(RELEASE_DATE_ORDER));
   }
 
-  public List<ReleaseDto> collectRecentReleases(List<ArtistDto> artists) {
-    LocalDate now = LocalDate.now();
-    TimeRange timeRange = new TimeRange(now.minusMonths(TIME_RANGE_MONTHS), now);
-    DetectorSort sort = new DetectorSort("releaseDate", DESC);
-    return collectReleases(artists, timeRange, sort).stream()
-        .limit(RESULT_LIMIT)
+  /**
+   * Collects the upcoming and recent releases of the followed artists with two lazy walks. The walk in ascending
+   * order over the next months stops as soon as the upcoming releases are complete, the walk in descending order
+   * over the last months stops as soon as the recent releases are complete. Releases without release date are skipped.
+   */
+  public DashboardReleases collectDashboardReleases(List<ArtistDto> followedArtists) {
+    List<String> artistNames = followedArtists.stream()
+        .map(ArtistDto::getArtistName)
+        .distinct()
         .collect(Collectors.toList());
+    if (artistNames.isEmpty()) {
+      return DashboardReleases.EMPTY;
+    }
+
+    LocalDate today = LocalDate.now();
+    LocalDate tomorrow = today.plusDays(1);
+    TimeRange upcomingRange = new TimeRange(tomorrow, tomorrow.plusMonths(TIME_RANGE_MONTHS));
+    TimeRange recentRange = new TimeRange(today.minusMonths(TIME_RANGE_MONTHS), today);
+
+    return new DashboardReleases(collectFirstReleases(artistNames, upcomingRange, ASC, RELEASE_DATE_ORDER),
+                                 collectFirstReleases(artistNames, recentRange, DESC, RELEASE_DATE_ORDER.reversed()));
   }
 
-  public List<ReleaseDto> collectTopReleases(TimeRange timeRange, List<ArtistDto> artists, int maxReleases) {
-    Map<String, Integer> followersPerArtist = artists.stream()
-        .collect(Collectors.groupingBy(artistDto -> artistDto.getArtistName().toLowerCase(),
-                                       Collectors.summingInt(ArtistDto::getFollower)));
-    return collectReleases(artists, timeRange, new DetectorSort("artist", ASC)).stream()
-        .sorted(Comparator.comparingInt(
-                (ReleaseDto release) -> followersPerArtist.get(release.getArtist().toLowerCase()))
-                    .reversed())
-        .limit(maxReleases)
-        .sorted(Comparator.comparing(ReleaseDto::getReleaseDate))
-        .collect(Collectors.toList());
+  private List<ReleaseDto> collectFirstReleases(List<String> artistNames, TimeRange timeRange, DetectorSort.Direction direction,
+                                                Comparator<ReleaseDto> order) {
+    FirstReleases firstReleases = new FirstReleases(order);
+    Iterator<ReleaseDto> releases = releaseIterator(artistNames, timeRange, new DetectorSort("releaseDate", direction));
+    while (releases.hasNext()) {
+      ReleaseDto release = releases.next();
+      LocalDate releaseDate = release.getReleaseDate();
+      if (releaseDate == null) {
+        continue;
+      }
+      if (firstReleases.isCompleteBefore(releaseDate)) {
+        break;
+      }
+      firstReleases.offer(release);
+    }
+    return firstReleases.toList();
+  }
+
+  private Map<String, Integer> followersPerArtist(List<ArtistDto> artists) {
+    Map<String, Integer> followersPerArtist = new HashMap<>(artists.size() * 2);
+    for (ArtistDto artist : artists) {
+      followersPerArtist.merge(artist.getArtistName().toLowerCase(), artist.getFollower(), Integer::sum);
+    }
+    return followersPerArtist;
   }
 
-  private List<ReleaseDto> collectReleases(List<ArtistDto> artists, TimeRange timeRange, DetectorSort sort) {
+  /**
+   * Orders releases by the followers of their artist. Releases of artists with the same number of followers
+   * are ordered by artist name and then by id, so that the first artist in alphabetical order and its oldest
+   * release win.
+   */
+  private Comparator<ReleaseDto> byFollower(Map<String, Integer> followersPerArtist) {
+    return Comparator.comparingInt((ReleaseDto release) -> followersPerArtist.get(release.getArtist().toLowerCase()))
+        .thenComparing(ReleaseDto::getArtist, Comparator.reverseOrder())
+        .thenComparing(Comparator.comparingLong(ReleaseDto::getId).reversed());
+  }
+
+  private Stream<ReleaseDto> collectReleases(List<ArtistDto> artists, TimeRange timeRange, DetectorSort sort) {
     if (artists.isEmpty()) {
-      return Collections.emptyList();
+      return Stream.empty();
     }
 
     List<String> artistNames = artists.stream().map(ArtistDto::getArtistName).collect(Collectors.toList());
+    return ReleasePageIterator.stream(releaseService, artistNames, timeRange, PAGE_SIZE, sort);
+  }
+
+  private Iterator<ReleaseDto> releaseIterator(List<String> artistNames, TimeRange timeRange, DetectorSort sort) {
+    return new ReleasePageIterator(releaseService, artistNames, timeRange, null, PAGE_SIZE, sort);
+  }
+
+  /**
+   * The first releases of a walk that is sorted by release date. Releases on the same date as the last release
+   * are kept as well, so that the order of the releases within a day does not depend on the pages of the butler.
+   */
+  private static class FirstReleases {
 
-    List<ReleaseDto> releases = new ArrayList<>();
-    int currentPage = 1;
-    Page<ReleaseDto> releasePage;
+    private final Comparator<ReleaseDto> order;
+    private final List<ReleaseDto> releases = new ArrayList<>(RESULT_LIMIT);
+    private LocalDate lastReleaseDate;
 
-    do {
-      PageRequest pageRequest = new PageRequest(currentPage, PAGE_SIZE, sort);
-      releasePage = releaseService.findReleases(artistNames, timeRange, null, pageRequest);
-      releases.addAll(releasePage.getItems());
-    } while (currentPage++ < releasePage.getPagination().getTotalPages());
+    private FirstReleases(Comparator<ReleaseDto> order) {
+      this.order = order;
+    }
+
+    void offer(ReleaseDto release) {
+      if (releases.size() < RESULT_LIMIT || release.getReleaseDate().equals(lastReleaseDate)) {
+        releases.add(release);
+        lastReleaseDate = release.getReleaseDate();
+      }
+    }
 
-    return releases;
+    boolean isCompleteBefore(LocalDate releaseDate) {
+      return releases.size() >= RESULT_LIMIT && !releaseDate.equals(lastReleaseDate);
+    }
+
+    List<ReleaseDto> toList() {
+      releases.sort(order);
+      return List.copyOf(releases.subList(0, Math.min(RESULT_LIMIT, releases.size())));
+    }
   }
 }
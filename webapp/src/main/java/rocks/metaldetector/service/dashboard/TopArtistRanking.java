@@ -0,0 +1,82 @@
+package rocks.metaldetector.service.dashboard;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rocks.metaldetector.persistence.domain.artist.ArtistRepository;
+import rocks.metaldetector.service.artist.ArtistDto;
+import rocks.metaldetector.service.artist.transformer.ArtistDtoTransformer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sorted in-memory snapshot of the most followed artists, based on the follower counters of the artists.
+ * The snapshot is dropped whenever a follower counter changes and rebuilt lazily on the next read.
+ * It holds at most {@link #MAX_SIZE} artists, the artists with fewer followers are left out.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TopArtistRanking {
+
+  static final int MAX_SIZE = 1000;
+
+  private final ArtistRepository artistRepository;
+  private final ArtistDtoTransformer artistDtoTransformer;
+  private final AtomicLong version = new AtomicLong();
+  private volatile Snapshot snapshot;
+
+  public List<ArtistDto> getTopArtists(int minFollower) {
+    Snapshot current = snapshot;
+    if (current == null || current.version != version.get()) {
+      current = rebuild();
+    }
+    return current.artists.stream()
+        .takeWhile(artist -> artist.getFollower() >= minFollower)
+        .toList();
+  }
+
+  /**
+   * Marks the snapshot as outdated. Within a transaction this happens after the commit, so that the
+   * next rebuild sees the changed follower counters.
+   */
+  public void invalidate() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          version.incrementAndGet();
+        }
+      });
+    }
+    else {
+      version.incrementAndGet();
+    }
+  }
+
+  private synchronized Snapshot rebuild() {
+    long currentVersion = version.get();
+    Snapshot current = snapshot;
+    if (current != null && current.version == currentVersion) {
+      return current;
+    }
+
+    List<ArtistDto> artists = artistRepository.findTopArtists(1, PageRequest.of(0, MAX_SIZE)).stream()
+        .map(artistDtoTransformer::transformTopArtist)
+        .toList();
+    if (artists.size() == MAX_SIZE) {
+      log.warn("Top artist ranking is truncated to {} artists, artists with {} or fewer followers may be missing",
+               MAX_SIZE, artists.get(MAX_SIZE - 1).getFollower());
+    }
+    current = new Snapshot(currentVersion, artists);
+    snapshot = current;
+    return current;
+  }
+
+  private record Snapshot(long version, List<ArtistDto> artists) {
+  }
+}
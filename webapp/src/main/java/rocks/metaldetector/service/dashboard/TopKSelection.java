@@ -0,0 +1,42 @@
+package rocks.metaldetector.service.dashboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the k greatest elements according to the given comparator in a bounded min-heap,
+ * so that selecting the top k of n elements needs O(n log k) instead of a full sort.
+ */
+class TopKSelection<T> {
+
+  private final int k;
+  private final Comparator<? super T> comparator;
+  private final PriorityQueue<T> heap;
+
+  TopKSelection(int k, Comparator<? super T> comparator) {
+    this.k = k;
+    this.comparator = comparator;
+    this.heap = new PriorityQueue<>(Math.max(1, k), comparator);
+  }
+
+  void offer(T element) {
+    if (k <= 0) {
+      return;
+    }
+    if (heap.size() < k) {
+      heap.add(element);
+    }
+    else if (comparator.compare(element, heap.peek()) > 0) {
+      heap.poll();
+      heap.add(element);
+    }
+  }
+
+  List<T> toList(Comparator<? super T> order) {
+    List<T> result = new ArrayList<>(heap);
+    result.sort(order);
+    return result;
+  }
+}
@@ -16,12 +16,14 @@ public class ConsoleEmailService implements EmailService {
 
   private final SpringTemplateEngine templateEngine;
   private final MailProperties mailProperties;
+  private final ReleaseFragmentRenderer releaseFragmentRenderer;
 
   @Override
   public void sendEmail(AbstractEmail email) {
     Context context = new Context();
     String baseUrl = mailProperties.getApplicationHostUrl() + ":" + mailProperties.getApplicationPort();
     context.setVariables(email.getEnhancedViewModel(baseUrl));
+    releaseFragmentRenderer.addTo(context);
     String messageAsHtml = templateEngine.process(email.getTemplateName(), context);
 
     log.debug("From: {}", mailProperties.getFromEmail());
@@ -5,7 +5,6 @@ import jakarta.mail.internet.MimeMessage;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
-import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
@@ -26,27 +25,21 @@ public class JavaMailEmailService implements EmailService {
   private final ISpringTemplateEngine templateEngine;
   private final MailProperties mailProperties;
   private final MimeMessageHelperFunction messageHelperFunction;
+  private final MailPipeline mailPipeline;
+  private final ReleaseFragmentRenderer releaseFragmentRenderer;
 
   @Async
   @Override
   public void sendEmail(AbstractEmail email) {
     MimeMessage mimeMessage = createMimeMessage(email);
-    sendEmail(mimeMessage);
-  }
-
-  private void sendEmail(MimeMessage mimeMessage) {
-    try {
-      emailSender.send(mimeMessage);
-    }
-    catch (MailException me) {
-      log.error("Unable to send email", me);
-    }
+    mailPipeline.enqueue(mimeMessage);
   }
 
   private MimeMessage createMimeMessage(AbstractEmail email) {
     MimeMessage mimeMessage = emailSender.createMimeMessage();
     Context context = new Context();
     context.setVariables(email.getEnhancedViewModel(mailProperties.getApplicationHostUrl()));
+    releaseFragmentRenderer.addTo(context);
     String html = templateEngine.process(email.getTemplateName(), context);
 
     try {
@@ -0,0 +1,207 @@
+package rocks.metaldetector.service.email;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import rocks.metaldetector.config.misc.MailPipelineProperties;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends mime messages in batches over a small pool of long living SMTP connections.
+ * Every worker owns one connection, which is opened on demand, reused for all following batches
+ * and closed after it has been idle for a while.
+ */
+@Slf4j
+@Component
+@Profile({"preview", "prod"})
+public class MailPipeline {
+
+  static final String QUEUE_DEPTH_METRIC_NAME = "mail.pipeline.queue.depth";
+  static final String SEND_LATENCY_METRIC_NAME = "mail.pipeline.send.latency";
+  static final String MESSAGES_METRIC_NAME = "mail.pipeline.messages";
+  private static final long POLL_TIMEOUT_MILLIS = 500;
+  private static final String DEFAULT_PROTOCOL = "smtp";
+
+  private final JavaMailSenderImpl mailSender;
+  private final MailPipelineProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final BlockingQueue<MimeMessage> queue;
+  private final Timer sendLatency;
+  private ExecutorService executorService;
+  private volatile boolean running;
+
+  public MailPipeline(JavaMailSenderImpl mailSender, MailPipelineProperties properties, MeterRegistry meterRegistry) {
+    this.mailSender = mailSender;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.queue = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+    this.sendLatency = Timer.builder(SEND_LATENCY_METRIC_NAME)
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(meterRegistry);
+    Gauge.builder(QUEUE_DEPTH_METRIC_NAME, queue, Collection::size)
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    executorService = Executors.newFixedThreadPool(properties.getConnections(), new CustomizableThreadFactory("mail-pipeline-"));
+    for (int i = 0; i < properties.getConnections(); i++) {
+      executorService.execute(new Worker());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    running = false;
+    executorService.shutdown();
+    if (!executorService.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+      executorService.shutdownNow();
+    }
+    if (!queue.isEmpty()) {
+      log.warn("{} emails could not be sent before shutdown", queue.size());
+    }
+  }
+
+  /**
+   * Puts the message into the send queue. If the queue is full, the caller waits up to the enqueue timeout.
+   */
+  public void enqueue(MimeMessage mimeMessage) {
+    try {
+      if (!queue.offer(mimeMessage, properties.getEnqueueTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+        log.error("Mail queue is full, email is dropped");
+        countMessage("dropped");
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.error("Interrupted while waiting for space in the mail queue, email is dropped");
+      countMessage("dropped");
+    }
+  }
+
+  private void countMessage(String outcome) {
+    meterRegistry.counter(MESSAGES_METRIC_NAME, "outcome", outcome).increment();
+  }
+
+  private class Worker implements Runnable {
+
+    private Transport transport;
+    private long lastUsed;
+
+    @Override
+    public void run() {
+      try {
+        while (running || !queue.isEmpty()) {
+          List<MimeMessage> batch = nextBatch();
+          if (batch.isEmpty()) {
+            closeIfIdle();
+          }
+          else {
+            batch.forEach(this::send);
+            lastUsed = System.nanoTime();
+          }
+        }
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      finally {
+        close();
+      }
+    }
+
+    private List<MimeMessage> nextBatch() throws InterruptedException {
+      List<MimeMessage> batch = new ArrayList<>(properties.getBatchSize());
+      MimeMessage first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      if (first != null) {
+        batch.add(first);
+        queue.drainTo(batch, properties.getBatchSize() - 1);
+      }
+      return batch;
+    }
+
+    private void send(MimeMessage mimeMessage) {
+      long start = System.nanoTime();
+      try {
+        prepare(mimeMessage);
+        try {
+          connectedTransport().sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+        }
+        catch (MessagingException e) {
+          // the server may have closed the connection in the meantime, so we try once more with a new one
+          if (transport != null && transport.isConnected()) {
+            throw e;
+          }
+          log.warn("Sending email failed, reconnecting", e);
+          close();
+          connectedTransport().sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+        }
+        countMessage("success");
+      }
+      catch (MessagingException | RuntimeException e) {
+        // a single broken message must not end the worker, otherwise the queue is no longer drained
+        log.error("Unable to send email", e);
+        countMessage("error");
+      }
+      finally {
+        sendLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    private void prepare(MimeMessage mimeMessage) throws MessagingException {
+      if (mimeMessage.getSentDate() == null) {
+        mimeMessage.setSentDate(new Date());
+      }
+      mimeMessage.saveChanges();
+    }
+
+    private Transport connectedTransport() throws MessagingException {
+      if (transport == null || !transport.isConnected()) {
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : DEFAULT_PROTOCOL;
+        String username = "".equals(mailSender.getUsername()) ? null : mailSender.getUsername();
+        String password = "".equals(mailSender.getPassword()) ? null : mailSender.getPassword();
+        transport = mailSender.getSession().getTransport(protocol);
+        transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+      }
+      return transport;
+    }
+
+    private void closeIfIdle() {
+      if (transport != null && System.nanoTime() - lastUsed > properties.getIdleTimeout().toNanos()) {
+        close();
+      }
+    }
+
+    private void close() {
+      if (transport != null) {
+        try {
+          transport.close();
+        }
+        catch (MessagingException e) {
+          log.warn("Unable to close SMTP connection", e);
+        }
+        transport = null;
+      }
+    }
+  }
+}
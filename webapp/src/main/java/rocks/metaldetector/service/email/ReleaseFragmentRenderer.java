@@ -0,0 +1,53 @@
+package rocks.metaldetector.service.email;
+
+import lombok.AllArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.ISpringTemplateEngine;
+import rocks.metaldetector.butler.facade.dto.ReleaseDto;
+import rocks.metaldetector.config.constants.ViewNames;
+import rocks.metaldetector.config.misc.EmailRenderingProperties;
+
+import java.util.Set;
+
+/**
+ * Renders the HTML row of a release that is shown in the release emails.
+ * The rows are the same for all users, so they are rendered once per release and state and then taken from the cache.
+ * The email templates access the renderer via the view model variable {@value #VARIABLE_NAME}.
+ */
+@Component
+@AllArgsConstructor
+public class ReleaseFragmentRenderer {
+
+  public static final String RELEASE_FRAGMENTS_CACHE = "releaseFragments";
+  static final String VARIABLE_NAME = "releaseFragments";
+  static final String FRAGMENT_NAME = "release-row";
+
+  private final ISpringTemplateEngine templateEngine;
+  private final CacheManager cacheManager;
+  private final EmailRenderingProperties emailRenderingProperties;
+
+  public String render(ReleaseDto release) {
+    Cache cache = emailRenderingProperties.isFragmentCacheEnabled() ? cacheManager.getCache(RELEASE_FRAGMENTS_CACHE) : null;
+    if (cache == null) {
+      return renderFragment(release);
+    }
+    return cache.get(createCacheKey(release), () -> renderFragment(release));
+  }
+
+  void addTo(Context context) {
+    context.setVariable(VARIABLE_NAME, this);
+  }
+
+  static String createCacheKey(ReleaseDto release) {
+    return release.getId() + "-" + release.getState();
+  }
+
+  private String renderFragment(ReleaseDto release) {
+    Context context = new Context();
+    context.setVariable("release", release);
+    return templateEngine.process(ViewNames.EmailTemplates.RELEASE_ROW, Set.of(FRAGMENT_NAME), context);
+  }
+}
@@ -0,0 +1,106 @@
+package rocks.metaldetector.service.notification.messaging;
+
+import lombok.Getter;
+import rocks.metaldetector.butler.facade.dto.ReleaseDto;
+import rocks.metaldetector.service.notification.messaging.NotificationReleaseCollector.ReleaseContainer;
+import rocks.metaldetector.support.TimeRange;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static rocks.metaldetector.service.notification.messaging.NotificationPlan.normalize;
+
+/**
+ * Immutable view of all releases of followed artists for one day, indexed by artist.
+ * It contains every release within the {@link #timeRange(LocalDate, int) time range} of that day and the releases
+ * announced on that day, so the release date, announcement date and frequency notifications of that day can all be
+ * answered from memory.
+ */
+public class DailyReleaseSnapshot {
+
+  @Getter
+  private final LocalDate date;
+  private final NotificationPlan plan;
+  private final Map<String, List<ReleaseDto>> releasesPerArtist;
+  private final Map<String, List<ReleaseDto>> announcementsPerArtist;
+
+  DailyReleaseSnapshot(LocalDate date, NotificationPlan plan, List<ReleaseDto> releases, List<ReleaseDto> announcements) {
+    this.date = date;
+    this.plan = plan;
+    this.releasesPerArtist = indexByArtist(releases);
+    this.announcementsPerArtist = indexByArtist(announcements.stream()
+        .filter(release -> date.equals(release.getAnnouncementDate()))
+        .toList());
+  }
+
+  public static DailyReleaseSnapshot empty(LocalDate date) {
+    return new DailyReleaseSnapshot(date, NotificationPlan.empty(), Collections.emptyList(), Collections.emptyList());
+  }
+
+  /**
+   * Returns the time range of all releases that are notified on the given day by release date or frequency:
+   * the longest frequency window before and after the day.
+   */
+  public static TimeRange timeRange(LocalDate date, int maxFrequency) {
+    return new TimeRange(date.minusWeeks(maxFrequency), date.plusWeeks(maxFrequency));
+  }
+
+  /**
+   * Returns the time range of the releases that may be announced on the given day. Announced releases can be
+   * far in the future, so the range is open ended.
+   */
+  public static TimeRange announcementTimeRange(LocalDate date) {
+    return new TimeRange(date, null);
+  }
+
+  public List<ReleaseDto> getTodaysReleases(Long userId) {
+    return findReleases(releasesPerArtist, userId, release -> date.equals(release.getReleaseDate()));
+  }
+
+  public List<ReleaseDto> getTodaysAnnouncements(Long userId) {
+    return findReleases(announcementsPerArtist, userId, release -> true);
+  }
+
+  public ReleaseContainer getReleasesForFrequency(Long userId, int frequency) {
+    List<ReleaseDto> upcomingReleases = findReleases(releasesPerArtist, userId, release -> isBetween(release, date, date.plusWeeks(frequency)));
+    List<ReleaseDto> recentReleases = findReleases(releasesPerArtist, userId, release -> isBetween(release, date.minusWeeks(frequency), date.minusDays(1)));
+    return new ReleaseContainer(upcomingReleases, recentReleases);
+  }
+
+  private static Map<String, List<ReleaseDto>> indexByArtist(List<ReleaseDto> releases) {
+    Map<String, List<ReleaseDto>> releasesPerArtist = new HashMap<>();
+    for (ReleaseDto release : releases) {
+      Set<String> artistKeys = new LinkedHashSet<>();
+      if (release.getArtist() != null) {
+        artistKeys.add(normalize(release.getArtist()));
+      }
+      if (release.getAdditionalArtists() != null) {
+        release.getAdditionalArtists().forEach(artist -> artistKeys.add(normalize(artist)));
+      }
+      artistKeys.forEach(key -> releasesPerArtist.computeIfAbsent(key, k -> new ArrayList<>()).add(release));
+    }
+    releasesPerArtist.replaceAll((key, artistReleases) -> List.copyOf(artistReleases));
+    return Collections.unmodifiableMap(releasesPerArtist);
+  }
+
+  private List<ReleaseDto> findReleases(Map<String, List<ReleaseDto>> releasesPerArtist, Long userId, Predicate<ReleaseDto> filter) {
+    Set<ReleaseDto> releases = new LinkedHashSet<>();
+    plan.getArtistNames(userId).forEach(artistName ->
+        releasesPerArtist.getOrDefault(normalize(artistName), Collections.emptyList()).stream()
+            .filter(filter)
+            .forEach(releases::add));
+    return new ArrayList<>(releases);
+  }
+
+  private boolean isBetween(ReleaseDto release, LocalDate from, LocalDate to) {
+    LocalDate releaseDate = release.getReleaseDate();
+    return releaseDate != null && !releaseDate.isBefore(from) && !releaseDate.isAfter(to);
+  }
+}
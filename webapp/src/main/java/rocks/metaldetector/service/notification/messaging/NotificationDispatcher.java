@@ -0,0 +1,124 @@
+package rocks.metaldetector.service.notification.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rocks.metaldetector.config.misc.NotificationDispatchProperties;
+import rocks.metaldetector.persistence.domain.notification.NotificationChannel;
+import rocks.metaldetector.persistence.domain.notification.NotificationConfigEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static rocks.metaldetector.persistence.domain.notification.NotificationChannel.EMAIL;
+import static rocks.metaldetector.persistence.domain.notification.NotificationChannel.TELEGRAM;
+
+/**
+ * Runs the notification of every user as an own task with an own short transaction.
+ * The number of tasks that talk to a channel at the same time is limited per channel.
+ * If the task queue is full, the calling scheduler thread runs the task itself and thereby slows down.
+ * The dispatch metrics count the messages handed over to the channels. Email and Telegram deliver them
+ * asynchronously and count the actually sent messages in mail.pipeline.messages and telegram.outbound.messages.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+  static final String MESSAGES_METRIC_NAME = "notification.dispatch.messages";
+  static final String ENQUEUED_THROUGHPUT_METRIC_NAME = "notification.dispatch.enqueued.throughput";
+
+  private final ExecutorService executorService;
+  private final Executor executor;
+  private final Map<NotificationChannel, Semaphore> channelPermits;
+  private final TransactionTemplate transactionTemplate;
+  private final MeterRegistry meterRegistry;
+  private final AtomicReference<Double> lastThroughput = new AtomicReference<>(0.0);
+
+  public NotificationDispatcher(NotificationDispatchProperties properties, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+    this.executorService = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 60L, TimeUnit.SECONDS,
+                                                  new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                                                  new CustomizableThreadFactory("notification-dispatch-"),
+                                                  new ThreadPoolExecutor.CallerRunsPolicy());
+    this.executor = new DelegatingSecurityContextExecutor(executorService);
+    this.channelPermits = new EnumMap<>(NotificationChannel.class);
+    this.channelPermits.put(EMAIL, new Semaphore(properties.getEmailConcurrency()));
+    this.channelPermits.put(TELEGRAM, new Semaphore(properties.getTelegramConcurrency()));
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.meterRegistry = meterRegistry;
+    Gauge.builder(ENQUEUED_THROUGHPUT_METRIC_NAME, lastThroughput, AtomicReference::get)
+        .description("Messages handed over to the channels per second during the last dispatch")
+        .baseUnit("messages/s")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Runs the given notification for every config and waits until all of them are finished.
+   * A failing notification is logged and does not affect the other users.
+   */
+  public void dispatch(Collection<NotificationConfigEntity> notificationConfigs, Consumer<NotificationConfigEntity> notification) {
+    long start = System.nanoTime();
+    List<CompletableFuture<Boolean>> results = new ArrayList<>();
+    for (NotificationConfigEntity notificationConfig : notificationConfigs) {
+      results.add(CompletableFuture.supplyAsync(() -> notify(notificationConfig, notification), executor));
+    }
+
+    long succeeded = results.stream().filter(result -> result.exceptionally(throwable -> false).join()).count();
+    double seconds = Math.max(System.nanoTime() - start, 1L) / 1_000_000_000.0;
+    lastThroughput.set(succeeded / seconds);
+    log.info("Enqueued {} of {} notifications in {} ms ({} messages/s)", succeeded, results.size(),
+             Math.round(seconds * 1000), Math.round(lastThroughput.get()));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executorService.shutdown();
+  }
+
+  private boolean notify(NotificationConfigEntity notificationConfig, Consumer<NotificationConfigEntity> notification) {
+    Semaphore permits = channelPermits.get(notificationConfig.getChannel());
+    try {
+      permits.acquire();
+      try {
+        transactionTemplate.executeWithoutResult(status -> notification.accept(notificationConfig));
+      }
+      finally {
+        permits.release();
+      }
+      messageCounter(notificationConfig.getChannel(), "success").increment();
+      return true;
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      messageCounter(notificationConfig.getChannel(), "error").increment();
+      return false;
+    }
+    catch (Exception e) {
+      log.error("Could not notify user '{}' via {}", notificationConfig.getUser().getPublicId(), notificationConfig.getChannel(), e);
+      messageCounter(notificationConfig.getChannel(), "error").increment();
+      return false;
+    }
+  }
+
+  private Counter messageCounter(NotificationChannel channel, String outcome) {
+    return meterRegistry.counter(MESSAGES_METRIC_NAME, "channel", channel.name(), "outcome", outcome);
+  }
+}
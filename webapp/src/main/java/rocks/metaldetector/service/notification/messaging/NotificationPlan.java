@@ -0,0 +1,48 @@
+package rocks.metaldetector.service.notification.messaging;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Follow graph of all users that take part in the notification runs of a day.
+ */
+public class NotificationPlan {
+
+  private final Map<Long, List<String>> artistNamesPerUser;
+  private final Map<String, String> artistNamesByKey;
+
+  NotificationPlan(Map<Long, ? extends Collection<String>> artistNamesPerUser) {
+    this.artistNamesPerUser = new HashMap<>();
+    this.artistNamesByKey = new LinkedHashMap<>();
+    artistNamesPerUser.forEach((userId, artistNames) -> {
+      this.artistNamesPerUser.put(userId, List.copyOf(artistNames));
+      artistNames.forEach(artistName -> artistNamesByKey.putIfAbsent(normalize(artistName), artistName));
+    });
+  }
+
+  public static NotificationPlan empty() {
+    return new NotificationPlan(Collections.emptyMap());
+  }
+
+  public List<String> getArtistNames() {
+    return new ArrayList<>(artistNamesByKey.values());
+  }
+
+  public List<String> getArtistNames(Long userId) {
+    return artistNamesPerUser.getOrDefault(userId, Collections.emptyList());
+  }
+
+  public boolean hasArtists() {
+    return !artistNamesByKey.isEmpty();
+  }
+
+  static String normalize(String artistName) {
+    return artistName.trim().toLowerCase(Locale.ROOT);
+  }
+}
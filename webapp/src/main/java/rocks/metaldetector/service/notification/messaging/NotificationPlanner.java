@@ -0,0 +1,34 @@
+package rocks.metaldetector.service.notification.messaging;
+
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
+import rocks.metaldetector.service.artist.FollowArtistService;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@AllArgsConstructor
+public class NotificationPlanner {
+
+  private final FollowArtistService followArtistService;
+
+  /**
+   * Creates the plan with the followed artists of all given users, which are loaded with one query.
+   */
+  public NotificationPlan createPlan(Collection<? extends AbstractUserEntity> users) {
+    Set<Long> userIds = new LinkedHashSet<>();
+    users.forEach(user -> userIds.add(user.getId()));
+
+    Map<Long, List<String>> followedArtistNames = followArtistService.getFollowedArtistNamesOfUsers(userIds);
+    Map<Long, List<String>> artistNamesPerUser = new LinkedHashMap<>();
+    userIds.forEach(userId -> artistNamesPerUser.put(userId, followedArtistNames.getOrDefault(userId, Collections.emptyList())));
+    return new NotificationPlan(artistNamesPerUser);
+  }
+}
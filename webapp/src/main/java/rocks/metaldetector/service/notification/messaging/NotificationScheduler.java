@@ -7,10 +7,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 import rocks.metaldetector.butler.facade.dto.ReleaseDto;
 import rocks.metaldetector.persistence.domain.notification.NotificationConfigEntity;
 import rocks.metaldetector.persistence.domain.notification.NotificationConfigRepository;
+import rocks.metaldetector.service.notification.messaging.NotificationReleaseCollector.ReleaseContainer;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -27,16 +27,20 @@ public class NotificationScheduler {
   private final NotificationConfigRepository notificationConfigRepository;
   private final NotificationReleaseCollector notificationReleaseCollector;
   private final NotificationSenderFunction notificationSenderFunction;
+  private final NotificationDispatcher notificationDispatcher;
 
   @Scheduled(cron = "0 0 7 * * SUN")
-  @Transactional
   public void notifyOnFrequency() {
     var now = LocalDate.now();
     setSecurityContext(PRINCIPAL);
     try {
-      notificationConfigRepository.findAllActive().stream()
+      List<NotificationConfigEntity> configs = notificationConfigRepository.findAllActive().stream()
           .filter(config -> notificationIsDue(config, now))
-          .forEach(config -> frequencyNotification(config, now));
+          .toList();
+      if (!configs.isEmpty()) {
+        DailyReleaseSnapshot snapshot = notificationReleaseCollector.getDailySnapshot();
+        notificationDispatcher.dispatch(configs, config -> frequencyNotification(config, snapshot.getReleasesForFrequency(config.getUser().getId(), config.getFrequencyInWeeks()), now));
+      }
     }
     finally {
       setSecurityContext(null);
@@ -44,13 +48,16 @@ public class NotificationScheduler {
   }
 
   @Scheduled(cron = "0 0 7 * * *")
-  @Transactional
   public void notifyOnReleaseDate() {
     setSecurityContext(PRINCIPAL);
     try {
-      notificationConfigRepository.findAllActive().stream()
+      List<NotificationConfigEntity> configs = notificationConfigRepository.findAllActive().stream()
           .filter(NotificationConfigEntity::getNotificationAtReleaseDate)
-          .forEach(this::releaseDateNotification);
+          .toList();
+      if (!configs.isEmpty()) {
+        DailyReleaseSnapshot snapshot = notificationReleaseCollector.getDailySnapshot();
+        notificationDispatcher.dispatch(configs, config -> releaseDateNotification(config, snapshot.getTodaysReleases(config.getUser().getId())));
+      }
     }
     finally {
       setSecurityContext(null);
@@ -58,33 +65,37 @@ public class NotificationScheduler {
   }
 
   @Scheduled(cron = "0 0 7 * * *")
-  @Transactional
   public void notifyOnAnnouncementDate() {
     setSecurityContext(PRINCIPAL);
     try {
-      notificationConfigRepository.findAllActive().stream()
+      List<NotificationConfigEntity> configs = notificationConfigRepository.findAllActive().stream()
           .filter(NotificationConfigEntity::getNotificationAtAnnouncementDate)
-          .forEach(this::announcementDateNotification);
+          .toList();
+      if (!configs.isEmpty()) {
+        DailyReleaseSnapshot snapshot = notificationReleaseCollector.getDailySnapshot();
+        notificationDispatcher.dispatch(configs, config -> announcementDateNotification(config, snapshot.getTodaysAnnouncements(config.getUser().getId())));
+      }
     }
     finally {
       setSecurityContext(null);
     }
   }
 
-  private void frequencyNotification(NotificationConfigEntity notificationConfig, LocalDate now) {
-    NotificationReleaseCollector.ReleaseContainer releaseContainer = notificationReleaseCollector.fetchReleasesForUserAndFrequency(notificationConfig.getUser(), notificationConfig.getFrequencyInWeeks(), notificationConfig.getNotifyReissues());
+  private void frequencyNotification(NotificationConfigEntity notificationConfig, ReleaseContainer releaseContainer, LocalDate now) {
+    List<ReleaseDto> upcomingReleases = filterReissues(releaseContainer.getUpcomingReleases(), notificationConfig);
+    List<ReleaseDto> recentReleases = filterReissues(releaseContainer.getRecentReleases(), notificationConfig);
 
-    if (!(releaseContainer.getUpcomingReleases().isEmpty() && releaseContainer.getRecentReleases().isEmpty())) {
+    if (!(upcomingReleases.isEmpty() && recentReleases.isEmpty())) {
       NotificationSender notificationSender = notificationSenderFunction.apply(notificationConfig.getChannel());
-      notificationSender.sendFrequencyMessage(notificationConfig.getUser(), releaseContainer.getUpcomingReleases(), releaseContainer.getRecentReleases());
+      notificationSender.sendFrequencyMessage(notificationConfig.getUser(), upcomingReleases, recentReleases);
     }
 
     notificationConfig.setLastNotificationDate(now);
     notificationConfigRepository.save(notificationConfig);
   }
 
-  private void releaseDateNotification(NotificationConfigEntity notificationConfig) {
-    List<ReleaseDto> todaysReleases = notificationReleaseCollector.fetchTodaysReleaseForUser(notificationConfig.getUser(), notificationConfig.getNotifyReissues());
+  private void releaseDateNotification(NotificationConfigEntity notificationConfig, List<ReleaseDto> releases) {
+    List<ReleaseDto> todaysReleases = filterReissues(releases, notificationConfig);
 
     if (!todaysReleases.isEmpty()) {
       NotificationSender notificationSender = notificationSenderFunction.apply(notificationConfig.getChannel());
@@ -92,8 +103,8 @@ public class NotificationScheduler {
     }
   }
 
-  private void announcementDateNotification(NotificationConfigEntity notificationConfig) {
-    List<ReleaseDto> todaysAnnouncements = notificationReleaseCollector.fetchTodaysAnnouncementsForUser(notificationConfig.getUser(), notificationConfig.getNotifyReissues());
+  private void announcementDateNotification(NotificationConfigEntity notificationConfig, List<ReleaseDto> announcements) {
+    List<ReleaseDto> todaysAnnouncements = filterReissues(announcements, notificationConfig);
 
     if (!todaysAnnouncements.isEmpty()) {
       NotificationSender notificationSender = notificationSenderFunction.apply(notificationConfig.getChannel());
@@ -101,6 +112,12 @@ public class NotificationScheduler {
     }
   }
 
+  private List<ReleaseDto> filterReissues(List<ReleaseDto> releases, NotificationConfigEntity notificationConfig) {
+    return releases.stream()
+        .filter(release -> !release.isReissue() || notificationConfig.getNotifyReissues())
+        .toList();
+  }
+
   private boolean notificationIsDue(NotificationConfigEntity notificationConfig, LocalDate now) {
     return notificationConfig.getFrequencyInWeeks() > 0 &&
            (notificationConfig.getLastNotificationDate() == null ||
@@ -0,0 +1,119 @@
+package rocks.metaldetector.service.spotify;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import rocks.metaldetector.persistence.domain.spotify.SpotifySyncCursorRepository;
+import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
+import rocks.metaldetector.persistence.domain.user.UserRepository;
+import rocks.metaldetector.support.oauth.OAuth2ClientManagerProvider;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fetches the newly liked albums of all users that have synchronized their Spotify library before, so that the
+ * synchronization page only has to fetch the albums that were liked since the last run. Every user is synchronized
+ * with an own security context, so that the Spotify requests are sent with the access token of that user. Users
+ * whose liked albums were never fetched are left to the synchronization page.
+ * The synchronization runs in an own thread, so that it does not hold back the other scheduled jobs, and pages
+ * through the ids of the users, so that the sync cursors are loaded one after another.
+ */
+@Slf4j
+@Component
+public class SpotifySyncScheduler {
+
+  static final int PAGE_SIZE = 100;
+
+  private final SpotifySyncCursorRepository spotifySyncCursorRepository;
+  private final UserRepository userRepository;
+  private final SpotifySynchronizationService spotifySynchronizationService;
+  private final OAuth2ClientManagerProvider clientManagerProvider;
+  private final ExecutorService executorService;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  @Autowired
+  public SpotifySyncScheduler(SpotifySyncCursorRepository spotifySyncCursorRepository, UserRepository userRepository,
+                              SpotifySynchronizationService spotifySynchronizationService, OAuth2ClientManagerProvider clientManagerProvider) {
+    this(spotifySyncCursorRepository, userRepository, spotifySynchronizationService, clientManagerProvider,
+         Executors.newSingleThreadExecutor(new CustomizableThreadFactory("spotify-sync-")));
+  }
+
+  SpotifySyncScheduler(SpotifySyncCursorRepository spotifySyncCursorRepository, UserRepository userRepository,
+                       SpotifySynchronizationService spotifySynchronizationService, OAuth2ClientManagerProvider clientManagerProvider,
+                       ExecutorService executorService) {
+    this.spotifySyncCursorRepository = spotifySyncCursorRepository;
+    this.userRepository = userRepository;
+    this.spotifySynchronizationService = spotifySynchronizationService;
+    this.clientManagerProvider = clientManagerProvider;
+    this.executorService = executorService;
+  }
+
+  @Scheduled(initialDelayString = "${spotify.sync-interval}", fixedDelayString = "${spotify.sync-interval}")
+  public void scheduleSynchronization() {
+    if (!running.compareAndSet(false, true)) {
+      log.info("Skipped the synchronization of the liked albums, the last one is still running");
+      return;
+    }
+
+    executorService.execute(() -> {
+      try {
+        clientManagerProvider.runWithSchedulingManager(this::synchronizeLikedAlbums);
+      }
+      finally {
+        running.set(false);
+      }
+    });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executorService.shutdownNow();
+  }
+
+  void synchronizeLikedAlbums() {
+    int synchronizedUsers = 0;
+    long lastUserId = 0;
+    List<Long> userIds;
+    do {
+      userIds = spotifySyncCursorRepository.findSynchronizedUserIds(lastUserId, PageRequest.of(0, PAGE_SIZE));
+      for (Long userId : userIds) {
+        AbstractUserEntity user = userRepository.findById(userId).orElse(null);
+        if (user != null && synchronizeLikedAlbums(user)) {
+          synchronizedUsers++;
+        }
+      }
+      if (!userIds.isEmpty()) {
+        lastUserId = userIds.get(userIds.size() - 1);
+      }
+    }
+    while (userIds.size() == PAGE_SIZE);
+    log.info("Synchronized the liked albums of {} users", synchronizedUsers);
+  }
+
+  private boolean synchronizeLikedAlbums(AbstractUserEntity user) {
+    SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+    securityContext.setAuthentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    SecurityContextHolder.setContext(securityContext);
+    try {
+      spotifySynchronizationService.synchronizeLikedAlbums(user);
+      return true;
+    }
+    catch (Exception e) {
+      log.warn("Could not synchronize the liked albums of user '{}'", user.getPublicId(), e);
+      return false;
+    }
+    finally {
+      SecurityContextHolder.clearContext();
+    }
+  }
+}
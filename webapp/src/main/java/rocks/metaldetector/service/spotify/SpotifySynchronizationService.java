@@ -1,12 +1,16 @@
 package rocks.metaldetector.service.spotify;
 
+import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
 import rocks.metaldetector.spotify.facade.dto.SpotifyArtistDto;
 
 import java.util.List;
+import java.util.Set;
 
 public interface SpotifySynchronizationService {
 
   int synchronizeArtists(List<String> artistIds);
 
   List<SpotifyArtistDto> fetchSavedArtists(List<SpotifyFetchType> fetchTypes);
+
+  Set<String> synchronizeLikedAlbums(AbstractUserEntity user);
 }
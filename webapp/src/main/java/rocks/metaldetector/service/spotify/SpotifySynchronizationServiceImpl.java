@@ -2,15 +2,23 @@ package rocks.metaldetector.service.spotify;
 
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import rocks.metaldetector.persistence.domain.spotify.SpotifySyncCursorEntity;
+import rocks.metaldetector.persistence.domain.spotify.SpotifySyncCursorRepository;
+import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
+import rocks.metaldetector.security.AuthenticationFacade;
 import rocks.metaldetector.service.artist.FollowArtistService;
+import rocks.metaldetector.spotify.facade.SpotifyRequestExecutor;
 import rocks.metaldetector.spotify.facade.SpotifyService;
-import rocks.metaldetector.spotify.facade.dto.SpotifyAlbumDto;
 import rocks.metaldetector.spotify.facade.dto.SpotifyArtistDto;
+import rocks.metaldetector.spotify.facade.dto.SpotifyLikedAlbumsChangesDto;
 
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static rocks.metaldetector.persistence.domain.artist.ArtistSource.SPOTIFY;
@@ -23,41 +31,57 @@ public class SpotifySynchronizationServiceImpl implements SpotifySynchronization
 
   private final SpotifyService spotifyService;
   private final FollowArtistService followArtistService;
+  private final AuthenticationFacade authenticationFacade;
+  private final SpotifySyncCursorRepository spotifySyncCursorRepository;
+  private final SpotifyRequestExecutor requestExecutor;
 
   @Override
   public int synchronizeArtists(List<String> artistsIds) {
     return followArtistService.followSpotifyArtists(artistsIds);
   }
 
+  /*
+   * Only the liked albums that were added since the last synchronization are fetched, the artists of the older ones
+   * are taken from the sync cursor. The followed artists on Spotify are fetched in the background meanwhile.
+   * The followed artists of the user are determined with one query, and only the artists that are not followed yet
+   * are searched on Spotify.
+   */
   @Override
   public List<SpotifyArtistDto> fetchSavedArtists(List<SpotifyFetchType> fetchTypes) {
-    Set<SpotifyArtistDto> savedArtists = new HashSet<>();
+    Map<String, SpotifyArtistDto> savedArtists = new HashMap<>();
+    Set<String> artistIds = new HashSet<>();
 
+    CompletableFuture<List<SpotifyArtistDto>> followedArtists = fetchTypes.contains(ARTISTS)
+        ? requestExecutor.supplyAsync(spotifyService::fetchFollowedArtists)
+        : CompletableFuture.completedFuture(List.of());
     if (fetchTypes.contains(ALBUMS)) {
-      savedArtists.addAll(getArtistsFromLikedAlbums());
+      artistIds.addAll(synchronizeLikedAlbums(authenticationFacade.getCurrentUser()));
     }
-    if (fetchTypes.contains(ARTISTS)) {
-      savedArtists.addAll(getFollowedArtists());
+    requestExecutor.await(followedArtists).forEach(artist -> savedArtists.putIfAbsent(artist.getId(), artist));
+    artistIds.addAll(savedArtists.keySet());
+
+    Set<String> followedArtistIds = followArtistService.getFollowedArtistIdsOfCurrentUser(artistIds, SPOTIFY);
+    List<String> artistIdsToSearch = artistIds.stream()
+        .filter(artistId -> !followedArtistIds.contains(artistId) && !savedArtists.containsKey(artistId))
+        .collect(Collectors.toList());
+    if (!artistIdsToSearch.isEmpty()) {
+      spotifyService.searchArtistsByIds(artistIdsToSearch).forEach(artist -> savedArtists.putIfAbsent(artist.getId(), artist));
     }
 
-    return savedArtists.stream()
-        .filter(artist -> !followArtistService.isCurrentUserFollowing(artist.getId(), SPOTIFY))
+    return savedArtists.values().stream()
+        .filter(artist -> !followedArtistIds.contains(artist.getId()))
         .sorted(Comparator.comparing(SpotifyArtistDto::getName))
         .collect(Collectors.toList());
   }
 
-  private List<SpotifyArtistDto> getFollowedArtists() {
-    return spotifyService.fetchFollowedArtists();
-  }
-
-  private List<SpotifyArtistDto> getArtistsFromLikedAlbums() {
-    List<SpotifyAlbumDto> likedAlbums = spotifyService.fetchLikedAlbums();
-    List<String> artistIds = likedAlbums.stream()
-            .flatMap(album -> album.getArtists().stream())
-            .distinct()
-            .map(SpotifyArtistDto::getId)
-            .collect(Collectors.toList());
-
-    return spotifyService.searchArtistsByIds(artistIds);
+  @Override
+  public Set<String> synchronizeLikedAlbums(AbstractUserEntity user) {
+    SpotifySyncCursorEntity syncCursor = spotifySyncCursorRepository.findByUser(user)
+        .orElseGet(() -> SpotifySyncCursorEntity.builder().user(user).build());
+    SpotifyLikedAlbumsChangesDto changes = spotifyService.fetchLikedAlbumsAddedSince(syncCursor.getLastAlbumAddedAt());
+    syncCursor.addSeenArtistIds(changes.getArtistIds());
+    syncCursor.setLastAlbumAddedAt(changes.getLastAddedAt());
+    spotifySyncCursorRepository.save(syncCursor);
+    return syncCursor.getSeenArtistIds();
   }
 }
@@ -10,12 +10,16 @@ import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import rocks.metaldetector.persistence.domain.artist.ArtistRepository;
 import rocks.metaldetector.persistence.domain.artist.FollowActionRepository;
 import rocks.metaldetector.persistence.domain.notification.NotificationConfigRepository;
 import rocks.metaldetector.persistence.domain.notification.TelegramConfigRepository;
+import rocks.metaldetector.persistence.domain.spotify.SpotifySyncCursorRepository;
 import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
 import rocks.metaldetector.persistence.domain.user.UserEntity;
 import rocks.metaldetector.persistence.domain.user.UserRepository;
+import rocks.metaldetector.service.artist.FollowGraph;
+import rocks.metaldetector.service.dashboard.TopArtistRanking;
 import rocks.metaldetector.service.email.AccountDeletedEmail;
 import rocks.metaldetector.service.email.EmailService;
 
@@ -29,6 +33,7 @@ public class UserDeletionEventListener implements ApplicationListener<UserDeleti
   static final int VARCHAR_SQL_TYPE = 12;
   static final String SPOTIFY_REGISTRATION_ID = "spotify-user";
 
+  private final ArtistRepository artistRepository;
   private final FollowActionRepository followActionRepository;
   private final NotificationConfigRepository notificationConfigRepository;
   private final TelegramConfigRepository telegramConfigRepository;
@@ -36,6 +41,9 @@ public class UserDeletionEventListener implements ApplicationListener<UserDeleti
   private final NamedParameterJdbcTemplate jdbcTemplate;
   private final EmailService emailService;
   private final OAuth2AuthorizedClientService oAuth2AuthorizedClientService;
+  private final TopArtistRanking topArtistRanking;
+  private final FollowGraph followGraph;
+  private final SpotifySyncCursorRepository spotifySyncCursorRepository;
 
   @Override
   @Transactional
@@ -45,7 +53,11 @@ public class UserDeletionEventListener implements ApplicationListener<UserDeleti
 
     telegramConfigRepository.deleteByUser(user);
     notificationConfigRepository.deleteAllByUser(user);
+    spotifySyncCursorRepository.deleteByUser(user);
+    artistRepository.decrementFollowerOfArtistsFollowedBy(user);
     followActionRepository.deleteAllByUser(user);
+    topArtistRanking.invalidate();
+    followGraph.userDeleted(user);
 
     if (user instanceof UserEntity) {
       clearPersistentLogins(user.getUsername());
@@ -0,0 +1,22 @@
+package rocks.metaldetector.web.api.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FollowArtistsRequest {
+
+  @NotEmpty
+  @Size(max = 1000, message = "'externalIds' must contain at most 1000 artists!")
+  private List<String> externalIds;
+
+}
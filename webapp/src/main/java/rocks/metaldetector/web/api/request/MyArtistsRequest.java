@@ -0,0 +1,26 @@
+package rocks.metaldetector.web.api.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MyArtistsRequest {
+
+  @Min(value = 1, message = "'page' must be greater than zero!")
+  @Builder.Default
+  private int page = 1;
+
+  @Min(value = 1, message = "'size' must be greater than zero!")
+  @Max(value = 50, message = "'size' must be equal or less than 50!")
+  @Builder.Default
+  private int size = 20;
+
+  private String after;
+}
@@ -0,0 +1,15 @@
+package rocks.metaldetector.web.api.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FollowArtistsResponse {
+
+  private int artistsCount;
+}
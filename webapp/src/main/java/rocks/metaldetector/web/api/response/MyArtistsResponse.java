@@ -15,5 +15,6 @@ public class MyArtistsResponse {
 
   private List<ArtistDto> myArtists;
   private Pagination pagination;
+  private String nextCursor;
 
 }
@@ -1,22 +1,25 @@
 package rocks.metaldetector.web.controller.rest;
 
+import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import rocks.metaldetector.persistence.domain.artist.ArtistSource;
 import rocks.metaldetector.service.artist.ArtistDto;
 import rocks.metaldetector.service.artist.ArtistSearchService;
 import rocks.metaldetector.service.artist.FollowArtistService;
-import rocks.metaldetector.service.dashboard.ArtistCollector;
+import rocks.metaldetector.service.dashboard.CommunityContentService;
+import rocks.metaldetector.web.api.request.FollowArtistsRequest;
 import rocks.metaldetector.web.api.response.ArtistSearchResponse;
+import rocks.metaldetector.web.api.response.FollowArtistsResponse;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static rocks.metaldetector.support.Endpoints.Rest.FOLLOW_ARTIST;
@@ -33,7 +36,7 @@ public class ArtistsRestController {
 
   private final ArtistSearchService artistSearchService;
   private final FollowArtistService followArtistService;
-  private final ArtistCollector artistCollector;
+  private final CommunityContentService communityContentService;
 
   @GetMapping(path = SEARCH_ARTIST, produces = APPLICATION_JSON_VALUE)
   public ResponseEntity<ArtistSearchResponse> handleNameSearch(@RequestParam(value = "query", defaultValue = "") String query,
@@ -64,13 +67,24 @@ public class ArtistsRestController {
     return ResponseEntity.ok().build();
   }
 
+  @PostMapping(path = FOLLOW_ARTIST + "/{source}", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+  public ResponseEntity<FollowArtistsResponse> handleFollowAll(@PathVariable ArtistSource source,
+                                                               @Valid @RequestBody FollowArtistsRequest request) {
+    int artistsCount = followArtistService.followArtists(request.getExternalIds(), source);
+    return ResponseEntity.ok(new FollowArtistsResponse(artistsCount));
+  }
+
+  @PostMapping(path = UNFOLLOW_ARTIST + "/{source}", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+  public ResponseEntity<FollowArtistsResponse> handleUnfollowAll(@PathVariable ArtistSource source,
+                                                                 @Valid @RequestBody FollowArtistsRequest request) {
+    int artistsCount = followArtistService.unfollowArtists(request.getExternalIds(), source);
+    return ResponseEntity.ok(new FollowArtistsResponse(artistsCount));
+  }
+
   @GetMapping(path = TOP_ARTISTS, produces = APPLICATION_JSON_VALUE)
   public ResponseEntity<List<ArtistDto>> fetchTopArtists(@RequestParam(required = false, defaultValue = "2") int minFollower,
                                                          @RequestParam(required = false, defaultValue = "10") int limit) {
-    var topArtists = artistCollector.collectTopFollowedArtists(minFollower)
-        .stream()
-        .limit(limit)
-        .collect(Collectors.toList());
+    var topArtists = communityContentService.getTopArtists(minFollower, limit);
     return ResponseEntity.ok(topArtists);
   }
 }
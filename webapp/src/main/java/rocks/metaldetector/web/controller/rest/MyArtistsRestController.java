@@ -1,19 +1,18 @@
 package rocks.metaldetector.web.controller.rest;
 
+import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import rocks.metaldetector.service.artist.ArtistDto;
 import rocks.metaldetector.service.artist.FollowArtistService;
+import rocks.metaldetector.service.artist.FollowedArtistsPage;
 import rocks.metaldetector.support.Endpoints;
+import rocks.metaldetector.web.api.request.MyArtistsRequest;
 import rocks.metaldetector.web.api.response.MyArtistsResponse;
 import rocks.metaldetector.web.transformer.MyArtistsResponseTransformer;
 
-import java.util.List;
-
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 @RestController
@@ -25,10 +24,9 @@ public class MyArtistsRestController {
   private final MyArtistsResponseTransformer responseTransformer;
 
   @GetMapping(produces = APPLICATION_JSON_VALUE)
-  public ResponseEntity<MyArtistsResponse> getMyArtists(@RequestParam(value = "page", defaultValue = "1") int page,
-                                                        @RequestParam(value = "size", defaultValue = "20") int size) {
-    List<ArtistDto> followedArtists = followArtistService.getFollowedArtistsOfCurrentUser();
-    MyArtistsResponse response = responseTransformer.transform(followedArtists, page, size);
+  public ResponseEntity<MyArtistsResponse> getMyArtists(@Valid MyArtistsRequest request) {
+    FollowedArtistsPage followedArtists = followArtistService.getFollowedArtistsOfCurrentUser(request.getPage(), request.getSize(), request.getAfter());
+    MyArtistsResponse response = responseTransformer.transform(followedArtists);
     return ResponseEntity.ok(response);
   }
 }
@@ -12,10 +12,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import rocks.metaldetector.butler.facade.ReleaseService;
 import rocks.metaldetector.butler.facade.dto.ReleaseDto;
-import rocks.metaldetector.service.artist.ArtistDto;
 import rocks.metaldetector.service.artist.FollowArtistService;
-import rocks.metaldetector.service.dashboard.ArtistCollector;
-import rocks.metaldetector.service.dashboard.ReleaseCollector;
+import rocks.metaldetector.service.dashboard.CommunityContentService;
 import rocks.metaldetector.support.DetectorSort;
 import rocks.metaldetector.support.Page;
 import rocks.metaldetector.support.PageRequest;
@@ -24,7 +22,6 @@ import rocks.metaldetector.web.api.request.PaginatedReleasesRequest;
 import rocks.metaldetector.web.api.request.ReleaseUpdateRequest;
 import rocks.metaldetector.web.api.request.ReleasesRequest;
 
-import java.time.LocalDate;
 import java.util.List;
 
 import static java.util.Collections.emptyList;
@@ -39,8 +36,7 @@ public class ReleasesRestController {
 
   private final ReleaseService releaseService;
   private final FollowArtistService followArtistService;
-  private final ArtistCollector artistCollector;
-  private final ReleaseCollector releaseCollector;
+  private final CommunityContentService communityContentService;
 
   @PreAuthorize("hasRole('ROLE_ADMINISTRATOR')")
   @GetMapping(path = ALL_RELEASES, produces = APPLICATION_JSON_VALUE)
@@ -57,7 +53,7 @@ public class ReleasesRestController {
 
     List<String> artistNames = emptyList();
     if (request.getReleasesFilter().equals("my")) {
-      artistNames = followArtistService.getFollowedArtistsOfCurrentUser().stream().map(ArtistDto::getArtistName).toList();
+      artistNames = followArtistService.getFollowedArtistNamesOfCurrentUser();
       if (artistNames.isEmpty()) {
         return ResponseEntity.ok(Page.empty());
       }
@@ -77,10 +73,7 @@ public class ReleasesRestController {
   @GetMapping(path = TOP_UPCOMING_RELEASES, produces = APPLICATION_JSON_VALUE)
   public ResponseEntity<List<ReleaseDto>> fetchTopUpcomingReleases(@RequestParam(required = false, defaultValue = "2") int minFollower,
                                                                    @RequestParam(required = false, defaultValue = "10") int limit) {
-    var fromDate = LocalDate.now();
-    var toDate = fromDate.plusMonths(6);
-    var topFollowedArtists = artistCollector.collectTopFollowedArtists(minFollower);
-    var topReleases = releaseCollector.collectTopReleases(new TimeRange(fromDate, toDate), topFollowedArtists, limit);
+    var topReleases = communityContentService.getTopUpcomingReleases(minFollower, limit);
     return ResponseEntity.ok(topReleases);
   }
 }
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 import rocks.metaldetector.discogs.facade.dto.DiscogsArtistSearchResultDto;
 import rocks.metaldetector.discogs.facade.dto.DiscogsArtistSearchResultEntryDto;
+import rocks.metaldetector.persistence.domain.artist.ArtistFollower;
 import rocks.metaldetector.persistence.domain.artist.ArtistRepository;
 import rocks.metaldetector.spotify.facade.dto.SpotifyArtistDto;
 import rocks.metaldetector.spotify.facade.dto.SpotifyArtistSearchResultDto;
@@ -35,10 +36,13 @@ public class ArtistSearchResponseTransformer {
   }
 
   private List<ArtistSearchResponseEntryDto> transformSpotifySearchResults(List<SpotifyArtistDto> spotifySearchResults) {
-    return spotifySearchResults.stream().map(this::transformSpotifySearchResult).collect(Collectors.toList());
+    Map<String, Integer> followerPerArtist = countFollower(spotifySearchResults.stream().map(SpotifyArtistDto::getId).toList());
+    return spotifySearchResults.stream()
+        .map(searchResult -> transformSpotifySearchResult(searchResult, followerPerArtist.getOrDefault(searchResult.getId(), 0)))
+        .collect(Collectors.toList());
   }
 
-  private ArtistSearchResponseEntryDto transformSpotifySearchResult(SpotifyArtistDto spotifySearchResult) {
+  private ArtistSearchResponseEntryDto transformSpotifySearchResult(SpotifyArtistDto spotifySearchResult, int metalDetectorFollower) {
     return ArtistSearchResponseEntryDto.builder()
         .id(spotifySearchResult.getId())
         .name(spotifySearchResult.getName())
@@ -47,7 +51,7 @@ public class ArtistSearchResponseTransformer {
         .source(SPOTIFY.getDisplayName())
         .genres(spotifySearchResult.getGenres())
         .popularity(spotifySearchResult.getPopularity())
-        .metalDetectorFollower(artistRepository.countArtistFollower(spotifySearchResult.getId()))
+        .metalDetectorFollower(metalDetectorFollower)
         .spotifyFollower(spotifySearchResult.getFollower())
         .build();
   }
@@ -61,10 +65,13 @@ public class ArtistSearchResponseTransformer {
   }
 
   private List<ArtistSearchResponseEntryDto> transformDiscogsSearchResults(List<DiscogsArtistSearchResultEntryDto> discogsSearchResults) {
-    return discogsSearchResults.stream().map(this::transformDiscogsSearchResult).collect(Collectors.toList());
+    Map<String, Integer> followerPerArtist = countFollower(discogsSearchResults.stream().map(DiscogsArtistSearchResultEntryDto::getId).toList());
+    return discogsSearchResults.stream()
+        .map(searchResult -> transformDiscogsSearchResult(searchResult, followerPerArtist.getOrDefault(searchResult.getId(), 0)))
+        .collect(Collectors.toList());
   }
 
-  private ArtistSearchResponseEntryDto transformDiscogsSearchResult(DiscogsArtistSearchResultEntryDto discogsSearchResult) {
+  private ArtistSearchResponseEntryDto transformDiscogsSearchResult(DiscogsArtistSearchResultEntryDto discogsSearchResult, int metalDetectorFollower) {
     Map<ImageSize, String> images = discogsSearchResult.getImageUrl() != null ? Map.of(M, discogsSearchResult.getImageUrl()) : Collections.emptyMap();
     return ArtistSearchResponseEntryDto.builder()
         .id(String.valueOf(discogsSearchResult.getId()))
@@ -72,7 +79,15 @@ public class ArtistSearchResponseTransformer {
         .uri(discogsSearchResult.getUri())
         .images(images)
         .source(DISCOGS.getDisplayName())
-        .metalDetectorFollower(artistRepository.countArtistFollower(discogsSearchResult.getId()))
+        .metalDetectorFollower(metalDetectorFollower)
         .build();
   }
+
+  private Map<String, Integer> countFollower(List<String> externalIds) {
+    if (externalIds.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    return artistRepository.countArtistFollowers(externalIds).stream()
+        .collect(Collectors.toMap(ArtistFollower::getExternalId, ArtistFollower::getFollower));
+  }
 }
@@ -0,0 +1,13 @@
+-- Creation Date: 2026-10-17
+-- Description:
+-- - adds column follower to artists, which holds the number of follow actions of the artist
+-- - initializes the column with the current number of follow actions
+-- - adds an index to fetch the top artists
+
+alter table artists
+add column follower integer not null default 0;
+
+update artists a
+set follower = (select count(*) from follow_actions fa where fa.artist_id = a.id);
+
+create index idx_artists_follower on artists (follower desc);
@@ -0,0 +1,9 @@
+-- Creation Date: 2026-10-17
+-- Description:
+-- - adds an index to fetch the follow actions of a user
+-- - adds an index to page the followed artists of a user by artist name
+--   (the artist name lives in artists, so there can't be one index on user and artist name)
+
+create index idx_follow_actions_user_artist on follow_actions (user_id, artist_id);
+
+create index idx_artists_artist_name on artists (artist_name, id);
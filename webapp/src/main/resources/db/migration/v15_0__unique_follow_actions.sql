@@ -0,0 +1,18 @@
+-- Creation Date: 2026-10-17
+-- Description:
+-- - removes duplicate follow actions, only the oldest follow action of a user and artist is kept
+-- - recounts the follower of all artists without the duplicates
+-- - replaces the index on user and artist with a unique index, so that bulk follows can skip existing follow actions
+
+delete from follow_actions fa
+using follow_actions duplicate
+where fa.user_id = duplicate.user_id
+  and fa.artist_id = duplicate.artist_id
+  and fa.id > duplicate.id;
+
+update artists a
+set follower = (select count(*) from follow_actions fa where fa.artist_id = a.id);
+
+drop index idx_follow_actions_user_artist;
+
+create unique index uq_follow_actions_user_artist on follow_actions (user_id, artist_id);
@@ -0,0 +1,34 @@
+-- Creation Date: 2026-10-17
+-- Description:
+-- - merges duplicate artists of the same external id and source into the oldest artist
+-- - recounts the follower of all artists without the duplicates
+-- - adds a unique index on external id and source, so that new artists can be inserted in bulk without duplicates
+
+delete from follow_actions fa
+using artists a, artists duplicate, follow_actions kept
+where fa.artist_id = a.id
+  and a.external_id = duplicate.external_id
+  and a.source = duplicate.source
+  and a.id > duplicate.id
+  and kept.artist_id = duplicate.id
+  and kept.user_id = fa.user_id;
+
+update follow_actions fa
+set artist_id = oldest.id
+from artists a,
+     (select external_id, source, min(id) as id from artists group by external_id, source) oldest
+where fa.artist_id = a.id
+  and a.external_id = oldest.external_id
+  and a.source = oldest.source
+  and a.id <> oldest.id;
+
+delete from artists a
+using artists duplicate
+where a.external_id = duplicate.external_id
+  and a.source = duplicate.source
+  and a.id > duplicate.id;
+
+update artists a
+set follower = (select count(*) from follow_actions fa where fa.artist_id = a.id);
+
+create unique index uq_artists_external_id_source on artists (external_id, source);
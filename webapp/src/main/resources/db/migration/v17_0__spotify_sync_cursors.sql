@@ -0,0 +1,20 @@
+-- Creation Date: 2026-10-17
+-- Description:
+-- - adds the Spotify synchronization cursor of a user, so that a synchronization only fetches the new liked albums
+-- - adds the ids of the artists of the liked albums that were already seen
+
+create table spotify_sync_cursors (
+    id bigserial not null constraint spotify_sync_cursors_pkey primary key,
+    created_by varchar(255),
+    created_date timestamp,
+    last_modified_by varchar(255),
+    last_modified_date timestamp,
+    users_id bigint not null constraint uq_spotify_sync_cursors_users_id unique constraint fk_spotify_sync_cursors_users references users,
+    last_album_added_at timestamp
+);
+
+create table spotify_sync_cursors_seen_artist_ids (
+    spotify_sync_cursors_id bigint not null constraint fk_spotify_sync_cursors_seen_artist_ids_cursors references spotify_sync_cursors,
+    artist_id varchar(255) not null,
+    constraint spotify_sync_cursors_seen_artist_ids_pkey primary key (spotify_sync_cursors_id, artist_id)
+);
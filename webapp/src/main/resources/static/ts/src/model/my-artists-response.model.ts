@@ -4,4 +4,5 @@ import { Pagination } from "./pagination.model";
 export interface MyArtistsResponse {
     readonly myArtists: Artist[];
     readonly pagination: Pagination;
+    readonly nextCursor?: string;
 }
@@ -1,17 +1,19 @@
 package rocks.metaldetector.security;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -19,6 +21,8 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
 import rocks.metaldetector.persistence.domain.user.OAuthUserEntity;
 import rocks.metaldetector.persistence.domain.user.UserEntity;
@@ -32,7 +36,10 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static rocks.metaldetector.security.AuthenticationFacadeImpl.LOOKUPS_METRIC_NAME;
+import static rocks.metaldetector.security.AuthenticationFacadeImpl.QUERIES_METRIC_NAME;
 
 @ExtendWith(MockitoExtension.class)
 class AuthenticationFacadeImplTest implements WithAssertions {
@@ -40,9 +47,6 @@ class AuthenticationFacadeImplTest implements WithAssertions {
   @Mock
   private UserRepository userRepository;
 
-  @InjectMocks
-  private AuthenticationFacadeImpl underTest;
-
   @Mock
   private SecurityContext securityContext;
 
@@ -58,8 +62,18 @@ class AuthenticationFacadeImplTest implements WithAssertions {
   @Mock
   private OAuthUserEntity oauthUser;
 
+  private SimpleMeterRegistry meterRegistry;
+  private AuthenticationFacadeImpl underTest;
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    underTest = new AuthenticationFacadeImpl(userRepository, meterRegistry);
+  }
+
   @AfterEach
   void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
     reset(userRepository, securityContext, authentication, user, oAuthPrincipal, oauthUser);
   }
 
@@ -257,4 +271,93 @@ class AuthenticationFacadeImplTest implements WithAssertions {
     // then
     assertThat(result).isNull();
   }
+
+  @Test
+  @DisplayName("should load the user only once per request")
+  void should_load_user_once_per_request() {
+    // given
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    doReturn(Optional.of(user)).when(userRepository).findByPublicId(any());
+    doReturn(authentication).when(securityContext).getAuthentication();
+    doReturn(user).when(authentication).getPrincipal();
+
+    // when
+    AbstractUserEntity result;
+    try (MockedStatic<SecurityContextHolder> mock = mockStatic(SecurityContextHolder.class)) {
+      mock.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+      underTest.getCurrentUser();
+      result = underTest.getCurrentUser();
+    }
+
+    // then
+    assertThat(result).isEqualTo(user);
+    verify(userRepository, times(1)).findByPublicId(any());
+  }
+
+  @Test
+  @DisplayName("should load the user again in a new request")
+  void should_load_user_again_in_new_request() {
+    // given
+    doReturn(Optional.of(user)).when(userRepository).findByPublicId(any());
+    doReturn(authentication).when(securityContext).getAuthentication();
+    doReturn(user).when(authentication).getPrincipal();
+
+    // when
+    try (MockedStatic<SecurityContextHolder> mock = mockStatic(SecurityContextHolder.class)) {
+      mock.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+      RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+      underTest.getCurrentUser();
+      RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+      underTest.getCurrentUser();
+    }
+
+    // then
+    verify(userRepository, times(2)).findByPublicId(any());
+  }
+
+  @Test
+  @DisplayName("should load the user again if the authentication changes within the request")
+  void should_load_user_again_on_new_authentication() {
+    // given
+    var otherAuthentication = mock(Authentication.class);
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    doReturn(Optional.of(user)).when(userRepository).findByPublicId(any());
+    doReturn(authentication, otherAuthentication).when(securityContext).getAuthentication();
+    doReturn(user).when(authentication).getPrincipal();
+    doReturn(user).when(otherAuthentication).getPrincipal();
+
+    // when
+    try (MockedStatic<SecurityContextHolder> mock = mockStatic(SecurityContextHolder.class)) {
+      mock.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+      underTest.getCurrentUser();
+      underTest.getCurrentUser();
+    }
+
+    // then
+    verify(userRepository, times(2)).findByPublicId(any());
+  }
+
+  @Test
+  @DisplayName("should report lookups and queries per request when the request is completed")
+  void should_report_metrics_per_request() {
+    // given
+    var requestAttributes = new ServletRequestAttributes(new MockHttpServletRequest());
+    RequestContextHolder.setRequestAttributes(requestAttributes);
+    doReturn(Optional.of(user)).when(userRepository).findByPublicId(any());
+    doReturn(authentication).when(securityContext).getAuthentication();
+    doReturn(user).when(authentication).getPrincipal();
+    try (MockedStatic<SecurityContextHolder> mock = mockStatic(SecurityContextHolder.class)) {
+      mock.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+      underTest.getCurrentUser();
+      underTest.getCurrentUser();
+      underTest.getCurrentUser();
+    }
+
+    // when
+    requestAttributes.requestCompleted();
+
+    // then
+    assertThat(meterRegistry.get(LOOKUPS_METRIC_NAME).summary().totalAmount()).isEqualTo(3);
+    assertThat(meterRegistry.get(QUERIES_METRIC_NAME).summary().totalAmount()).isEqualTo(1);
+  }
 }
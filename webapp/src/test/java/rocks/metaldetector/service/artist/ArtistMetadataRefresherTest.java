@@ -0,0 +1,159 @@
+package rocks.metaldetector.service.artist;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import rocks.metaldetector.config.misc.ArtistRefreshProperties;
+import rocks.metaldetector.persistence.domain.artist.ArtistEntity;
+import rocks.metaldetector.persistence.domain.artist.ArtistRepository;
+import rocks.metaldetector.service.artist.transformer.ArtistEntityTransformer;
+import rocks.metaldetector.spotify.facade.SpotifyService;
+import rocks.metaldetector.support.exceptions.ExternalServiceException;
+import rocks.metaldetector.testutil.DtoFactory.SpotifyArtistDtoFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static rocks.metaldetector.persistence.domain.artist.ArtistSource.SPOTIFY;
+import static rocks.metaldetector.service.artist.ArtistMetadataRefresher.BATCH_SIZE;
+
+@ExtendWith(MockitoExtension.class)
+class ArtistMetadataRefresherTest implements WithAssertions {
+
+  @Mock
+  private ArtistRepository artistRepository;
+
+  @Mock
+  private ArtistUpsertService artistUpsertService;
+
+  @Mock
+  private ArtistEntityTransformer artistEntityTransformer;
+
+  @Mock
+  private SpotifyService spotifyService;
+
+  private ArtistRefreshProperties artistRefreshProperties;
+  private ArtistMetadataRefresher underTest;
+
+  @BeforeEach
+  void setup() {
+    artistRefreshProperties = new ArtistRefreshProperties();
+    underTest = new ArtistMetadataRefresher(artistRepository, artistUpsertService, artistEntityTransformer, spotifyService, artistRefreshProperties);
+  }
+
+  @AfterEach
+  void tearDown() {
+    reset(artistRepository, artistUpsertService, artistEntityTransformer, spotifyService);
+  }
+
+  @Test
+  @DisplayName("artists that were not modified within the max age are fetched")
+  void test_stale_artists_fetched() {
+    // given
+    artistRefreshProperties.setMaxAge(Duration.ofDays(7));
+    artistRefreshProperties.setMaxArtists(100);
+    ArgumentCaptor<Date> argumentCaptor = ArgumentCaptor.forClass(Date.class);
+
+    // when
+    underTest.refreshSpotifyArtists();
+
+    // then
+    verify(artistRepository).findStaleExternalIds(eq(SPOTIFY), argumentCaptor.capture(), eq(PageRequest.of(0, 100)));
+    var expectedModifiedBefore = Instant.now().minus(Duration.ofDays(7));
+    assertThat(argumentCaptor.getValue().toInstant()).isBetween(expectedModifiedBefore.minusSeconds(10), expectedModifiedBefore);
+  }
+
+  @Test
+  @DisplayName("stale artists are refreshed from Spotify in batches")
+  void test_stale_artists_refreshed_in_batches() {
+    // given
+    var artistIds = IntStream.range(0, BATCH_SIZE + 1).mapToObj(String::valueOf).toList();
+    doReturn(artistIds).when(artistRepository).findStaleExternalIds(any(), any(), any());
+
+    // when
+    underTest.refreshSpotifyArtists();
+
+    // then
+    verify(spotifyService).refreshArtists(artistIds.subList(0, BATCH_SIZE));
+    verify(spotifyService).refreshArtists(List.of(String.valueOf(BATCH_SIZE)));
+  }
+
+  @Test
+  @DisplayName("refreshed artists are written to the database")
+  void test_refreshed_artists_written() {
+    // given
+    var spotifyArtist = SpotifyArtistDtoFactory.withArtistName("a");
+    var artistEntity = ArtistEntity.builder().externalId("a").artistName("a").source(SPOTIFY).build();
+    doReturn(List.of("a")).when(artistRepository).findStaleExternalIds(any(), any(), any());
+    doReturn(List.of(spotifyArtist)).when(spotifyService).refreshArtists(any());
+    doReturn(artistEntity).when(artistEntityTransformer).transformSpotifyArtistDto(any());
+
+    // when
+    underTest.refreshSpotifyArtists();
+
+    // then
+    verify(artistEntityTransformer).transformSpotifyArtistDto(spotifyArtist);
+    verify(artistUpsertService).refresh(List.of(artistEntity));
+  }
+
+  @Test
+  @DisplayName("artists that Spotify does not return are marked as refreshed")
+  void test_missing_artists_touched() {
+    // given
+    var artistEntity = ArtistEntity.builder().externalId("a").artistName("a").source(SPOTIFY).build();
+    doReturn(List.of("a", "b")).when(artistRepository).findStaleExternalIds(any(), any(), any());
+    doReturn(List.of(SpotifyArtistDtoFactory.withArtistName("a"))).when(spotifyService).refreshArtists(any());
+    doReturn(artistEntity).when(artistEntityTransformer).transformSpotifyArtistDto(any());
+
+    // when
+    underTest.refreshSpotifyArtists();
+
+    // then
+    verify(artistUpsertService).touch(SPOTIFY, List.of("b"));
+  }
+
+  @Test
+  @DisplayName("nothing is refreshed if there are no stale artists")
+  void test_nothing_refreshed() {
+    // when
+    underTest.refreshSpotifyArtists();
+
+    // then
+    verifyNoInteractions(spotifyService, artistUpsertService);
+  }
+
+  @Test
+  @DisplayName("a failed batch does not stop the refresh of the other batches")
+  void test_failed_batch() {
+    // given
+    var artistIds = IntStream.range(0, BATCH_SIZE + 1).mapToObj(String::valueOf).toList();
+    doReturn(artistIds).when(artistRepository).findStaleExternalIds(any(), any(), any());
+    doThrow(new ExternalServiceException("error")).doReturn(List.of()).when(spotifyService).refreshArtists(any());
+
+    // when
+    var throwable = catchThrowable(() -> underTest.refreshSpotifyArtists());
+
+    // then
+    assertThat(throwable).isNull();
+    verify(artistUpsertService, times(1)).refresh(List.of());
+    verify(artistUpsertService).touch(SPOTIFY, List.of(String.valueOf(BATCH_SIZE)));
+  }
+}
@@ -0,0 +1,245 @@
+package rocks.metaldetector.service.artist;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import rocks.metaldetector.config.misc.ArtistSearchProperties;
+import rocks.metaldetector.support.exceptions.ExternalServiceException;
+import rocks.metaldetector.support.oauth.OAuth2ClientManagerProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static rocks.metaldetector.persistence.domain.artist.ArtistSource.DISCOGS;
+import static rocks.metaldetector.persistence.domain.artist.ArtistSource.SPOTIFY;
+import static rocks.metaldetector.service.artist.ArtistSearchCache.ARTIST_SEARCH_CACHE;
+
+@ExtendWith(MockitoExtension.class)
+class ArtistSearchCacheTest implements WithAssertions {
+
+  @Mock
+  private ExecutorService reloadExecutorService;
+
+  @Mock
+  private OAuth2AuthorizedClientManager authorizedClientManager;
+
+  @Mock
+  private OAuth2AuthorizedClientManager schedulingAuthorizedClientManager;
+
+  private ArtistSearchProperties artistSearchProperties;
+  private CacheManager cacheManager;
+  private OAuth2ClientManagerProvider clientManagerProvider;
+  private ArtistSearchCache underTest;
+
+  @BeforeEach
+  void setup() {
+    artistSearchProperties = new ArtistSearchProperties();
+    cacheManager = new ConcurrentMapCacheManager(ARTIST_SEARCH_CACHE);
+    clientManagerProvider = new OAuth2ClientManagerProvider(authorizedClientManager, schedulingAuthorizedClientManager, new TaskSchedulingProperties());
+    underTest = new ArtistSearchCache(cacheManager, artistSearchProperties, reloadExecutorService, clientManagerProvider);
+  }
+
+  @AfterEach
+  void tearDown() {
+    reset(reloadExecutorService, authorizedClientManager, schedulingAuthorizedClientManager);
+  }
+
+  @Test
+  @DisplayName("a cached result is returned without calling the loader again")
+  void test_cached_result_returned() {
+    // given
+    var calls = new AtomicInteger();
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "result" + calls.incrementAndGet());
+
+    // when
+    var result = underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "result" + calls.incrementAndGet());
+
+    // then
+    assertThat(result).isEqualTo("result1");
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("queries that differ only in case and whitespace share the same result")
+  void test_normalized_query() {
+    // given
+    List<String> queries = new ArrayList<>();
+    underTest.get(SPOTIFY, "Opeth  Live", PageRequest.of(1, 10), query -> queries.add(query));
+
+    // when
+    underTest.get(SPOTIFY, " opeth live ", PageRequest.of(1, 10), query -> queries.add(query));
+
+    // then
+    assertThat(queries).containsExactly("opeth live");
+  }
+
+  @Test
+  @DisplayName("results are cached per source and page")
+  void test_cached_per_source_and_page() {
+    // given
+    var calls = new AtomicInteger();
+
+    // when
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> calls.incrementAndGet());
+    underTest.get(DISCOGS, "opeth", PageRequest.of(1, 10), query -> calls.incrementAndGet());
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(2, 10), query -> calls.incrementAndGet());
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 20), query -> calls.incrementAndGet());
+
+    // then
+    assertThat(calls).hasValue(4);
+  }
+
+  @Test
+  @DisplayName("the exception of the loader is thrown and nothing is cached")
+  void test_loader_exception() {
+    // given
+    var exception = new ExternalServiceException("error");
+
+    // when
+    var throwable = catchThrowable(() -> underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> {
+      throw exception;
+    }));
+
+    // then
+    assertThat(throwable).isEqualTo(exception);
+    assertThat(underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "result")).isEqualTo("result");
+  }
+
+  @Test
+  @DisplayName("a fresh result is not reloaded")
+  void test_fresh_result_not_reloaded() {
+    // given
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "result");
+
+    // when
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "result");
+
+    // then
+    verifyNoInteractions(reloadExecutorService);
+  }
+
+  @Test
+  @DisplayName("a stale result is returned and reloaded in the background")
+  void test_stale_result_reloaded() {
+    // given
+    artistSearchProperties.setResultsFreshFor(Duration.ZERO);
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "stale");
+    ArgumentCaptor<Runnable> argumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+
+    // when
+    var result = underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "reloaded");
+
+    // then
+    assertThat(result).isEqualTo("stale");
+    verify(reloadExecutorService).execute(argumentCaptor.capture());
+    argumentCaptor.getValue().run();
+    artistSearchProperties.setResultsFreshFor(Duration.ofHours(1));
+    assertThat(underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "other")).isEqualTo("reloaded");
+  }
+
+  @Test
+  @DisplayName("a stale result is reloaded with the scheduling client manager")
+  void test_stale_result_reloaded_with_scheduling_manager() {
+    // given
+    artistSearchProperties.setResultsFreshFor(Duration.ZERO);
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> clientManagerProvider.provide());
+    ArgumentCaptor<Runnable> argumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> clientManagerProvider.provide());
+    verify(reloadExecutorService).execute(argumentCaptor.capture());
+
+    // when
+    argumentCaptor.getValue().run();
+
+    // then
+    artistSearchProperties.setResultsFreshFor(Duration.ofHours(1));
+    assertThat(underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "other")).isEqualTo(schedulingAuthorizedClientManager);
+  }
+
+  @Test
+  @DisplayName("a stale result is reloaded only once at a time")
+  void test_stale_result_reloaded_once() {
+    // given
+    artistSearchProperties.setResultsFreshFor(Duration.ZERO);
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "stale");
+
+    // when
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "reloaded");
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "reloaded");
+
+    // then
+    verify(reloadExecutorService, times(1)).execute(any());
+  }
+
+  @Test
+  @DisplayName("the stale result is kept if the reload fails")
+  void test_stale_result_kept_on_error() {
+    // given
+    artistSearchProperties.setResultsFreshFor(Duration.ZERO);
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "stale");
+    ArgumentCaptor<Runnable> argumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> {
+      throw new ExternalServiceException("error");
+    });
+    verify(reloadExecutorService).execute(argumentCaptor.capture());
+
+    // when
+    argumentCaptor.getValue().run();
+
+    // then
+    artistSearchProperties.setResultsFreshFor(Duration.ofHours(1));
+    assertThat(underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "other")).isEqualTo("stale");
+  }
+
+  @Test
+  @DisplayName("a rejected reload is tried again with the next request")
+  void test_rejected_reload_tried_again() {
+    // given
+    artistSearchProperties.setResultsFreshFor(Duration.ZERO);
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "stale");
+    doThrow(RejectedExecutionException.class).when(reloadExecutorService).execute(any());
+
+    // when
+    var result = underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "reloaded");
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> "reloaded");
+
+    // then
+    assertThat(result).isEqualTo("stale");
+    verify(reloadExecutorService, times(2)).execute(any());
+  }
+
+  @Test
+  @DisplayName("the loader is called directly without a cache")
+  void test_no_cache() {
+    // given
+    underTest = new ArtistSearchCache(new ConcurrentMapCacheManager("other"), artistSearchProperties, reloadExecutorService, clientManagerProvider);
+    var calls = new AtomicInteger();
+
+    // when
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> calls.incrementAndGet());
+    underTest.get(SPOTIFY, "opeth", PageRequest.of(1, 10), query -> calls.incrementAndGet());
+
+    // then
+    assertThat(calls).hasValue(2);
+  }
+}
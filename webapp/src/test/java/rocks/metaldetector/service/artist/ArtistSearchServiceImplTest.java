@@ -8,21 +8,29 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.PageRequest;
+import rocks.metaldetector.config.misc.ArtistSearchProperties;
 import rocks.metaldetector.discogs.facade.DiscogsService;
 import rocks.metaldetector.persistence.domain.artist.ArtistSource;
 import rocks.metaldetector.spotify.facade.SpotifyService;
+import rocks.metaldetector.support.oauth.OAuth2ClientManagerProvider;
 import rocks.metaldetector.testutil.DtoFactory;
 import rocks.metaldetector.web.api.response.ArtistSearchResponse;
 import rocks.metaldetector.web.api.response.ArtistSearchResponseEntryDto;
 import rocks.metaldetector.web.transformer.ArtistSearchResponseTransformer;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 
@@ -41,12 +49,16 @@ public class ArtistSearchServiceImplTest implements WithAssertions {
     @Mock
     private ArtistSearchResponseTransformer searchResponseTransformer;
 
+    @Spy
+    private ArtistSearchCache artistSearchCache = new ArtistSearchCache(mock(CacheManager.class), new ArtistSearchProperties(), mock(ExecutorService.class),
+                                                                         mock(OAuth2ClientManagerProvider.class));
+
     @InjectMocks
     private ArtistSearchServiceImpl underTest;
 
     @AfterEach
     void tearDown() {
-        reset(discogsService, spotifyService, followArtistService, searchResponseTransformer);
+        reset(discogsService, spotifyService, followArtistService, searchResponseTransformer, artistSearchCache);
     }
 
     @Nested
@@ -101,7 +113,7 @@ public class ArtistSearchServiceImplTest implements WithAssertions {
         }
 
         @Test
-        @DisplayName("Should call FollowArtistService for each artist to check if the user is already following the artist")
+        @DisplayName("Should call FollowArtistService once for all artists to check if the user is already following them")
         void should_call_follow_artist_service() {
             // given
             var discogssearchresults = DtoFactory.ArtistSearchResponseFactory.discogs();
@@ -112,9 +124,7 @@ public class ArtistSearchServiceImplTest implements WithAssertions {
             underTest.searchDiscogsByName("the query", PageRequest.of(1, 10));
 
             // then
-            verify(followArtistService).isCurrentUserFollowing("1", ArtistSource.DISCOGS);
-            verify(followArtistService).isCurrentUserFollowing("2", ArtistSource.DISCOGS);
-            verify(followArtistService).isCurrentUserFollowing("3", ArtistSource.DISCOGS);
+            verify(followArtistService).getFollowedArtistIdsOfCurrentUser(List.of("1", "2", "3"), ArtistSource.DISCOGS);
         }
 
         @Test
@@ -123,7 +133,7 @@ public class ArtistSearchServiceImplTest implements WithAssertions {
             // given
             var discogssearchresults = DtoFactory.ArtistSearchResponseFactory.discogs();
             discogssearchresults.setSearchResults(createListOfSearchResultEntries(List.of("1", "2", "3")));
-            doReturn(true, false, true).when(followArtistService).isCurrentUserFollowing(any(), any());
+            doReturn(Set.of("1", "3")).when(followArtistService).getFollowedArtistIdsOfCurrentUser(any(), any());
             doReturn(discogssearchresults).when(searchResponseTransformer).transformDiscogs(any(), any());
 
             // when
@@ -135,6 +145,22 @@ public class ArtistSearchServiceImplTest implements WithAssertions {
             assertThat(searchResults.getSearchResults().get(2).isFollowed()).isTrue();
         }
 
+        @Test
+        @DisplayName("Should take the search results from the artist search cache")
+        void should_use_artist_search_cache() {
+            // given
+            var pageable = PageRequest.of(1, 10);
+            doReturn(DtoFactory.DiscogsArtistSearchResultDtoFactory.createDefault()).when(discogsService).searchArtistByName(any(), anyInt(), anyInt());
+            doReturn(DtoFactory.ArtistSearchResponseFactory.discogs()).when(searchResponseTransformer).transformDiscogs(any(), any());
+
+            // when
+            underTest.searchDiscogsByName("The  Query", pageable);
+
+            // then
+            verify(artistSearchCache).get(eq(ArtistSource.DISCOGS), eq("The  Query"), eq(pageable), any());
+            verify(discogsService).searchArtistByName("the query", pageable.getPageNumber(), pageable.getPageSize());
+        }
+
         private List<ArtistSearchResponseEntryDto> createListOfSearchResultEntries(List<String> externalIds) {
             return List.of(
                     DtoFactory.ArtistSearchResponseEntryDtoFactory.withId(externalIds.get(0)),
@@ -196,7 +222,7 @@ public class ArtistSearchServiceImplTest implements WithAssertions {
         }
 
         @Test
-        @DisplayName("Should call FollowArtistService for each artist to check if the user is already following the artist")
+        @DisplayName("Should call FollowArtistService once for all artists to check if the user is already following them")
         void should_call_follow_artist_service() {
             // given
             var spotifySearchResults = DtoFactory.ArtistSearchResponseFactory.spotify();
@@ -207,9 +233,7 @@ public class ArtistSearchServiceImplTest implements WithAssertions {
             underTest.searchSpotifyByName("the query", PageRequest.of(1, 10));
 
             // then
-            verify(followArtistService).isCurrentUserFollowing("1", ArtistSource.SPOTIFY);
-            verify(followArtistService).isCurrentUserFollowing("2", ArtistSource.SPOTIFY);
-            verify(followArtistService).isCurrentUserFollowing("3", ArtistSource.SPOTIFY);
+            verify(followArtistService).getFollowedArtistIdsOfCurrentUser(List.of("1", "2", "3"), ArtistSource.SPOTIFY);
         }
 
         @Test
@@ -218,7 +242,7 @@ public class ArtistSearchServiceImplTest implements WithAssertions {
             // given
             var spotifySearchResults = DtoFactory.ArtistSearchResponseFactory.spotify();
             spotifySearchResults.setSearchResults(createListOfSearchResultEntries(List.of("1", "2", "3")));
-            doReturn(true, false, true).when(followArtistService).isCurrentUserFollowing(any(), any());
+            doReturn(Set.of("1", "3")).when(followArtistService).getFollowedArtistIdsOfCurrentUser(any(), any());
             doReturn(spotifySearchResults).when(searchResponseTransformer).transformSpotify(any(), any());
 
             // when
@@ -230,6 +254,22 @@ public class ArtistSearchServiceImplTest implements WithAssertions {
             assertThat(searchResults.getSearchResults().get(2).isFollowed()).isTrue();
         }
 
+        @Test
+        @DisplayName("Should take the search results from the artist search cache")
+        void should_use_artist_search_cache() {
+            // given
+            var pageable = PageRequest.of(1, 10);
+            doReturn(DtoFactory.SpotifyArtistSearchResultDtoFactory.createDefault()).when(spotifyService).searchArtistByName(any(), anyInt(), anyInt());
+            doReturn(DtoFactory.ArtistSearchResponseFactory.spotify()).when(searchResponseTransformer).transformSpotify(any(), any());
+
+            // when
+            underTest.searchSpotifyByName("The  Query", pageable);
+
+            // then
+            verify(artistSearchCache).get(eq(ArtistSource.SPOTIFY), eq("The  Query"), eq(pageable), any());
+            verify(spotifyService).searchArtistByName("the query", pageable.getPageNumber(), pageable.getPageSize());
+        }
+
         private List<ArtistSearchResponseEntryDto> createListOfSearchResultEntries(List<String> externalIds) {
             return List.of(
                     DtoFactory.ArtistSearchResponseEntryDtoFactory.withId(externalIds.get(0)),
@@ -10,6 +10,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import rocks.metaldetector.discogs.facade.DiscogsService;
 import rocks.metaldetector.persistence.domain.artist.ArtistEntity;
+import rocks.metaldetector.persistence.domain.artist.ArtistIdentity;
 import rocks.metaldetector.persistence.domain.artist.ArtistRepository;
 import rocks.metaldetector.persistence.domain.artist.ArtistSource;
 import rocks.metaldetector.persistence.domain.user.UserRepository;
@@ -22,15 +23,19 @@ import rocks.metaldetector.web.transformer.ArtistSearchResponseTransformer;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static rocks.metaldetector.persistence.domain.artist.ArtistSource.DISCOGS;
+import static rocks.metaldetector.persistence.domain.artist.ArtistSource.SPOTIFY;
 
 @ExtendWith(MockitoExtension.class)
 class ArtistServiceImplTest implements WithAssertions {
@@ -48,6 +53,9 @@ class ArtistServiceImplTest implements WithAssertions {
   @Mock
   private ArtistRepository artistRepository;
 
+  @Mock
+  private ArtistUpsertService artistUpsertService;
+
   @Mock
   private DiscogsService discogsService;
 
@@ -68,7 +76,7 @@ class ArtistServiceImplTest implements WithAssertions {
 
   @AfterEach
   void tearDown() {
-    reset(artistDtoTransformer, artistEntityTransformer, artistRepository, discogsService,
+    reset(artistDtoTransformer, artistEntityTransformer, artistRepository, artistUpsertService, discogsService,
             searchResponseTransformer, spotifyService, userRepository);
   }
 
@@ -212,8 +220,8 @@ class ArtistServiceImplTest implements WithAssertions {
   }
 
   @Test
-  @DisplayName("persistArtists: calls artistRepository with all entities")
-  void test_artist_repository_called_with_all_entities() {
+  @DisplayName("persistArtists: calls artistUpsertService with all entities")
+  void test_artist_upsert_service_called_with_all_entities() {
     // given
     var spotifyDtos = List.of(SpotifyArtistDtoFactory.withArtistName("a"), SpotifyArtistDtoFactory.withArtistName("b"));
     var artistEntities = List.of(ArtistEntityFactory.withExternalId("a"), ArtistEntityFactory.withExternalId("b"));
@@ -224,35 +232,70 @@ class ArtistServiceImplTest implements WithAssertions {
     underTest.persistSpotifyArtists(spotifyDtos);
 
     // then
-    verify(artistRepository).saveAll(artistEntities);
+    verify(artistUpsertService).upsert(artistEntities);
+  }
+
+  @Test
+  @DisplayName("persistArtists: nothing is persisted for no artists")
+  void test_nothing_persisted() {
+    // when
+    underTest.persistSpotifyArtists(Collections.emptyList());
+
+    // then
+    verifyNoInteractions(artistUpsertService);
+  }
+
+  @Test
+  @DisplayName("persistArtists: the artist ids of artistUpsertService are returned")
+  void test_artist_ids_returned() {
+    // given
+    var artistIds = Map.of("a", 1L);
+    doReturn(artistIds).when(artistUpsertService).upsert(any());
+
+    // when
+    var result = underTest.persistSpotifyArtists(List.of(SpotifyArtistDtoFactory.withArtistName("a")));
+
+    // then
+    assertThat(result).isEqualTo(artistIds);
   }
 
   @Test
-  @DisplayName("findNewArtistIds: artistRepository is called to get all existing artists from given ids")
+  @DisplayName("findArtistIds: artistRepository is called to get the existing artists of the source")
   void test_artist_repository_called_for_existing_artists() {
     // given
     var artistIds = List.of("id1", "id2");
 
     // when
-    underTest.findNewArtistIds(artistIds);
+    underTest.findArtistIds(artistIds, SPOTIFY);
 
     // then
-    verify(artistRepository).findAllByExternalIdIn(artistIds);
+    verify(artistRepository).findIdentities(artistIds, SPOTIFY);
   }
 
   @Test
-  @DisplayName("findNewArtistIds: new ids are returned")
-  void test_new_artist_ids_returned() {
+  @DisplayName("findArtistIds: ids of the existing artists are returned by external id")
+  void test_existing_artist_ids_returned() {
     // given
-    var existingId = "existingId";
-    var newId = "newId";
-    var artistIds = List.of(existingId, newId);
-    doReturn(List.of(ArtistEntityFactory.withExternalId(existingId))).when(artistRepository).findAllByExternalIdIn(any());
+    var existingArtist = mock(ArtistIdentity.class);
+    doReturn(1L).when(existingArtist).getId();
+    doReturn("existingId").when(existingArtist).getExternalId();
+    doReturn(List.of(existingArtist)).when(artistRepository).findIdentities(any(), any());
 
     // when
-    var result = underTest.findNewArtistIds(artistIds);
+    var result = underTest.findArtistIds(List.of("existingId", "newId"), SPOTIFY);
+
+    // then
+    assertThat(result).containsOnly(entry("existingId", 1L));
+  }
+
+  @Test
+  @DisplayName("findArtistIds: artistRepository is not called for no ids")
+  void test_no_artist_ids() {
+    // when
+    var result = underTest.findArtistIds(Collections.emptyList(), SPOTIFY);
 
     // then
-    assertThat(result).isEqualTo(List.of(newId));
+    assertThat(result).isEmpty();
+    verifyNoInteractions(artistRepository);
   }
 }
@@ -0,0 +1,252 @@
+package rocks.metaldetector.service.artist;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import rocks.metaldetector.persistence.domain.artist.ArtistEntity;
+import rocks.metaldetector.persistence.domain.artist.ArtistSource;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static rocks.metaldetector.persistence.domain.artist.ArtistSource.DISCOGS;
+import static rocks.metaldetector.persistence.domain.artist.ArtistSource.SPOTIFY;
+import static rocks.metaldetector.service.artist.ArtistUpsertService.CHUNK_SIZE;
+import static rocks.metaldetector.service.artist.ArtistUpsertService.REFRESH_QUERY;
+import static rocks.metaldetector.service.artist.ArtistUpsertService.TOUCH_QUERY;
+
+@ExtendWith(MockitoExtension.class)
+class ArtistUpsertServiceTest implements WithAssertions {
+
+  @Mock
+  private NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Mock
+  private AuditorAware<String> auditorAware;
+
+  @InjectMocks
+  private ArtistUpsertService underTest;
+
+  @AfterEach
+  void tearDown() {
+    reset(jdbcTemplate, auditorAware);
+  }
+
+  @Test
+  @DisplayName("artists are inserted with their values, the source and the auditor")
+  void test_upsert_parameters() {
+    // given
+    doReturn(Optional.of("user")).when(auditorAware).getCurrentAuditor();
+    var artist = ArtistEntity.builder().externalId("a").artistName("Opeth").source(SPOTIFY).genres("Prog").spotifyFollower(5).build();
+    ArgumentCaptor<MapSqlParameterSource> argumentCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+
+    // when
+    underTest.upsert(List.of(artist));
+
+    // then
+    verify(jdbcTemplate).query(eq(ArtistUpsertService.createQuery(1)), argumentCaptor.capture(), any(RowCallbackHandler.class));
+    var parameters = argumentCaptor.getValue();
+    assertThat(parameters.getValue("source")).isEqualTo(SPOTIFY.name());
+    assertThat(parameters.getValue("auditor")).isEqualTo("user");
+    assertThat(parameters.getValue("now")).isNotNull();
+    assertThat(parameters.getValue("externalId0")).isEqualTo("a");
+    assertThat(parameters.getValue("artistName0")).isEqualTo("Opeth");
+    assertThat(parameters.getValue("genres0")).isEqualTo("Prog");
+    assertThat(parameters.getValue("spotifyFollower0")).isEqualTo(5);
+  }
+
+  @Test
+  @DisplayName("the ids of inserted and existing artists are returned by external id")
+  void test_upsert_returns_artist_ids() throws Exception {
+    // given
+    doReturn(Optional.empty()).when(auditorAware).getCurrentAuditor();
+    var resultSet = mock(ResultSet.class);
+    doReturn("a", "b").when(resultSet).getString("external_id");
+    doReturn(1L, 2L).when(resultSet).getLong("id");
+    doAnswer(invocation -> {
+      RowCallbackHandler handler = invocation.getArgument(2);
+      handler.processRow(resultSet);
+      handler.processRow(resultSet);
+      return null;
+    }).when(jdbcTemplate).query(anyString(), any(MapSqlParameterSource.class), any(RowCallbackHandler.class));
+
+    // when
+    var result = underTest.upsert(List.of(artist("a", SPOTIFY), artist("b", SPOTIFY)));
+
+    // then
+    assertThat(result).containsOnly(entry("a", 1L), entry("b", 2L));
+  }
+
+  @Test
+  @DisplayName("duplicate artists are written only once")
+  void test_upsert_distinct() {
+    // given
+    doReturn(Optional.empty()).when(auditorAware).getCurrentAuditor();
+    ArgumentCaptor<MapSqlParameterSource> argumentCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+
+    // when
+    underTest.upsert(List.of(artist("a", SPOTIFY), artist("a", SPOTIFY)));
+
+    // then
+    verify(jdbcTemplate).query(eq(ArtistUpsertService.createQuery(1)), argumentCaptor.capture(), any(RowCallbackHandler.class));
+    assertThat(argumentCaptor.getValue().getValue("externalId0")).isEqualTo("a");
+    assertThat(argumentCaptor.getValue().hasValue("externalId1")).isFalse();
+  }
+
+  @Test
+  @DisplayName("artists of different sources are written with one statement per source")
+  void test_upsert_per_source() {
+    // given
+    doReturn(Optional.empty()).when(auditorAware).getCurrentAuditor();
+    ArgumentCaptor<MapSqlParameterSource> argumentCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+
+    // when
+    underTest.upsert(List.of(artist("a", SPOTIFY), artist("a", DISCOGS)));
+
+    // then
+    verify(jdbcTemplate, times(2)).query(anyString(), argumentCaptor.capture(), any(RowCallbackHandler.class));
+    assertThat(argumentCaptor.getAllValues()).extracting(parameters -> parameters.getValue("source"))
+        .containsExactly(SPOTIFY.name(), DISCOGS.name());
+  }
+
+  @Test
+  @DisplayName("many artists are written in chunks")
+  void test_upsert_in_chunks() {
+    // given
+    doReturn(Optional.empty()).when(auditorAware).getCurrentAuditor();
+    var artists = IntStream.range(0, CHUNK_SIZE + 1).mapToObj(i -> artist(String.valueOf(i), SPOTIFY)).toList();
+
+    // when
+    underTest.upsert(artists);
+
+    // then
+    verify(jdbcTemplate).query(eq(ArtistUpsertService.createQuery(CHUNK_SIZE)), any(MapSqlParameterSource.class), any(RowCallbackHandler.class));
+    verify(jdbcTemplate).query(eq(ArtistUpsertService.createQuery(1)), any(MapSqlParameterSource.class), any(RowCallbackHandler.class));
+  }
+
+  @Test
+  @DisplayName("nothing is written for no artists")
+  void test_upsert_nothing() {
+    // when
+    underTest.upsert(List.of());
+
+    // then
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  @Test
+  @DisplayName("query keeps existing artists and returns their ids in the same statement")
+  void test_create_query() {
+    // when
+    var result = ArtistUpsertService.createQuery(2);
+
+    // then
+    assertThat(result).contains("on conflict (external_id, source) do update set external_id = excluded.external_id");
+    assertThat(result).endsWith("returning id, external_id");
+    assertThat(result).contains(":externalId0", ":externalId1");
+    assertThat(result).doesNotContain(":externalId2");
+  }
+
+  @Test
+  @DisplayName("refreshed artists are updated with their values, the source and the auditor")
+  void test_refresh_parameters() {
+    // given
+    doReturn(Optional.of("user")).when(auditorAware).getCurrentAuditor();
+    var artist = ArtistEntity.builder().externalId("a").artistName("Opeth").source(SPOTIFY).genres("Prog").spotifyFollower(5).imageL("image").build();
+    ArgumentCaptor<SqlParameterSource[]> argumentCaptor = ArgumentCaptor.forClass(SqlParameterSource[].class);
+
+    // when
+    underTest.refresh(List.of(artist));
+
+    // then
+    verify(jdbcTemplate).batchUpdate(eq(REFRESH_QUERY), argumentCaptor.capture());
+    var parameters = argumentCaptor.getValue();
+    assertThat(parameters).hasSize(1);
+    assertThat(parameters[0].getValue("source")).isEqualTo(SPOTIFY.name());
+    assertThat(parameters[0].getValue("auditor")).isEqualTo("user");
+    assertThat(parameters[0].getValue("now")).isNotNull();
+    assertThat(parameters[0].getValue("externalId")).isEqualTo("a");
+    assertThat(parameters[0].getValue("artistName")).isEqualTo("Opeth");
+    assertThat(parameters[0].getValue("genres")).isEqualTo("Prog");
+    assertThat(parameters[0].getValue("spotifyFollower")).isEqualTo(5);
+    assertThat(parameters[0].getValue("imageL")).isEqualTo("image");
+  }
+
+  @Test
+  @DisplayName("many artists are refreshed in chunks")
+  void test_refresh_in_chunks() {
+    // given
+    doReturn(Optional.empty()).when(auditorAware).getCurrentAuditor();
+    var artists = IntStream.range(0, CHUNK_SIZE + 1).mapToObj(i -> artist(String.valueOf(i), SPOTIFY)).toList();
+
+    // when
+    underTest.refresh(artists);
+
+    // then
+    verify(jdbcTemplate, times(2)).batchUpdate(eq(REFRESH_QUERY), any(SqlParameterSource[].class));
+  }
+
+  @Test
+  @DisplayName("query updates the metadata and the last modified date")
+  void test_refresh_query() {
+    // then
+    assertThat(REFRESH_QUERY).contains("last_modified_date = :now");
+    assertThat(REFRESH_QUERY).contains("where source = :source and external_id = :externalId");
+  }
+
+  @Test
+  @DisplayName("touched artists get a new last modified date")
+  void test_touch_parameters() {
+    // given
+    doReturn(Optional.of("user")).when(auditorAware).getCurrentAuditor();
+    ArgumentCaptor<MapSqlParameterSource> argumentCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+
+    // when
+    underTest.touch(SPOTIFY, List.of("a", "b"));
+
+    // then
+    verify(jdbcTemplate).update(eq(TOUCH_QUERY), argumentCaptor.capture());
+    var parameters = argumentCaptor.getValue();
+    assertThat(parameters.getValue("source")).isEqualTo(SPOTIFY.name());
+    assertThat(parameters.getValue("externalIds")).isEqualTo(List.of("a", "b"));
+    assertThat(parameters.getValue("auditor")).isEqualTo("user");
+    assertThat(parameters.getValue("now")).isNotNull();
+  }
+
+  @Test
+  @DisplayName("nothing is touched for no external ids")
+  void test_touch_nothing() {
+    // when
+    underTest.touch(SPOTIFY, List.of());
+
+    // then
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  private static ArtistEntity artist(String externalId, ArtistSource source) {
+    return ArtistEntity.builder().externalId(externalId).artistName(externalId).source(source).build();
+  }
+}
@@ -0,0 +1,138 @@
+package rocks.metaldetector.service.artist;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import rocks.metaldetector.persistence.domain.user.UserEntity;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static rocks.metaldetector.persistence.domain.artist.ArtistSource.SPOTIFY;
+import static rocks.metaldetector.service.artist.FollowActionBulkWriter.CHUNK_SIZE;
+import static rocks.metaldetector.service.artist.FollowActionBulkWriter.DELETE_QUERY;
+import static rocks.metaldetector.service.artist.FollowActionBulkWriter.INSERT_QUERY;
+
+@ExtendWith(MockitoExtension.class)
+class FollowActionBulkWriterTest implements WithAssertions {
+
+  @Mock
+  private NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Mock
+  private UserEntity userEntity;
+
+  @InjectMocks
+  private FollowActionBulkWriter underTest;
+
+  @AfterEach
+  void tearDown() {
+    reset(jdbcTemplate, userEntity);
+  }
+
+  @Test
+  @DisplayName("follow actions are inserted with the user and artist ids")
+  void test_follow_parameters() {
+    // given
+    doReturn(1L).when(userEntity).getId();
+    doReturn("user").when(userEntity).getUsername();
+    ArgumentCaptor<MapSqlParameterSource> argumentCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+
+    // when
+    underTest.follow(userEntity, List.of(10L, 20L));
+
+    // then
+    verify(jdbcTemplate).queryForList(eq(INSERT_QUERY), argumentCaptor.capture(), eq(Long.class));
+    var parameters = argumentCaptor.getValue();
+    assertThat(parameters.getValue("userId")).isEqualTo(1L);
+    assertThat(parameters.getValue("auditor")).isEqualTo("user");
+    assertThat(parameters.getValue("artistIds")).isEqualTo(List.of(10L, 20L));
+    assertThat(parameters.hasValue("source")).isFalse();
+  }
+
+  @Test
+  @DisplayName("the ids of the newly followed artists are returned")
+  void test_follow_returns_artist_ids() {
+    // given
+    doReturn(List.of(1L, 2L)).when(jdbcTemplate).queryForList(eq(INSERT_QUERY), any(MapSqlParameterSource.class), eq(Long.class));
+
+    // when
+    var result = underTest.follow(userEntity, List.of(1L, 2L, 3L));
+
+    // then
+    assertThat(result).containsExactly(1L, 2L);
+  }
+
+  @Test
+  @DisplayName("many follow actions are written in chunks")
+  void test_follow_in_chunks() {
+    // given
+    var artistIds = LongStream.range(0, CHUNK_SIZE + 1).boxed().toList();
+    doReturn(List.of(1L)).when(jdbcTemplate).queryForList(eq(INSERT_QUERY), any(MapSqlParameterSource.class), eq(Long.class));
+
+    // when
+    var result = underTest.follow(userEntity, artistIds);
+
+    // then
+    verify(jdbcTemplate, times(2)).queryForList(eq(INSERT_QUERY), any(MapSqlParameterSource.class), eq(Long.class));
+    assertThat(result).containsExactly(1L, 1L);
+  }
+
+  @Test
+  @DisplayName("nothing is written for no artist ids")
+  void test_follow_nothing() {
+    // when
+    var result = underTest.follow(userEntity, List.of());
+
+    // then
+    assertThat(result).isEmpty();
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  @Test
+  @DisplayName("the ids of the unfollowed artists are returned")
+  void test_unfollow_returns_artist_ids() {
+    // given
+    doReturn(List.of(2L)).when(jdbcTemplate).queryForList(eq(DELETE_QUERY), any(MapSqlParameterSource.class), eq(Long.class));
+
+    // when
+    var result = underTest.unfollow(userEntity, List.of("a", "b"), SPOTIFY);
+
+    // then
+    assertThat(result).containsExactly(2L);
+  }
+
+  @Test
+  @DisplayName("follow actions are deleted with the user, source and external ids")
+  void test_unfollow_parameters() {
+    // given
+    doReturn(1L).when(userEntity).getId();
+    doReturn("user").when(userEntity).getUsername();
+    ArgumentCaptor<MapSqlParameterSource> argumentCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+
+    // when
+    underTest.unfollow(userEntity, List.of("a", "b"), SPOTIFY);
+
+    // then
+    verify(jdbcTemplate).queryForList(eq(DELETE_QUERY), argumentCaptor.capture(), eq(Long.class));
+    var parameters = argumentCaptor.getValue();
+    assertThat(parameters.getValue("userId")).isEqualTo(1L);
+    assertThat(parameters.getValue("source")).isEqualTo(SPOTIFY.name());
+    assertThat(parameters.getValue("externalIds")).isEqualTo(List.of("a", "b"));
+  }
+}
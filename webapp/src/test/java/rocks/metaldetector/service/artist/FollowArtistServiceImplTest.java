@@ -1,5 +1,6 @@
 package rocks.metaldetector.service.artist;
 
+import jakarta.validation.ValidationException;
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
@@ -7,38 +8,55 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import rocks.metaldetector.discogs.facade.DiscogsService;
 import rocks.metaldetector.persistence.domain.artist.ArtistEntity;
+import rocks.metaldetector.persistence.domain.artist.ArtistIdentity;
 import rocks.metaldetector.persistence.domain.artist.ArtistRepository;
 import rocks.metaldetector.persistence.domain.artist.ArtistSource;
 import rocks.metaldetector.persistence.domain.artist.FollowActionEntity;
 import rocks.metaldetector.persistence.domain.artist.FollowActionRepository;
+import rocks.metaldetector.persistence.domain.artist.FollowedArtist;
+import rocks.metaldetector.persistence.domain.artist.FollowedArtistName;
 import rocks.metaldetector.persistence.domain.user.UserEntity;
 import rocks.metaldetector.security.AuthenticationFacade;
 import rocks.metaldetector.service.artist.transformer.ArtistDtoTransformer;
 import rocks.metaldetector.service.artist.transformer.ArtistEntityTransformer;
+import rocks.metaldetector.service.dashboard.TopArtistRanking;
 import rocks.metaldetector.spotify.facade.SpotifyService;
 import rocks.metaldetector.testutil.DtoFactory.ArtistDtoFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static rocks.metaldetector.persistence.domain.artist.ArtistSource.DISCOGS;
 import static rocks.metaldetector.persistence.domain.artist.ArtistSource.SPOTIFY;
+import static rocks.metaldetector.service.artist.FollowArtistServiceImpl.USER_CHUNK_SIZE;
 import static rocks.metaldetector.testutil.DtoFactory.DiscogsArtistDtoFactory;
 import static rocks.metaldetector.testutil.DtoFactory.SpotifyArtistDtoFactory;
 
@@ -69,9 +87,18 @@ class FollowArtistServiceImplTest implements WithAssertions {
   @Mock
   private FollowActionRepository followActionRepository;
 
+  @Mock
+  private FollowActionBulkWriter followActionBulkWriter;
+
+  @Mock
+  private FollowGraph followGraph;
+
   @Mock
   private SpotifyService spotifyService;
 
+  @Mock
+  private TopArtistRanking topArtistRanking;
+
   @InjectMocks
   private FollowArtistServiceImpl underTest;
 
@@ -81,7 +108,8 @@ class FollowArtistServiceImplTest implements WithAssertions {
   @AfterEach
   void tearDown() {
     reset(artistDtoTransformer, artistEntityTransformer, artistRepository, artistService, authenticationFacade,
-          discogsService, followActionRepository, spotifyService, userEntity);
+          discogsService, followActionBulkWriter, followActionRepository, followGraph, spotifyService, topArtistRanking,
+          userEntity);
   }
 
   @Test
@@ -214,10 +242,11 @@ class FollowArtistServiceImplTest implements WithAssertions {
   }
 
   @Test
-  @DisplayName("FollowAction is saved on follow")
+  @DisplayName("FollowAction is inserted on follow")
   void follow_should_add_artist_to_user() {
     // given
-    ArtistEntity artist = ArtistEntityFactory.withExternalId(EXTERNAL_ID);
+    ArtistEntity artist = mock(ArtistEntity.class);
+    doReturn(1L).when(artist).getId();
     when(artistRepository.existsByExternalIdAndSource(anyString(), any())).thenReturn(true);
     when(artistRepository.findByExternalIdAndSource(anyString(), any())).thenReturn(Optional.of(artist));
     when(authenticationFacade.getCurrentUser()).thenReturn(userEntity);
@@ -226,8 +255,7 @@ class FollowArtistServiceImplTest implements WithAssertions {
     underTest.follow(EXTERNAL_ID, ARTIST_SOURCE);
 
     // then
-    FollowActionEntity followAction = FollowActionEntity.builder().user(userEntity).artist(artist).build();
-    verify(followActionRepository).save(followAction);
+    verify(followActionBulkWriter).follow(userEntity, List.of(1L));
   }
 
   @Test
@@ -271,6 +299,87 @@ class FollowArtistServiceImplTest implements WithAssertions {
     verify(followActionRepository).deleteByUserAndArtist(userEntity, artist);
   }
 
+  @Test
+  @DisplayName("Follower counter is incremented and top artists are invalidated on follow")
+  void follow_should_increment_follower() {
+    // given
+    doReturn(true).when(artistRepository).existsByExternalIdAndSource(anyString(), any());
+    doReturn(Optional.of(ArtistEntityFactory.withExternalId(EXTERNAL_ID))).when(artistRepository).findByExternalIdAndSource(anyString(), any());
+    doReturn(List.of(1L)).when(followActionBulkWriter).follow(any(), any());
+
+    // when
+    underTest.follow(EXTERNAL_ID, ARTIST_SOURCE);
+
+    // then
+    verify(artistRepository).changeFollower(List.of(1L), 1);
+    verify(topArtistRanking).invalidate();
+  }
+
+  @Test
+  @DisplayName("Follow graph is updated on follow")
+  void follow_should_update_follow_graph() {
+    // given
+    doReturn(true).when(artistRepository).existsByExternalIdAndSource(anyString(), any());
+    doReturn(Optional.of(ArtistEntityFactory.withExternalId(EXTERNAL_ID))).when(artistRepository).findByExternalIdAndSource(anyString(), any());
+    doReturn(List.of(1L)).when(followActionBulkWriter).follow(any(), any());
+    doReturn(userEntity).when(authenticationFacade).getCurrentUser();
+
+    // when
+    underTest.follow(EXTERNAL_ID, ARTIST_SOURCE);
+
+    // then
+    verify(followGraph).followed(userEntity, List.of(1L));
+  }
+
+  @Test
+  @DisplayName("Follower counter is decremented and top artists are invalidated on unfollow")
+  void unfollow_should_decrement_follower() {
+    // given
+    ArtistEntity artist = mock(ArtistEntity.class);
+    doReturn(1L).when(artist).getId();
+    doReturn(Optional.of(artist)).when(artistRepository).findByExternalIdAndSource(anyString(), any());
+    doReturn(1L).when(followActionRepository).deleteByUserAndArtist(any(), any());
+
+    // when
+    underTest.unfollow(EXTERNAL_ID, ARTIST_SOURCE);
+
+    // then
+    verify(artistRepository).changeFollower(List.of(1L), -1);
+    verify(topArtistRanking).invalidate();
+  }
+
+  @Test
+  @DisplayName("Follow graph is updated on unfollow")
+  void unfollow_should_update_follow_graph() {
+    // given
+    ArtistEntity artist = mock(ArtistEntity.class);
+    doReturn(1L).when(artist).getId();
+    doReturn(Optional.of(artist)).when(artistRepository).findByExternalIdAndSource(anyString(), any());
+    doReturn(userEntity).when(authenticationFacade).getCurrentUser();
+    doReturn(1L).when(followActionRepository).deleteByUserAndArtist(any(), any());
+
+    // when
+    underTest.unfollow(EXTERNAL_ID, ARTIST_SOURCE);
+
+    // then
+    verify(followGraph).unfollowed(userEntity, List.of(1L));
+  }
+
+  @Test
+  @DisplayName("Follower counter is not changed on unfollow if the user did not follow the artist")
+  void unfollow_should_not_decrement_follower_if_not_followed() {
+    // given
+    ArtistEntity artist = ArtistEntityFactory.withExternalId(EXTERNAL_ID);
+    doReturn(Optional.of(artist)).when(artistRepository).findByExternalIdAndSource(anyString(), any());
+
+    // when
+    underTest.unfollow(EXTERNAL_ID, ARTIST_SOURCE);
+
+    // then
+    verify(artistRepository, never()).changeFollower(any(), anyInt());
+    verifyNoInteractions(topArtistRanking, followGraph);
+  }
+
   @Test
   @DisplayName("isCurrentUserFollowing(): should fetch user entity")
   void isCurrentUserFollowing_should_fetch_user_entity() {
@@ -335,6 +444,87 @@ class FollowArtistServiceImplTest implements WithAssertions {
     assertThat(result).isEqualTo(existsByUserIdAndArtistId);
   }
 
+  @ParameterizedTest(name = "should return {0}")
+  @ValueSource(booleans = {true, false})
+  @DisplayName("isCurrentUserFollowing(): should return result from FollowGraph if it is loaded")
+  void isCurrentUserFollowing_should_return_result_from_follow_graph(boolean follows) {
+    // given
+    var artistEntity = mock(ArtistEntity.class);
+    doReturn(2L).when(artistEntity).getId();
+    doReturn(1L).when(userEntity).getId();
+    doReturn(userEntity).when(authenticationFacade).getCurrentUser();
+    doReturn(Optional.of(artistEntity)).when(artistRepository).findByExternalIdAndSource(any(), any());
+    doReturn(true).when(followGraph).isLoaded();
+    doReturn(follows).when(followGraph).follows(anyLong(), anyLong());
+
+    // when
+    boolean result = underTest.isCurrentUserFollowing(EXTERNAL_ID, ARTIST_SOURCE);
+
+    // then
+    assertThat(result).isEqualTo(follows);
+    verify(followGraph).follows(1L, 2L);
+    verify(followActionRepository, never()).existsByUserAndArtist(any(), any());
+  }
+
+  @Test
+  @DisplayName("getFollowedArtistIdsOfCurrentUser(): should query followed artists of current user once")
+  void getFollowedArtistIdsOfCurrentUser_should_call_follow_action_repository() {
+    // given
+    var externalIds = List.of("1", "2", "3");
+    doReturn(userEntity).when(authenticationFacade).getCurrentUser();
+
+    // when
+    underTest.getFollowedArtistIdsOfCurrentUser(externalIds, ARTIST_SOURCE);
+
+    // then
+    verify(followActionRepository).findFollowedExternalIds(userEntity, ARTIST_SOURCE, externalIds);
+  }
+
+  @Test
+  @DisplayName("getFollowedArtistIdsOfCurrentUser(): should return followed artist ids")
+  void getFollowedArtistIdsOfCurrentUser_should_return_result() {
+    // given
+    doReturn(userEntity).when(authenticationFacade).getCurrentUser();
+    doReturn(List.of("1", "3")).when(followActionRepository).findFollowedExternalIds(any(), any(), any());
+
+    // when
+    var result = underTest.getFollowedArtistIdsOfCurrentUser(List.of("1", "2", "3"), ARTIST_SOURCE);
+
+    // then
+    assertThat(result).containsExactlyInAnyOrder("1", "3");
+  }
+
+  @Test
+  @DisplayName("getFollowedArtistIdsOfCurrentUser(): should read follow state from FollowGraph if it is loaded")
+  void getFollowedArtistIdsOfCurrentUser_should_return_result_from_follow_graph() {
+    // given
+    var externalIds = List.of("1", "2", "3");
+    doReturn(1L).when(userEntity).getId();
+    doReturn(userEntity).when(authenticationFacade).getCurrentUser();
+    doReturn(true).when(followGraph).isLoaded();
+    doReturn(List.of(artistIdentity(10L, "1"), artistIdentity(20L, "2"))).when(artistRepository).findIdentities(any(), any());
+    doReturn(true).when(followGraph).follows(1L, 10L);
+
+    // when
+    var result = underTest.getFollowedArtistIdsOfCurrentUser(externalIds, ARTIST_SOURCE);
+
+    // then
+    assertThat(result).containsExactly("1");
+    verify(artistRepository).findIdentities(externalIds, ARTIST_SOURCE);
+    verify(followActionRepository, never()).findFollowedExternalIds(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("getFollowedArtistIdsOfCurrentUser(): should not query anything for empty ids")
+  void getFollowedArtistIdsOfCurrentUser_should_return_empty_set() {
+    // when
+    var result = underTest.getFollowedArtistIdsOfCurrentUser(Collections.emptyList(), ARTIST_SOURCE);
+
+    // then
+    assertThat(result).isEmpty();
+    verifyNoInteractions(followActionRepository, authenticationFacade);
+  }
+
   @Test
   @DisplayName("Getting followed artists should get current user")
   void get_followed_should_call_user_supplier() {
@@ -355,41 +545,41 @@ class FollowArtistServiceImplTest implements WithAssertions {
     underTest.getFollowedArtistsOfCurrentUser();
 
     // then
-    verify(followActionRepository).findAllByUser(userEntity);
+    verify(followActionRepository).findFollowedArtistsByUser(userEntity);
   }
 
   @Test
   @DisplayName("Getting followed artists calls artist transformer for every artist")
   void get_followed_should_call_artist_transformer() {
     // given
-    FollowActionEntity followAction1 = mock(FollowActionEntity.class);
-    FollowActionEntity followAction2 = mock(FollowActionEntity.class);
-    when(followActionRepository.findAllByUser(any())).thenReturn(List.of(followAction1, followAction2));
-    when(artistDtoTransformer.transformFollowActionEntity(any(FollowActionEntity.class))).thenReturn(ArtistDtoFactory.createDefault());
+    FollowedArtist followedArtist1 = mock(FollowedArtist.class);
+    FollowedArtist followedArtist2 = mock(FollowedArtist.class);
+    when(followActionRepository.findFollowedArtistsByUser(any())).thenReturn(List.of(followedArtist1, followedArtist2));
+    when(artistDtoTransformer.transformFollowedArtist(any(FollowedArtist.class))).thenReturn(ArtistDtoFactory.createDefault());
 
     // when
     underTest.getFollowedArtistsOfCurrentUser();
 
     // then
-    verify(artistDtoTransformer).transformFollowActionEntity(followAction1);
-    verify(artistDtoTransformer).transformFollowActionEntity(followAction2);
+    verify(artistDtoTransformer).transformFollowedArtist(followedArtist1);
+    verify(artistDtoTransformer).transformFollowedArtist(followedArtist2);
   }
 
   @Test
   @DisplayName("Getting followed artists returns a sorted list of artist dtos")
   void get_followed_should_return_sorted_artist_dtos() {
     // given
-    FollowActionEntity followAction1 = mock(FollowActionEntity.class);
-    FollowActionEntity followAction2 = mock(FollowActionEntity.class);
-    FollowActionEntity followAction3 = mock(FollowActionEntity.class);
+    FollowedArtist followedArtist1 = mock(FollowedArtist.class);
+    FollowedArtist followedArtist2 = mock(FollowedArtist.class);
+    FollowedArtist followedArtist3 = mock(FollowedArtist.class);
     ArtistDto artistDto1 = ArtistDtoFactory.withName("Darkthrone");
     ArtistDto artistDto2 = ArtistDtoFactory.withName("Borknagar");
     ArtistDto artistDto3 = ArtistDtoFactory.withName("Alcest");
 
-    when(followActionRepository.findAllByUser(any())).thenReturn(List.of(followAction1, followAction2, followAction3));
-    when(artistDtoTransformer.transformFollowActionEntity(followAction1)).thenReturn(artistDto1);
-    when(artistDtoTransformer.transformFollowActionEntity(followAction2)).thenReturn(artistDto2);
-    when(artistDtoTransformer.transformFollowActionEntity(followAction3)).thenReturn(artistDto3);
+    when(followActionRepository.findFollowedArtistsByUser(any())).thenReturn(List.of(followedArtist1, followedArtist2, followedArtist3));
+    when(artistDtoTransformer.transformFollowedArtist(followedArtist1)).thenReturn(artistDto1);
+    when(artistDtoTransformer.transformFollowedArtist(followedArtist2)).thenReturn(artistDto2);
+    when(artistDtoTransformer.transformFollowedArtist(followedArtist3)).thenReturn(artistDto3);
 
     // when
     List<ArtistDto> followedArtists = underTest.getFollowedArtistsOfCurrentUser();
@@ -402,8 +592,161 @@ class FollowArtistServiceImplTest implements WithAssertions {
   }
 
   @Test
-  @DisplayName("artistService is called to find new artist ids")
-  void test_artist_service_called_to_find_new_artists() {
+  @DisplayName("Getting followed artist names should call FollowActionRepository with current user")
+  void get_followed_names_should_call_follow_action_repository() {
+    // given
+    var names = List.of("Alcest", "Darkthrone");
+    doReturn(userEntity).when(authenticationFacade).getCurrentUser();
+    doReturn(names).when(followActionRepository).findFollowedArtistNamesByUser(any());
+
+    // when
+    var result = underTest.getFollowedArtistNamesOfCurrentUser();
+
+    // then
+    verify(followActionRepository).findFollowedArtistNamesByUser(userEntity);
+    assertThat(result).isEqualTo(names);
+  }
+
+  @Test
+  @DisplayName("Getting followed artist names of users groups the names by user id")
+  void get_followed_names_of_users_should_group_by_user() {
+    // given
+    var userIds = List.of(1L, 2L);
+    var followedArtistNames = List.of(followedArtistName(1L, "Alcest"), followedArtistName(2L, "Darkthrone"), followedArtistName(1L, "Borknagar"));
+    doReturn(followedArtistNames).when(followActionRepository).findFollowedArtistNamesByUserIds(any());
+
+    // when
+    var result = underTest.getFollowedArtistNamesOfUsers(userIds);
+
+    // then
+    verify(followActionRepository).findFollowedArtistNamesByUserIds(userIds);
+    assertThat(result).containsOnly(entry(1L, List.of("Alcest", "Borknagar")), entry(2L, List.of("Darkthrone")));
+  }
+
+  @Test
+  @DisplayName("Getting followed artist names of many users queries FollowActionRepository in chunks")
+  void get_followed_names_of_users_in_chunks() {
+    // given
+    var userIds = LongStream.rangeClosed(1, USER_CHUNK_SIZE + 1).boxed().toList();
+    doReturn(List.of(followedArtistName(1L, "Alcest"))).when(followActionRepository).findFollowedArtistNamesByUserIds(userIds.subList(0, USER_CHUNK_SIZE));
+    doReturn(List.of(followedArtistName(USER_CHUNK_SIZE + 1, "Darkthrone"))).when(followActionRepository).findFollowedArtistNamesByUserIds(userIds.subList(USER_CHUNK_SIZE, USER_CHUNK_SIZE + 1));
+
+    // when
+    var result = underTest.getFollowedArtistNamesOfUsers(userIds);
+
+    // then
+    verify(followActionRepository, times(2)).findFollowedArtistNamesByUserIds(any());
+    assertThat(result).containsOnly(entry(1L, List.of("Alcest")), entry((long) USER_CHUNK_SIZE + 1, List.of("Darkthrone")));
+  }
+
+  @Test
+  @DisplayName("Getting followed artist names of no users does not call FollowActionRepository")
+  void get_followed_names_of_no_users() {
+    // when
+    var result = underTest.getFollowedArtistNamesOfUsers(Collections.emptyList());
+
+    // then
+    assertThat(result).isEmpty();
+    verifyNoInteractions(followActionRepository);
+  }
+
+  @Test
+  @DisplayName("Getting a page of followed artists should fetch the page by offset if no cursor is given")
+  void get_followed_page_should_fetch_page_by_offset() {
+    // given
+    doReturn(userEntity).when(authenticationFacade).getCurrentUser();
+    doReturn(5L).when(followActionRepository).countByUser(any());
+
+    // when
+    underTest.getFollowedArtistsOfCurrentUser(2, 2, null);
+
+    // then
+    verify(followActionRepository).countByUser(userEntity);
+    verify(followActionRepository).findPageByUser(userEntity, PageRequest.of(1, 2));
+  }
+
+  @Test
+  @DisplayName("Getting a page of followed artists should fetch the page after the cursor")
+  void get_followed_page_should_fetch_page_after_cursor() {
+    // given
+    var followAction = mockFollowAction(42L, "Alcest");
+    doReturn(userEntity).when(authenticationFacade).getCurrentUser();
+    doReturn(5L).when(followActionRepository).countByUser(any());
+    doReturn(List.of(followAction)).when(followActionRepository).findPageByUser(any(), any());
+    var cursor = underTest.getFollowedArtistsOfCurrentUser(1, 1, null).getNextCursor();
+
+    // when
+    underTest.getFollowedArtistsOfCurrentUser(2, 1, cursor);
+
+    // then
+    verify(followActionRepository).findPageByUserAfter(userEntity, "Alcest", 42L, PageRequest.ofSize(1));
+  }
+
+  @Test
+  @DisplayName("Getting a page of followed artists returns the transformed artists and the pagination values")
+  void get_followed_page_should_return_page() {
+    // given
+    var followAction = mock(FollowActionEntity.class);
+    var artistDto = ArtistDtoFactory.withName("Alcest");
+    doReturn(5L).when(followActionRepository).countByUser(any());
+    doReturn(List.of(followAction)).when(followActionRepository).findPageByUser(any(), any());
+    doReturn(artistDto).when(artistDtoTransformer).transformFollowActionEntity(followAction);
+
+    // when
+    var result = underTest.getFollowedArtistsOfCurrentUser(10, 2, null);
+
+    // then
+    assertThat(result.getArtists()).containsExactly(artistDto);
+    assertThat(result.getTotalArtists()).isEqualTo(5);
+    assertThat(result.getPage()).isEqualTo(3);
+    assertThat(result.getSize()).isEqualTo(2);
+    assertThat(result.getNextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("Getting a page of followed artists returns no cursor for an exactly full last page")
+  void get_followed_page_should_return_no_cursor_for_full_last_page() {
+    // given
+    doReturn(4L).when(followActionRepository).countByUser(any());
+    doReturn(List.of(mock(FollowActionEntity.class), mock(FollowActionEntity.class))).when(followActionRepository).findPageByUser(any(), any());
+
+    // when
+    var result = underTest.getFollowedArtistsOfCurrentUser(2, 2, null);
+
+    // then
+    assertThat(result.getNextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("Getting a page of followed artists after a cursor returns the page of the cursor")
+  void get_followed_page_after_cursor_should_return_page_of_cursor() {
+    // given
+    var cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("42:Alcest".getBytes(StandardCharsets.UTF_8));
+    doReturn(userEntity).when(authenticationFacade).getCurrentUser();
+    doReturn(7L).when(followActionRepository).countByUser(any());
+    doReturn(4L).when(followActionRepository).countByUserUpTo(any(), any(), anyLong());
+
+    // when
+    var result = underTest.getFollowedArtistsOfCurrentUser(1, 2, cursor);
+
+    // then
+    verify(followActionRepository).countByUserUpTo(userEntity, "Alcest", 42L);
+    assertThat(result.getPage()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Getting a page of followed artists throws exception for an invalid cursor")
+  void get_followed_page_should_throw_exception_for_invalid_cursor() {
+    // when
+    var throwable = catchThrowable(() -> underTest.getFollowedArtistsOfCurrentUser(1, 1, "invalid"));
+
+    // then
+    assertThat(throwable).isInstanceOf(ValidationException.class);
+  }
+
+  @Test
+  @DisplayName("artistService is called to find the ids of the known artists")
+  void test_artist_service_called_to_find_artist_ids() {
     // given
     var artistIds = List.of("a", "b");
 
@@ -411,21 +754,20 @@ class FollowArtistServiceImplTest implements WithAssertions {
     underTest.followSpotifyArtists(artistIds);
 
     // then
-    verify(artistService).findNewArtistIds(artistIds);
+    verify(artistService).findArtistIds(artistIds, SPOTIFY);
   }
 
   @Test
-  @DisplayName("spotifyService is called to fetch new artists from Spotify")
+  @DisplayName("spotifyService is called to fetch the unknown artists from Spotify")
   void test_spotify_service_called() {
     // given
-    var newArtistIds = List.of("a", "b");
-    doReturn(newArtistIds).when(artistService).findNewArtistIds(any());
+    doReturn(Map.of("c", 3L)).when(artistService).findArtistIds(any(), any());
 
     // when
-    underTest.followSpotifyArtists(Collections.emptyList());
+    underTest.followSpotifyArtists(List.of("a", "b", "c", "a"));
 
     // then
-    verify(spotifyService).searchArtistsByIds(newArtistIds);
+    verify(spotifyService).searchArtistsByIds(List.of("a", "b"));
   }
 
   @Test
@@ -436,48 +778,177 @@ class FollowArtistServiceImplTest implements WithAssertions {
     doReturn(newArtists).when(spotifyService).searchArtistsByIds(any());
 
     // when
-    underTest.followSpotifyArtists(Collections.emptyList());
+    underTest.followSpotifyArtists(List.of("a"));
 
     // then
     verify(artistService).persistSpotifyArtists(newArtists);
   }
 
   @Test
-  @DisplayName("artistRepository is called to get ArtistEntities")
-  void test_artist_repository_called() {
+  @DisplayName("Current user is fetched on follow multiple spotify artist")
+  void test_follow_multiple_spotify_artists_should_get_current_user() {
+    // when
+    underTest.followSpotifyArtists(List.of("a"));
+
+    // then
+    verify(authenticationFacade).getCurrentUser();
+  }
+
+  @Test
+  @DisplayName("followActionBulkWriter is called to insert all follow actions at once with the ids of the known and the persisted artists")
+  void test_bulk_writer_is_called() {
     // given
-    var artistIds = List.of("a", "b");
+    ArgumentCaptor<List<Long>> argumentCaptor = ArgumentCaptor.forClass(List.class);
+    doReturn(Map.of("a", 1L)).when(artistService).findArtistIds(any(), any());
+    doReturn(Map.of("b", 2L)).when(artistService).persistSpotifyArtists(any());
+    doReturn(userEntity).when(authenticationFacade).getCurrentUser();
 
     // when
-    underTest.followSpotifyArtists(artistIds);
+    underTest.followSpotifyArtists(List.of("a", "b"));
 
     // then
-    verify(artistRepository).findAllByExternalIdIn(artistIds);
+    verify(followActionBulkWriter).follow(eq(userEntity), argumentCaptor.capture());
+    assertThat(argumentCaptor.getValue()).containsExactlyInAnyOrder(1L, 2L);
   }
 
   @Test
-  @DisplayName("Current user is fetched on follow multiple spotify artist")
-  void test_follow_multiple_spotify_artists_should_get_current_user() {
+  @DisplayName("The number of newly followed spotify artists is returned")
+  void test_newly_followed_artists_returned() {
+    // given
+    doReturn(List.of(1L)).when(followActionBulkWriter).follow(any(), any());
+
     // when
-    underTest.followSpotifyArtists(Collections.emptyList());
+    int result = underTest.followSpotifyArtists(List.of("a", "b"));
 
     // then
-    verify(authenticationFacade).getCurrentUser();
+    assertThat(result).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Follower counters of all newly followed spotify artists are incremented")
+  void test_follower_incremented_for_spotify_artists() {
+    // given
+    doReturn(List.of(1L, 2L)).when(followActionBulkWriter).follow(any(), any());
+
+    // when
+    underTest.followSpotifyArtists(List.of("a", "b"));
+
+    // then
+    verify(artistRepository).changeFollower(List.of(1L, 2L), 1);
+    verify(topArtistRanking).invalidate();
   }
 
   @Test
-  @DisplayName("followActionRepository is called to save follow entities")
-  void test_action_repository_is_called() {
+  @DisplayName("Follow graph is updated with all newly followed spotify artists")
+  void test_follow_graph_updated_for_spotify_artists() {
     // given
-    var artistEntity = ArtistEntityFactory.withExternalId("a");
-    var expectedFollowActionEntities = List.of(FollowActionEntity.builder().artist(artistEntity).user(userEntity).build());
+    doReturn(List.of(1L, 2L)).when(followActionBulkWriter).follow(any(), any());
     doReturn(userEntity).when(authenticationFacade).getCurrentUser();
-    doReturn(List.of(artistEntity)).when(artistRepository).findAllByExternalIdIn(any());
 
+    // when
+    underTest.followSpotifyArtists(List.of("a", "b"));
+
+    // then
+    verify(followGraph).followed(userEntity, List.of(1L, 2L));
+  }
+
+  @Test
+  @DisplayName("Follower counters are not changed if no spotify artist is followed")
+  void test_follower_not_changed_without_spotify_artists() {
     // when
     underTest.followSpotifyArtists(Collections.emptyList());
 
     // then
-    verify(followActionRepository).saveAll(expectedFollowActionEntities);
+    verify(artistRepository, never()).changeFollower(any(), anyInt());
+    verifyNoInteractions(topArtistRanking, followActionBulkWriter);
+  }
+
+  @Test
+  @DisplayName("Unknown discogs artists are fetched one by one before they are followed")
+  void test_follow_discogs_artists() {
+    // given
+    ArtistEntity knownArtist = mock(ArtistEntity.class);
+    ArtistEntity unknownArtist = mock(ArtistEntity.class);
+    doReturn(1L).when(knownArtist).getId();
+    doReturn(2L).when(unknownArtist).getId();
+    doReturn(true).when(artistRepository).existsByExternalIdAndSource("a", DISCOGS);
+    doReturn(Optional.of(knownArtist)).when(artistRepository).findByExternalIdAndSource("a", DISCOGS);
+    doReturn(DiscogsArtistDtoFactory.createDefault()).when(discogsService).searchArtistById("b");
+    doReturn(unknownArtist).when(artistRepository).save(any());
+    doReturn(userEntity).when(authenticationFacade).getCurrentUser();
+
+    // when
+    underTest.followArtists(List.of("a", "b"), DISCOGS);
+
+    // then
+    verify(discogsService).searchArtistById("b");
+    verify(followActionBulkWriter).follow(userEntity, List.of(1L, 2L));
+    verifyNoInteractions(spotifyService);
+  }
+
+  @Test
+  @DisplayName("followActionBulkWriter is called to delete all follow actions at once")
+  void test_unfollow_artists() {
+    // given
+    var artistIds = List.of("a", "b");
+    doReturn(userEntity).when(authenticationFacade).getCurrentUser();
+    doReturn(List.of(1L, 2L)).when(followActionBulkWriter).unfollow(any(), any(), any());
+
+    // when
+    int result = underTest.unfollowArtists(artistIds, SPOTIFY);
+
+    // then
+    verify(followActionBulkWriter).unfollow(userEntity, artistIds, SPOTIFY);
+    assertThat(result).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Follower counters and follow graph are updated for all unfollowed artists")
+  void test_unfollow_artists_changes_follower() {
+    // given
+    doReturn(userEntity).when(authenticationFacade).getCurrentUser();
+    doReturn(List.of(1L, 2L)).when(followActionBulkWriter).unfollow(any(), any(), any());
+
+    // when
+    underTest.unfollowArtists(List.of("a", "b"), SPOTIFY);
+
+    // then
+    verify(artistRepository).changeFollower(List.of(1L, 2L), -1);
+    verify(topArtistRanking).invalidate();
+    verify(followGraph).unfollowed(userEntity, List.of(1L, 2L));
+  }
+
+  @Test
+  @DisplayName("Nothing is deleted if no artist is unfollowed")
+  void test_unfollow_no_artists() {
+    // when
+    int result = underTest.unfollowArtists(Collections.emptyList(), SPOTIFY);
+
+    // then
+    assertThat(result).isZero();
+    verifyNoInteractions(followActionBulkWriter, topArtistRanking, followGraph);
+  }
+
+  private FollowedArtistName followedArtistName(long userId, String artistName) {
+    var followedArtistName = mock(FollowedArtistName.class);
+    doReturn(userId).when(followedArtistName).getUserId();
+    doReturn(artistName).when(followedArtistName).getArtistName();
+    return followedArtistName;
+  }
+
+  private FollowActionEntity mockFollowAction(long artistId, String artistName) {
+    var artist = mock(ArtistEntity.class);
+    var followAction = mock(FollowActionEntity.class);
+    doReturn(artistName).when(artist).getArtistName();
+    doReturn(artistId).when(artist).getId();
+    doReturn(artist).when(followAction).getArtist();
+    return followAction;
+  }
+
+  private ArtistIdentity artistIdentity(long id, String externalId) {
+    var artistIdentity = mock(ArtistIdentity.class);
+    doReturn(id).when(artistIdentity).getId();
+    lenient().doReturn(externalId).when(artistIdentity).getExternalId();
+    return artistIdentity;
   }
 }
@@ -0,0 +1,179 @@
+package rocks.metaldetector.service.artist;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rocks.metaldetector.persistence.domain.artist.FollowActionRepository;
+import rocks.metaldetector.persistence.domain.artist.FollowEdge;
+import rocks.metaldetector.persistence.domain.user.UserEntity;
+
+import java.util.List;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static rocks.metaldetector.service.artist.FollowGraph.EDGES_METRIC_NAME;
+import static rocks.metaldetector.service.artist.FollowGraph.MEMORY_METRIC_NAME;
+
+@ExtendWith(MockitoExtension.class)
+class FollowGraphTest implements WithAssertions {
+
+  @Mock
+  private FollowActionRepository followActionRepository;
+
+  private SimpleMeterRegistry meterRegistry;
+  private FollowGraph underTest;
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    underTest = new FollowGraph(followActionRepository, meterRegistry);
+    doReturn(List.of(edge(1, 10), edge(1, 20), edge(2, 10))).when(followActionRepository).findAllFollowEdges();
+    underTest.load();
+  }
+
+  @AfterEach
+  void tearDown() {
+    reset(followActionRepository);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  @DisplayName("graph is loaded from all follow actions")
+  void test_graph_loaded() {
+    // then
+    assertThat(underTest.isLoaded()).isTrue();
+    assertThat(underTest.getEdgeCount()).isEqualTo(3);
+    assertThat(underTest.follows(1, 10)).isTrue();
+    assertThat(underTest.follows(1, 20)).isTrue();
+    assertThat(underTest.follows(2, 10)).isTrue();
+    assertThat(underTest.follows(2, 20)).isFalse();
+    assertThat(underTest.follows(3, 10)).isFalse();
+  }
+
+  @Test
+  @DisplayName("followed artists are added to the user")
+  void test_followed() {
+    // when
+    underTest.followed(user(3), List.of(30L, 10L));
+
+    // then
+    assertThat(underTest.follows(3, 10)).isTrue();
+    assertThat(underTest.follows(3, 30)).isTrue();
+    assertThat(underTest.follows(1, 30)).isFalse();
+    assertThat(underTest.getEdgeCount()).isEqualTo(5);
+  }
+
+  @Test
+  @DisplayName("following an already followed artist does not change the graph")
+  void test_followed_twice() {
+    // when
+    underTest.followed(user(1), List.of(10L));
+
+    // then
+    assertThat(underTest.follows(1, 10)).isTrue();
+    assertThat(underTest.getEdgeCount()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("unfollowed artists are removed from the user")
+  void test_unfollowed() {
+    // when
+    underTest.unfollowed(user(1), List.of(20L));
+
+    // then
+    assertThat(underTest.follows(1, 20)).isFalse();
+    assertThat(underTest.follows(1, 10)).isTrue();
+    assertThat(underTest.getEdgeCount()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("all follow actions of a deleted user are removed")
+  void test_user_deleted() {
+    // when
+    underTest.userDeleted(user(1));
+
+    // then
+    assertThat(underTest.follows(1, 10)).isFalse();
+    assertThat(underTest.follows(1, 20)).isFalse();
+    assertThat(underTest.follows(2, 10)).isTrue();
+    assertThat(underTest.getEdgeCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("within a transaction the graph is changed after the commit")
+  void test_changed_after_commit() {
+    // given
+    TransactionSynchronizationManager.initSynchronization();
+
+    // when
+    underTest.followed(user(3), List.of(10L));
+
+    // then
+    assertThat(underTest.follows(3, 10)).isFalse();
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    assertThat(underTest.follows(3, 10)).isTrue();
+  }
+
+  @Test
+  @DisplayName("a rolled back transaction does not change the graph")
+  void test_not_changed_on_rollback() {
+    // given
+    TransactionSynchronizationManager.initSynchronization();
+
+    // when
+    underTest.unfollowed(user(1), List.of(10L));
+
+    // then
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    assertThat(underTest.follows(1, 10)).isTrue();
+  }
+
+  @Test
+  @DisplayName("size and estimated memory footprint are reported as gauges")
+  void test_gauges() {
+    // then
+    assertThat(meterRegistry.get(EDGES_METRIC_NAME).gauge().value()).isEqualTo(3);
+    assertThat(meterRegistry.get(MEMORY_METRIC_NAME).gauge().value()).isEqualTo(underTest.getMemoryFootprint());
+    assertThat(underTest.getMemoryFootprint()).isPositive();
+  }
+
+  @Test
+  @DisplayName("gauges are registered once and report the current graph after a reload")
+  void test_gauges_registered_once() {
+    // given
+    doReturn(List.of(edge(1, 10))).when(followActionRepository).findAllFollowEdges();
+
+    // when
+    underTest.load();
+
+    // then
+    assertThat(meterRegistry.find(EDGES_METRIC_NAME).gauges()).hasSize(1);
+    assertThat(meterRegistry.get(EDGES_METRIC_NAME).gauge().value()).isEqualTo(1);
+    assertThat(underTest.follows(2, 10)).isFalse();
+  }
+
+  private static FollowEdge edge(long userId, long artistId) {
+    var edge = mock(FollowEdge.class);
+    doReturn(userId).when(edge).getUserId();
+    doReturn(artistId).when(edge).getArtistId();
+    return edge;
+  }
+
+  private static UserEntity user(long id) {
+    var user = mock(UserEntity.class);
+    doReturn(id).when(user).getId();
+    return user;
+  }
+}
@@ -5,12 +5,15 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import rocks.metaldetector.persistence.domain.artist.ArtistEntity;
 import rocks.metaldetector.persistence.domain.artist.FollowActionEntity;
+import rocks.metaldetector.persistence.domain.artist.FollowedArtist;
 import rocks.metaldetector.persistence.domain.artist.TopArtist;
 import rocks.metaldetector.service.artist.ArtistDto;
 import rocks.metaldetector.service.artist.ArtistEntityFactory;
 import rocks.metaldetector.testutil.DtoFactory;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
 
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -107,4 +110,27 @@ class ArtistDtoTransformerTest implements WithAssertions {
     assertThat(result.getSource()).isEqualTo(artistEntity.getSource().getDisplayName());
     assertThat(result.getFollowedSince()).isEqualTo(LocalDateTime.of(2020, 1, 1, 0, 0, 0));
   }
+
+  @Test
+  @DisplayName("Should transform FollowedArtist to ArtistDto")
+  void should_transform_followed_artist_to_artist_dto() {
+    // given
+    FollowedArtist followedArtist = mock(FollowedArtist.class);
+    var followedSince = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+    doReturn("1").when(followedArtist).getExternalId();
+    doReturn("artist").when(followedArtist).getArtistName();
+    doReturn(SPOTIFY).when(followedArtist).getSource();
+    doReturn("image").when(followedArtist).getImageM();
+    doReturn(Date.from(followedSince.atZone(ZoneId.systemDefault()).toInstant())).when(followedArtist).getFollowedSince();
+
+    // when
+    ArtistDto result = underTest.transformFollowedArtist(followedArtist);
+
+    // then
+    assertThat(result.getExternalId()).isEqualTo("1");
+    assertThat(result.getArtistName()).isEqualTo("artist");
+    assertThat(result.getSource()).isEqualTo(SPOTIFY.getDisplayName());
+    assertThat(result.getImages().get(M)).isEqualTo("image");
+    assertThat(result.getFollowedSince()).isEqualTo(followedSince);
+  }
 }
@@ -9,24 +9,16 @@ import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import rocks.metaldetector.persistence.domain.artist.ArtistRepository;
-import rocks.metaldetector.persistence.domain.artist.FollowActionEntity;
+import org.springframework.data.domain.PageRequest;
 import rocks.metaldetector.persistence.domain.artist.FollowActionRepository;
-import rocks.metaldetector.persistence.domain.artist.TopArtist;
+import rocks.metaldetector.persistence.domain.artist.FollowedArtist;
 import rocks.metaldetector.persistence.domain.user.UserEntity;
-import rocks.metaldetector.security.AuthenticationFacade;
-import rocks.metaldetector.service.artist.ArtistEntityFactory;
 import rocks.metaldetector.service.artist.transformer.ArtistDtoTransformer;
 import rocks.metaldetector.service.user.UserEntityFactory;
 import rocks.metaldetector.testutil.DtoFactory.ArtistDtoFactory;
 
-import java.sql.Date;
-import java.time.Instant;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
-import static java.time.temporal.ChronoUnit.DAYS;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doReturn;
@@ -43,10 +35,7 @@ class ArtistCollectorTest implements WithAssertions {
   private ArtistDtoTransformer artistDtoTransformer;
 
   @Mock
-  private ArtistRepository artistRepository;
-
-  @Mock
-  private AuthenticationFacade authenticationFacade;
+  private TopArtistRanking topArtistRanking;
 
   @Mock
   private FollowActionRepository followActionRepository;
@@ -58,12 +47,12 @@ class ArtistCollectorTest implements WithAssertions {
 
   @AfterEach
   void tearDown() {
-    reset(artistDtoTransformer, artistRepository, authenticationFacade, followActionRepository);
+    reset(artistDtoTransformer, topArtistRanking, followActionRepository);
   }
 
   @Test
-  @DisplayName("collectTopFollowedArtists: artistRepository is called to get top artists")
-  void test_artist_repository_is_called_for_top_artists() {
+  @DisplayName("collectTopFollowedArtists: topArtistRanking is called to get top artists")
+  void test_top_artist_ranking_is_called_for_top_artists() {
     // given
     var minFollower = 10;
 
@@ -71,35 +60,15 @@ class ArtistCollectorTest implements WithAssertions {
     underTest.collectTopFollowedArtists(minFollower);
 
     // then
-    verify(artistRepository).findTopArtists(minFollower);
-  }
-
-  @Test
-  @DisplayName("collectTopFollowedArtists: artistTransformer is called for each artist")
-  void test_artist_transformer_is_called_for_artists() {
-    // given
-    var topArtists = List.of(mock(TopArtist.class), mock(TopArtist.class));
-    var artistDto = ArtistDtoFactory.createDefault();
-    doReturn(topArtists).when(artistRepository).findTopArtists(anyInt());
-    doReturn(artistDto).when(artistDtoTransformer).transformTopArtist(any(TopArtist.class));
-
-    // when
-    underTest.collectTopFollowedArtists(10);
-
-    // then
-    verify(artistDtoTransformer).transformTopArtist(topArtists.get(0));
-    verify(artistDtoTransformer).transformTopArtist(topArtists.get(1));
+    verify(topArtistRanking).getTopArtists(minFollower);
   }
 
   @Test
   @DisplayName("collectTopFollowedArtists: artist dtos are returned")
   void test_artist_dtos_are_returned() {
     // given
-    var artistEntities = List.of(mock(TopArtist.class), mock(TopArtist.class));
-    doReturn(artistEntities).when(artistRepository).findTopArtists(anyInt());
     var expectedArtistDtos = List.of(ArtistDtoFactory.withName("A"), ArtistDtoFactory.withName("B"));
-    doReturn(expectedArtistDtos.get(0)).when(artistDtoTransformer).transformTopArtist(artistEntities.get(0));
-    doReturn(expectedArtistDtos.get(1)).when(artistDtoTransformer).transformTopArtist(artistEntities.get(1));
+    doReturn(expectedArtistDtos).when(topArtistRanking).getTopArtists(anyInt());
 
     // when
     var result = underTest.collectTopFollowedArtists(10);
@@ -109,103 +78,43 @@ class ArtistCollectorTest implements WithAssertions {
   }
 
   @Test
-  @DisplayName("collectRecentlyFollowedArtists: currentUserSupplier is called")
-  void test_current_user_id_supplier_called() {
-    // given
-    doReturn(userEntity).when(authenticationFacade).getCurrentUser();
-
-    // when
-    underTest.collectRecentlyFollowedArtists(RESULT_LIMIT);
-
-    // then
-    verify(authenticationFacade).getCurrentUser();
-  }
-
-  @Test
-  @DisplayName("collectRecentlyFollowedArtists: followActionRepository is called with user")
+  @DisplayName("collectRecentlyFollowedArtists: followActionRepository is called with user and result limit")
   void test_follow_action_repository_called() {
-    // given
-    doReturn(userEntity).when(authenticationFacade).getCurrentUser();
-
     // when
-    underTest.collectRecentlyFollowedArtists(RESULT_LIMIT);
+    underTest.collectRecentlyFollowedArtists(userEntity, RESULT_LIMIT);
 
     // then
-    verify(followActionRepository).findAllByUser(userEntity);
+    verify(followActionRepository).findRecentlyFollowedArtistsByUser(userEntity, PageRequest.of(0, RESULT_LIMIT));
   }
 
   @Test
-  @DisplayName("collectRecentlyFollowedArtists: artistTransformer is called for every followActionEntity")
+  @DisplayName("collectRecentlyFollowedArtists: artistTransformer is called for every followed artist in the given order")
   void test_artist_transformer_called() {
     // given
-    var artist1 = ArtistEntityFactory.withExternalId("1");
-    var artist2 = ArtistEntityFactory.withExternalId("2");
-    var userFollowsArtist1 = FollowActionEntity.builder().user(userEntity).artist(artist1).build();
-    var userFollowsArtist2 = FollowActionEntity.builder().user(userEntity).artist(artist2).build();
-    var followActionEntities = List.of(userFollowsArtist1, userFollowsArtist2);
-    followActionEntities.forEach(action -> action.setCreatedDateTime(Date.from(Instant.now())));
-    doReturn(followActionEntities).when(followActionRepository).findAllByUser(any());
-
-    // when
-    underTest.collectRecentlyFollowedArtists(RESULT_LIMIT);
-
-    // then
-    verify(artistDtoTransformer).transformFollowActionEntity(userFollowsArtist1);
-    verify(artistDtoTransformer).transformFollowActionEntity(userFollowsArtist2);
-  }
-
-  @Test
-  @DisplayName("collectRecentlyFollowedArtists: dtos are sorted with descending following date")
-  void test_dtos_sorted_by_reversed_created_date() {
-    // given
-    var artist1 = ArtistEntityFactory.withExternalId("1");
-    var artist2 = ArtistEntityFactory.withExternalId("2");
-    var userFollowsArtist1 = FollowActionEntity.builder().user(userEntity).artist(artist1).build();
-    var userFollowsArtist2 = FollowActionEntity.builder().user(userEntity).artist(artist2).build();
-    userFollowsArtist1.setCreatedDateTime(Date.from(Instant.now().minus(1, DAYS)));
-    userFollowsArtist2.setCreatedDateTime(Date.from(Instant.now()));
-    var followActionEntities = List.of(userFollowsArtist1, userFollowsArtist2);
-    doReturn(followActionEntities).when(followActionRepository).findAllByUser(any());
+    var followedArtist1 = mock(FollowedArtist.class);
+    var followedArtist2 = mock(FollowedArtist.class);
+    doReturn(List.of(followedArtist2, followedArtist1)).when(followActionRepository).findRecentlyFollowedArtistsByUser(any(), any());
     InOrder inOrder = inOrder(artistDtoTransformer);
 
     // when
-    underTest.collectRecentlyFollowedArtists(RESULT_LIMIT);
-
-    // then
-    inOrder.verify(artistDtoTransformer).transformFollowActionEntity(userFollowsArtist2);
-    inOrder.verify(artistDtoTransformer).transformFollowActionEntity(userFollowsArtist1);
-  }
-
-  @Test
-  @DisplayName("collectRecentlyFollowedArtists: result size is limited")
-  void test_result_limited() {
-    // given
-    var artist = ArtistEntityFactory.withExternalId("1");
-    var followActionEntities = IntStream.rangeClosed(1, RESULT_LIMIT + 1)
-        .mapToObj(value -> FollowActionEntity.builder().user(userEntity).artist(artist).build())
-        .peek(action -> action.setCreatedDateTime(Date.from(Instant.now())))
-        .collect(Collectors.toList());
-    doReturn(followActionEntities).when(followActionRepository).findAllByUser(any());
-
-    // when
-    var result = underTest.collectRecentlyFollowedArtists(RESULT_LIMIT);
+    underTest.collectRecentlyFollowedArtists(userEntity, RESULT_LIMIT);
 
     // then
-    assertThat(result).hasSize(RESULT_LIMIT);
+    inOrder.verify(artistDtoTransformer).transformFollowedArtist(followedArtist2);
+    inOrder.verify(artistDtoTransformer).transformFollowedArtist(followedArtist1);
   }
 
   @Test
   @DisplayName("collectRecentlyFollowedArtists: transformed artistDtos are returned")
   void test_dtos_are_returned() {
     // given
-    var artist = ArtistEntityFactory.withExternalId("1");
-    var followAction = FollowActionEntity.builder().user(userEntity).artist(artist).build();
+    var followedArtist = mock(FollowedArtist.class);
     var expectedArtist = ArtistDtoFactory.createDefault();
-    doReturn(List.of(followAction)).when(followActionRepository).findAllByUser(any());
-    doReturn(expectedArtist).when(artistDtoTransformer).transformFollowActionEntity(followAction);
+    doReturn(List.of(followedArtist)).when(followActionRepository).findRecentlyFollowedArtistsByUser(any(), any());
+    doReturn(expectedArtist).when(artistDtoTransformer).transformFollowedArtist(followedArtist);
 
     // when
-    var result = underTest.collectRecentlyFollowedArtists(RESULT_LIMIT);
+    var result = underTest.collectRecentlyFollowedArtists(userEntity, RESULT_LIMIT);
 
     // then
     assertThat(result).containsExactly(expectedArtist);
@@ -0,0 +1,139 @@
+package rocks.metaldetector.service.dashboard;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import rocks.metaldetector.support.exceptions.ExternalServiceException;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+import static rocks.metaldetector.service.dashboard.CommunityCache.COMMUNITY_CACHE;
+
+@ExtendWith(MockitoExtension.class)
+class CommunityCacheTest implements WithAssertions {
+
+  @Mock
+  private CacheManager cacheManager;
+
+  private ConcurrentMapCache cache;
+  private CommunityCache underTest;
+
+  @BeforeEach
+  void setup() {
+    cache = new ConcurrentMapCache(COMMUNITY_CACHE);
+    underTest = new CommunityCache(cacheManager);
+  }
+
+  @AfterEach
+  void tearDown() {
+    reset(cacheManager);
+  }
+
+  @Test
+  @DisplayName("value is loaded only once per key")
+  void test_value_loaded_once() {
+    // given
+    var loads = new AtomicInteger();
+    doReturn(cache).when(cacheManager).getCache(COMMUNITY_CACHE);
+
+    // when
+    underTest.get("key", () -> List.of(loads.incrementAndGet()));
+    var result = underTest.get("key", () -> List.of(loads.incrementAndGet()));
+
+    // then
+    assertThat(result).containsExactly(1);
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("value is loaded every time if the cache is not available")
+  void test_no_cache() {
+    // given
+    var loads = new AtomicInteger();
+
+    // when
+    underTest.get("key", loads::incrementAndGet);
+    var result = underTest.get("key", loads::incrementAndGet);
+
+    // then
+    assertThat(result).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("exception of the loader is thrown")
+  void test_loader_exception() {
+    // given
+    var exception = new ExternalServiceException("butler not available");
+    doReturn(cache).when(cacheManager).getCache(COMMUNITY_CACHE);
+
+    // when
+    var throwable = catchThrowable(() -> underTest.get("key", () -> {
+      throw exception;
+    }));
+
+    // then
+    assertThat(throwable).isSameAs(exception);
+  }
+
+  @Test
+  @DisplayName("requested keys are reloaded on refresh")
+  void test_refresh_requested_keys() {
+    // given
+    var loads = new AtomicInteger();
+    doReturn(cache).when(cacheManager).getCache(COMMUNITY_CACHE);
+    underTest.get("key", loads::incrementAndGet);
+
+    // when
+    underTest.refresh();
+
+    // then
+    assertThat(loads).hasValue(2);
+    assertThat(cache.get("key", Integer.class)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("keys that were not requested since the last refresh are not reloaded")
+  void test_refresh_skips_unrequested_keys() {
+    // given
+    var loads = new AtomicInteger();
+    doReturn(cache).when(cacheManager).getCache(COMMUNITY_CACHE);
+    underTest.get("key", loads::incrementAndGet);
+    underTest.refresh();
+
+    // when
+    underTest.refresh();
+
+    // then
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("old value is kept if the refresh fails")
+  void test_refresh_failure() {
+    // given
+    var loads = new AtomicInteger();
+    doReturn(cache).when(cacheManager).getCache(COMMUNITY_CACHE);
+    underTest.get("key", () -> {
+      if (loads.incrementAndGet() > 1) {
+        throw new ExternalServiceException("butler not available");
+      }
+      return loads.get();
+    });
+
+    // when
+    underTest.refresh();
+
+    // then
+    assertThat(cache.get("key", Integer.class)).isEqualTo(1);
+  }
+}
@@ -0,0 +1,89 @@
+package rocks.metaldetector.service.dashboard;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import rocks.metaldetector.support.TimeRange;
+import rocks.metaldetector.testutil.DtoFactory.ArtistDtoFactory;
+import rocks.metaldetector.testutil.DtoFactory.ReleaseDtoFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static rocks.metaldetector.service.dashboard.DashboardServiceImpl.TIME_RANGE_MONTHS;
+
+@ExtendWith(MockitoExtension.class)
+class CommunityContentServiceTest implements WithAssertions {
+
+  @Mock
+  private CommunityCache communityCache;
+
+  @Mock
+  private ArtistCollector artistCollector;
+
+  @Mock
+  private ReleaseCollector releaseCollector;
+
+  private CommunityContentService underTest;
+
+  @BeforeEach
+  void setup() {
+    underTest = new CommunityContentService(communityCache, artistCollector, releaseCollector);
+    doAnswer(invocation -> invocation.getArgument(1, Supplier.class).get()).when(communityCache).get(anyString(), any());
+  }
+
+  @AfterEach
+  void tearDown() {
+    reset(communityCache, artistCollector, releaseCollector);
+  }
+
+  @Test
+  @DisplayName("top artists are limited and cached per min follower and limit")
+  void test_top_artists() {
+    // given
+    var artist1 = ArtistDtoFactory.withName("A");
+    var artist2 = ArtistDtoFactory.withName("B");
+    doReturn(List.of(artist1, artist2)).when(artistCollector).collectTopFollowedArtists(anyInt());
+
+    // when
+    var result = underTest.getTopArtists(2, 1);
+
+    // then
+    assertThat(result).containsExactly(artist1);
+    verify(artistCollector).collectTopFollowedArtists(2);
+    verify(communityCache).get(eq("topArtists:2:1"), any());
+  }
+
+  @Test
+  @DisplayName("top upcoming releases of the top artists are collected for the next months")
+  void test_top_upcoming_releases() {
+    // given
+    var today = LocalDate.now();
+    var artists = List.of(ArtistDtoFactory.createDefault());
+    var releases = List.of(ReleaseDtoFactory.createDefault());
+    doReturn(artists).when(artistCollector).collectTopFollowedArtists(anyInt());
+    doReturn(releases).when(releaseCollector).collectTopReleases(any(), any(), anyInt());
+
+    // when
+    var result = underTest.getTopUpcomingReleases(2, 10);
+
+    // then
+    assertThat(result).isEqualTo(releases);
+    verify(releaseCollector).collectTopReleases(new TimeRange(today, today.plusMonths(TIME_RANGE_MONTHS)), artists, 10);
+    verify(communityCache).get(eq("topUpcomingReleases:" + today + ":2:10"), any());
+  }
+}
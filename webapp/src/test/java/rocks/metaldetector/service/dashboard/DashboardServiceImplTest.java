@@ -1,35 +1,43 @@
 package rocks.metaldetector.service.dashboard;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.WithAssertions;
-import org.assertj.core.data.TemporalUnitLessThanOffset;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import rocks.metaldetector.config.misc.DashboardProperties;
+import rocks.metaldetector.persistence.domain.user.UserEntity;
+import rocks.metaldetector.security.AuthenticationFacade;
 import rocks.metaldetector.service.artist.FollowArtistService;
-import rocks.metaldetector.support.TimeRange;
+import rocks.metaldetector.service.user.UserEntityFactory;
+import rocks.metaldetector.support.exceptions.ExternalServiceException;
 import rocks.metaldetector.testutil.DtoFactory.ArtistDtoFactory;
 import rocks.metaldetector.testutil.DtoFactory.ReleaseDtoFactory;
 
-import java.time.LocalDate;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
-import static java.time.temporal.ChronoUnit.DAYS;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static rocks.metaldetector.service.dashboard.DashboardServiceImpl.MIN_FOLLOWER;
 import static rocks.metaldetector.service.dashboard.DashboardServiceImpl.RESULT_LIMIT;
-import static rocks.metaldetector.service.dashboard.DashboardServiceImpl.TIME_RANGE_MONTHS;
+import static rocks.metaldetector.service.dashboard.DashboardServiceImpl.SECTION_LATENCY_METRIC_NAME;
+import static rocks.metaldetector.service.dashboard.DashboardServiceImpl.SECTION_TIMEOUT_METRIC_NAME;
 
 @ExtendWith(MockitoExtension.class)
 class DashboardServiceImplTest implements WithAssertions {
@@ -43,12 +51,33 @@ class DashboardServiceImplTest implements WithAssertions {
   @Mock
   private FollowArtistService followArtistService;
 
-  @InjectMocks
+  @Mock
+  private AuthenticationFacade authenticationFacade;
+
+  @Mock
+  private CommunityContentService communityContentService;
+
+  private final UserEntity userEntity = UserEntityFactory.createUser("user", "user@mail.com");
+
+  private DashboardProperties properties;
+  private SimpleMeterRegistry meterRegistry;
   private DashboardServiceImpl underTest;
 
+  @BeforeEach
+  void setup() {
+    properties = new DashboardProperties();
+    properties.setThreads(4);
+    properties.setSectionTimeout(Duration.ofMillis(500));
+    meterRegistry = new SimpleMeterRegistry();
+    underTest = new DashboardServiceImpl(releaseCollector, artistCollector, followArtistService, authenticationFacade, communityContentService, properties, meterRegistry);
+    lenient().doReturn(userEntity).when(authenticationFacade).getCurrentUser();
+    lenient().doReturn(DashboardReleases.EMPTY).when(releaseCollector).collectDashboardReleases(anyList());
+  }
+
   @AfterEach
   void tearDown() {
-    reset(releaseCollector, artistCollector, followArtistService);
+    underTest.shutdown();
+    reset(releaseCollector, artistCollector, followArtistService, authenticationFacade, communityContentService);
   }
 
   @Nested
@@ -56,73 +85,57 @@ class DashboardServiceImplTest implements WithAssertions {
   class DashboardTest {
 
     @Test
-    @DisplayName("followArtistService is called to get current user's followed artists")
-    void test_follow_artist_service_called() {
+    @DisplayName("authenticationFacade is called once to get the current user")
+    void test_authentication_facade_called() {
       // when
       underTest.createDashboardResponse();
 
       // then
-      verify(followArtistService).getFollowedArtistsOfCurrentUser();
+      verify(authenticationFacade).getCurrentUser();
     }
 
     @Test
-    @DisplayName("releaseCollector is called with followed artists to get upcoming releases")
-    void test_release_collector_upcoming_releases() {
-      // given
-      var artists = List.of(ArtistDtoFactory.createDefault());
-      doReturn(artists).when(followArtistService).getFollowedArtistsOfCurrentUser();
-
+    @DisplayName("followArtistService is called to get current user's followed artists")
+    void test_follow_artist_service_called() {
       // when
       underTest.createDashboardResponse();
 
       // then
-      verify(releaseCollector).collectUpcomingReleases(eq(artists));
+      verify(followArtistService).getFollowedArtistsOfUser(userEntity);
     }
 
     @Test
-    @DisplayName("releaseCollector is called with followed artists to get recent releases")
-    void test_release_collector_recent_releases() {
+    @DisplayName("releaseCollector is called with followed artists to get the releases")
+    void test_release_collector_dashboard_releases() {
       // given
-      var artists = List.of(ArtistDtoFactory.createDefault());
-      doReturn(artists).when(followArtistService).getFollowedArtistsOfCurrentUser();
+      var followedArtists = List.of(ArtistDtoFactory.withName("A"));
+      doReturn(followedArtists).when(followArtistService).getFollowedArtistsOfUser(any());
 
       // when
       underTest.createDashboardResponse();
 
       // then
-      verify(releaseCollector).collectRecentReleases(eq(artists));
+      verify(releaseCollector).collectDashboardReleases(followedArtists);
     }
 
     @Test
-    @DisplayName("releaseCollector is called to get most expected releases")
-    void test_release_collector_most_expected_releases() {
-      // given
-      ArgumentCaptor<TimeRange> argumentCaptor = ArgumentCaptor.forClass(TimeRange.class);
-      TemporalUnitLessThanOffset offset = new TemporalUnitLessThanOffset(1, DAYS);
-      var now = LocalDate.now();
-      var expectedTimeRange = new TimeRange(now, now.plusMonths(TIME_RANGE_MONTHS));
-      var artist = ArtistDtoFactory.createDefault();
-      var artists = List.of(artist, artist, artist, artist, artist);
-      doReturn(artists).when(artistCollector).collectTopFollowedArtists(anyInt());
-
+    @DisplayName("communityContentService is called to get top followed artists")
+    void test_community_content_service_top_artists() {
       // when
       underTest.createDashboardResponse();
 
       // then
-      verify(releaseCollector).collectTopReleases(argumentCaptor.capture(), eq(artists), eq(RESULT_LIMIT));
-      var timeRange = argumentCaptor.getValue();
-      assertThat(timeRange.getDateFrom()).isCloseTo(expectedTimeRange.getDateFrom(), offset);
-      assertThat(timeRange.getDateTo()).isCloseTo(expectedTimeRange.getDateTo(), offset);
+      verify(communityContentService).getTopArtists(MIN_FOLLOWER, RESULT_LIMIT);
     }
 
     @Test
-    @DisplayName("artistCollector is called to get top followed artists")
-    void test_artist_collector_top_artists() {
+    @DisplayName("communityContentService is called to get most expected releases")
+    void test_community_content_service_top_upcoming_releases() {
       // when
       underTest.createDashboardResponse();
 
       // then
-      verify(artistCollector).collectTopFollowedArtists(MIN_FOLLOWER);
+      verify(communityContentService).getTopUpcomingReleases(MIN_FOLLOWER, RESULT_LIMIT);
     }
 
     @Test
@@ -132,7 +145,7 @@ class DashboardServiceImplTest implements WithAssertions {
       underTest.createDashboardResponse();
 
       // then
-      verify(artistCollector).collectRecentlyFollowedArtists(RESULT_LIMIT);
+      verify(artistCollector).collectRecentlyFollowedArtists(userEntity, RESULT_LIMIT);
     }
 
     @Test
@@ -140,7 +153,7 @@ class DashboardServiceImplTest implements WithAssertions {
     void test_upcoming_releases_returned() {
       // given
       var releases = List.of(ReleaseDtoFactory.createDefault());
-      doReturn(releases).when(releaseCollector).collectUpcomingReleases(anyList());
+      doReturn(new DashboardReleases(releases, List.of())).when(releaseCollector).collectDashboardReleases(anyList());
 
       // when
       var result = underTest.createDashboardResponse();
@@ -154,7 +167,7 @@ class DashboardServiceImplTest implements WithAssertions {
     void test_recent_releases_returned() {
       // given
       var releases = List.of(ReleaseDtoFactory.createDefault());
-      doReturn(releases).when(releaseCollector).collectRecentReleases(anyList());
+      doReturn(new DashboardReleases(List.of(), releases)).when(releaseCollector).collectDashboardReleases(anyList());
 
       // when
       var result = underTest.createDashboardResponse();
@@ -169,7 +182,7 @@ class DashboardServiceImplTest implements WithAssertions {
       // given
       var artist = ArtistDtoFactory.createDefault();
       var artists = List.of(artist, artist, artist, artist, artist);
-      doReturn(artists).when(artistCollector).collectTopFollowedArtists(anyInt());
+      doReturn(artists).when(communityContentService).getTopArtists(anyInt(), anyInt());
 
       // when
       var result = underTest.createDashboardResponse();
@@ -183,7 +196,7 @@ class DashboardServiceImplTest implements WithAssertions {
     void test_most_expected_releases_returned() {
       // given
       var releases = List.of(ReleaseDtoFactory.createDefault());
-      doReturn(releases).when(releaseCollector).collectTopReleases(any(), any(), anyInt());
+      doReturn(releases).when(communityContentService).getTopUpcomingReleases(anyInt(), anyInt());
 
       // when
       var result = underTest.createDashboardResponse();
@@ -197,13 +210,121 @@ class DashboardServiceImplTest implements WithAssertions {
     void test_recently_followed_artists_returned() {
       // given
       var artists = List.of(ArtistDtoFactory.createDefault());
-      doReturn(artists).when(artistCollector).collectRecentlyFollowedArtists(anyInt());
+      doReturn(artists).when(artistCollector).collectRecentlyFollowedArtists(any(), anyInt());
+
+      // when
+      var result = underTest.createDashboardResponse();
+
+      // then
+      assertThat(result.getRecentlyFollowedArtists()).isEqualTo(artists);
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for concurrent sections")
+  class SectionTest {
+
+    @Test
+    @DisplayName("sections are collected concurrently")
+    void test_sections_collected_concurrently() {
+      // given
+      var artists = List.of(ArtistDtoFactory.createDefault());
+      doAnswer(invocation -> sleep(200, artists)).when(followArtistService).getFollowedArtistsOfUser(any());
+      doAnswer(invocation -> sleep(200, artists)).when(communityContentService).getTopArtists(anyInt(), anyInt());
+      doAnswer(invocation -> sleep(200, artists)).when(artistCollector).collectRecentlyFollowedArtists(any(), anyInt());
+
+      // when
+      long start = System.nanoTime();
+      underTest.createDashboardResponse();
+      long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+      // then
+      assertThat(durationMillis).isLessThan(500);
+    }
+
+    @Test
+    @DisplayName("section that times out is returned empty and the other sections are returned")
+    void test_partial_result_on_timeout() {
+      // given
+      var artists = List.of(ArtistDtoFactory.createDefault());
+      var releases = new DashboardReleases(List.of(ReleaseDtoFactory.createDefault()), List.of(ReleaseDtoFactory.createDefault()));
+      doAnswer(invocation -> sleep(2000, releases)).when(releaseCollector).collectDashboardReleases(anyList());
+      doReturn(artists).when(artistCollector).collectRecentlyFollowedArtists(any(), anyInt());
 
       // when
       var result = underTest.createDashboardResponse();
 
       // then
+      assertThat(result.getUpcomingReleases()).isEmpty();
+      assertThat(result.getRecentReleases()).isEmpty();
       assertThat(result.getRecentlyFollowedArtists()).isEqualTo(artists);
+      assertThat(meterRegistry.counter(SECTION_TIMEOUT_METRIC_NAME, "section", "releases").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("releases are collected with empty artists if the artists section times out")
+    void test_dependent_sections_on_timeout() {
+      // given
+      doAnswer(invocation -> sleep(2000, List.of(ArtistDtoFactory.createDefault()))).when(followArtistService).getFollowedArtistsOfUser(any());
+
+      // when
+      underTest.createDashboardResponse();
+
+      // then
+      verify(releaseCollector).collectDashboardReleases(Collections.emptyList());
+    }
+
+    @Test
+    @DisplayName("section that times out is interrupted")
+    void test_section_interrupted_on_timeout() throws InterruptedException {
+      // given
+      var interrupted = new CountDownLatch(1);
+      doAnswer(invocation -> {
+        try {
+          Thread.sleep(2000);
+        }
+        catch (InterruptedException e) {
+          interrupted.countDown();
+        }
+        return DashboardReleases.EMPTY;
+      }).when(releaseCollector).collectDashboardReleases(anyList());
+
+      // when
+      underTest.createDashboardResponse();
+
+      // then
+      assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("exception of a section is thrown")
+    void test_exception_thrown() {
+      // given
+      var exception = new ExternalServiceException("butler not available");
+      doThrow(exception).when(releaseCollector).collectDashboardReleases(anyList());
+
+      // when
+      var throwable = catchThrowable(() -> underTest.createDashboardResponse());
+
+      // then
+      assertThat(throwable).isSameAs(exception);
+    }
+
+    @Test
+    @DisplayName("latency is reported per section")
+    void test_latency_per_section() {
+      // when
+      underTest.createDashboardResponse();
+
+      // then
+      assertThat(meterRegistry.get(SECTION_LATENCY_METRIC_NAME).timers())
+          .extracting(timer -> timer.getId().getTag("section"))
+          .containsExactlyInAnyOrder("followedArtists", "topFollowedArtists", "mostExpectedReleases", "recentlyFollowedArtists", "releases");
+    }
+
+    private <T> T sleep(long millis, T result) throws InterruptedException {
+      Thread.sleep(millis);
+      return result;
     }
   }
 }
@@ -2,14 +2,15 @@ package rocks.metaldetector.service.dashboard;
 
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import rocks.metaldetector.butler.facade.ReleaseService;
+import rocks.metaldetector.butler.facade.dto.ReleaseDto;
 import rocks.metaldetector.support.DetectorSort;
 import rocks.metaldetector.support.Page;
 import rocks.metaldetector.support.PageRequest;
@@ -22,7 +23,8 @@ import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -43,84 +45,88 @@ class ReleaseCollectorTest implements WithAssertions {
   @Mock
   private ReleaseService releaseService;
 
-  @InjectMocks
   private ReleaseCollector underTest;
 
+  @BeforeEach
+  void setup() {
+    underTest = new ReleaseCollector(releaseService);
+  }
+
   @AfterEach
   void tearDown() {
     reset(releaseService);
   }
 
   @Nested
-  @DisplayName("Tests for upcoming releases")
-  class UpcomingTests {
+  @DisplayName("Tests for top releases")
+  class TopTests {
 
     @Test
-    @DisplayName("collecting upcoming releases does not call releaseService when no artists are given")
-    void test_upcoming_releases_does_not_call_release_service() {
+    @DisplayName("collecting top releases does not call releaseService when no artists are given")
+    void test_top_releases_does_not_call_release_service() {
       // when
-      underTest.collectUpcomingReleases(Collections.emptyList());
+      underTest.collectTopReleases(new TimeRange(), Collections.emptyList(), 10);
 
       // then
       verifyNoInteractions(releaseService);
     }
 
     @Test
-    @DisplayName("collecting upcoming releases calls releaseService with followed artists' names")
-    void test_upcoming_releases_calls_release_service_with_artist_names() {
+    @DisplayName("collecting top releases calls releaseService with top followed artists' names")
+    void test_top_releases_calls_release_service_with_top_artist_names() {
       // given
       var expectedArtistNames = List.of("A");
       var artists = List.of(ArtistDtoFactory.withName("A"));
       doReturn(new Page<>(Collections.emptyList(), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
 
       // when
-      underTest.collectUpcomingReleases(artists);
+      underTest.collectTopReleases(new TimeRange(), artists, 10);
 
       // then
       verify(releaseService).findReleases(eq(expectedArtistNames), any(), any(), any());
     }
 
     @Test
-    @DisplayName("collecting upcoming releases calls releaseService with correct time range")
-    void test_upcoming_releases_calls_release_service_with_time_range() {
+    @DisplayName("collecting top releases calls releaseService with given time range")
+    void test_top_releases_calls_release_service_with_time_range() {
       // given
-      var tomorrow = LocalDate.now().plusDays(1);
-      var expectedTimeRange = new TimeRange(tomorrow, tomorrow.plusMonths(TIME_RANGE_MONTHS));
+      var now = LocalDate.now();
+      var timeRange = new TimeRange(now, now.plusDays(666));
       var artists = List.of(ArtistDtoFactory.withName("A"));
       doReturn(new Page<>(Collections.emptyList(), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
 
       // when
-      underTest.collectUpcomingReleases(artists);
+      underTest.collectTopReleases(timeRange, artists, 10);
 
       // then
-      verify(releaseService).findReleases(any(), eq(expectedTimeRange), any(), any());
+      verify(releaseService).findReleases(any(), eq(timeRange), any(), any());
     }
 
     @Test
-    @DisplayName("collecting upcoming releases calls releaseService without query")
-    void test_upcoming_releases_calls_release_service_without_query() {
+    @DisplayName("collecting top releases calls releaseService without query")
+    void test_top_releases_calls_release_service_without_query() {
       // given
       var artists = List.of(ArtistDtoFactory.withName("A"));
       doReturn(new Page<>(Collections.emptyList(), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
 
       // when
-      underTest.collectUpcomingReleases(artists);
+      underTest.collectTopReleases(new TimeRange(), artists, 10);
 
       // then
       verify(releaseService).findReleases(any(), any(), eq(null), any());
     }
 
     @Test
-    @DisplayName("collecting upcoming releases calls releaseService with correct page request and sorting")
-    void test_upcoming_releases_calls_release_service_with_page_request() {
+    @DisplayName("collecting top releases calls releaseService with correct page request and sorting")
+    void test_top_releases_calls_release_service_with_page_request() {
       // given
-      var sorting = new DetectorSort("releaseDate", ASC);
+      var sorting = new DetectorSort("artist", ASC);
       var expectedPageRequest = new PageRequest(1, PAGE_SIZE, sorting);
       var artists = List.of(ArtistDtoFactory.withName("A"));
       doReturn(new Page<>(Collections.emptyList(), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
 
       // when
-      underTest.collectUpcomingReleases(artists);
+      underTest.collectTopReleases(new TimeRange(), artists, 10);
 
       // then
       verify(releaseService).findReleases(any(), any(), any(), eq(expectedPageRequest));
@@ -128,17 +134,17 @@ class ReleaseCollectorTest implements WithAssertions {
     }
 
     @Test
-    @DisplayName("collecting upcoming releases calls releaseService again if multiple pages are present")
-    void test_upcoming_releases_calls_release_service_again() {
+    @DisplayName("collecting top releases calls releaseService again if multiple pages are present")
+    void test_top_releases_calls_release_service_again() {
       // given
-      var sorting = new DetectorSort("releaseDate", ASC);
+      var sorting = new DetectorSort("artist", ASC);
       var expectedPageRequest1 = new PageRequest(1, PAGE_SIZE, sorting);
       var expectedPageRequest2 = new PageRequest(2, PAGE_SIZE, sorting);
       var artists = List.of(ArtistDtoFactory.withName("A"));
       doReturn(new Page<>(Collections.emptyList(), new Pagination(2, 1, 1))).when(releaseService).findReleases(any(), any(), any(), any());
 
       // when
-      underTest.collectUpcomingReleases(artists);
+      underTest.collectTopReleases(new TimeRange(), artists, 1);
 
       // then
       verify(releaseService).findReleases(any(), any(), any(), eq(expectedPageRequest1));
@@ -146,316 +152,266 @@ class ReleaseCollectorTest implements WithAssertions {
     }
 
     @Test
-    @DisplayName("collecting upcoming releases returns list of releases")
-    void test_upcoming_returns_releases() {
-      // given
-      var artists = List.of(ArtistDtoFactory.withName("A"));
-      var releases = List.of(ReleaseDtoFactory.createDefault(), ReleaseDtoFactory.createDefault());
-      doReturn(new Page<>(releases, new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
-
-      // when
-      var result = underTest.collectUpcomingReleases(artists);
-
-      // then
-      assertThat(result).isEqualTo(releases);
-    }
-
-    @Test
-    @DisplayName("collecting upcoming releases limits returned releases")
-    void test_upcoming_limits_releases() {
-      // given
-      var artists = List.of(ArtistDtoFactory.withName("A"));
-      var releases = Stream.generate(ReleaseDtoFactory::createDefault).limit(RESULT_LIMIT + 1).collect(Collectors.toList());
-      doReturn(new Page<>(releases, new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
-
-      // when
-      var result = underTest.collectUpcomingReleases(artists);
-
-      // then
-      assertThat(result.size()).isEqualTo(RESULT_LIMIT);
-    }
-  }
-
-  @Nested
-  @DisplayName("Tests for recent releases")
-  class RecentTests {
-
-    @Test
-    @DisplayName("collecting recent releases does not call releaseService when no artists are given")
-    void test_recent_releases_does_not_call_release_service() {
-      // when
-      underTest.collectRecentReleases(Collections.emptyList());
-
-      // then
-      verifyNoInteractions(releaseService);
-    }
-
-    @Test
-    @DisplayName("collecting recent releases calls releaseService with followed artists' names")
-    void test_recent_releases_calls_release_service_with_artist_names() {
-      // given
-      var expectedArtistNames = List.of("A");
-      var artists = List.of(ArtistDtoFactory.withName("A"));
-      doReturn(new Page<>(Collections.emptyList(), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
-
-      // when
-      underTest.collectRecentReleases(artists);
-
-      // then
-      verify(releaseService).findReleases(eq(expectedArtistNames), any(), any(), any());
-    }
-
-    @Test
-    @DisplayName("collecting recent releases calls releaseService with correct time range")
-    void test_recent_releases_calls_release_service_with_time_range() {
-      // given
-      var now = LocalDate.now();
-      var expectedTimeRange = new TimeRange(now.minusMonths(TIME_RANGE_MONTHS), now);
-      var artists = List.of(ArtistDtoFactory.withName("A"));
-      doReturn(new Page<>(Collections.emptyList(), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
-
-      // when
-      underTest.collectRecentReleases(artists);
-
-      // then
-      verify(releaseService).findReleases(any(), eq(expectedTimeRange), any(), any());
-    }
-
-    @Test
-    @DisplayName("collecting recent releases calls releaseService without query")
-    void test_recent_releases_calls_release_service_without_query() {
-      // given
-      var artists = List.of(ArtistDtoFactory.withName("A"));
-      doReturn(new Page<>(Collections.emptyList(), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
-
-      // when
-      underTest.collectRecentReleases(artists);
-
-      // then
-      verify(releaseService).findReleases(any(), any(), eq(null), any());
-    }
-
-    @Test
-    @DisplayName("collecting recent releases calls releaseService with correct page request and sorting")
-    void test_recent_releases_calls_release_service_with_page_request() {
+    @DisplayName("collecting top releases fetches releases with most followers first")
+    void test_top_releases_most_followed() {
       // given
-      var expectedSorting = new DetectorSort("releaseDate", DESC);
-      var expectedPageRequest = new PageRequest(1, PAGE_SIZE, expectedSorting);
-      var artists = List.of(ArtistDtoFactory.withName("A"));
-      doReturn(new Page<>(Collections.emptyList(), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
+      var artist1 = ArtistDtoFactory.withName("a");
+      var artist2 = ArtistDtoFactory.withName("b");
+      artist1.setFollower(5);
+      artist2.setFollower(10);
+      var release1 = ReleaseDtoFactory.withArtistName(artist1.getArtistName());
+      var release2 = ReleaseDtoFactory.withArtistName(artist2.getArtistName());
+      var artists = List.of(artist1, artist2);
+      doReturn(new Page<>(List.of(release2, release1), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
 
       // when
-      underTest.collectRecentReleases(artists);
+      var result = underTest.collectTopReleases(new TimeRange(), artists, 1);
 
       // then
-      verify(releaseService).findReleases(any(), any(), any(), eq(expectedPageRequest));
-      verifyNoMoreInteractions(releaseService);
+      assertThat(result).containsExactly(release2);
     }
 
     @Test
-    @DisplayName("collecting recent releases calls releaseService again if multiple pages are present")
-    void test_recent_releases_calls_release_service_again() {
+    @DisplayName("collecting top releases sorts by release date")
+    void test_top_releases_sorted() {
       // given
-      var sorting = new DetectorSort("releaseDate", DESC);
-      var expectedPageRequest1 = new PageRequest(1, PAGE_SIZE, sorting);
-      var expectedPageRequest2 = new PageRequest(2, PAGE_SIZE, sorting);
-      var artists = List.of(ArtistDtoFactory.withName("A"));
-      doReturn(new Page<>(Collections.emptyList(), new Pagination(2, 1, 1))).when(releaseService).findReleases(any(), any(), any(), any());
+      var artist1 = ArtistDtoFactory.withName("a");
+      var artist2 = ArtistDtoFactory.withName("b");
+      var release1 = ReleaseDtoFactory.withArtistName(artist1.getArtistName());
+      var release2 = ReleaseDtoFactory.withArtistName(artist2.getArtistName());
+      release2.setReleaseDate(LocalDate.now().minusDays(10));
+      var artists = List.of(artist1, artist2);
+      doReturn(new Page<>(List.of(release2, release1), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
 
       // when
-      underTest.collectRecentReleases(artists);
+      var result = underTest.collectTopReleases(new TimeRange(), artists, 10);
 
       // then
-      verify(releaseService).findReleases(any(), any(), any(), eq(expectedPageRequest1));
-      verify(releaseService).findReleases(any(), any(), any(), eq(expectedPageRequest2));
+      assertThat(result).hasSize(2);
+      assertThat(result.get(0)).isEqualTo(release2);
+      assertThat(result.get(1)).isEqualTo(release1);
     }
 
     @Test
-    @DisplayName("collecting recent releases returns list of releases")
-    void test_recent_returns_releases() {
+    @DisplayName("collecting top releases limits to given value")
+    void test_top_releases_limited() {
       // given
-      var artists = List.of(ArtistDtoFactory.withName("A"));
-      var releases = List.of(ReleaseDtoFactory.createDefault(), ReleaseDtoFactory.createDefault());
-      doReturn(new Page<>(releases, new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
+      var maxReleases = 1;
+      var artist1 = ArtistDtoFactory.withName("a");
+      var artist2 = ArtistDtoFactory.withName("b");
+      artist1.setFollower(2);
+      artist2.setFollower(1);
+      var release1 = ReleaseDtoFactory.withArtistName(artist1.getArtistName());
+      var release2 = ReleaseDtoFactory.withArtistName(artist2.getArtistName());
+      var artists = List.of(artist1, artist2);
+      doReturn(new Page<>(List.of(release2, release1), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
 
       // when
-      var result = underTest.collectRecentReleases(artists);
+      var result = underTest.collectTopReleases(new TimeRange(), artists, maxReleases);
 
       // then
-      assertThat(result).isEqualTo(releases);
+      assertThat(result).hasSize(maxReleases);
+      assertThat(result).containsExactly(release1);
     }
 
     @Test
-    @DisplayName("collecting recent releases limits returned releases")
-    void test_recent_limits_releases() {
+    @DisplayName("collecting top releases selects the releases with most followers across pages")
+    void test_top_releases_across_pages() {
       // given
-      var artists = List.of(ArtistDtoFactory.withName("A"));
-      var releases = Stream.generate(ReleaseDtoFactory::createDefault).limit(RESULT_LIMIT + 1).collect(Collectors.toList());
-      doReturn(new Page<>(releases, new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
+      var artist1 = ArtistDtoFactory.withName("a");
+      var artist2 = ArtistDtoFactory.withName("b");
+      artist1.setFollower(1);
+      artist2.setFollower(2);
+      var release1 = ReleaseDtoFactory.withArtistName("A");
+      var release2 = ReleaseDtoFactory.withArtistName("B");
+      doReturn(new Page<>(List.of(release1), new Pagination(2, 1, 1))).when(releaseService).findReleases(any(), any(), any(), eq(new PageRequest(1, PAGE_SIZE, new DetectorSort("artist", ASC))));
+      doReturn(new Page<>(List.of(release2), new Pagination(2, 2, 1))).when(releaseService).findReleases(any(), any(), any(), eq(new PageRequest(2, PAGE_SIZE, new DetectorSort("artist", ASC))));
 
       // when
-      var result = underTest.collectRecentReleases(artists);
+      var result = underTest.collectTopReleases(new TimeRange(), List.of(artist1, artist2), 1);
 
       // then
-      assertThat(result.size()).isEqualTo(RESULT_LIMIT);
+      assertThat(result).containsExactly(release2);
     }
   }
 
   @Nested
-  @DisplayName("Tests for top releases")
-  class TopTests {
+  @DisplayName("Tests for dashboard releases")
+  class DashboardReleasesTests {
+
+    private final LocalDate today = LocalDate.now();
 
     @Test
-    @DisplayName("collecting top releases does not call releaseService when no artists are given")
-    void test_top_releases_does_not_call_release_service() {
+    @DisplayName("collecting dashboard releases does not call releaseService when no artists are given")
+    void test_dashboard_releases_does_not_call_release_service() {
       // when
-      underTest.collectTopReleases(new TimeRange(), Collections.emptyList(), 10);
+      var result = underTest.collectDashboardReleases(Collections.emptyList());
 
       // then
       verifyNoInteractions(releaseService);
+      assertThat(result).isSameAs(DashboardReleases.EMPTY);
     }
 
     @Test
-    @DisplayName("collecting top releases calls releaseService with top followed artists' names")
-    void test_top_releases_calls_release_service_with_top_artist_names() {
+    @DisplayName("collecting dashboard releases walks the followed artists ascending from tomorrow and descending until today")
+    void test_dashboard_releases_calls_release_service_per_direction() {
       // given
-      var expectedArtistNames = List.of("A");
-      var artists = List.of(ArtistDtoFactory.withName("A"));
+      var followedArtists = List.of(ArtistDtoFactory.withName("A"), ArtistDtoFactory.withName("B"));
+      var expectedAscendingTimeRange = new TimeRange(today.plusDays(1), today.plusDays(1).plusMonths(TIME_RANGE_MONTHS));
+      var expectedDescendingTimeRange = new TimeRange(today.minusMonths(TIME_RANGE_MONTHS), today);
       doReturn(new Page<>(Collections.emptyList(), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
 
       // when
-      underTest.collectTopReleases(new TimeRange(), artists, 10);
+      underTest.collectDashboardReleases(followedArtists);
 
       // then
-      verify(releaseService).findReleases(eq(expectedArtistNames), any(), any(), any());
+      verify(releaseService).findReleases(List.of("A", "B"), expectedAscendingTimeRange, null, pageRequest(1, ASC));
+      verify(releaseService).findReleases(List.of("A", "B"), expectedDescendingTimeRange, null, pageRequest(1, DESC));
+      verifyNoMoreInteractions(releaseService);
     }
 
     @Test
-    @DisplayName("collecting top releases calls releaseService with given time range")
-    void test_top_releases_calls_release_service_with_time_range() {
+    @DisplayName("collecting dashboard releases derives upcoming and recent releases of the followed artists")
+    void test_dashboard_releases_upcoming_and_recent() {
       // given
-      var now = LocalDate.now();
-      var timeRange = new TimeRange(now, now.plusDays(666));
-      var artists = List.of(ArtistDtoFactory.withName("A"));
-      doReturn(new Page<>(Collections.emptyList(), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
+      var followedArtists = List.of(ArtistDtoFactory.withName("A"));
+      var upcoming = release("A", today.plusDays(5));
+      var recent = release("A", today.minusDays(5));
+      doReturn(new Page<>(List.of(upcoming), new Pagination())).when(releaseService).findReleases(any(), any(), any(), eq(pageRequest(1, ASC)));
+      doReturn(new Page<>(List.of(recent), new Pagination())).when(releaseService).findReleases(any(), any(), any(), eq(pageRequest(1, DESC)));
 
       // when
-      underTest.collectTopReleases(timeRange, artists, 10);
+      var result = underTest.collectDashboardReleases(followedArtists);
 
       // then
-      verify(releaseService).findReleases(any(), eq(timeRange), any(), any());
+      assertThat(result.getUpcomingReleases()).containsExactly(upcoming);
+      assertThat(result.getRecentReleases()).containsExactly(recent);
     }
 
     @Test
-    @DisplayName("collecting top releases calls releaseService without query")
-    void test_top_releases_calls_release_service_without_query() {
+    @DisplayName("collecting dashboard releases keeps the earliest upcoming and latest recent releases")
+    void test_dashboard_releases_limited() {
       // given
-      var artists = List.of(ArtistDtoFactory.withName("A"));
-      doReturn(new Page<>(Collections.emptyList(), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
+      var followedArtists = List.of(ArtistDtoFactory.withName("A"));
+      var releasesAhead = IntStream.rangeClosed(1, RESULT_LIMIT + 2)
+          .mapToObj(days -> release("A", today.plusDays(days)))
+          .collect(Collectors.toList());
+      var releasesBehind = IntStream.rangeClosed(0, RESULT_LIMIT + 2)
+          .mapToObj(days -> release("A", today.minusDays(days)))
+          .collect(Collectors.toList());
+      doReturn(new Page<>(releasesAhead, new Pagination())).when(releaseService).findReleases(any(), any(), any(), eq(pageRequest(1, ASC)));
+      doReturn(new Page<>(releasesBehind, new Pagination())).when(releaseService).findReleases(any(), any(), any(), eq(pageRequest(1, DESC)));
 
       // when
-      underTest.collectTopReleases(new TimeRange(), artists, 10);
+      var result = underTest.collectDashboardReleases(followedArtists);
 
       // then
-      verify(releaseService).findReleases(any(), any(), eq(null), any());
+      assertThat(result.getUpcomingReleases()).hasSize(RESULT_LIMIT);
+      assertThat(result.getUpcomingReleases().get(0).getReleaseDate()).isEqualTo(today.plusDays(1));
+      assertThat(result.getUpcomingReleases().get(RESULT_LIMIT - 1).getReleaseDate()).isEqualTo(today.plusDays(RESULT_LIMIT));
+      assertThat(result.getRecentReleases()).hasSize(RESULT_LIMIT);
+      assertThat(result.getRecentReleases().get(0).getReleaseDate()).isEqualTo(today);
+      assertThat(result.getRecentReleases().get(RESULT_LIMIT - 1).getReleaseDate()).isEqualTo(today.minusDays(RESULT_LIMIT - 1));
     }
 
     @Test
-    @DisplayName("collecting top releases calls releaseService with correct page request and sorting")
-    void test_top_releases_calls_release_service_with_page_request() {
+    @DisplayName("collecting dashboard releases skips releases without release date")
+    void test_dashboard_releases_without_release_date() {
       // given
-      var sorting = new DetectorSort("artist", ASC);
-      var expectedPageRequest = new PageRequest(1, PAGE_SIZE, sorting);
-      var artists = List.of(ArtistDtoFactory.withName("A"));
-      doReturn(new Page<>(Collections.emptyList(), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
+      var followedArtists = List.of(ArtistDtoFactory.withName("A"));
+      var withoutReleaseDate = release("A", null);
+      var upcoming = release("A", today.plusDays(5));
+      var recent = release("A", today.minusDays(5));
+      doReturn(new Page<>(List.of(withoutReleaseDate, upcoming), new Pagination())).when(releaseService).findReleases(any(), any(), any(), eq(pageRequest(1, ASC)));
+      doReturn(new Page<>(List.of(withoutReleaseDate, recent), new Pagination())).when(releaseService).findReleases(any(), any(), any(), eq(pageRequest(1, DESC)));
 
       // when
-      underTest.collectTopReleases(new TimeRange(), artists, 10);
+      var result = underTest.collectDashboardReleases(followedArtists);
 
       // then
-      verify(releaseService).findReleases(any(), any(), any(), eq(expectedPageRequest));
-      verifyNoMoreInteractions(releaseService);
+      assertThat(result.getUpcomingReleases()).containsExactly(upcoming);
+      assertThat(result.getRecentReleases()).containsExactly(recent);
     }
 
     @Test
-    @DisplayName("collecting top releases calls releaseService again if multiple pages are present")
-    void test_top_releases_calls_release_service_again() {
+    @DisplayName("collecting dashboard releases orders releases on the same date by id")
+    void test_dashboard_releases_same_date_ordered_by_id() {
       // given
-      var sorting = new DetectorSort("artist", ASC);
-      var expectedPageRequest1 = new PageRequest(1, PAGE_SIZE, sorting);
-      var expectedPageRequest2 = new PageRequest(2, PAGE_SIZE, sorting);
-      var artists = List.of(ArtistDtoFactory.withName("A"));
-      doReturn(new Page<>(Collections.emptyList(), new Pagination(2, 1, 1))).when(releaseService).findReleases(any(), any(), any(), any());
+      var followedArtists = List.of(ArtistDtoFactory.withName("A"));
+      var releasesAhead = IntStream.rangeClosed(1, RESULT_LIMIT + 2)
+          .mapToObj(id -> release(RESULT_LIMIT + 3 - id, "A", today.plusDays(1)))
+          .collect(Collectors.toList());
+      var releasesBehind = IntStream.rangeClosed(1, RESULT_LIMIT + 2)
+          .mapToObj(id -> release(id, "A", today.minusDays(1)))
+          .collect(Collectors.toList());
+      doReturn(new Page<>(releasesAhead, new Pagination())).when(releaseService).findReleases(any(), any(), any(), eq(pageRequest(1, ASC)));
+      doReturn(new Page<>(releasesBehind, new Pagination())).when(releaseService).findReleases(any(), any(), any(), eq(pageRequest(1, DESC)));
 
       // when
-      underTest.collectTopReleases(new TimeRange(), artists, 1);
+      var result = underTest.collectDashboardReleases(followedArtists);
 
       // then
-      verify(releaseService).findReleases(any(), any(), any(), eq(expectedPageRequest1));
-      verify(releaseService).findReleases(any(), any(), any(), eq(expectedPageRequest2));
+      assertThat(result.getUpcomingReleases()).extracting(ReleaseDto::getId)
+          .containsExactlyElementsOf(LongStream.rangeClosed(1, RESULT_LIMIT).boxed().collect(Collectors.toList()));
+      assertThat(result.getRecentReleases()).extracting(ReleaseDto::getId)
+          .containsExactlyElementsOf(LongStream.rangeClosed(3, RESULT_LIMIT + 2).map(id -> RESULT_LIMIT + 5 - id).boxed().collect(Collectors.toList()));
     }
 
     @Test
-    @DisplayName("collecting top releases fetches releases with most followers first")
-    void test_top_releases_most_followed() {
+    @DisplayName("collecting dashboard releases stops paging as soon as the upcoming and recent releases are complete")
+    void test_dashboard_releases_stops_paging() {
       // given
-      var artist1 = ArtistDtoFactory.withName("a");
-      var artist2 = ArtistDtoFactory.withName("b");
-      artist1.setFollower(5);
-      artist2.setFollower(10);
-      var release1 = ReleaseDtoFactory.withArtistName(artist1.getArtistName());
-      var release2 = ReleaseDtoFactory.withArtistName(artist2.getArtistName());
-      var artists = List.of(artist1, artist2);
-      doReturn(new Page<>(List.of(release2, release1), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
+      var followedArtists = List.of(ArtistDtoFactory.withName("A"));
+      var releasesAhead = IntStream.range(0, PAGE_SIZE).mapToObj(days -> release("A", today.plusDays(days))).collect(Collectors.toList());
+      var releasesBehind = IntStream.range(0, PAGE_SIZE).mapToObj(days -> release("A", today.minusDays(days))).collect(Collectors.toList());
+      doReturn(new Page<>(releasesAhead, new Pagination(3 * PAGE_SIZE, 1, PAGE_SIZE))).when(releaseService).findReleases(any(), any(), any(), eq(pageRequest(1, ASC)));
+      doReturn(new Page<>(releasesBehind, new Pagination(3 * PAGE_SIZE, 1, PAGE_SIZE))).when(releaseService).findReleases(any(), any(), any(), eq(pageRequest(1, DESC)));
 
       // when
-      var result = underTest.collectTopReleases(new TimeRange(), artists, 1);
+      underTest.collectDashboardReleases(followedArtists);
 
       // then
-      assertThat(result).containsExactly(release2);
+      verify(releaseService).findReleases(any(), any(), any(), eq(pageRequest(1, ASC)));
+      verify(releaseService).findReleases(any(), any(), any(), eq(pageRequest(1, DESC)));
+      verifyNoMoreInteractions(releaseService);
     }
 
     @Test
-    @DisplayName("collecting top releases sorts by release date")
-    void test_top_releases_sorted() {
+    @DisplayName("collecting dashboard releases fetches further pages as long as the releases are not complete")
+    void test_dashboard_releases_continues_paging() {
       // given
-      var artist1 = ArtistDtoFactory.withName("a");
-      var artist2 = ArtistDtoFactory.withName("b");
-      var release1 = ReleaseDtoFactory.withArtistName(artist1.getArtistName());
-      var release2 = ReleaseDtoFactory.withArtistName(artist2.getArtistName());
-      release2.setReleaseDate(LocalDate.now().minusDays(10));
-      var artists = List.of(artist1, artist2);
-      doReturn(new Page<>(List.of(release2, release1), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
+      var followedArtists = List.of(ArtistDtoFactory.withName("A"));
+      var firstPageAhead = List.of(release("A", today.plusDays(10)));
+      var secondPageAhead = List.of(release("A", today.plusDays(20)));
+      var firstPageBehind = List.of(release("A", today.minusDays(10)));
+      var secondPageBehind = List.of(release("A", today.minusDays(20)));
+      doReturn(new Page<>(firstPageAhead, new Pagination(2, 1, 1))).when(releaseService).findReleases(any(), any(), any(), eq(pageRequest(1, ASC)));
+      doReturn(new Page<>(secondPageAhead, new Pagination(2, 2, 1))).when(releaseService).findReleases(any(), any(), any(), eq(pageRequest(2, ASC)));
+      doReturn(new Page<>(firstPageBehind, new Pagination(2, 1, 1))).when(releaseService).findReleases(any(), any(), any(), eq(pageRequest(1, DESC)));
+      doReturn(new Page<>(secondPageBehind, new Pagination(2, 2, 1))).when(releaseService).findReleases(any(), any(), any(), eq(pageRequest(2, DESC)));
 
       // when
-      var result = underTest.collectTopReleases(new TimeRange(), artists, 10);
+      var result = underTest.collectDashboardReleases(followedArtists);
 
       // then
-      assertThat(result).hasSize(2);
-      assertThat(result.get(0)).isEqualTo(release2);
-      assertThat(result.get(1)).isEqualTo(release1);
+      assertThat(result.getUpcomingReleases()).containsExactly(firstPageAhead.get(0), secondPageAhead.get(0));
+      assertThat(result.getRecentReleases()).containsExactly(firstPageBehind.get(0), secondPageBehind.get(0));
     }
 
-    @Test
-    @DisplayName("collecting top releases limits to given value")
-    void test_top_releases_limited() {
-      // given
-      var maxReleases = 1;
-      var artist1 = ArtistDtoFactory.withName("a");
-      var artist2 = ArtistDtoFactory.withName("b");
-      artist1.setFollower(2);
-      artist2.setFollower(1);
-      var release1 = ReleaseDtoFactory.withArtistName(artist1.getArtistName());
-      var release2 = ReleaseDtoFactory.withArtistName(artist2.getArtistName());
-      var artists = List.of(artist1, artist2);
-      doReturn(new Page<>(List.of(release2, release1), new Pagination())).when(releaseService).findReleases(any(), any(), any(), any());
+    private PageRequest pageRequest(int page, DetectorSort.Direction direction) {
+      return new PageRequest(page, PAGE_SIZE, new DetectorSort("releaseDate", direction));
+    }
 
-      // when
-      var result = underTest.collectTopReleases(new TimeRange(), artists, maxReleases);
+    private ReleaseDto release(long id, String artistName, LocalDate releaseDate) {
+      var release = release(artistName, releaseDate);
+      release.setId(id);
+      return release;
+    }
 
-      // then
-      assertThat(result).hasSize(maxReleases);
-      assertThat(result).containsExactly(release1);
+    private ReleaseDto release(String artistName, LocalDate releaseDate) {
+      var release = ReleaseDtoFactory.withArtistName(artistName);
+      release.setReleaseDate(releaseDate);
+      return release;
     }
   }
 }
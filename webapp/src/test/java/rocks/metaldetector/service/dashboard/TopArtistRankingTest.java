@@ -0,0 +1,142 @@
+package rocks.metaldetector.service.dashboard;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rocks.metaldetector.persistence.domain.artist.ArtistRepository;
+import rocks.metaldetector.persistence.domain.artist.TopArtist;
+import rocks.metaldetector.service.artist.ArtistDto;
+import rocks.metaldetector.service.artist.transformer.ArtistDtoTransformer;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static rocks.metaldetector.service.dashboard.TopArtistRanking.MAX_SIZE;
+
+@ExtendWith(MockitoExtension.class)
+class TopArtistRankingTest implements WithAssertions {
+
+  @Mock
+  private ArtistRepository artistRepository;
+
+  @Mock
+  private ArtistDtoTransformer artistDtoTransformer;
+
+  private TopArtistRanking underTest;
+
+  private final List<TopArtist> topArtists = List.of(mock(TopArtist.class), mock(TopArtist.class), mock(TopArtist.class));
+  private final List<ArtistDto> artistDtos = List.of(artistWithFollower("A", 5), artistWithFollower("B", 3), artistWithFollower("C", 1));
+
+  @BeforeEach
+  void setup() {
+    underTest = new TopArtistRanking(artistRepository, artistDtoTransformer);
+  }
+
+  @AfterEach
+  void tearDown() {
+    reset(artistRepository, artistDtoTransformer);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  @DisplayName("ranking is built from the top artists of the artistRepository")
+  void test_ranking_built_from_repository() {
+    // given
+    mockTopArtists();
+
+    // when
+    var result = underTest.getTopArtists(1);
+
+    // then
+    verify(artistRepository).findTopArtists(1, PageRequest.of(0, MAX_SIZE));
+    assertThat(result).isEqualTo(artistDtos);
+  }
+
+  @Test
+  @DisplayName("only artists with at least the given number of followers are returned")
+  void test_min_follower() {
+    // given
+    mockTopArtists();
+
+    // when
+    var result = underTest.getTopArtists(3);
+
+    // then
+    assertThat(result).containsExactly(artistDtos.get(0), artistDtos.get(1));
+  }
+
+  @Test
+  @DisplayName("ranking is built only once as long as it is not invalidated")
+  void test_ranking_reused() {
+    // given
+    mockTopArtists();
+
+    // when
+    underTest.getTopArtists(1);
+    underTest.getTopArtists(2);
+
+    // then
+    verify(artistRepository, times(1)).findTopArtists(anyInt(), any());
+  }
+
+  @Test
+  @DisplayName("ranking is rebuilt after it has been invalidated")
+  void test_ranking_rebuilt_after_invalidation() {
+    // given
+    mockTopArtists();
+    underTest.getTopArtists(1);
+
+    // when
+    underTest.invalidate();
+    underTest.getTopArtists(1);
+
+    // then
+    verify(artistRepository, times(2)).findTopArtists(anyInt(), any());
+  }
+
+  @Test
+  @DisplayName("within a transaction the ranking is invalidated after the commit")
+  void test_invalidation_after_commit() {
+    // given
+    mockTopArtists();
+    underTest.getTopArtists(1);
+    TransactionSynchronizationManager.initSynchronization();
+
+    // when
+    underTest.invalidate();
+    underTest.getTopArtists(1);
+
+    // then
+    verify(artistRepository, times(1)).findTopArtists(anyInt(), any());
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    underTest.getTopArtists(1);
+    verify(artistRepository, times(2)).findTopArtists(anyInt(), any());
+  }
+
+  private void mockTopArtists() {
+    doReturn(topArtists).when(artistRepository).findTopArtists(anyInt(), any());
+    for (int i = 0; i < topArtists.size(); i++) {
+      doReturn(artistDtos.get(i)).when(artistDtoTransformer).transformTopArtist(topArtists.get(i));
+    }
+  }
+
+  private static ArtistDto artistWithFollower(String name, int follower) {
+    return ArtistDto.builder().artistName(name).follower(follower).build();
+  }
+}
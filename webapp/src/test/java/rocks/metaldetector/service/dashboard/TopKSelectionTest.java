@@ -0,0 +1,50 @@
+package rocks.metaldetector.service.dashboard;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+class TopKSelectionTest implements WithAssertions {
+
+  @Test
+  @DisplayName("the k greatest elements are kept")
+  void test_greatest_elements_kept() {
+    // given
+    var underTest = new TopKSelection<Integer>(3, Comparator.naturalOrder());
+
+    // when
+    List.of(5, 1, 9, 3, 7, 2).forEach(underTest::offer);
+
+    // then
+    assertThat(underTest.toList(Comparator.reverseOrder())).containsExactly(9, 7, 5);
+  }
+
+  @Test
+  @DisplayName("all elements are kept if there are less than k")
+  void test_less_than_k_elements() {
+    // given
+    var underTest = new TopKSelection<Integer>(3, Comparator.naturalOrder());
+
+    // when
+    List.of(2, 1).forEach(underTest::offer);
+
+    // then
+    assertThat(underTest.toList(Comparator.naturalOrder())).containsExactly(1, 2);
+  }
+
+  @Test
+  @DisplayName("nothing is kept if k is zero")
+  void test_k_zero() {
+    // given
+    var underTest = new TopKSelection<Integer>(0, Comparator.naturalOrder());
+
+    // when
+    List.of(2, 1).forEach(underTest::offer);
+
+    // then
+    assertThat(underTest.toList(Comparator.naturalOrder())).isEmpty();
+  }
+}
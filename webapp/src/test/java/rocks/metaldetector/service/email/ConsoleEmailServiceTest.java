@@ -34,6 +34,9 @@ class ConsoleEmailServiceTest implements WithAssertions {
   @Mock
   private MailProperties mailProperties;
 
+  @Mock
+  private ReleaseFragmentRenderer releaseFragmentRenderer;
+
   @InjectMocks
   private ConsoleEmailService emailService;
 
@@ -45,7 +48,7 @@ class ConsoleEmailServiceTest implements WithAssertions {
 
   @AfterEach
   void tearDown() {
-    reset(templateEngine, mailProperties);
+    reset(templateEngine, mailProperties, releaseFragmentRenderer);
   }
 
   @Test
@@ -80,4 +83,19 @@ class ConsoleEmailServiceTest implements WithAssertions {
     // then
     verify(mailProperties).getFromEmail();
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("Sending an email to Console should add the release fragment renderer to the context")
+  void send_email_should_add_release_fragment_renderer() {
+    // given
+    ArgumentCaptor<Context> contextCaptor = ArgumentCaptor.forClass(Context.class);
+    AbstractEmail email = new ReleasesEmail("john.doe@example.com", "JohnDoe", Collections.emptyList(), Collections.emptyList());
+
+    // when
+    emailService.sendEmail(email);
+
+    // then
+    verify(releaseFragmentRenderer).addTo(contextCaptor.capture());
+    verify(templateEngine).process(email.getTemplateName(), contextCaptor.getValue());
+  }
+}
@@ -43,6 +43,12 @@ class JavaMailEmailServiceTest implements WithAssertions {
   @Mock
   private MimeMessageHelper mimeMessageHelperMock;
 
+  @Mock
+  private MailPipeline mailPipeline;
+
+  @Mock
+  private ReleaseFragmentRenderer releaseFragmentRenderer;
+
   @InjectMocks
   private JavaMailEmailService underTest;
 
@@ -53,7 +59,7 @@ class JavaMailEmailServiceTest implements WithAssertions {
 
   @AfterEach
   void tearDown() {
-    reset(emailSender, templateEngine, mailProperties, messageHelperFunction);
+    reset(emailSender, templateEngine, mailProperties, messageHelperFunction, mailPipeline, releaseFragmentRenderer);
   }
 
   @Test
@@ -88,6 +94,21 @@ class JavaMailEmailServiceTest implements WithAssertions {
     assertThat(contextCaptor.getValue().getVariable("verificationUrl")).isEqualTo(EXPECTED_VERIFICATION_URL);
   }
 
+  @Test
+  @DisplayName("Should add release fragment renderer to the context")
+  void should_add_release_fragment_renderer() {
+    // given
+    ArgumentCaptor<Context> contextCaptor = ArgumentCaptor.forClass(Context.class);
+    AbstractEmail email = new ForgotPasswordEmail("john.doe@example.com", "user", "token");
+
+    // when
+    underTest.sendEmail(email);
+
+    // then
+    verify(releaseFragmentRenderer).addTo(contextCaptor.capture());
+    verify(templateEngine).process(email.getTemplateName(), contextCaptor.getValue());
+  }
+
   @Test
   @DisplayName("Should call MessageHelperFunction")
   void should_call_message_helper_function() {
@@ -129,7 +150,7 @@ class JavaMailEmailServiceTest implements WithAssertions {
   }
 
   @Test
-  @DisplayName("Should send mime message via emailSender")
+  @DisplayName("Should pass mime message to mail pipeline")
   void should_send_message() {
     // given
     AbstractEmail email = new RegistrationVerificationEmail("john.doe@example.com", "username", "token");
@@ -140,6 +161,6 @@ class JavaMailEmailServiceTest implements WithAssertions {
     underTest.sendEmail(email);
 
     // then
-    verify(emailSender).send(mimeMessageMock);
+    verify(mailPipeline).enqueue(mimeMessageMock);
   }
 }
@@ -0,0 +1,200 @@
+package rocks.metaldetector.service.email;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.NoSuchProviderException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import rocks.metaldetector.config.misc.MailPipelineProperties;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static rocks.metaldetector.service.email.MailPipeline.MESSAGES_METRIC_NAME;
+import static rocks.metaldetector.service.email.MailPipeline.QUEUE_DEPTH_METRIC_NAME;
+import static rocks.metaldetector.service.email.MailPipeline.SEND_LATENCY_METRIC_NAME;
+
+class MailPipelineTest implements WithAssertions {
+
+  private JavaMailSenderImpl mailSender;
+  private Session session;
+  private Transport transport;
+  private MailPipelineProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private MailPipeline underTest;
+
+  @BeforeEach
+  void setup() throws Exception {
+    mailSender = mock(JavaMailSenderImpl.class);
+    session = mock(Session.class);
+    transport = mock(Transport.class);
+    doReturn("localhost").when(mailSender).getHost();
+    doReturn(1025).when(mailSender).getPort();
+    doReturn(session).when(mailSender).getSession();
+    doReturn(transport).when(session).getTransport(anyString());
+    doReturn(true).when(transport).isConnected();
+
+    properties = new MailPipelineProperties();
+    properties.setConnections(1);
+    properties.setBatchSize(2);
+    properties.setShutdownTimeout(Duration.ofSeconds(5));
+    meterRegistry = new SimpleMeterRegistry();
+    underTest = new MailPipeline(mailSender, properties, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("all messages are sent over the same connection")
+  void test_messages_sent_over_one_connection() throws Exception {
+    // given
+    var messages = new MimeMessage[] {mock(MimeMessage.class), mock(MimeMessage.class), mock(MimeMessage.class)};
+    for (MimeMessage message : messages) {
+      underTest.enqueue(message);
+    }
+
+    // when
+    underTest.start();
+    underTest.shutdown();
+
+    // then
+    verify(session).getTransport("smtp");
+    verify(transport).connect("localhost", 1025, null, null);
+    for (MimeMessage message : messages) {
+      verify(message).saveChanges();
+      verify(transport).sendMessage(message, message.getAllRecipients());
+    }
+    verify(transport).close();
+  }
+
+  @Test
+  @DisplayName("connection is reopened if it was closed by the server")
+  void test_reconnect() throws Exception {
+    // given
+    var message = mock(MimeMessage.class);
+    doThrow(new MessagingException("connection closed")).doNothing().when(transport).sendMessage(any(), any());
+    doReturn(false).when(transport).isConnected();
+    underTest.enqueue(message);
+
+    // when
+    underTest.start();
+    underTest.shutdown();
+
+    // then
+    verify(transport, times(2)).connect("localhost", 1025, null, null);
+    verify(transport, times(2)).sendMessage(any(), any());
+    assertThat(meterRegistry.counter(MESSAGES_METRIC_NAME, "outcome", "success").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("failing message is not sent again and does not stop the pipeline")
+  void test_failing_message() throws Exception {
+    // given
+    var failingMessage = mock(MimeMessage.class);
+    var message = mock(MimeMessage.class);
+    doThrow(new SendFailedException("invalid address")).when(transport).sendMessage(failingMessage, failingMessage.getAllRecipients());
+    underTest.enqueue(failingMessage);
+    underTest.enqueue(message);
+
+    // when
+    underTest.start();
+    underTest.shutdown();
+
+    // then
+    verify(transport).sendMessage(failingMessage, failingMessage.getAllRecipients());
+    verify(transport).sendMessage(message, message.getAllRecipients());
+    assertThat(meterRegistry.counter(MESSAGES_METRIC_NAME, "outcome", "error").count()).isEqualTo(1);
+    assertThat(meterRegistry.counter(MESSAGES_METRIC_NAME, "outcome", "success").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("failing connection attempt does not stop the pipeline")
+  void test_failing_connection() throws Exception {
+    // given
+    var failingMessage = mock(MimeMessage.class);
+    var message = mock(MimeMessage.class);
+    doThrow(new NoSuchProviderException("smtp")).doThrow(new NoSuchProviderException("smtp")).doReturn(transport)
+        .when(session).getTransport(anyString());
+    underTest.enqueue(failingMessage);
+    underTest.enqueue(message);
+
+    // when
+    underTest.start();
+    underTest.shutdown();
+
+    // then
+    verify(transport, never()).sendMessage(failingMessage, failingMessage.getAllRecipients());
+    verify(transport).sendMessage(message, message.getAllRecipients());
+    assertThat(meterRegistry.counter(MESSAGES_METRIC_NAME, "outcome", "error").count()).isEqualTo(1);
+    assertThat(meterRegistry.counter(MESSAGES_METRIC_NAME, "outcome", "success").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("runtime exception of a message does not stop the pipeline")
+  void test_runtime_exception() throws Exception {
+    // given
+    var failingMessage = mock(MimeMessage.class);
+    var message = mock(MimeMessage.class);
+    doThrow(new IllegalStateException("broken message")).when(failingMessage).saveChanges();
+    underTest.enqueue(failingMessage);
+    underTest.enqueue(message);
+
+    // when
+    underTest.start();
+    underTest.shutdown();
+
+    // then
+    verify(transport, never()).sendMessage(failingMessage, failingMessage.getAllRecipients());
+    verify(transport).sendMessage(message, message.getAllRecipients());
+    assertThat(meterRegistry.counter(MESSAGES_METRIC_NAME, "outcome", "error").count()).isEqualTo(1);
+    assertThat(meterRegistry.counter(MESSAGES_METRIC_NAME, "outcome", "success").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("message is dropped if the queue is full")
+  void test_queue_full() {
+    // given
+    properties.setQueueCapacity(1);
+    properties.setEnqueueTimeout(Duration.ZERO);
+    meterRegistry = new SimpleMeterRegistry();
+    underTest = new MailPipeline(mailSender, properties, meterRegistry);
+    underTest.enqueue(mock(MimeMessage.class));
+
+    // when
+    underTest.enqueue(mock(MimeMessage.class));
+
+    // then
+    assertThat(meterRegistry.get(QUEUE_DEPTH_METRIC_NAME).gauge().value()).isEqualTo(1);
+    assertThat(meterRegistry.counter(MESSAGES_METRIC_NAME, "outcome", "dropped").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("queue depth and send latency are reported")
+  void test_metrics() throws Exception {
+    // given
+    underTest.enqueue(mock(MimeMessage.class));
+    underTest.enqueue(mock(MimeMessage.class));
+
+    // when
+    var queueDepth = meterRegistry.get(QUEUE_DEPTH_METRIC_NAME).gauge().value();
+    underTest.start();
+    underTest.shutdown();
+
+    // then
+    assertThat(queueDepth).isEqualTo(2);
+    assertThat(meterRegistry.get(QUEUE_DEPTH_METRIC_NAME).gauge().value()).isZero();
+    assertThat(meterRegistry.get(SEND_LATENCY_METRIC_NAME).timer().count()).isEqualTo(2);
+  }
+}
@@ -0,0 +1,158 @@
+package rocks.metaldetector.service.email;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.spring6.ISpringTemplateEngine;
+import rocks.metaldetector.butler.facade.dto.ReleaseDto;
+import rocks.metaldetector.config.misc.EmailRenderingProperties;
+
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static rocks.metaldetector.config.constants.ViewNames.EmailTemplates.RELEASE_ROW;
+import static rocks.metaldetector.service.email.ReleaseFragmentRenderer.FRAGMENT_NAME;
+import static rocks.metaldetector.service.email.ReleaseFragmentRenderer.RELEASE_FRAGMENTS_CACHE;
+import static rocks.metaldetector.service.email.ReleaseFragmentRenderer.VARIABLE_NAME;
+import static rocks.metaldetector.testutil.DtoFactory.ReleaseDtoFactory;
+
+@ExtendWith(MockitoExtension.class)
+class ReleaseFragmentRendererTest implements WithAssertions {
+
+  private static final String FRAGMENT = "<div>release</div>";
+
+  @Mock
+  private ISpringTemplateEngine templateEngine;
+
+  @Mock
+  private CacheManager cacheManager;
+
+  private EmailRenderingProperties emailRenderingProperties;
+  private ConcurrentMapCache cache;
+  private ReleaseFragmentRenderer underTest;
+
+  @BeforeEach
+  void setup() {
+    emailRenderingProperties = new EmailRenderingProperties();
+    cache = new ConcurrentMapCache(RELEASE_FRAGMENTS_CACHE);
+    underTest = new ReleaseFragmentRenderer(templateEngine, cacheManager, emailRenderingProperties);
+  }
+
+  @AfterEach
+  void tearDown() {
+    reset(templateEngine, cacheManager);
+  }
+
+  @Test
+  @DisplayName("release row fragment is rendered with the release")
+  void test_fragment_rendered() {
+    // given
+    var release = ReleaseDtoFactory.createDefault();
+    doReturn(cache).when(cacheManager).getCache(RELEASE_FRAGMENTS_CACHE);
+    doReturn(FRAGMENT).when(templateEngine).process(anyString(), anySet(), any(IContext.class));
+
+    // when
+    var result = underTest.render(release);
+
+    // then
+    assertThat(result).isEqualTo(FRAGMENT);
+    verify(templateEngine).process(eq(RELEASE_ROW), eq(Set.of(FRAGMENT_NAME)),
+                                   argThat(context -> context.getVariable("release") == release));
+  }
+
+  @Test
+  @DisplayName("release row fragment is rendered only once per release and state")
+  void test_fragment_cached() {
+    // given
+    var release = ReleaseDtoFactory.createDefault();
+    doReturn(cache).when(cacheManager).getCache(RELEASE_FRAGMENTS_CACHE);
+    doReturn(FRAGMENT).when(templateEngine).process(anyString(), anySet(), any(IContext.class));
+
+    // when
+    underTest.render(release);
+    var result = underTest.render(release);
+
+    // then
+    assertThat(result).isEqualTo(FRAGMENT);
+    verify(templateEngine, times(1)).process(anyString(), anySet(), any(IContext.class));
+    assertThat(cache.get(ReleaseFragmentRenderer.createCacheKey(release), String.class)).isEqualTo(FRAGMENT);
+  }
+
+  @Test
+  @DisplayName("release row fragment is rendered again if the state of the release changes")
+  void test_state_change() {
+    // given
+    var release = ReleaseDtoFactory.createDefault();
+    doReturn(cache).when(cacheManager).getCache(RELEASE_FRAGMENTS_CACHE);
+    doReturn(FRAGMENT).when(templateEngine).process(anyString(), anySet(), any(IContext.class));
+    underTest.render(release);
+    release.setState("Faulty");
+
+    // when
+    underTest.render(release);
+
+    // then
+    verify(templateEngine, times(2)).process(anyString(), anySet(), any(IContext.class));
+  }
+
+  @Test
+  @DisplayName("release row fragment is rendered every time if the fragment cache is disabled")
+  void test_cache_disabled() {
+    // given
+    var release = ReleaseDtoFactory.createDefault();
+    emailRenderingProperties.setFragmentCacheEnabled(false);
+    doReturn(FRAGMENT).when(templateEngine).process(anyString(), anySet(), any(IContext.class));
+
+    // when
+    underTest.render(release);
+    underTest.render(release);
+
+    // then
+    verify(templateEngine, times(2)).process(anyString(), anySet(), any(IContext.class));
+    verifyNoInteractions(cacheManager);
+  }
+
+  @Test
+  @DisplayName("cache key consists of id and state of the release")
+  void test_cache_key() {
+    // given
+    var release = ReleaseDto.builder().id(42L).state("Ok").build();
+
+    // when
+    var result = ReleaseFragmentRenderer.createCacheKey(release);
+
+    // then
+    assertThat(result).isEqualTo("42-Ok");
+  }
+
+  @Test
+  @DisplayName("renderer is added to the context of the email")
+  void test_add_to_context() {
+    // given
+    var context = new Context();
+
+    // when
+    underTest.addTo(context);
+
+    // then
+    assertThat(context.getVariable(VARIABLE_NAME)).isSameAs(underTest);
+  }
+}
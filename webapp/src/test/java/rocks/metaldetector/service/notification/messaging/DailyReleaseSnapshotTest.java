@@ -0,0 +1,147 @@
+package rocks.metaldetector.service.notification.messaging;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rocks.metaldetector.butler.facade.dto.ReleaseDto;
+import rocks.metaldetector.support.TimeRange;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+class DailyReleaseSnapshotTest implements WithAssertions {
+
+  private static final LocalDate NOW = LocalDate.of(2020, 6, 1);
+  private static final NotificationPlan PLAN = new NotificationPlan(Map.of(1L, List.of("A"), 2L, List.of("a", "B")));
+
+  @Test
+  @DisplayName("today's releases of the user's artists are returned")
+  void test_todays_releases() {
+    // given
+    var todaysRelease = release("A", NOW, null);
+    var underTest = new DailyReleaseSnapshot(NOW, PLAN, List.of(todaysRelease, release("A", NOW.plusDays(1), null), release("B", NOW, null)), List.of());
+
+    // when
+    var result = underTest.getTodaysReleases(1L);
+
+    // then
+    assertThat(result).containsExactly(todaysRelease);
+  }
+
+  @Test
+  @DisplayName("today's announcements of the user's artists are returned")
+  void test_todays_announcements() {
+    // given
+    var todaysAnnouncement = release("B", NOW.plusMonths(2), NOW);
+    var underTest = new DailyReleaseSnapshot(NOW, PLAN, List.of(), List.of(todaysAnnouncement, release("B", NOW.plusMonths(2), NOW.minusDays(1))));
+
+    // when
+    var result = underTest.getTodaysAnnouncements(2L);
+
+    // then
+    assertThat(result).containsExactly(todaysAnnouncement);
+  }
+
+  @Test
+  @DisplayName("today's announcements of releases far in the future or without release date are returned")
+  void test_todays_announcements_without_upper_bound() {
+    // given
+    var farAnnouncement = release("B", NOW.plusYears(2), NOW);
+    var undatedAnnouncement = release("B", null, NOW);
+    var underTest = new DailyReleaseSnapshot(NOW, PLAN, List.of(), List.of(farAnnouncement, undatedAnnouncement));
+
+    // when
+    var result = underTest.getTodaysAnnouncements(2L);
+
+    // then
+    assertThat(result).containsExactly(farAnnouncement, undatedAnnouncement);
+  }
+
+  @Test
+  @DisplayName("releases of the frequency window are not returned as today's announcements")
+  void test_releases_not_announcements() {
+    // given
+    var underTest = new DailyReleaseSnapshot(NOW, PLAN, List.of(release("A", NOW.plusDays(1), NOW)), List.of());
+
+    // when
+    var result = underTest.getTodaysAnnouncements(1L);
+
+    // then
+    assertThat(result).isEmpty();
+  }
+
+  @Test
+  @DisplayName("upcoming and recent releases are returned for the frequency")
+  void test_releases_for_frequency() {
+    // given
+    var upcomingRelease = release("A", NOW.plusWeeks(2), null);
+    var recentRelease = release("A", NOW.minusWeeks(2), null);
+    var underTest = new DailyReleaseSnapshot(NOW, PLAN, List.of(upcomingRelease, recentRelease, release("A", NOW.plusWeeks(3), null),
+                                                                release("A", NOW.minusWeeks(3), null)), List.of());
+
+    // when
+    var result = underTest.getReleasesForFrequency(1L, 2);
+
+    // then
+    assertThat(result.getUpcomingReleases()).containsExactly(upcomingRelease);
+    assertThat(result.getRecentReleases()).containsExactly(recentRelease);
+  }
+
+  @Test
+  @DisplayName("releases of additional artists are returned only once")
+  void test_additional_artists() {
+    // given
+    var split = release("A", NOW, null);
+    split.setAdditionalArtists(List.of("B"));
+    var underTest = new DailyReleaseSnapshot(NOW, PLAN, List.of(split), List.of());
+
+    // when
+    var result = underTest.getTodaysReleases(2L);
+
+    // then
+    assertThat(result).containsExactly(split);
+  }
+
+  @Test
+  @DisplayName("nothing is returned for users without artists")
+  void test_unknown_user() {
+    // given
+    var underTest = new DailyReleaseSnapshot(NOW, PLAN, List.of(release("A", NOW, null)), List.of());
+
+    // when
+    var result = underTest.getTodaysReleases(3L);
+
+    // then
+    assertThat(result).isEmpty();
+  }
+
+  @Test
+  @DisplayName("time range covers the longest frequency window")
+  void test_time_range() {
+    // when
+    var result = DailyReleaseSnapshot.timeRange(NOW, 6);
+
+    // then
+    assertThat(result).isEqualTo(new TimeRange(NOW.minusWeeks(6), NOW.plusWeeks(6)));
+  }
+
+  @Test
+  @DisplayName("announcement time range starts today and is open ended")
+  void test_announcement_time_range() {
+    // when
+    var result = DailyReleaseSnapshot.announcementTimeRange(NOW);
+
+    // then
+    assertThat(result).isEqualTo(new TimeRange(NOW, null));
+  }
+
+  private ReleaseDto release(String artist, LocalDate releaseDate, LocalDate announcementDate) {
+    return ReleaseDto.builder()
+        .artist(artist)
+        .albumTitle("Heavy Release")
+        .releaseDate(releaseDate)
+        .announcementDate(announcementDate)
+        .build();
+  }
+}
@@ -0,0 +1,153 @@
+package rocks.metaldetector.service.notification.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import rocks.metaldetector.config.misc.NotificationDispatchProperties;
+import rocks.metaldetector.persistence.domain.notification.NotificationChannel;
+import rocks.metaldetector.persistence.domain.notification.NotificationConfigEntity;
+import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
+import rocks.metaldetector.service.user.UserEntityFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static rocks.metaldetector.persistence.domain.notification.NotificationChannel.EMAIL;
+import static rocks.metaldetector.persistence.domain.notification.NotificationChannel.TELEGRAM;
+import static rocks.metaldetector.service.notification.messaging.NotificationDispatcher.MESSAGES_METRIC_NAME;
+import static rocks.metaldetector.service.notification.messaging.NotificationDispatcher.ENQUEUED_THROUGHPUT_METRIC_NAME;
+import static rocks.metaldetector.service.notification.messaging.NotificationScheduler.PRINCIPAL;
+
+class NotificationDispatcherTest implements WithAssertions {
+
+  private static final AbstractUserEntity USER = UserEntityFactory.createUser("user", "user@user.user");
+
+  private PlatformTransactionManager transactionManager;
+  private SimpleMeterRegistry meterRegistry;
+  private NotificationDispatcher underTest;
+
+  @BeforeEach
+  void setup() {
+    var properties = new NotificationDispatchProperties();
+    properties.setThreads(4);
+    properties.setQueueCapacity(2);
+    properties.setEmailConcurrency(2);
+    properties.setTelegramConcurrency(1);
+    transactionManager = mock(PlatformTransactionManager.class);
+    meterRegistry = new SimpleMeterRegistry();
+    underTest = new NotificationDispatcher(properties, transactionManager, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    underTest.shutdown();
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  @DisplayName("notification is run for every config in an own transaction")
+  void test_notification_run_for_every_config() {
+    // given
+    var configs = List.of(config(EMAIL), config(TELEGRAM), config(EMAIL));
+    AtomicInteger notifications = new AtomicInteger();
+
+    // when
+    underTest.dispatch(configs, config -> notifications.incrementAndGet());
+
+    // then
+    assertThat(notifications).hasValue(3);
+    verify(transactionManager, times(3)).getTransaction(any());
+    verify(transactionManager, times(3)).commit(any());
+  }
+
+  @Test
+  @DisplayName("failing notification does not affect the other configs")
+  void test_failing_notification() {
+    // given
+    var failingConfig = config(TELEGRAM);
+    var configs = List.of(failingConfig, config(EMAIL));
+    AtomicInteger notifications = new AtomicInteger();
+
+    // when
+    underTest.dispatch(configs, config -> {
+      if (config == failingConfig) {
+        throw new IllegalStateException("boom");
+      }
+      notifications.incrementAndGet();
+    });
+
+    // then
+    assertThat(notifications).hasValue(1);
+    verify(transactionManager).rollback(any());
+    assertThat(meterRegistry.counter(MESSAGES_METRIC_NAME, "channel", "TELEGRAM", "outcome", "error").count()).isEqualTo(1);
+    assertThat(meterRegistry.counter(MESSAGES_METRIC_NAME, "channel", "EMAIL", "outcome", "success").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("concurrency is limited per channel")
+  void test_concurrency_limited_per_channel() {
+    // given
+    var configs = List.of(config(TELEGRAM), config(TELEGRAM), config(TELEGRAM), config(TELEGRAM));
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    // when
+    underTest.dispatch(configs, config -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      sleep();
+      running.decrementAndGet();
+    });
+
+    // then
+    assertThat(maxRunning).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("security context of the caller is used for the notifications")
+  void test_security_context_propagated() {
+    // given
+    SecurityContextHolder.getContext().setAuthentication(PRINCIPAL);
+    Set<Authentication> authentications = ConcurrentHashMap.newKeySet();
+
+    // when
+    underTest.dispatch(List.of(config(EMAIL), config(TELEGRAM)), config -> authentications.add(SecurityContextHolder.getContext().getAuthentication()));
+
+    // then
+    assertThat(authentications).containsExactly(PRINCIPAL);
+  }
+
+  @Test
+  @DisplayName("enqueue throughput of the last dispatch is reported")
+  void test_throughput_reported() {
+    // when
+    underTest.dispatch(List.of(config(EMAIL), config(TELEGRAM)), config -> {});
+
+    // then
+    assertThat(meterRegistry.get(ENQUEUED_THROUGHPUT_METRIC_NAME).gauge().value()).isPositive();
+  }
+
+  private NotificationConfigEntity config(NotificationChannel channel) {
+    return NotificationConfigEntity.builder().user(USER).channel(channel).build();
+  }
+
+  private void sleep() {
+    try {
+      Thread.sleep(20);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
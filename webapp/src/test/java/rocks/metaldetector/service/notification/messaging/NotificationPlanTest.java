@@ -0,0 +1,65 @@
+package rocks.metaldetector.service.notification.messaging;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class NotificationPlanTest implements WithAssertions {
+
+  @Test
+  @DisplayName("artist names are the union of all followed artists")
+  void test_artist_names_union() {
+    // given
+    Map<Long, List<String>> artistNamesPerUser = new LinkedHashMap<>();
+    artistNamesPerUser.put(1L, List.of("A", "B"));
+    artistNamesPerUser.put(2L, List.of("b", "C"));
+
+    // when
+    var result = new NotificationPlan(artistNamesPerUser);
+
+    // then
+    assertThat(result.getArtistNames()).containsExactly("A", "B", "C");
+    assertThat(result.hasArtists()).isTrue();
+  }
+
+  @Test
+  @DisplayName("artist names of a single user are returned")
+  void test_artist_names_of_user() {
+    // given
+    var underTest = new NotificationPlan(Map.of(1L, List.of("A"), 2L, List.of("B", "C")));
+
+    // when
+    var result = underTest.getArtistNames(2L);
+
+    // then
+    assertThat(result).containsExactly("B", "C");
+  }
+
+  @Test
+  @DisplayName("unknown user has no artists")
+  void test_unknown_user() {
+    // given
+    var underTest = new NotificationPlan(Map.of(1L, List.of("A")));
+
+    // when
+    var result = underTest.getArtistNames(2L);
+
+    // then
+    assertThat(result).isEmpty();
+  }
+
+  @Test
+  @DisplayName("empty plan has no artists")
+  void test_empty_plan() {
+    // when
+    var result = NotificationPlan.empty();
+
+    // then
+    assertThat(result.hasArtists()).isFalse();
+    assertThat(result.getArtistNames()).isEmpty();
+  }
+}
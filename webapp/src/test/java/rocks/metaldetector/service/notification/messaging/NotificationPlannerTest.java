@@ -0,0 +1,89 @@
+package rocks.metaldetector.service.notification.messaging;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import rocks.metaldetector.persistence.domain.user.AbstractUserEntity;
+import rocks.metaldetector.service.artist.FollowArtistService;
+import rocks.metaldetector.service.user.UserEntityFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationPlannerTest implements WithAssertions {
+
+  @Mock
+  private FollowArtistService followArtistService;
+
+  @InjectMocks
+  private NotificationPlanner underTest;
+
+  @AfterEach
+  void tearDown() {
+    reset(followArtistService);
+  }
+
+  @Test
+  @DisplayName("followArtistService is called once with the ids of all users")
+  void test_follow_artist_service_called() {
+    // given
+    var user1 = createUser(1L, "user1");
+    var user2 = createUser(2L, "user2");
+
+    // when
+    underTest.createPlan(List.of(user1, user2, user1));
+
+    // then
+    verify(followArtistService).getFollowedArtistNamesOfUsers(Set.of(1L, 2L));
+  }
+
+  @Test
+  @DisplayName("plan contains the followed artists of all users")
+  void test_plan_contains_followed_artists() {
+    // given
+    var user1 = createUser(1L, "user1");
+    var user2 = createUser(2L, "user2");
+    doReturn(Map.of(1L, List.of("A"), 2L, List.of("A", "B"))).when(followArtistService).getFollowedArtistNamesOfUsers(any());
+
+    // when
+    var result = underTest.createPlan(List.of(user1, user2));
+
+    // then
+    assertThat(result.getArtistNames()).containsExactly("A", "B");
+    assertThat(result.getArtistNames(2L)).containsExactly("A", "B");
+  }
+
+  @Test
+  @DisplayName("plan contains users without followed artists")
+  void test_plan_contains_users_without_artists() {
+    // given
+    var user = createUser(1L, "user");
+    doReturn(Map.of()).when(followArtistService).getFollowedArtistNamesOfUsers(any());
+
+    // when
+    var result = underTest.createPlan(List.of(user));
+
+    // then
+    assertThat(result.getArtistNames(1L)).isEmpty();
+    assertThat(result.hasArtists()).isFalse();
+  }
+
+  private AbstractUserEntity createUser(long id, String username) {
+    var user = UserEntityFactory.createUser(username, username + "@example.com");
+    ReflectionTestUtils.setField(user, "id", id);
+    return user;
+  }
+}
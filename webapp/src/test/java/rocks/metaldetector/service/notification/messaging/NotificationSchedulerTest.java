@@ -2,6 +2,7 @@ package rocks.metaldetector.service.notification.messaging;
 
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -24,11 +25,14 @@ import rocks.metaldetector.testutil.DtoFactory.ReleaseDtoFactory;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.reset;
@@ -53,12 +57,28 @@ class NotificationSchedulerTest implements WithAssertions {
   @Mock
   private NotificationSenderFunction notificationSenderFunction;
 
+  @Mock
+  private NotificationDispatcher notificationDispatcher;
+
+  @Mock
+  private DailyReleaseSnapshot dailyReleaseSnapshot;
+
   @InjectMocks
   private NotificationScheduler underTest;
 
+  @BeforeEach
+  void setup() {
+    lenient().doAnswer(invocation -> {
+      List<NotificationConfigEntity> configs = invocation.getArgument(0);
+      Consumer<NotificationConfigEntity> notification = invocation.getArgument(1);
+      configs.forEach(notification);
+      return null;
+    }).when(notificationDispatcher).dispatch(any(), any());
+  }
+
   @AfterEach
   void tearDown() {
-    reset(notificationConfigRepository, notificationReleaseCollector, notificationSenderFunction);
+    reset(notificationConfigRepository, notificationReleaseCollector, notificationSenderFunction, notificationDispatcher, dailyReleaseSnapshot);
   }
 
   @Nested
@@ -87,14 +107,16 @@ class NotificationSchedulerTest implements WithAssertions {
       // given
       doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
       doReturn(mock(NotificationSender.class)).when(notificationSenderFunction).apply(any());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
       doReturn(new NotificationReleaseCollector.ReleaseContainer(Collections.emptyList(), Collections.emptyList()))
-          .when(notificationReleaseCollector).fetchReleasesForUserAndFrequency(any(), anyInt(), anyBoolean());
+          .when(dailyReleaseSnapshot).getReleasesForFrequency(any(), anyInt());
 
       // when
       underTest.notifyOnFrequency();
 
       // then
-      verify(notificationReleaseCollector).fetchReleasesForUserAndFrequency(notificationConfig.getUser(), notificationConfig.getFrequencyInWeeks(), notificationConfig.getNotifyReissues());
+      verify(notificationReleaseCollector).getDailySnapshot();
+      verify(dailyReleaseSnapshot).getReleasesForFrequency(notificationConfig.getUser().getId(), notificationConfig.getFrequencyInWeeks());
     }
 
     @Test
@@ -103,8 +125,9 @@ class NotificationSchedulerTest implements WithAssertions {
       // given
       doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
       doReturn(mock(NotificationSender.class)).when(notificationSenderFunction).apply(any());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
       doReturn(new NotificationReleaseCollector.ReleaseContainer(List.of(ReleaseDtoFactory.createDefault()), Collections.emptyList()))
-          .when(notificationReleaseCollector).fetchReleasesForUserAndFrequency(any(), anyInt(), anyBoolean());
+          .when(dailyReleaseSnapshot).getReleasesForFrequency(any(), anyInt());
 
       // when
       underTest.notifyOnFrequency();
@@ -120,8 +143,9 @@ class NotificationSchedulerTest implements WithAssertions {
       var notificationServiceMock = mock(NotificationSender.class);
       doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
       doReturn(notificationServiceMock).when(notificationSenderFunction).apply(any());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
       doReturn(new NotificationReleaseCollector.ReleaseContainer(Collections.emptyList(), Collections.emptyList()))
-          .when(notificationReleaseCollector).fetchReleasesForUserAndFrequency(any(), anyInt(), anyBoolean());
+          .when(dailyReleaseSnapshot).getReleasesForFrequency(any(), anyInt());
 
       // when
       underTest.notifyOnFrequency();
@@ -140,8 +164,9 @@ class NotificationSchedulerTest implements WithAssertions {
       var recentReleases = List.of(ReleaseDtoFactory.withArtistName("B"));
       doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
       doReturn(notificationServiceMock).when(notificationSenderFunction).apply(any());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
       doReturn(new NotificationReleaseCollector.ReleaseContainer(upcomingReleases, recentReleases))
-          .when(notificationReleaseCollector).fetchReleasesForUserAndFrequency(any(), anyInt(), anyBoolean());
+          .when(dailyReleaseSnapshot).getReleasesForFrequency(any(), anyInt());
 
       // when
       underTest.notifyOnFrequency();
@@ -150,6 +175,22 @@ class NotificationSchedulerTest implements WithAssertions {
       verify(notificationServiceMock).sendFrequencyMessage(notificationConfig.getUser(), upcomingReleases, recentReleases);
     }
 
+    @Test
+    @DisplayName("notifications are dispatched for all due configs")
+    void test_notifications_dispatched() {
+      // given
+      doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
+      doReturn(new NotificationReleaseCollector.ReleaseContainer(Collections.emptyList(), Collections.emptyList()))
+          .when(dailyReleaseSnapshot).getReleasesForFrequency(any(), anyInt());
+
+      // when
+      underTest.notifyOnFrequency();
+
+      // then
+      verify(notificationDispatcher).dispatch(eq(List.of(notificationConfig)), any());
+    }
+
     @Test
     @DisplayName("notificationDate is saved")
     void test_notification_date_saved() {
@@ -157,8 +198,9 @@ class NotificationSchedulerTest implements WithAssertions {
       ArgumentCaptor<NotificationConfigEntity> argumentCaptor = ArgumentCaptor.forClass(NotificationConfigEntity.class);
       doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
       doReturn(mock(NotificationSender.class)).when(notificationSenderFunction).apply(any());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
       doReturn(new NotificationReleaseCollector.ReleaseContainer(Collections.emptyList(), Collections.emptyList()))
-          .when(notificationReleaseCollector).fetchReleasesForUserAndFrequency(any(), anyInt(), anyBoolean());
+          .when(dailyReleaseSnapshot).getReleasesForFrequency(any(), anyInt());
 
       // when
       LocalDate now = LocalDate.of(2000, 1, 1);
@@ -181,19 +223,42 @@ class NotificationSchedulerTest implements WithAssertions {
       var notificationServiceMock = mock(NotificationSender.class);
       doReturn(List.of(notificationConfig, notificationConfig2)).when(notificationConfigRepository).findAllActive();
       doReturn(notificationServiceMock).when(notificationSenderFunction).apply(any());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
       doReturn(new NotificationReleaseCollector.ReleaseContainer(List.of(ReleaseDtoFactory.createDefault()), Collections.emptyList()))
-          .when(notificationReleaseCollector).fetchReleasesForUserAndFrequency(any(), anyInt(), anyBoolean());
+          .when(dailyReleaseSnapshot).getReleasesForFrequency(any(), anyInt());
 
       // when
       underTest.notifyOnFrequency();
 
       // then
-      verify(notificationReleaseCollector, times(2)).fetchReleasesForUserAndFrequency(any(), anyInt(), anyBoolean());
+      verify(notificationReleaseCollector).getDailySnapshot();
+      verify(dailyReleaseSnapshot, times(2)).getReleasesForFrequency(any(), anyInt());
       verify(notificationSenderFunction, times(2)).apply(any());
       verify(notificationConfigRepository, times(2)).save(any());
       verify(notificationServiceMock, times(2)).sendFrequencyMessage(any(), any(), any());
     }
 
+    @Test
+    @DisplayName("reissues are not sent if not configured")
+    void test_reissues_not_sent() {
+      // given
+      var notificationServiceMock = mock(NotificationSender.class);
+      var release = ReleaseDtoFactory.withArtistName("A");
+      var reissue = ReleaseDtoFactory.withArtistName("B");
+      reissue.setReissue(true);
+      doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
+      doReturn(notificationServiceMock).when(notificationSenderFunction).apply(any());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
+      doReturn(new NotificationReleaseCollector.ReleaseContainer(List.of(release, reissue), List.of(reissue)))
+          .when(dailyReleaseSnapshot).getReleasesForFrequency(any(), anyInt());
+
+      // when
+      underTest.notifyOnFrequency();
+
+      // then
+      verify(notificationServiceMock).sendFrequencyMessage(notificationConfig.getUser(), List.of(release), Collections.emptyList());
+    }
+
     @Test
     @DisplayName("nothing is called if notification is not due")
     void test_nothing_called_if_not_due() {
@@ -272,13 +337,15 @@ class NotificationSchedulerTest implements WithAssertions {
       // given
       doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
       doReturn(mock(NotificationSender.class)).when(notificationSenderFunction).apply(any());
-      doReturn(Collections.emptyList()).when(notificationReleaseCollector).fetchTodaysReleaseForUser(any(), anyBoolean());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
+      doReturn(Collections.emptyList()).when(dailyReleaseSnapshot).getTodaysReleases(any());
 
       // when
       underTest.notifyOnReleaseDate();
 
       // then
-      verify(notificationReleaseCollector).fetchTodaysReleaseForUser(notificationConfig.getUser(), notificationConfig.getNotifyReissues());
+      verify(notificationReleaseCollector).getDailySnapshot();
+      verify(dailyReleaseSnapshot).getTodaysReleases(notificationConfig.getUser().getId());
     }
 
     @Test
@@ -287,7 +354,8 @@ class NotificationSchedulerTest implements WithAssertions {
       // given
       doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
       doReturn(mock(NotificationSender.class)).when(notificationSenderFunction).apply(any());
-      doReturn(List.of(ReleaseDtoFactory.createDefault())).when(notificationReleaseCollector).fetchTodaysReleaseForUser(any(), anyBoolean());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
+      doReturn(List.of(ReleaseDtoFactory.createDefault())).when(dailyReleaseSnapshot).getTodaysReleases(any());
 
       // when
       underTest.notifyOnReleaseDate();
@@ -303,7 +371,8 @@ class NotificationSchedulerTest implements WithAssertions {
       var notificationServiceMock = mock(NotificationSender.class);
       doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
       doReturn(notificationServiceMock).when(notificationSenderFunction).apply(any());
-      doReturn(Collections.emptyList()).when(notificationReleaseCollector).fetchTodaysReleaseForUser(any(), anyBoolean());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
+      doReturn(Collections.emptyList()).when(dailyReleaseSnapshot).getTodaysReleases(any());
 
       // when
       underTest.notifyOnReleaseDate();
@@ -321,7 +390,8 @@ class NotificationSchedulerTest implements WithAssertions {
       var todaysReleases = List.of(ReleaseDtoFactory.createDefault());
       doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
       doReturn(notificationServiceMock).when(notificationSenderFunction).apply(any());
-      doReturn(todaysReleases).when(notificationReleaseCollector).fetchTodaysReleaseForUser(any(), anyBoolean());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
+      doReturn(todaysReleases).when(dailyReleaseSnapshot).getTodaysReleases(any());
 
       // when
       underTest.notifyOnReleaseDate();
@@ -338,17 +408,57 @@ class NotificationSchedulerTest implements WithAssertions {
       var notificationServiceMock = mock(NotificationSender.class);
       doReturn(List.of(notificationConfig, notificationConfig2)).when(notificationConfigRepository).findAllActive();
       doReturn(notificationServiceMock).when(notificationSenderFunction).apply(any());
-      doReturn(List.of(ReleaseDtoFactory.createDefault())).when(notificationReleaseCollector).fetchTodaysReleaseForUser(any(), anyBoolean());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
+      doReturn(List.of(ReleaseDtoFactory.createDefault())).when(dailyReleaseSnapshot).getTodaysReleases(any());
 
       // when
       underTest.notifyOnReleaseDate();
 
       // then
-      verify(notificationReleaseCollector, times(2)).fetchTodaysReleaseForUser(any(), anyBoolean());
+      verify(notificationReleaseCollector).getDailySnapshot();
       verify(notificationSenderFunction, times(2)).apply(any());
       verify(notificationServiceMock, times(2)).sendReleaseDateMessage(any(), any());
     }
 
+    @Test
+    @DisplayName("reissues are sent if configured")
+    void test_reissues_sent() {
+      // given
+      notificationConfig.setNotifyReissues(true);
+      var notificationServiceMock = mock(NotificationSender.class);
+      var reissue = ReleaseDtoFactory.createDefault();
+      reissue.setReissue(true);
+      doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
+      doReturn(notificationServiceMock).when(notificationSenderFunction).apply(any());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
+      doReturn(List.of(reissue)).when(dailyReleaseSnapshot).getTodaysReleases(any());
+
+      // when
+      underTest.notifyOnReleaseDate();
+
+      // then
+      verify(notificationServiceMock).sendReleaseDateMessage(notificationConfig.getUser(), List.of(reissue));
+    }
+
+    @Test
+    @DisplayName("reissues are not sent if not configured")
+    void test_reissues_not_sent() {
+      // given
+      var notificationServiceMock = mock(NotificationSender.class);
+      var reissue = ReleaseDtoFactory.createDefault();
+      reissue.setReissue(true);
+      doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
+      doReturn(List.of(reissue)).when(dailyReleaseSnapshot).getTodaysReleases(any());
+
+      // when
+      underTest.notifyOnReleaseDate();
+
+      // then
+      verifyNoInteractions(notificationSenderFunction);
+      verifyNoInteractions(notificationServiceMock);
+    }
+
     @Test
     @DisplayName("nothing is called if notification on release date is not active")
     void test_nothing_is_called() {
@@ -413,13 +523,15 @@ class NotificationSchedulerTest implements WithAssertions {
       // given
       doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
       doReturn(mock(NotificationSender.class)).when(notificationSenderFunction).apply(any());
-      doReturn(Collections.emptyList()).when(notificationReleaseCollector).fetchTodaysAnnouncementsForUser(any(), anyBoolean());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
+      doReturn(Collections.emptyList()).when(dailyReleaseSnapshot).getTodaysAnnouncements(any());
 
       // when
       underTest.notifyOnAnnouncementDate();
 
       // then
-      verify(notificationReleaseCollector).fetchTodaysAnnouncementsForUser(notificationConfig.getUser(), notificationConfig.getNotifyReissues());
+      verify(notificationReleaseCollector).getDailySnapshot();
+      verify(dailyReleaseSnapshot).getTodaysAnnouncements(notificationConfig.getUser().getId());
     }
 
     @Test
@@ -428,7 +540,8 @@ class NotificationSchedulerTest implements WithAssertions {
       // given
       doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
       doReturn(mock(NotificationSender.class)).when(notificationSenderFunction).apply(any());
-      doReturn(List.of(ReleaseDtoFactory.createDefault())).when(notificationReleaseCollector).fetchTodaysAnnouncementsForUser(any(), anyBoolean());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
+      doReturn(List.of(ReleaseDtoFactory.createDefault())).when(dailyReleaseSnapshot).getTodaysAnnouncements(any());
 
       // when
       underTest.notifyOnAnnouncementDate();
@@ -444,7 +557,8 @@ class NotificationSchedulerTest implements WithAssertions {
       var notificationServiceMock = mock(NotificationSender.class);
       doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
       doReturn(notificationServiceMock).when(notificationSenderFunction).apply(any());
-      doReturn(Collections.emptyList()).when(notificationReleaseCollector).fetchTodaysAnnouncementsForUser(any(), anyBoolean());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
+      doReturn(Collections.emptyList()).when(dailyReleaseSnapshot).getTodaysAnnouncements(any());
 
       // when
       underTest.notifyOnAnnouncementDate();
@@ -462,7 +576,8 @@ class NotificationSchedulerTest implements WithAssertions {
       var todaysAnnouncements = List.of(ReleaseDtoFactory.createDefault());
       doReturn(List.of(notificationConfig)).when(notificationConfigRepository).findAllActive();
       doReturn(notificationServiceMock).when(notificationSenderFunction).apply(any());
-      doReturn(todaysAnnouncements).when(notificationReleaseCollector).fetchTodaysAnnouncementsForUser(any(), anyBoolean());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
+      doReturn(todaysAnnouncements).when(dailyReleaseSnapshot).getTodaysAnnouncements(any());
 
       // when
       underTest.notifyOnAnnouncementDate();
@@ -479,13 +594,14 @@ class NotificationSchedulerTest implements WithAssertions {
       var notificationServiceMock = mock(NotificationSender.class);
       doReturn(List.of(notificationConfig, notificationConfig2)).when(notificationConfigRepository).findAllActive();
       doReturn(notificationServiceMock).when(notificationSenderFunction).apply(any());
-      doReturn(List.of(ReleaseDtoFactory.createDefault())).when(notificationReleaseCollector).fetchTodaysAnnouncementsForUser(any(), anyBoolean());
+      doReturn(dailyReleaseSnapshot).when(notificationReleaseCollector).getDailySnapshot();
+      doReturn(List.of(ReleaseDtoFactory.createDefault())).when(dailyReleaseSnapshot).getTodaysAnnouncements(any());
 
       // when
       underTest.notifyOnAnnouncementDate();
 
       // then
-      verify(notificationReleaseCollector, times(2)).fetchTodaysAnnouncementsForUser(any(), anyBoolean());
+      verify(notificationReleaseCollector).getDailySnapshot();
       verify(notificationSenderFunction, times(2)).apply(any());
       verify(notificationServiceMock, times(2)).sendAnnouncementDateMessage(any(), any());
     }
@@ -0,0 +1,217 @@
+package rocks.metaldetector.service.spotify;
+
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import rocks.metaldetector.persistence.domain.spotify.SpotifySyncCursorRepository;
+import rocks.metaldetector.persistence.domain.user.UserRepository;
+import rocks.metaldetector.service.user.UserEntityFactory;
+import rocks.metaldetector.support.exceptions.ExternalServiceException;
+import rocks.metaldetector.support.oauth.OAuth2ClientManagerProvider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static rocks.metaldetector.service.spotify.SpotifySyncScheduler.PAGE_SIZE;
+
+@ExtendWith(MockitoExtension.class)
+class SpotifySyncSchedulerTest implements WithAssertions {
+
+  @Mock
+  private SpotifySyncCursorRepository spotifySyncCursorRepository;
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Mock
+  private SpotifySynchronizationService spotifySynchronizationService;
+
+  @Mock
+  private OAuth2ClientManagerProvider clientManagerProvider;
+
+  @Mock
+  private ExecutorService executorService;
+
+  private SpotifySyncScheduler underTest;
+
+  @BeforeEach
+  void setup() {
+    underTest = new SpotifySyncScheduler(spotifySyncCursorRepository, userRepository, spotifySynchronizationService, clientManagerProvider, executorService);
+    lenient().doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(0).run();
+      return null;
+    }).when(clientManagerProvider).runWithSchedulingManager(any());
+  }
+
+  @AfterEach
+  void tearDown() {
+    reset(spotifySyncCursorRepository, userRepository, spotifySynchronizationService, clientManagerProvider, executorService);
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  @DisplayName("the synchronization runs in the own executor with the scheduling client manager")
+  void test_synchronization_runs_in_executor() {
+    // given
+    doReturn(Collections.emptyList()).when(spotifySyncCursorRepository).findSynchronizedUserIds(anyLong(), any());
+    ArgumentCaptor<Runnable> argumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+
+    // when
+    underTest.scheduleSynchronization();
+
+    // then
+    verify(executorService).execute(argumentCaptor.capture());
+    verifyNoInteractions(spotifySyncCursorRepository);
+    argumentCaptor.getValue().run();
+    verify(clientManagerProvider).runWithSchedulingManager(any());
+    verify(spotifySyncCursorRepository).findSynchronizedUserIds(anyLong(), any());
+  }
+
+  @Test
+  @DisplayName("a synchronization is skipped while the last one is still running")
+  void test_synchronization_skipped_while_running() {
+    // given
+    doReturn(Collections.emptyList()).when(spotifySyncCursorRepository).findSynchronizedUserIds(anyLong(), any());
+    ArgumentCaptor<Runnable> argumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+    underTest.scheduleSynchronization();
+
+    // when
+    underTest.scheduleSynchronization();
+    verify(executorService).execute(argumentCaptor.capture());
+    argumentCaptor.getValue().run();
+    underTest.scheduleSynchronization();
+
+    // then
+    verify(executorService, times(2)).execute(any());
+  }
+
+  @Test
+  @DisplayName("liked albums of all users with a synchronized sync cursor are synchronized")
+  void test_liked_albums_synchronized() {
+    // given
+    var user1 = UserEntityFactory.createUser("user1", "user1@example.com");
+    var user2 = UserEntityFactory.createUser("user2", "user2@example.com");
+    doReturn(List.of(1L, 2L)).when(spotifySyncCursorRepository).findSynchronizedUserIds(anyLong(), any());
+    doReturn(Optional.of(user1)).when(userRepository).findById(1L);
+    doReturn(Optional.of(user2)).when(userRepository).findById(2L);
+
+    // when
+    underTest.synchronizeLikedAlbums();
+
+    // then
+    verify(spotifySyncCursorRepository).findSynchronizedUserIds(0, PageRequest.of(0, PAGE_SIZE));
+    verify(spotifySynchronizationService).synchronizeLikedAlbums(user1);
+    verify(spotifySynchronizationService).synchronizeLikedAlbums(user2);
+  }
+
+  @Test
+  @DisplayName("the user ids are fetched page by page after the last id of the previous page")
+  void test_user_ids_paged() {
+    // given
+    var firstPage = LongStream.rangeClosed(1, PAGE_SIZE).boxed().collect(Collectors.toList());
+    doReturn(firstPage).when(spotifySyncCursorRepository).findSynchronizedUserIds(0, PageRequest.of(0, PAGE_SIZE));
+    doReturn(List.of(PAGE_SIZE + 1L)).when(spotifySyncCursorRepository).findSynchronizedUserIds(PAGE_SIZE, PageRequest.of(0, PAGE_SIZE));
+    doReturn(Optional.empty()).when(userRepository).findById(any());
+
+    // when
+    underTest.synchronizeLikedAlbums();
+
+    // then
+    verify(spotifySyncCursorRepository, times(2)).findSynchronizedUserIds(anyLong(), any());
+    verify(userRepository, times(PAGE_SIZE + 1)).findById(any());
+  }
+
+  @Test
+  @DisplayName("users that were deleted in the meantime are skipped")
+  void test_deleted_users_skipped() {
+    // given
+    doReturn(List.of(1L)).when(spotifySyncCursorRepository).findSynchronizedUserIds(anyLong(), any());
+    doReturn(Optional.empty()).when(userRepository).findById(1L);
+
+    // when
+    underTest.synchronizeLikedAlbums();
+
+    // then
+    verifyNoInteractions(spotifySynchronizationService);
+  }
+
+  @Test
+  @DisplayName("the liked albums are synchronized with the authentication of the user")
+  void test_synchronized_with_authentication_of_user() {
+    // given
+    var user = UserEntityFactory.createUser("user", "user@example.com");
+    List<Authentication> authentications = new ArrayList<>();
+    doReturn(List.of(1L)).when(spotifySyncCursorRepository).findSynchronizedUserIds(anyLong(), any());
+    doReturn(Optional.of(user)).when(userRepository).findById(1L);
+    doAnswer(invocation -> {
+      authentications.add(SecurityContextHolder.getContext().getAuthentication());
+      return null;
+    }).when(spotifySynchronizationService).synchronizeLikedAlbums(any());
+
+    // when
+    underTest.synchronizeLikedAlbums();
+
+    // then
+    assertThat(authentications).hasSize(1);
+    assertThat(authentications.get(0).getPrincipal()).isEqualTo(user);
+    assertThat(authentications.get(0).getName()).isEqualTo(user.getUsername());
+  }
+
+  @Test
+  @DisplayName("the security context is cleared afterwards")
+  void test_security_context_cleared() {
+    // given
+    var user = UserEntityFactory.createUser("user", "user@example.com");
+    doReturn(List.of(1L)).when(spotifySyncCursorRepository).findSynchronizedUserIds(anyLong(), any());
+    doReturn(Optional.of(user)).when(userRepository).findById(1L);
+
+    // when
+    underTest.synchronizeLikedAlbums();
+
+    // then
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+  }
+
+  @Test
+  @DisplayName("an error for one user does not stop the synchronization of the others")
+  void test_error_does_not_stop_synchronization() {
+    // given
+    var user1 = UserEntityFactory.createUser("user1", "user1@example.com");
+    var user2 = UserEntityFactory.createUser("user2", "user2@example.com");
+    doReturn(List.of(1L, 2L)).when(spotifySyncCursorRepository).findSynchronizedUserIds(anyLong(), any());
+    doReturn(Optional.of(user1)).when(userRepository).findById(1L);
+    doReturn(Optional.of(user2)).when(userRepository).findById(2L);
+    doThrow(new ExternalServiceException("error")).doReturn(Set.of()).when(spotifySynchronizationService).synchronizeLikedAlbums(any());
+
+    // when
+    underTest.synchronizeLikedAlbums();
+
+    // then
+    verify(spotifySynchronizationService).synchronizeLikedAlbums(user2);
+  }
+}
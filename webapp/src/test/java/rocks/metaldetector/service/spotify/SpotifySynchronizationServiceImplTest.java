@@ -2,26 +2,44 @@ package rocks.metaldetector.service.spotify;
 
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import rocks.metaldetector.persistence.domain.spotify.SpotifySyncCursorEntity;
+import rocks.metaldetector.persistence.domain.spotify.SpotifySyncCursorRepository;
+import rocks.metaldetector.persistence.domain.user.UserEntity;
+import rocks.metaldetector.security.AuthenticationFacade;
 import rocks.metaldetector.service.artist.FollowArtistService;
+import rocks.metaldetector.service.user.UserEntityFactory;
+import rocks.metaldetector.spotify.facade.SpotifyRequestExecutor;
 import rocks.metaldetector.spotify.facade.SpotifyService;
-import rocks.metaldetector.testutil.DtoFactory.SpotifyAlbumDtoFactory;
+import rocks.metaldetector.spotify.facade.dto.SpotifyLikedAlbumsChangesDto;
 import rocks.metaldetector.testutil.DtoFactory.SpotifyArtistDtoFactory;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static rocks.metaldetector.persistence.domain.artist.ArtistSource.SPOTIFY;
 import static rocks.metaldetector.service.spotify.SpotifyFetchType.ALBUMS;
 import static rocks.metaldetector.service.spotify.SpotifyFetchType.ARTISTS;
@@ -35,12 +53,28 @@ class SpotifySynchronizationServiceImplTest implements WithAssertions {
   @Mock
   private FollowArtistService followArtistService;
 
+  @Mock
+  private AuthenticationFacade authenticationFacade;
+
+  @Mock
+  private SpotifySyncCursorRepository spotifySyncCursorRepository;
+
+  @Mock
+  private SpotifyRequestExecutor requestExecutor;
+
   @InjectMocks
   private SpotifySynchronizationServiceImpl underTest;
 
+  @BeforeEach
+  void setup() {
+    lenient().doAnswer(invocation -> CompletableFuture.completedFuture(invocation.<Supplier<?>>getArgument(0).get()))
+        .when(requestExecutor).supplyAsync(any());
+    lenient().doAnswer(invocation -> invocation.<CompletableFuture<?>>getArgument(0).join()).when(requestExecutor).await(any());
+  }
+
   @AfterEach
   void tearDown() {
-    reset(spotifyService, followArtistService);
+    reset(spotifyService, followArtistService, authenticationFacade, spotifySyncCursorRepository, requestExecutor);
   }
 
   @Nested
@@ -79,75 +113,138 @@ class SpotifySynchronizationServiceImplTest implements WithAssertions {
   @DisplayName("Tests for getting saved artists")
   class FetchSavedArtistsTest {
 
+    private final UserEntity user = UserEntityFactory.createUser("user", "user@example.com");
+
     @Test
-    @DisplayName("ALBUMS: duplicates are eliminated from liked albums before the spotify service is called")
-    void test_no_duplicates_when_calling_artist_service() {
+    @DisplayName("spotifyService is called to fetch the followed artists")
+    void test_spotify_service_called_for_followed_artists() {
+      // when
+      underTest.fetchSavedArtists(List.of(ARTISTS));
+
+      // then
+      verify(spotifyService).fetchFollowedArtists();
+    }
+
+    @Test
+    @DisplayName("followed artists are fetched in the background while the liked albums are synchronized")
+    void test_followed_artists_fetched_in_background() {
       // given
-      var firstAlbum = SpotifyAlbumDtoFactory.createDefault();
-      var secondAlbum = SpotifyAlbumDtoFactory.createDefault();
-      var id = "id";
+      mockLikedAlbums("a");
+
+      // when
+      underTest.fetchSavedArtists(List.of(ARTISTS, ALBUMS));
+
+      // then
+      InOrder inOrder = inOrder(requestExecutor, spotifyService);
+      inOrder.verify(requestExecutor).supplyAsync(any());
+      inOrder.verify(spotifyService).fetchLikedAlbumsAddedSince(any());
+      inOrder.verify(requestExecutor).await(any());
+    }
+
+    @Test
+    @DisplayName("liked albums are not fetched if only followed artists are requested")
+    void test_liked_albums_not_fetched() {
+      // when
+      underTest.fetchSavedArtists(List.of(ARTISTS));
+
+      // then
+      verifyNoInteractions(spotifySyncCursorRepository);
+      verify(spotifyService, never()).fetchLikedAlbumsAddedSince(any());
+    }
 
-      firstAlbum.getArtists().get(0).setId(id);
-      secondAlbum.getArtists().get(0).setId(id);
-      var albumDtos = List.of(firstAlbum, secondAlbum);
-      doReturn(albumDtos).when(spotifyService).fetchLikedAlbums();
+    @Test
+    @DisplayName("liked albums of the current user are synchronized")
+    void test_liked_albums_synchronized() {
+      // given
+      var lastAddedAt = LocalDateTime.of(2026, 10, 1, 12, 0);
+      var syncCursor = SpotifySyncCursorEntity.builder().user(user).lastAlbumAddedAt(lastAddedAt).build();
+      doReturn(user).when(authenticationFacade).getCurrentUser();
+      doReturn(Optional.of(syncCursor)).when(spotifySyncCursorRepository).findByUser(any());
+      doReturn(new SpotifyLikedAlbumsChangesDto(List.of(), lastAddedAt)).when(spotifyService).fetchLikedAlbumsAddedSince(any());
 
       // when
       underTest.fetchSavedArtists(List.of(ALBUMS));
 
       // then
-      verify(spotifyService).searchArtistsByIds(List.of(firstAlbum.getArtists().get(0).getId()));
+      verify(spotifySyncCursorRepository).findByUser(user);
+      verify(spotifyService).fetchLikedAlbumsAddedSince(lastAddedAt);
     }
 
     @Test
-    @DisplayName("results from both sources are returned")
-    void test_both_sources() {
+    @DisplayName("followed artists are determined with one query for all artists")
+    void test_followed_artists_determined_once() {
       // given
       var artistA = SpotifyArtistDtoFactory.withArtistName("a");
-      var artistB = SpotifyArtistDtoFactory.withArtistName("b");
-      doReturn(false).when(followArtistService).isCurrentUserFollowing(any(), any());
       doReturn(List.of(artistA)).when(spotifyService).fetchFollowedArtists();
-      doReturn(List.of(artistB)).when(spotifyService).searchArtistsByIds(any());
+      mockLikedAlbums("b");
 
       // when
-      var result = underTest.fetchSavedArtists(List.of(ARTISTS, ALBUMS));
+      underTest.fetchSavedArtists(List.of(ARTISTS, ALBUMS));
 
       // then
-      assertThat(result).containsExactly(artistA, artistB);
+      verify(followArtistService).getFollowedArtistIdsOfCurrentUser(Set.of("a", "b"), SPOTIFY);
     }
 
     @Test
-    @DisplayName("duplicates are removed over both sources")
-    void test_duplicates_removed() {
+    @DisplayName("only artists that are neither followed nor fetched already are searched")
+    void test_only_unknown_artists_searched() {
       // given
       var artistA = SpotifyArtistDtoFactory.withArtistName("a");
-      var artistADuplicate = SpotifyArtistDtoFactory.withArtistName("a");
-      doReturn(false).when(followArtistService).isCurrentUserFollowing(any(), any());
-      doReturn(List.of(artistADuplicate)).when(spotifyService).fetchFollowedArtists( );
-      doReturn(List.of(artistA)).when(spotifyService).searchArtistsByIds(any());
+      doReturn(List.of(artistA)).when(spotifyService).fetchFollowedArtists();
+      mockLikedAlbums("a", "b", "c");
+      doReturn(Set.of("b")).when(followArtistService).getFollowedArtistIdsOfCurrentUser(any(), any());
 
       // when
-      var result = underTest.fetchSavedArtists(List.of(ARTISTS, ALBUMS));
+      underTest.fetchSavedArtists(List.of(ARTISTS, ALBUMS));
 
       // then
-      assertThat(result).containsExactly(artistA);
+      verify(spotifyService).searchArtistsByIds(List.of("c"));
     }
 
     @Test
-    @DisplayName("followArtistService is called for each artist")
-    void test_follow_artist_service_called_to_check_followed() {
+    @DisplayName("no artists are searched if all artists are known")
+    void test_no_artists_searched() {
       // given
-      var spotifyArtist1 = SpotifyArtistDtoFactory.withArtistName("Slayer");
-      var spotifyArtist2 = SpotifyArtistDtoFactory.withArtistName("Metallica");
-      doReturn(List.of(SpotifyAlbumDtoFactory.createDefault())).when(spotifyService).fetchLikedAlbums();
-      doReturn(List.of(spotifyArtist1, spotifyArtist2)).when(spotifyService).searchArtistsByIds(anyList());
+      doReturn(List.of(SpotifyArtistDtoFactory.withArtistName("a"))).when(spotifyService).fetchFollowedArtists();
 
       // when
-      underTest.fetchSavedArtists(List.of(ALBUMS));
+      underTest.fetchSavedArtists(List.of(ARTISTS));
 
       // then
-      verify(followArtistService).isCurrentUserFollowing(spotifyArtist1.getId(), SPOTIFY);
-      verify(followArtistService).isCurrentUserFollowing(spotifyArtist2.getId(), SPOTIFY);
+      verify(spotifyService, never()).searchArtistsByIds(any());
+    }
+
+    @Test
+    @DisplayName("artists that are followed already are not returned")
+    void test_followed_artists_not_returned() {
+      // given
+      var artistA = SpotifyArtistDtoFactory.withArtistName("a");
+      var artistB = SpotifyArtistDtoFactory.withArtistName("b");
+      doReturn(List.of(artistA, artistB)).when(spotifyService).fetchFollowedArtists();
+      doReturn(Set.of("a")).when(followArtistService).getFollowedArtistIdsOfCurrentUser(any(), any());
+
+      // when
+      var result = underTest.fetchSavedArtists(List.of(ARTISTS));
+
+      // then
+      assertThat(result).containsExactly(artistB);
+    }
+
+    @Test
+    @DisplayName("duplicates are removed over both sources")
+    void test_duplicates_removed() {
+      // given
+      var artistA = SpotifyArtistDtoFactory.withArtistName("a");
+      var artistB = SpotifyArtistDtoFactory.withArtistName("b");
+      doReturn(List.of(artistA)).when(spotifyService).fetchFollowedArtists();
+      mockLikedAlbums("a", "b");
+      doReturn(List.of(artistB, SpotifyArtistDtoFactory.withArtistName("a"))).when(spotifyService).searchArtistsByIds(any());
+
+      // when
+      var result = underTest.fetchSavedArtists(List.of(ARTISTS, ALBUMS));
+
+      // then
+      assertThat(result).containsExactly(artistA, artistB);
     }
 
     @Test
@@ -157,14 +254,95 @@ class SpotifySynchronizationServiceImplTest implements WithAssertions {
       var spotifyArtist1 = SpotifyArtistDtoFactory.withArtistName("B");
       var spotifyArtist2 = SpotifyArtistDtoFactory.withArtistName("C");
       var spotifyArtist3 = SpotifyArtistDtoFactory.withArtistName("A");
-      doReturn(List.of(SpotifyAlbumDtoFactory.createDefault())).when(spotifyService).fetchLikedAlbums();
-      doReturn(List.of(spotifyArtist1, spotifyArtist2, spotifyArtist3)).when(spotifyService).searchArtistsByIds(anyList());
+      doReturn(List.of(spotifyArtist1, spotifyArtist2, spotifyArtist3)).when(spotifyService).fetchFollowedArtists();
 
       // when
-      var result = underTest.fetchSavedArtists(List.of(ALBUMS));
+      var result = underTest.fetchSavedArtists(List.of(ARTISTS));
 
       // then
       assertThat(result).isEqualTo(List.of(spotifyArtist3, spotifyArtist1, spotifyArtist2));
     }
+
+    private void mockLikedAlbums(String... artistIds) {
+      doReturn(user).when(authenticationFacade).getCurrentUser();
+      doReturn(Optional.empty()).when(spotifySyncCursorRepository).findByUser(any());
+      doReturn(new SpotifyLikedAlbumsChangesDto(List.of(artistIds), LocalDateTime.now())).when(spotifyService).fetchLikedAlbumsAddedSince(any());
+    }
+  }
+
+  @Nested
+  @DisplayName("Tests for the synchronization of liked albums")
+  class SynchronizeLikedAlbumsTest {
+
+    private final UserEntity user = UserEntityFactory.createUser("user", "user@example.com");
+
+    @Test
+    @DisplayName("all liked albums are fetched for the first synchronization")
+    void test_first_synchronization() {
+      // given
+      doReturn(Optional.empty()).when(spotifySyncCursorRepository).findByUser(any());
+      doReturn(new SpotifyLikedAlbumsChangesDto(List.of(), null)).when(spotifyService).fetchLikedAlbumsAddedSince(any());
+
+      // when
+      underTest.synchronizeLikedAlbums(user);
+
+      // then
+      verify(spotifyService).fetchLikedAlbumsAddedSince(null);
+    }
+
+    @Test
+    @DisplayName("a new sync cursor is saved for the first synchronization")
+    void test_new_sync_cursor_saved() {
+      // given
+      var lastAddedAt = LocalDateTime.of(2026, 10, 1, 12, 0);
+      doReturn(Optional.empty()).when(spotifySyncCursorRepository).findByUser(any());
+      doReturn(new SpotifyLikedAlbumsChangesDto(List.of("a"), lastAddedAt)).when(spotifyService).fetchLikedAlbumsAddedSince(any());
+      ArgumentCaptor<SpotifySyncCursorEntity> argumentCaptor = ArgumentCaptor.forClass(SpotifySyncCursorEntity.class);
+
+      // when
+      underTest.synchronizeLikedAlbums(user);
+
+      // then
+      verify(spotifySyncCursorRepository).save(argumentCaptor.capture());
+      var syncCursor = argumentCaptor.getValue();
+      assertThat(syncCursor.getUser()).isEqualTo(user);
+      assertThat(syncCursor.getLastAlbumAddedAt()).isEqualTo(lastAddedAt);
+      assertThat(syncCursor.getSeenArtistIds()).containsExactly("a");
+    }
+
+    @Test
+    @DisplayName("the existing sync cursor is updated with the changes")
+    void test_sync_cursor_updated() {
+      // given
+      var syncCursor = SpotifySyncCursorEntity.builder().user(user).lastAlbumAddedAt(LocalDateTime.of(2026, 10, 1, 12, 0)).build();
+      syncCursor.addSeenArtistIds(List.of("a"));
+      var lastAddedAt = LocalDateTime.of(2026, 10, 2, 12, 0);
+      doReturn(Optional.of(syncCursor)).when(spotifySyncCursorRepository).findByUser(any());
+      doReturn(new SpotifyLikedAlbumsChangesDto(List.of("a", "b"), lastAddedAt)).when(spotifyService).fetchLikedAlbumsAddedSince(any());
+
+      // when
+      underTest.synchronizeLikedAlbums(user);
+
+      // then
+      verify(spotifySyncCursorRepository).save(syncCursor);
+      assertThat(syncCursor.getLastAlbumAddedAt()).isEqualTo(lastAddedAt);
+      assertThat(syncCursor.getSeenArtistIds()).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    @DisplayName("all artist ids of the liked albums are returned")
+    void test_seen_artist_ids_returned() {
+      // given
+      var syncCursor = SpotifySyncCursorEntity.builder().user(user).lastAlbumAddedAt(LocalDateTime.of(2026, 10, 1, 12, 0)).build();
+      syncCursor.addSeenArtistIds(List.of("a"));
+      doReturn(Optional.of(syncCursor)).when(spotifySyncCursorRepository).findByUser(any());
+      doReturn(new SpotifyLikedAlbumsChangesDto(List.of("b"), LocalDateTime.now())).when(spotifyService).fetchLikedAlbumsAddedSince(any());
+
+      // when
+      var result = underTest.synchronizeLikedAlbums(user);
+
+      // then
+      assertThat(result).containsExactlyInAnyOrder("a", "b");
+    }
   }
 }
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -16,17 +17,22 @@ import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
 import rocks.metaldetector.config.constants.ViewNames;
+import rocks.metaldetector.persistence.domain.artist.ArtistRepository;
 import rocks.metaldetector.persistence.domain.artist.FollowActionRepository;
 import rocks.metaldetector.persistence.domain.notification.NotificationConfigRepository;
 import rocks.metaldetector.persistence.domain.notification.TelegramConfigRepository;
+import rocks.metaldetector.persistence.domain.spotify.SpotifySyncCursorRepository;
 import rocks.metaldetector.persistence.domain.user.UserEntity;
 import rocks.metaldetector.persistence.domain.user.UserRepository;
+import rocks.metaldetector.service.artist.FollowGraph;
+import rocks.metaldetector.service.dashboard.TopArtistRanking;
 import rocks.metaldetector.service.email.AccountDeletedEmail;
 import rocks.metaldetector.service.email.EmailService;
 import rocks.metaldetector.service.user.UserEntityFactory;
 import rocks.metaldetector.service.user.UserService;
 
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static rocks.metaldetector.service.user.events.UserDeletionEventListener.DELETE_QUERY;
@@ -37,6 +43,9 @@ import static rocks.metaldetector.service.user.events.UserDeletionEventListener.
 @ExtendWith(MockitoExtension.class)
 class UserDeletionEventListenerTest implements WithAssertions {
 
+  @Mock
+  private ArtistRepository artistRepository;
+
   @Mock
   private FollowActionRepository followActionRepository;
 
@@ -58,6 +67,15 @@ class UserDeletionEventListenerTest implements WithAssertions {
   @Mock
   private OAuth2AuthorizedClientService oAuth2AuthorizedClientService;
 
+  @Mock
+  private TopArtistRanking topArtistRanking;
+
+  @Mock
+  private FollowGraph followGraph;
+
+  @Mock
+  private SpotifySyncCursorRepository spotifySyncCursorRepository;
+
   @InjectMocks
   private UserDeletionEventListener underTest;
 
@@ -72,8 +90,9 @@ class UserDeletionEventListenerTest implements WithAssertions {
 
   @AfterEach
   void tearDown() {
-    reset(followActionRepository, notificationConfigRepository, userRepository,
-          jdbcTemplate, emailService, telegramConfigRepository, oAuth2AuthorizedClientService);
+    reset(artistRepository, followActionRepository, notificationConfigRepository, userRepository,
+          jdbcTemplate, emailService, telegramConfigRepository, oAuth2AuthorizedClientService, topArtistRanking,
+          followGraph, spotifySyncCursorRepository);
   }
 
   @Test
@@ -96,6 +115,16 @@ class UserDeletionEventListenerTest implements WithAssertions {
     verify(telegramConfigRepository).deleteByUser(userDeletionEvent.getUserEntity());
   }
 
+  @Test
+  @DisplayName("spotify sync cursor is deleted")
+  void test_spotify_sync_cursor_deleted() {
+    // when
+    underTest.onApplicationEvent(userDeletionEvent);
+
+    // then
+    verify(spotifySyncCursorRepository).deleteByUser(userDeletionEvent.getUserEntity());
+  }
+
   @Test
   @DisplayName("FollowActions are deleted")
   void test_follow_actions_deleted() {
@@ -106,6 +135,29 @@ class UserDeletionEventListenerTest implements WithAssertions {
     verify(followActionRepository).deleteAllByUser(userDeletionEvent.getUserEntity());
   }
 
+  @Test
+  @DisplayName("Follower counters are decremented before the FollowActions are deleted")
+  void test_follower_decremented() {
+    // when
+    underTest.onApplicationEvent(userDeletionEvent);
+
+    // then
+    InOrder inOrder = inOrder(artistRepository, followActionRepository, topArtistRanking);
+    inOrder.verify(artistRepository).decrementFollowerOfArtistsFollowedBy(userDeletionEvent.getUserEntity());
+    inOrder.verify(followActionRepository).deleteAllByUser(userDeletionEvent.getUserEntity());
+    inOrder.verify(topArtistRanking).invalidate();
+  }
+
+  @Test
+  @DisplayName("User is removed from the follow graph")
+  void test_user_removed_from_follow_graph() {
+    // when
+    underTest.onApplicationEvent(userDeletionEvent);
+
+    // then
+    verify(followGraph).userDeleted(userDeletionEvent.getUserEntity());
+  }
+
   @Test
   @DisplayName("spotify oAuth token is deleted")
   void test_spotify_oauth_token_deleted() {
@@ -9,7 +9,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import rocks.metaldetector.security.SecurityConfig;
 import rocks.metaldetector.service.artist.ArtistSearchService;
 import rocks.metaldetector.service.artist.FollowArtistService;
-import rocks.metaldetector.service.dashboard.ArtistCollector;
+import rocks.metaldetector.service.dashboard.CommunityContentService;
 import rocks.metaldetector.testutil.BaseWebMvcTestWithSecurity;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -30,7 +30,7 @@ class ArtistsRestControllerIntegrationTest extends BaseWebMvcTestWithSecurity {
 
   @MockitoBean
   @SuppressWarnings("unused")
-  private ArtistCollector artistCollector;
+  private CommunityContentService communityContentService;
 
   @Test
   @DisplayName("Anonymous user is allowed to GET on endpoint " + TOP_ARTISTS + "'")
@@ -23,15 +23,18 @@ import rocks.metaldetector.persistence.domain.artist.ArtistSource;
 import rocks.metaldetector.service.artist.ArtistDto;
 import rocks.metaldetector.service.artist.ArtistSearchService;
 import rocks.metaldetector.service.artist.FollowArtistService;
-import rocks.metaldetector.service.dashboard.ArtistCollector;
+import rocks.metaldetector.service.dashboard.CommunityContentService;
 import rocks.metaldetector.service.exceptions.RestExceptionsHandler;
 import rocks.metaldetector.testutil.DtoFactory.ArtistDtoFactory;
 import rocks.metaldetector.web.RestAssuredMockMvcUtils;
+import rocks.metaldetector.web.api.request.FollowArtistsRequest;
 import rocks.metaldetector.web.api.response.ArtistSearchResponse;
+import rocks.metaldetector.web.api.response.FollowArtistsResponse;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
@@ -41,6 +44,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 import static rocks.metaldetector.persistence.domain.artist.ArtistSource.DISCOGS;
@@ -67,7 +71,7 @@ class ArtistsRestControllerTest implements WithAssertions {
   private FollowArtistService followArtistService;
 
   @Mock
-  private ArtistCollector artistCollector;
+  private CommunityContentService communityContentService;
 
   private ArtistsRestController underTest;
 
@@ -75,7 +79,7 @@ class ArtistsRestControllerTest implements WithAssertions {
 
   @BeforeEach
   void setup() {
-    underTest = new ArtistsRestController(artistSearchService, followArtistService, artistCollector);
+    underTest = new ArtistsRestController(artistSearchService, followArtistService, communityContentService);
   }
 
   @Nested
@@ -324,6 +328,80 @@ class ArtistsRestControllerTest implements WithAssertions {
       // then
       result.status(UNPROCESSABLE_ENTITY);
     }
+
+    @Test
+    @DisplayName("Should call follow artist service with all artists when following several artists")
+    void handle_follow_all_call_follow_artist_service() {
+      // given
+      var request = FollowArtistsRequest.builder().externalIds(List.of("a", "b")).build();
+
+      // when
+      followArtistRestAssuredUtils.doPost(request, "/" + VALID_SOURCE_STRING);
+
+      // then
+      verify(followArtistService).followArtists(List.of("a", "b"), ARTIST_SOURCE);
+    }
+
+    @Test
+    @DisplayName("Should return the number of newly followed artists when following several artists")
+    void handle_follow_all_return_count() {
+      // given
+      var request = FollowArtistsRequest.builder().externalIds(List.of("a", "b")).build();
+      doReturn(1).when(followArtistService).followArtists(any(), any());
+
+      // when
+      var validatableResponse = followArtistRestAssuredUtils.doPost(request, "/" + VALID_SOURCE_STRING);
+
+      // then
+      validatableResponse.statusCode(OK.value());
+      var result = validatableResponse.extract().as(FollowArtistsResponse.class);
+      assertThat(result.getArtistsCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return unprocessable entity when following more than 1000 artists")
+    void handle_follow_all_too_many_artists() {
+      // given
+      var externalIds = IntStream.rangeClosed(0, 1000).mapToObj(String::valueOf).toList();
+      var request = FollowArtistsRequest.builder().externalIds(externalIds).build();
+
+      // when
+      var validatableResponse = followArtistRestAssuredUtils.doPost(request, "/" + VALID_SOURCE_STRING);
+
+      // then
+      validatableResponse.status(UNPROCESSABLE_ENTITY);
+      verifyNoInteractions(followArtistService);
+    }
+
+    @Test
+    @DisplayName("Should return unprocessable entity when following no artists")
+    void handle_follow_all_bad_request() {
+      // given
+      var request = FollowArtistsRequest.builder().externalIds(List.of()).build();
+
+      // when
+      var validatableResponse = followArtistRestAssuredUtils.doPost(request, "/" + VALID_SOURCE_STRING);
+
+      // then
+      validatableResponse.status(UNPROCESSABLE_ENTITY);
+      verifyNoInteractions(followArtistService);
+    }
+
+    @Test
+    @DisplayName("Should call follow artist service with all artists when unfollowing several artists")
+    void handle_unfollow_all_call_follow_artist_service() {
+      // given
+      var request = FollowArtistsRequest.builder().externalIds(List.of("a", "b")).build();
+      doReturn(2).when(followArtistService).unfollowArtists(any(), any());
+
+      // when
+      var validatableResponse = unfollowArtistRestAssuredUtils.doPost(request, "/" + VALID_SOURCE_STRING);
+
+      // then
+      verify(followArtistService).unfollowArtists(List.of("a", "b"), ARTIST_SOURCE);
+      var result = validatableResponse.extract().as(FollowArtistsResponse.class);
+      assertThat(result.getArtistsCount()).isEqualTo(2);
+    }
   }
 
   @Nested
@@ -338,37 +416,35 @@ class ArtistsRestControllerTest implements WithAssertions {
 
     @AfterEach
     void tearDown() {
-      reset(artistCollector);
+      reset(communityContentService);
     }
 
     @Test
-    @DisplayName("should call artist collector")
-    void should_call_artist_collector() {
+    @DisplayName("should call community content service with min follower and limit")
+    void should_call_community_content_service() {
       // given
       var minFollower = 10;
+      var limit = 5;
       Map<String, Object> requestParams = new HashMap<>();
       requestParams.put("minFollower", minFollower);
+      requestParams.put("limit", limit);
 
       // when
       restAssuredUtils.doGet(requestParams);
 
       // then
-      verify(artistCollector).collectTopFollowedArtists(minFollower);
+      verify(communityContentService).getTopArtists(minFollower, limit);
     }
 
     @Test
-    @DisplayName("should return limited result of artist collector")
-    void should_return_result_of_artist_collector() {
+    @DisplayName("should return result of community content service")
+    void should_return_result_of_community_content_service() {
       // given
-      var limit = 1;
-      Map<String, Object> requestParams = new HashMap<>();
-      requestParams.put("limit", limit);
       var artist1 = ArtistDtoFactory.withName("A");
-      var artist2 = ArtistDtoFactory.withName("B");
-      doReturn(List.of(artist1, artist2)).when(artistCollector).collectTopFollowedArtists(anyInt());
+      doReturn(List.of(artist1)).when(communityContentService).getTopArtists(anyInt(), anyInt());
 
       // when
-      var validatableResponse = restAssuredUtils.doGet(requestParams);
+      var validatableResponse = restAssuredUtils.doGet();
 
       // then
       var responseBody = validatableResponse.extract().as(ArtistDto[].class);
@@ -9,12 +9,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import rocks.metaldetector.service.artist.ArtistDto;
 import rocks.metaldetector.service.artist.FollowArtistService;
+import rocks.metaldetector.service.artist.FollowedArtistsPage;
+import rocks.metaldetector.service.exceptions.RestExceptionsHandler;
 import rocks.metaldetector.support.Endpoints;
 import rocks.metaldetector.support.Pagination;
 import rocks.metaldetector.testutil.DtoFactory.ArtistDtoFactory;
@@ -22,20 +26,23 @@ import rocks.metaldetector.web.RestAssuredMockMvcUtils;
 import rocks.metaldetector.web.api.response.MyArtistsResponse;
 import rocks.metaldetector.web.transformer.MyArtistsResponseTransformer;
 
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class MyArtistsRestControllerTest implements WithAssertions {
 
-  private static final int PAGE = 0;
+  private static final int PAGE = 1;
   private static final int SIZE = 10;
 
   @Mock
@@ -52,7 +59,7 @@ class MyArtistsRestControllerTest implements WithAssertions {
   @BeforeEach
   void setUp() {
     restAssuredMockMvcUtils = new RestAssuredMockMvcUtils(Endpoints.Rest.MY_ARTISTS);
-    RestAssuredMockMvc.standaloneSetup(underTest);
+    RestAssuredMockMvc.standaloneSetup(underTest, RestExceptionsHandler.class);
   }
 
   @AfterEach
@@ -64,7 +71,7 @@ class MyArtistsRestControllerTest implements WithAssertions {
   @DisplayName("GET should return 200")
   void get_should_return_200() {
     // given
-    doReturn(new MyArtistsResponse()).when(responseTransformer).transform(anyList(), anyInt(), anyInt());
+    doReturn(new MyArtistsResponse()).when(responseTransformer).transform(any());
 
     // when
     ValidatableMockMvcResponse validatableResponse = restAssuredMockMvcUtils.doGet(Map.of("page", PAGE, "size", SIZE));
@@ -76,38 +83,63 @@ class MyArtistsRestControllerTest implements WithAssertions {
   }
 
   @Test
-  @DisplayName("GET should call followArtistService")
+  @DisplayName("GET should call followArtistService with page and size")
   void get_should_call_follow_artist_service() {
+    // when
+    restAssuredMockMvcUtils.doGet(Map.of("page", PAGE, "size", SIZE));
+
+    // then
+    verify(followArtistService).getFollowedArtistsOfCurrentUser(eq(PAGE), eq(SIZE), isNull());
+  }
+
+  @Test
+  @DisplayName("GET should call followArtistService with cursor")
+  void get_should_call_follow_artist_service_with_cursor() {
     // given
-    doReturn(Collections.emptyList()).when(followArtistService).getFollowedArtistsOfCurrentUser();
+    Map<String, Object> requestParams = new HashMap<>();
+    requestParams.put("page", PAGE);
+    requestParams.put("size", SIZE);
+    requestParams.put("after", "cursor");
 
     // when
-    restAssuredMockMvcUtils.doGet(Map.of("page", PAGE, "size", SIZE));
+    restAssuredMockMvcUtils.doGet(requestParams);
+
+    // then
+    verify(followArtistService).getFollowedArtistsOfCurrentUser(PAGE, SIZE, "cursor");
+  }
+
+  @ParameterizedTest(name = "GET should return 422 for page <{0}> and size <{1}>")
+  @CsvSource({"0, 10", "1, 0", "1, -1", "1, 51"})
+  @DisplayName("GET should return 422 for an invalid page or size")
+  void get_should_return_422_for_invalid_page_or_size(int page, int size) {
+    // when
+    ValidatableMockMvcResponse validatableResponse = restAssuredMockMvcUtils.doGet(Map.of("page", page, "size", size));
 
     // then
-    verify(followArtistService).getFollowedArtistsOfCurrentUser();
+    validatableResponse.statusCode(HttpStatus.UNPROCESSABLE_ENTITY.value());
+    verifyNoInteractions(followArtistService);
   }
 
   @Test
   @DisplayName("GET should call responseTransformer")
   void get_should_call_response_transformer() {
     // given
-    var artists = List.of(ArtistDtoFactory.createDefault());
-    doReturn(artists).when(followArtistService).getFollowedArtistsOfCurrentUser();
+    var followedArtists = new FollowedArtistsPage(List.of(ArtistDtoFactory.createDefault()), 1, PAGE, SIZE, null);
+    doReturn(followedArtists).when(followArtistService).getFollowedArtistsOfCurrentUser(anyInt(), anyInt(), any());
 
     // when
     restAssuredMockMvcUtils.doGet(Map.of("page", PAGE, "size", SIZE));
 
     // then
-    verify(responseTransformer).transform(artists, PAGE, SIZE);
+    verify(responseTransformer).transform(followedArtists);
   }
 
   @Test
   @DisplayName("GET should return results")
   void get_should_return_results() {
     ArtistDto artistDto = ArtistDtoFactory.createDefault();
-    MyArtistsResponse expectedResponse = new MyArtistsResponse(List.of(artistDto), new Pagination());
-    doReturn(expectedResponse).when(responseTransformer).transform(anyList(), anyInt(), anyInt());
+    MyArtistsResponse expectedResponse = new MyArtistsResponse(List.of(artistDto), new Pagination(), "cursor");
+    doReturn(expectedResponse).when(responseTransformer).transform(any());
 
     // when
     ValidatableMockMvcResponse validatableResponse = restAssuredMockMvcUtils.doGet(Map.of("page", PAGE, "size", SIZE));
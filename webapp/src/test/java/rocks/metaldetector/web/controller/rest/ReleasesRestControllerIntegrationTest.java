@@ -11,8 +11,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import rocks.metaldetector.butler.facade.ReleaseService;
 import rocks.metaldetector.security.SecurityConfig;
 import rocks.metaldetector.service.artist.FollowArtistService;
-import rocks.metaldetector.service.dashboard.ArtistCollector;
-import rocks.metaldetector.service.dashboard.ReleaseCollector;
+import rocks.metaldetector.service.dashboard.CommunityContentService;
 import rocks.metaldetector.testutil.BaseWebMvcTestWithSecurity;
 import rocks.metaldetector.web.api.request.ReleaseUpdateRequest;
 
@@ -38,11 +37,7 @@ public class ReleasesRestControllerIntegrationTest extends BaseWebMvcTestWithSec
 
   @MockitoBean
   @SuppressWarnings("unused")
-  private ArtistCollector artistCollector;
-
-  @MockitoBean
-  @SuppressWarnings("unused")
-  private ReleaseCollector releaseCollector;
+  private CommunityContentService communityContentService;
 
   @Nested
   @DisplayName("Tests for user with ADMINISTRATOR role")
@@ -4,7 +4,6 @@ import io.restassured.http.ContentType;
 import io.restassured.module.mockmvc.RestAssuredMockMvc;
 import io.restassured.module.mockmvc.response.ValidatableMockMvcResponse;
 import org.assertj.core.api.WithAssertions;
-import org.assertj.core.data.TemporalUnitWithinOffset;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,7 +14,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.web.SortHandlerMethodArgumentResolver;
@@ -24,15 +22,13 @@ import org.springframework.test.web.servlet.setup.StandaloneMockMvcBuilder;
 import rocks.metaldetector.butler.facade.ReleaseService;
 import rocks.metaldetector.butler.facade.dto.ReleaseDto;
 import rocks.metaldetector.service.artist.FollowArtistService;
-import rocks.metaldetector.service.dashboard.ArtistCollector;
-import rocks.metaldetector.service.dashboard.ReleaseCollector;
+import rocks.metaldetector.service.dashboard.CommunityContentService;
 import rocks.metaldetector.service.exceptions.RestExceptionsHandler;
 import rocks.metaldetector.support.DetectorSort;
 import rocks.metaldetector.support.Page;
 import rocks.metaldetector.support.PageRequest;
 import rocks.metaldetector.support.Pagination;
 import rocks.metaldetector.support.TimeRange;
-import rocks.metaldetector.testutil.DtoFactory;
 import rocks.metaldetector.testutil.DtoFactory.ReleaseDtoFactory;
 import rocks.metaldetector.testutil.DtoFactory.ReleaseRequestFactory;
 import rocks.metaldetector.web.RestAssuredMockMvcUtils;
@@ -47,7 +43,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
-import static java.time.temporal.ChronoUnit.DAYS;
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.mockito.ArgumentMatchers.any;
@@ -75,14 +70,12 @@ class ReleasesRestControllerTest implements WithAssertions {
   private FollowArtistService followArtistService;
 
   @Mock
-  private ArtistCollector artistCollector;
+  private CommunityContentService communityContentService;
 
-  @Mock
-  private ReleaseCollector releaseCollector;
 
   @BeforeEach
   void setUp() {
-    ReleasesRestController underTest = new ReleasesRestController(releasesService, followArtistService, artistCollector, releaseCollector);
+    ReleasesRestController underTest = new ReleasesRestController(releasesService, followArtistService, communityContentService);
     StandaloneMockMvcBuilder mockMvcBuilder = MockMvcBuilders.standaloneSetup(underTest, RestExceptionsHandler.class)
         .setCustomArgumentResolvers(new SortHandlerMethodArgumentResolver());
     RestAssuredMockMvc.standaloneSetup(mockMvcBuilder);
@@ -90,7 +83,7 @@ class ReleasesRestControllerTest implements WithAssertions {
 
   @AfterEach
   void tearDown() {
-    reset(releasesService, followArtistService, artistCollector, releaseCollector);
+    reset(releasesService, followArtistService, communityContentService);
   }
 
   @Nested
@@ -192,7 +185,7 @@ class ReleasesRestControllerTest implements WithAssertions {
       restAssuredUtils.doGet(toMap(request));
 
       // then
-      verify(followArtistService).getFollowedArtistsOfCurrentUser();
+      verify(followArtistService).getFollowedArtistNamesOfCurrentUser();
     }
 
     @Test
@@ -214,7 +207,7 @@ class ReleasesRestControllerTest implements WithAssertions {
       // given
       PaginatedReleasesRequest request = PaginatedReleaseRequestFactory.createDefault();
       request.setReleasesFilter("my");
-      doReturn(emptyList()).when(followArtistService).getFollowedArtistsOfCurrentUser();
+      doReturn(emptyList()).when(followArtistService).getFollowedArtistNamesOfCurrentUser();
 
       // when
       restAssuredUtils.doGet(toMap(request));
@@ -229,7 +222,7 @@ class ReleasesRestControllerTest implements WithAssertions {
       // given
       PaginatedReleasesRequest request = PaginatedReleaseRequestFactory.createDefault();
       request.setReleasesFilter("my");
-      doReturn(emptyList()).when(followArtistService).getFollowedArtistsOfCurrentUser();
+      doReturn(emptyList()).when(followArtistService).getFollowedArtistNamesOfCurrentUser();
 
       // when
       var validatableResponse = restAssuredUtils.doGet(toMap(request));
@@ -266,14 +259,13 @@ class ReleasesRestControllerTest implements WithAssertions {
       // given
       PaginatedReleasesRequest request = PaginatedReleaseRequestFactory.createDefault();
       request.setReleasesFilter("my");
-      var artist = DtoFactory.ArtistDtoFactory.withName("superArtist");
-      doReturn(List.of(artist)).when(followArtistService).getFollowedArtistsOfCurrentUser();
+      doReturn(List.of("superArtist")).when(followArtistService).getFollowedArtistNamesOfCurrentUser();
 
       // when
       restAssuredUtils.doGet(toMap(request));
 
       // then
-      verify(releasesService).findReleases(eq(List.of(artist.getArtistName())), any(), any(), any());
+      verify(releasesService).findReleases(eq(List.of("superArtist")), any(), any(), any());
     }
 
     @Test
@@ -413,78 +405,30 @@ class ReleasesRestControllerTest implements WithAssertions {
     }
 
     @Test
-    @DisplayName("should call artist collector")
-    void should_call_artist_collector() {
+    @DisplayName("should call community content service with min follower and limit")
+    void should_call_community_content_service() {
       // given
       var minFollower = 10;
-      Map<String, Object> requestParams = new HashMap<>();
-      requestParams.put("minFollower", minFollower);
-
-      // when
-      restAssuredUtils.doGet(requestParams);
-
-      // then
-      verify(artistCollector).collectTopFollowedArtists(minFollower);
-    }
-
-    @Test
-    @DisplayName("should call release collector with fixed time range")
-    void should_call_release_collector_with_fixed_time_range() {
-      // given
-      var expectedFromDate = LocalDate.now();
-      var expectedToDate = expectedFromDate.plusMonths(6);
-      var offset = new TemporalUnitWithinOffset(1, DAYS);
-      ArgumentCaptor<TimeRange> timeRangeCaptor = ArgumentCaptor.forClass(TimeRange.class);
-
-      // when
-      restAssuredUtils.doGet();
-
-      // then
-      verify(releaseCollector).collectTopReleases(timeRangeCaptor.capture(), any(), anyInt());
-      TimeRange timeRange = timeRangeCaptor.getValue();
-      assertThat(timeRange.getDateFrom()).isCloseTo(expectedFromDate, offset);
-      assertThat(timeRange.getDateTo()).isCloseTo(expectedToDate, offset);
-    }
-
-    @Test
-    @DisplayName("should call release collector with top artists")
-    void should_call_release_collector_with_top_artists() {
-      // given
-      var artist1 = DtoFactory.ArtistDtoFactory.withName("A");
-      var artist2 = DtoFactory.ArtistDtoFactory.withName("B");
-      var artists = List.of(artist1, artist2);
-      doReturn(artists).when(artistCollector).collectTopFollowedArtists(anyInt());
-
-      // when
-      restAssuredUtils.doGet();
-
-      // then
-      verify(releaseCollector).collectTopReleases(any(), eq(artists), anyInt());
-    }
-
-    @Test
-    @DisplayName("should call release collector with limit parameter")
-    void should_call_release_collector_with_limit_parameter() {
-      // given
       var limit = 1;
       Map<String, Object> requestParams = new HashMap<>();
+      requestParams.put("minFollower", minFollower);
       requestParams.put("limit", limit);
 
       // when
       restAssuredUtils.doGet(requestParams);
 
       // then
-      verify(releaseCollector).collectTopReleases(any(), any(), eq(limit));
+      verify(communityContentService).getTopUpcomingReleases(minFollower, limit);
     }
 
     @Test
-    @DisplayName("should return releases from release collector")
-    void should_return_releases_from_release_collector() {
+    @DisplayName("should return releases from community content service")
+    void should_return_releases_from_community_content_service() {
       // given
       var release1 = ReleaseDtoFactory.withArtistName("A");
       var release2 = ReleaseDtoFactory.withArtistName("B");
       var releases = List.of(release1, release2);
-      doReturn(releases).when(releaseCollector).collectTopReleases(any(), any(), anyInt());
+      doReturn(releases).when(communityContentService).getTopUpcomingReleases(anyInt(), anyInt());
 
       // when
       var validatableResponse = restAssuredUtils.doGet();